@@ -314,6 +314,7 @@ pythonMicroBenchmarks = {
     'special-add-int'       : '0',
     'special-len'           : '0',
     'object-layout-change'  : '0',
+    'import-startup'        : '0',
 }
 
 class ZipPyMicroBenchmarkSuite(BaseZippyBenchmarkSuite):
@@ -329,6 +330,55 @@ class ZipPyMicroBenchmarkSuite(BaseZippyBenchmarkSuite):
 
 mx_benchmark.add_bm_suite(ZipPyMicroBenchmarkSuite())
 
+# generators without loop peeling, suspended by YieldException (default) or by the state machine
+generatorMicroBenchmarks = {
+    'generator'             : '0',
+    'generator-notaligned'  : '0',
+}
+
+class ZipPyGeneratorUnwindBenchmarkSuite(ZipPyMicroBenchmarkSuite):
+
+    def name(self):
+        return "python-generator-unwind"
+
+    def benchmarksIterations(self):
+        return generatorMicroBenchmarks
+
+    def getZippyOpts(self):
+        return ["-no-generator-peeling"]
+
+mx_benchmark.add_bm_suite(ZipPyGeneratorUnwindBenchmarkSuite())
+
+
+class ZipPyGeneratorStateMachineBenchmarkSuite(ZipPyGeneratorUnwindBenchmarkSuite):
+
+    def name(self):
+        return "python-generator-state-machine"
+
+    def getZippyOpts(self):
+        return ["-no-generator-peeling", "-generator-state-machine"]
+
+mx_benchmark.add_bm_suite(ZipPyGeneratorStateMachineBenchmarkSuite())
+
+
+# module loading with imported modules parsed ahead of time, against python-micro's sequential run
+importMicroBenchmarks = {
+    'import-startup'        : '0',
+}
+
+class ZipPyImportParallelBenchmarkSuite(ZipPyMicroBenchmarkSuite):
+
+    def name(self):
+        return "python-import-parallel"
+
+    def benchmarksIterations(self):
+        return importMicroBenchmarks
+
+    def getZippyOpts(self):
+        return ["-import-parallelism", "4"]
+
+mx_benchmark.add_bm_suite(ZipPyImportParallelBenchmarkSuite())
+
 
 class BaseExternalBenchmarkSuite(BasePythonBenchmarkSuite):
 
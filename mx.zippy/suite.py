@@ -97,6 +97,16 @@ suite = {
       "workingSets" : "Truffle,Python",
     },
 
+    "edu.uci.python.benchmark" : {
+      "subDir" : "zippy",
+      "sourceDirs" : ["src"],
+      "dependencies" : ["edu.uci.python","mx:JMH"],
+      "checkstyle" : "edu.uci.python",
+      "javaCompliance" : "1.8",
+      "annotationProcessors" : ["mx:JMH"],
+      "workingSets" : "Truffle,Python",
+    },
+
   },
 
   "licenses" : {
@@ -0,0 +1,24 @@
+# measures module loading: the importstartup package imports eight independent modules
+import time
+import sys
+import os
+
+sys.path.append(os.path.dirname(os.path.abspath(__file__)))
+
+
+def measure():
+    print("Start timing...")
+    start = time.time()
+
+    import importstartup
+    modules = [importstartup.mod0, importstartup.mod1, importstartup.mod2, importstartup.mod3,
+               importstartup.mod4, importstartup.mod5, importstartup.mod6, importstartup.mod7]
+    total = 0
+    for module in modules:
+        total += module.checksum()
+    print("Checksum ", total)
+
+    duration = "%.3f\n" % (time.time() - start)
+    print("import-startup: " + duration)
+
+measure()
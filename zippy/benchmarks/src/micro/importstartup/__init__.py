@@ -0,0 +1,2 @@
+# package imported by import-startup.py; importing every module from here lets them parse in parallel
+from importstartup import mod0, mod1, mod2, mod3, mod4, mod5, mod6, mod7
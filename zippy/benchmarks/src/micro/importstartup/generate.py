@@ -0,0 +1,60 @@
+# regenerates mod0.py .. mod7.py of the import-startup benchmark: python3 generate.py
+# the modules are large enough that parsing them dominates importing them
+import os
+
+MODULES = 8
+SHAPES = 12
+
+SHAPE = '''class Shape{m}_{s}(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape{m}_{s}(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build{m}_{s}(n):
+    shapes = [Shape{m}_{s}(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+'''
+
+
+def module(m):
+    parts = ["# generated module %d of the import-startup benchmark\n\n" % m]
+
+    for s in range(SHAPES):
+        parts.append(SHAPE.format(m=m, s=s))
+
+    calls = " + ".join("build%d_%d(3)" % (m, s) for s in range(SHAPES))
+    parts.append("def checksum():\n    return %s\n" % calls)
+    return "".join(parts)
+
+
+def main():
+    directory = os.path.dirname(os.path.abspath(__file__))
+
+    for m in range(MODULES):
+        with open(os.path.join(directory, "mod%d.py" % m), "w") as f:
+            f.write(module(m))
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,352 @@
+# generated module 0 of the import-startup benchmark
+
+class Shape0_0(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_0(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_0(n):
+    shapes = [Shape0_0(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_1(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_1(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_1(n):
+    shapes = [Shape0_1(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_2(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_2(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_2(n):
+    shapes = [Shape0_2(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_3(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_3(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_3(n):
+    shapes = [Shape0_3(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_4(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_4(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_4(n):
+    shapes = [Shape0_4(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_5(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_5(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_5(n):
+    shapes = [Shape0_5(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_6(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_6(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_6(n):
+    shapes = [Shape0_6(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_7(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_7(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_7(n):
+    shapes = [Shape0_7(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_8(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_8(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_8(n):
+    shapes = [Shape0_8(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_9(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_9(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_9(n):
+    shapes = [Shape0_9(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_10(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_10(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_10(n):
+    shapes = [Shape0_10(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape0_11(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape0_11(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build0_11(n):
+    shapes = [Shape0_11(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+def checksum():
+    return build0_0(3) + build0_1(3) + build0_2(3) + build0_3(3) + build0_4(3) + build0_5(3) + build0_6(3) + build0_7(3) + build0_8(3) + build0_9(3) + build0_10(3) + build0_11(3)
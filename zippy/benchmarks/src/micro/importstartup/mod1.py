@@ -0,0 +1,352 @@
+# generated module 1 of the import-startup benchmark
+
+class Shape1_0(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_0(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_0(n):
+    shapes = [Shape1_0(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_1(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_1(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_1(n):
+    shapes = [Shape1_1(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_2(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_2(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_2(n):
+    shapes = [Shape1_2(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_3(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_3(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_3(n):
+    shapes = [Shape1_3(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_4(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_4(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_4(n):
+    shapes = [Shape1_4(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_5(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_5(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_5(n):
+    shapes = [Shape1_5(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_6(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_6(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_6(n):
+    shapes = [Shape1_6(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_7(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_7(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_7(n):
+    shapes = [Shape1_7(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_8(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_8(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_8(n):
+    shapes = [Shape1_8(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_9(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_9(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_9(n):
+    shapes = [Shape1_9(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_10(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_10(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_10(n):
+    shapes = [Shape1_10(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape1_11(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape1_11(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build1_11(n):
+    shapes = [Shape1_11(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+def checksum():
+    return build1_0(3) + build1_1(3) + build1_2(3) + build1_3(3) + build1_4(3) + build1_5(3) + build1_6(3) + build1_7(3) + build1_8(3) + build1_9(3) + build1_10(3) + build1_11(3)
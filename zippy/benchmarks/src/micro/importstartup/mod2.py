@@ -0,0 +1,352 @@
+# generated module 2 of the import-startup benchmark
+
+class Shape2_0(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_0(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_0(n):
+    shapes = [Shape2_0(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_1(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_1(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_1(n):
+    shapes = [Shape2_1(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_2(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_2(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_2(n):
+    shapes = [Shape2_2(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_3(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_3(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_3(n):
+    shapes = [Shape2_3(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_4(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_4(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_4(n):
+    shapes = [Shape2_4(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_5(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_5(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_5(n):
+    shapes = [Shape2_5(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_6(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_6(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_6(n):
+    shapes = [Shape2_6(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_7(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_7(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_7(n):
+    shapes = [Shape2_7(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_8(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_8(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_8(n):
+    shapes = [Shape2_8(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_9(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_9(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_9(n):
+    shapes = [Shape2_9(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_10(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_10(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_10(n):
+    shapes = [Shape2_10(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape2_11(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape2_11(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build2_11(n):
+    shapes = [Shape2_11(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+def checksum():
+    return build2_0(3) + build2_1(3) + build2_2(3) + build2_3(3) + build2_4(3) + build2_5(3) + build2_6(3) + build2_7(3) + build2_8(3) + build2_9(3) + build2_10(3) + build2_11(3)
@@ -0,0 +1,352 @@
+# generated module 3 of the import-startup benchmark
+
+class Shape3_0(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_0(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_0(n):
+    shapes = [Shape3_0(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_1(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_1(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_1(n):
+    shapes = [Shape3_1(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_2(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_2(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_2(n):
+    shapes = [Shape3_2(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_3(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_3(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_3(n):
+    shapes = [Shape3_3(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_4(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_4(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_4(n):
+    shapes = [Shape3_4(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_5(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_5(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_5(n):
+    shapes = [Shape3_5(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_6(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_6(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_6(n):
+    shapes = [Shape3_6(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_7(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_7(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_7(n):
+    shapes = [Shape3_7(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_8(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_8(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_8(n):
+    shapes = [Shape3_8(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_9(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_9(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_9(n):
+    shapes = [Shape3_9(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_10(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_10(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_10(n):
+    shapes = [Shape3_10(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+class Shape3_11(object):
+
+    def __init__(self, width, height):
+        self.width = width
+        self.height = height
+
+    def area(self):
+        return self.width * self.height
+
+    def scaled(self, factor):
+        return Shape3_11(self.width * factor, self.height * factor)
+
+    def describe(self):
+        if self.width == self.height:
+            return "square %d" % self.width
+        elif self.width > self.height:
+            return "wide %d x %d" % (self.width, self.height)
+        else:
+            return "tall %d x %d" % (self.width, self.height)
+
+
+def build3_11(n):
+    shapes = [Shape3_11(i + 1, n - i) for i in range(n)]
+    total = 0
+    for shape in shapes:
+        total += shape.scaled(2).area()
+    return total
+
+
+def checksum():
+    return build3_0(3) + build3_1(3) + build3_2(3) + build3_3(3) + build3_4(3) + build3_5(3) + build3_6(3) + build3_7(3) + build3_8(3) + build3_9(3) + build3_10(3) + build3_11(3)
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark.datatype;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.benchmark.*;
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * Microbenchmarks for {@link PDict} with int and string keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DictBenchmark {
+
+    @Param({"int", "string"}) public String keyKind;
+
+    @Param({"1000"}) public int size;
+
+    private Object[] keys;
+    private PDict filled;
+
+    @Setup
+    public void setUp() {
+        BenchmarkUtil.initializeContext();
+        keys = new Object[size];
+        filled = new PDict();
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = keyKind.equals("int") ? (Object) i : (Object) ("k" + i);
+            filled.setItem(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public PDict setItem() {
+        final PDict dict = new PDict();
+
+        for (int i = 0; i < size; i++) {
+            dict.setItem(keys[i], i);
+        }
+
+        return dict;
+    }
+
+    @Benchmark
+    public int getItem() {
+        int sum = 0;
+
+        for (int i = 0; i < size; i++) {
+            sum += (int) filled.getItem(keys[i]);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public PDict delItem() {
+        final PDict dict = new PDict();
+
+        for (int i = 0; i < size; i++) {
+            dict.setItem(keys[i], i);
+        }
+
+        for (int i = 0; i < size; i += 2) {
+            dict.delItem(keys[i]);
+        }
+
+        return dict;
+    }
+
+}
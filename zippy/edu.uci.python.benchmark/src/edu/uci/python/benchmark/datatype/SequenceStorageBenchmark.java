@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark.datatype;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Microbenchmarks for the {@link SequenceStorage} strategies backing lists and tuples.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SequenceStorageBenchmark {
+
+    @Param({"int", "double", "object"}) public String kind;
+
+    @Param({"1000"}) public int size;
+
+    private SequenceStorage filled;
+    private SequenceStorage shuffled;
+
+    @Setup
+    public void setUp() throws SequenceStoreException {
+        filled = createEmpty();
+        shuffled = createEmpty();
+
+        for (int i = 0; i < size; i++) {
+            filled.append(createElement(i));
+            shuffled.append(createElement((i * 7919) % size));
+        }
+    }
+
+    private SequenceStorage createEmpty() {
+        switch (kind) {
+            case "int":
+                return new IntSequenceStorage();
+            case "double":
+                return new DoubleSequenceStorage();
+            default:
+                return new ObjectSequenceStorage();
+        }
+    }
+
+    private Object createElement(int i) {
+        switch (kind) {
+            case "int":
+                return i;
+            case "double":
+                return (double) i;
+            default:
+                return "e" + i;
+        }
+    }
+
+    @Benchmark
+    public SequenceStorage append() throws SequenceStoreException {
+        final SequenceStorage storage = createEmpty();
+
+        for (int i = 0; i < size; i++) {
+            storage.append(filled.getItemNormalized(i));
+        }
+
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage insertAtFront() throws SequenceStoreException {
+        final SequenceStorage storage = createEmpty();
+
+        for (int i = 0; i < size; i++) {
+            storage.insertItem(0, filled.getItemNormalized(i));
+        }
+
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage slice() {
+        return filled.getSliceInBound(1, size - 1, 2, (size - 1) / 2);
+    }
+
+    @Benchmark
+    public SequenceStorage sort() {
+        final SequenceStorage storage = shuffled.copy();
+        storage.sort();
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage generalize() {
+        return filled.generalizeFor(new Object());
+    }
+
+}
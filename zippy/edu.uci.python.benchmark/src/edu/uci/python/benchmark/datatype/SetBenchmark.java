@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark.datatype;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.benchmark.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Microbenchmarks for {@link PBaseSet} membership, insertion and bulk operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SetBenchmark {
+
+    @Param({"int", "string"}) public String elementKind;
+
+    @Param({"1000"}) public int size;
+
+    private Object[] elements;
+    private PSet evens;
+    private PSet multiplesOfThree;
+
+    @Setup
+    public void setUp() {
+        BenchmarkUtil.initializeContext();
+        elements = new Object[size];
+        evens = new PSet();
+        multiplesOfThree = new PSet();
+
+        for (int i = 0; i < size; i++) {
+            elements[i] = elementKind.equals("int") ? (Object) i : (Object) ("e" + i);
+
+            if (i % 2 == 0) {
+                evens.add(elements[i]);
+            }
+
+            if (i % 3 == 0) {
+                multiplesOfThree.add(elements[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public PSet add() {
+        final PSet set = new PSet();
+
+        for (int i = 0; i < size; i++) {
+            set.add(elements[i]);
+        }
+
+        return set;
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (evens.contains(elements[i])) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    @Benchmark
+    public PBaseSet union() {
+        return evens.union(multiplesOfThree);
+    }
+
+    @Benchmark
+    public PBaseSet intersection() {
+        return evens.intersection(multiplesOfThree);
+    }
+
+    @Benchmark
+    public PBaseSet difference() {
+        return evens.difference(multiplesOfThree);
+    }
+
+}
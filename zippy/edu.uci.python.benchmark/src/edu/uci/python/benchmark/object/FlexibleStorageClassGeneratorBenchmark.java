@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark.object;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.benchmark.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Measures the bytecode generation and class loading of a flexible object storage class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FlexibleStorageClassGeneratorBenchmark {
+
+    @Param({"4", "16"}) public int attributes;
+
+    private PythonClass pythonClass;
+
+    @Setup
+    public void setUp() {
+        final PythonContext context = BenchmarkUtil.initializeContext();
+        pythonClass = new PythonClass(context, "benchmark.Point" + attributes);
+        final PythonObject instance = PythonContext.newPythonObjectInstance(pythonClass);
+
+        for (int i = 0; i < attributes; i++) {
+            instance.setAttribute("a" + i, i % 2 == 0 ? (Object) i : (Object) ("v" + i));
+        }
+    }
+
+    @Benchmark
+    public FlexiblePythonObjectStorageFactory generate() {
+        return new FlexibleStorageClassGenerator(pythonClass).generate();
+    }
+
+}
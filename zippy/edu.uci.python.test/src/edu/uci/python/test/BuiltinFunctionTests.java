@@ -263,12 +263,88 @@ public class BuiltinFunctionTests {
         assertPrints("45\n", source);
     }
 
+    @Test
+    public void sumStorages() {
+        String source = "print(sum([3, 1, 4]), sum([2147483647, 2147483647, 1]), sum([2**40, 2**62, 2**62, 2**62]))\n" + //
+                        "print(sum([0.5, 2.25, -1.0]), sum([True, False, True]), sum([1, 2.5, 3]), sum([]))\n";
+        assertPrints("8 4294967295 13835059154793791488\n" + //
+                        "1.75 2 6.5 0\n", source);
+    }
+
+    @Test
+    public void sumRange() {
+        String source = "print(sum(range(10)), sum(range(5, 100, 7)), sum(range(10, 0, -3)), sum(range(0)))\n" + //
+                        "print(sum(range(0, 2000000000, 1000)))\n";
+        assertPrints("45 707 22 0\n" + //
+                        "1999999000000000\n", source);
+    }
+
+    @Test
+    public void sumStart() {
+        String source = "print(sum([1, 2], 10), sum([[1], [2, 3]], []), sum((0.5, 1), 1), sum([1, 2], start=5))\n" + //
+                        "print(sum(x for x in [1, 2.5, 3]), sum(x for x in [2**62, 2**62, 1]))\n";
+        assertPrints("13 [1, 2, 3] 2.5 8\n" + //
+                        "6.5 9223372036854775809\n", source);
+    }
+
+    @Test
+    public void sumStrings() {
+        assertError("TypeError: sum() can't sum strings [use ''.join(seq) instead]\n", "sum(['a'], '')\n");
+    }
+
+    @Test
+    public void maxMin() {
+        String source = "a = [3, 1, 4, 1, 5, 9, 2, 6]\n" + //
+                        "print(max(a), min(a), max([0.5, -1.0]), min([True, False]), max([1, 2.5, 3]))\n" + //
+                        "print(max(range(10, 0, -3)), min(range(10, 0, -3)), max(2.5, 1), min(-2**70, 1))\n" + //
+                        "print(max('hello'), min(['b', 'a']), max({3: 'a', 7: 'b'}), max(x for x in range(4)))\n";
+        assertPrints("9 1 0.5 False 3\n" + //
+                        "10 1 2.5 -1180591620717411303424\n" + //
+                        "o a 7 3\n", source);
+    }
+
+    @Test
+    public void maxMinKey() {
+        String source = "def neg(x):\n" + //
+                        "    return -x\n" + //
+                        "a = [3, 1, 4, 1, 5, 9, 2, 6]\n" + //
+                        "print(max(a, key=neg), min(a, key=neg), max(1, 3, 2, key=neg))\n" + //
+                        "print(min('ab', 'c', key=len), max(['aa', 'b', 'cc'], key=len), max(a, key=None))\n";
+        assertPrints("1 9 1\n" + //
+                        "c aa 9\n", source);
+    }
+
+    @Test
+    public void maxEmpty() {
+        assertError("ValueError: max() arg is an empty sequence\n", "max([])\n");
+    }
+
+    @Test
+    public void allAny() {
+        String source = "print(all([]), any([]), all([1.5, 2.0]), any([0, 0, 2**40]), all([True, False]))\n" + //
+                        "print(any(range(1)), any(range(1, 2)), all(range(1, 5)), all(range(-5, 5)), all(range(-5, 5, 2)))\n" + //
+                        "print(all(x > 0 for x in [1, 2]), any(x > 8 for x in [1, 2]), any(['', 0, []]))\n";
+        assertPrints("True False True True False\n" + //
+                        "False True True False True\n" + //
+                        "True False False\n", source);
+    }
+
     @Test
     public void divmodInt() {
         String source = "print(divmod(42, 3))";
         assertPrints("(14, 0)\n", source);
     }
 
+    @Test
+    public void divmodFloors() {
+        String source = "print(divmod(-7, 2), divmod(7, -2), divmod(-2147483648, -1))\n" + //
+                        "print(divmod(-(2**40), 7), divmod(-(2**70), 7), divmod(2**70, -7))\n" + //
+                        "print(-(2**70) // 7, -(2**70) % 7)\n";
+        assertPrints("(-4, 1) (-4, -1) (2147483648, 0)\n" + //
+                        "(-157073089683, 5) (-168655945816773043347, 5) (-168655945816773043347, -5)\n" + //
+                        "-168655945816773043347 5\n", source);
+    }
+
     @Test
     public void printE() {
         String source = "x=0.0000000012;print(x);print(str(0.000000000012))";
@@ -24,14 +24,22 @@
  */
 package edu.uci.python.test;
 
+import java.io.*;
 import java.nio.file.*;
 
 import org.junit.*;
+import org.junit.rules.*;
 
+import static org.junit.Assert.*;
 import static edu.uci.python.test.PythonTests.*;
 
+import edu.uci.python.parser.*;
+import edu.uci.python.runtime.*;
+
 public class ImportTests {
 
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void scriptImportTest() {
         Path script = Paths.get("import-test.py");
@@ -53,4 +61,47 @@ public class ImportTests {
         assertPrintContains("bisect.py\n", source);
     }
 
+    @Test
+    public void moduleASTCache() throws IOException {
+        Path script = Paths.get("import-test.py");
+        String expected = "imported foo()\n" + "local foo()\n" + "local variable\n" + "imported variable\n";
+        File cacheDir = temporaryFolder.newFolder("zippy-ast-cache");
+        PythonOptions.CacheModuleAST = true;
+        PythonOptions.ModuleASTCacheDirectory = cacheDir.toString();
+
+        try {
+            int hits = ModuleASTCache.getHits();
+            assertPrints(expected, script);
+            assertEquals(hits, ModuleASTCache.getHits());
+            assertPrints(expected, script);
+            assertEquals(hits + 2, ModuleASTCache.getHits());
+        } finally {
+            PythonOptions.CacheModuleAST = false;
+            PythonOptions.ModuleASTCacheDirectory = null;
+        }
+    }
+
+    @Test
+    public void parallelImportParsing() {
+        Path script = Paths.get("prefetch-test.py");
+        PythonOptions.ImportParallelism = 2;
+
+        try {
+            int hits = ModulePrefetcher.getHits();
+            assertPrints(Paths.get("prefetch-test.output"), script);
+            // the package and both of its modules
+            assertEquals(hits + 3, ModulePrefetcher.getHits());
+        } finally {
+            PythonOptions.ImportParallelism = 0;
+        }
+    }
+
+    @Test
+    public void sequentialImportParsing() {
+        Path script = Paths.get("prefetch-test.py");
+        int hits = ModulePrefetcher.getHits();
+        assertPrints(Paths.get("prefetch-test.output"), script);
+        assertEquals(hits, ModulePrefetcher.getHits());
+    }
+
 }
@@ -53,4 +53,82 @@ public class DictTests {
         assertPrints("{3: 4}\n", source);
     }
 
+    @Test
+    public void insertionOrder() {
+        String source = "dd = {3:4, 1:2}\n" + //
+                        "dd[0] = 5\n" + //
+                        "del dd[1]\n" + //
+                        "dd[1] = 6\n" + //
+                        "print(dd)\n";
+
+        assertPrints("{3: 4, 0: 5, 1: 6}\n", source);
+    }
+
+    @Test
+    public void mixedKeys() {
+        String source = "dd = {1:'int', 'a':'str', (1, 2):'tuple'}\n" + //
+                        "print(dd.get(1.0, None), dd['a'], dd[(1, 2)], len(dd))\n";
+
+        assertPrints("int str tuple 3\n", source);
+    }
+
+    @Test
+    public void keyError() {
+        String source = "dd = {1:2}\n" + //
+                        "try:\n" + //
+                        "    dd[2]\n" + //
+                        "except KeyError:\n" + //
+                        "    print('missing')\n";
+
+        assertPrints("missing\n", source);
+    }
+
+    @Test
+    public void grow() {
+        String source = "dd = {}\n" + //
+                        "for i in range(1000):\n" + //
+                        "    dd[i] = i * 2\n" + //
+                        "for i in range(0, 1000, 2):\n" + //
+                        "    del dd[i]\n" + //
+                        "total = 0\n" + //
+                        "for k in dd:\n" + //
+                        "    total += dd[k]\n" + //
+                        "print(len(dd), total, 999 in dd, 998 in dd)\n";
+
+        assertPrints("500 500000 True False\n", source);
+    }
+
+    @Test
+    public void intStorageHistogram() {
+        String source = "counts = {}\n" + //
+                        "for i in range(20):\n" + //
+                        "    counts[i % 3] = 0\n" + //
+                        "for i in range(20):\n" + //
+                        "    counts[i % 3] += 1\n" + //
+                        "print(counts, counts.keys())\n";
+
+        assertPrints("{0: 7, 1: 7, 2: 6} [0, 1, 2]\n", source);
+    }
+
+    @Test
+    public void intStorageGeneralize() {
+        String source = "dd = {1: 2, 3: 4}\n" + //
+                        "dd[5] = 1.5\n" + //
+                        "dd['a'] = 'b'\n" + //
+                        "print(dd, dd[True], dd[3.0])\n";
+
+        assertPrints("{1: 2, 3: 4, 5: 1.5, a: b} 2 4\n", source);
+    }
+
+    @Test
+    public void stringStorage() {
+        String source = "dd = {}\n" + //
+                        "for s in ['x', 'y', 'z', 'x']:\n" + //
+                        "    dd[s] = dd.get(s, 0) + 1\n" + //
+                        "dd[2] = 'two'\n" + //
+                        "print(dd, dd['x'], dd[2])\n";
+
+        assertPrints("{x: 2, y: 1, z: 1, 2: two} 2 two\n", source);
+    }
+
 }
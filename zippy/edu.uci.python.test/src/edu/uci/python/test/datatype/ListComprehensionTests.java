@@ -89,4 +89,19 @@ public class ListComprehensionTests {
         assertPrints("[11, 22, 33]\n", source);
     }
 
+    @Test
+    public void presizedStorage() {
+        String source = "def squares(n):\n" + //
+                        "    return [x * x for x in range(n)]\n" + //
+                        "for i in range(3):\n" + //
+                        "    print(squares(i))\n" + //
+                        "lst = squares(3)\n" + //
+                        "lst.append(9)\n" + //
+                        "print(lst.pop(), lst)\n" + //
+                        "def copy(xs):\n" + //
+                        "    return [x for x in xs]\n" + //
+                        "print(copy([1, 2]), copy([1.5]), copy(['a']), copy([]))\n";
+        assertPrints("[]\n[0]\n[0, 1]\n9 [0, 1, 4]\n[1, 2] [1.5] ['a'] []\n", source);
+    }
+
 }
@@ -30,6 +30,8 @@ import java.nio.file.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+
 public class ListTests {
 
     @Test
@@ -132,6 +134,76 @@ public class ListTests {
         assertPrints("[1, 2, 3]\n", source);
     }
 
+    @Test
+    public void extendedSlices() {
+        String source = "a = list(range(10))\n" + //
+                        "a[1:2] = [7, 8, 9]\n" + //
+                        "a[8::-3] = [0, 0, 0]\n" + //
+                        "print(a)\n" + //
+                        "del a[::2]\n" + //
+                        "del a[-1:0:-3]\n" + //
+                        "print(a)\n" + //
+                        "b = [1.5, 2.5, 3.5, 4.5]\n" + //
+                        "b[1:3] = []\n" + //
+                        "b[::-1] = b\n" + //
+                        "print(b)\n";
+
+        assertPrints("[0, 7, 0, 9, 2, 0, 4, 5, 0, 7, 8, 9]\n" + //
+                        "[7, 9, 5, 7]\n" + //
+                        "[4.5, 1.5]\n", source);
+    }
+
+    @Test
+    public void repeatedSliceStore() {
+        String source = "a = [1] * 12\n" + //
+                        "a[2::3] = [0] * 4\n" + //
+                        "a[:2] = 3 * [5]\n" + //
+                        "a[-2::-5] = [True] * 3\n" + //
+                        "print(a)\n" + //
+                        "b = [1.5] * 5\n" + //
+                        "b[1:4] = [0.0] * 0\n" + //
+                        "print(b)\n";
+
+        assertPrints("[5, True, 5, 0, 1, 1, True, 1, 1, 0, 1, True, 0]\n" + //
+                        "[1.5, 1.5]\n", source);
+    }
+
+    @Test
+    public void copyOnWrite() {
+        String source = "a = [1, 2, 3, 4]\n" + //
+                        "b = a[:]\n" + //
+                        "c = a.copy()\n" + //
+                        "d = a[:2]\n" + //
+                        "a[0] = 9\n" + //
+                        "b.append(5)\n" + //
+                        "d.append(7)\n" + //
+                        "print(a, b, c, d)\n" + //
+                        "t = (1, 'x')\n" + //
+                        "l = list(t)\n" + //
+                        "l[1] = 'y'\n" + //
+                        "print(t, l, t[:] is t)\n";
+
+        assertPrints("[9, 2, 3, 4] [1, 2, 3, 4, 5] [1, 2, 3, 4] [1, 2, 7]\n" + //
+                        "(1, 'x') [1, 'y'] True\n", source);
+    }
+
+    @Test
+    public void indexPastLength() {
+        String source = "a = [1, 2]\n" + //
+                        "a.append(3)\n" + //
+                        "print(a[3])\n";
+
+        assertError("IndexError: list index out of range\n", source);
+    }
+
+    @Test
+    public void extendedSliceSizeMismatch() {
+        String source = "a = [1, 2, 3, 4]\n" + //
+                        "a[::2] = [0] * 3\n";
+
+        assertError("ValueError: attempt to assign sequence of size 3 to extended slice of size 2\n", source);
+    }
+
     @Test
     public void popItem() {
         String source = "llist = [1,2,3,4]\n" + //
@@ -184,6 +256,188 @@ public class ListTests {
         assertError("IndexError: list assignment index out of range\n", source);
     }
 
+    @Test
+    public void boolSieve() {
+        String source = "n = 200\n" + //
+                        "flags = [True] * n\n" + //
+                        "flags[0] = flags[1] = False\n" + //
+                        "i = 2\n" + //
+                        "while i * i < n:\n" + //
+                        "    if flags[i]:\n" + //
+                        "        flags[i*i::i] = [False] * len(range(i*i, n, i))\n" + //
+                        "    i += 1\n" + //
+                        "print(sum(flags), flags.count(False), flags.index(True))\n" + //
+                        "flags[100:] = []\n" + //
+                        "flags.sort()\n" + //
+                        "print(len(flags), flags.index(True), flags[-1])\n";
+        assertPrints("46 154 2\n100 75 True\n", source);
+    }
+
+    @Test
+    public void sortWithKeyAndReverse() {
+        String source = "class Rec:\n" + //
+                        "    def __init__(self, name, age):\n" + //
+                        "        self.name = name\n" + //
+                        "        self.age = age\n" + //
+                        "def age(r):\n" + //
+                        "    return r.age\n" + //
+                        "rs = [Rec('b', 30), Rec('a', 25), Rec('c', 30), Rec('d', 25)]\n" + //
+                        "print(rs.sort(key=age, reverse=True))\n" + //
+                        "print([r.name for r in rs])\n" + //
+                        "def neg(x):\n" + //
+                        "    return -x\n" + //
+                        "l = [2.5, 1, -3, 2147483648]\n" + //
+                        "l.sort(key=neg)\n" + //
+                        "print(l, sorted([1, True, 1.0, 0], reverse=True))\n";
+        assertPrints("None\n['b', 'c', 'a', 'd']\n[2147483648, 2.5, 1, -3] [1, True, 1.0, 0]\n", source);
+    }
+
+    @Test
+    public void sortedBuiltin() {
+        String source = "def second(t):\n" + //
+                        "    return t[1]\n" + //
+                        "l = [3, 1, 2]\n" + //
+                        "print(sorted(l), l, sorted('cab'), sorted(range(4), reverse=True))\n" + //
+                        "print(sorted([(1, 'b'), (0, 'b'), (2, 'a')], key=second))\n";
+        assertPrints("[1, 2, 3] [3, 1, 2] ['a', 'b', 'c'] [3, 2, 1, 0]\n[(2, 'a'), (1, 'b'), (0, 'b')]\n", source);
+    }
+
+    @Test
+    public void sortedUserObjects() {
+        String source = "class P:\n" + //
+                        "    def __init__(self, v):\n" + //
+                        "        self.v = v\n" + //
+                        "    def __lt__(self, other):\n" + //
+                        "        return self.v < other.v\n" + //
+                        "class G:\n" + //
+                        "    def __init__(self, v):\n" + //
+                        "        self.v = v\n" + //
+                        "    def __gt__(self, other):\n" + //
+                        "        return self.v > other.v\n" + //
+                        "ps = [P(3), P(1), P(2)]\n" + //
+                        "print([p.v for p in sorted(ps)], max(ps).v, min(ps).v)\n" + //
+                        "print([g.v for g in sorted([G(2), G(5), G(1)])])\n";
+        assertPrints("[1, 2, 3] 3 1\n[1, 2, 5]\n", source);
+    }
+
+    @Test
+    public void sortSignedZeros() {
+        String source = "z = [0.0, -0.0, 1.0, -0.0, 0.0, -1.0]\n" + //
+                        "r = list(z)\n" + //
+                        "z.sort()\n" + //
+                        "r.sort(reverse=True)\n" + //
+                        "print(z, r)\n";
+        assertPrints("[-1.0, 0.0, -0.0, -0.0, 0.0, 1.0] [1.0, 0.0, -0.0, -0.0, 0.0, -1.0]\n", source);
+    }
+
+    @Test
+    public void nestedIndex() {
+        String source = "a = [[0] * 3 for i in range(2)]\n" + //
+                        "for i in range(2):\n" + //
+                        "    for j in range(3):\n" + //
+                        "        a[i][j] = i * 10 + j\n" + //
+                        "r = a[1]\n" + //
+                        "r[0] = 7\n" + //
+                        "a[0][-1] += 5\n" + //
+                        "print(a, a[1][0], a[-1][-2])\n" + //
+                        "a[0].append(9)\n" + //
+                        "a[1][2] = 2.5\n" + //
+                        "del a[0][0]\n" + //
+                        "print(a, r)\n" + //
+                        "b = [[1.0, 2.0], [3.0, 4.0]]\n" + //
+                        "b[1][0] = 7\n" + //
+                        "b.reverse()\n" + //
+                        "b[0][1] = b[1][0] + 0.5\n" + //
+                        "print(b, b[0] == [7, 1.5])\n";
+        assertPrints("[[0, 1, 7], [7, 11, 12]] 7 11\n" + //
+                        "[[1, 7, 9], [7, 11, 2.5]] [7, 11, 2.5]\n" + //
+                        "[[7, 1.5], [1.0, 2.0]] True\n", source);
+    }
+
+    @Test
+    public void countNumericEquality() {
+        String source = "print([1, 2, 1].count(1.0), [True, False].count(1), [1.0, -0.0, 0.0].count(0), [True, True, False].count(1.0))\n" + //
+                        "print([1, 2, 1].index(1.0), [2**40, 3].count(2.0**40), [1, 2.5, 1].count(True), [0, 1].count(False))\n";
+        assertPrints("2 1 2 2\n0 1 2 1\n", source);
+    }
+
+    @Test
+    public void mixedNumeric() {
+        String source = "l = [1, 2.5, 3]\n" + //
+                        "l.append(-4)\n" + //
+                        "l.insert(0, 0.5)\n" + //
+                        "l[2] = 7\n" + //
+                        "print(l, sum(l), min(l), max(l), l.count(3), l.index(-4))\n" + //
+                        "m = [2.0]\n" + //
+                        "m.append(1)\n" + //
+                        "m[0:0] = [3, 0.25]\n" + //
+                        "m.sort()\n" + //
+                        "n = [2147483647, 0.5]\n" + //
+                        "n[1] = 1\n" + //
+                        "print(m, m == [0.25, 1, 2, 3], not [], sum(n))\n" + //
+                        "r = []\n" + //
+                        "for i in range(4):\n" + //
+                        "    r = r + [i, i * 0.5]\n" + //
+                        "print(r[::2], r + [True], sum(r))\n";
+        assertPrints("[0.5, 1, 7, 3, -4] 7.5 -4 7 1 4\n" + //
+                        "[0.25, 1, 2.0, 3] True True 2147483648\n" + //
+                        "[0, 1, 2, 3] [0, 0.0, 1, 0.5, 2, 1.0, 3, 1.5, True] 9.0\n", source);
+    }
+
+    @Test
+    public void offHeap() {
+        int threshold = PythonOptions.OffHeapStorageThreshold;
+        PythonOptions.OffHeapStorageThreshold = 8;
+
+        try {
+            String source = "a = []\n" + //
+                            "for i in range(20):\n" + //
+                            "    a.append(i * 3 % 7)\n" + //
+                            "a[3] = 50\n" + //
+                            "a.insert(0, -1)\n" + //
+                            "del a[1:12:2]\n" + //
+                            "t = 0\n" + //
+                            "for x in a:\n" + //
+                            "    t += x\n" + //
+                            "print(a, a[-1], t, a.index(50), a.count(5))\n" + //
+                            "a.sort(reverse=True)\n" + //
+                            "b = a[:3] + a[3:]\n" + //
+                            "print(a[:4], a == b, len(a * 2))\n" + //
+                            "d = [0.5] * 10\n" + //
+                            "d[3] = 2.5\n" + //
+                            "d.append(7)\n" + //
+                            "print(d, [x * 2 for x in d][3])\n";
+            assertPrints("[-1, 3, 50, 1, 0, 6, 5, 1, 4, 0, 3, 6, 2, 5, 1] 1 86 2 2\n" + //
+                            "[50, 6, 6, 5] True 30\n" + //
+                            "[0.5, 0.5, 0.5, 2.5, 0.5, 0.5, 0.5, 0.5, 0.5, 0.5, 7] 5.0\n", source);
+        } finally {
+            PythonOptions.OffHeapStorageThreshold = threshold;
+        }
+    }
+
+    @Test
+    public void offHeapIteratorOutlivesStorage() {
+        int threshold = PythonOptions.OffHeapStorageThreshold;
+        PythonOptions.OffHeapStorageThreshold = 8;
+
+        try {
+            String source = "a = list(range(20))\n" + //
+                            "n = 0\n" + //
+                            "for x in a:\n" + //
+                            "    n += 1\n" + //
+                            "    if x == 3:\n" + //
+                            "        a.append(0.5)\n" + //
+                            "b = [i * 2 for i in range(20)]\n" + //
+                            "it = iter(b)\n" + //
+                            "next(it)\n" + //
+                            "b[0] = 'x'\n" + //
+                            "print(n >= 20, len(a), len(list(it)))\n";
+            assertPrints("True 21 19\n", source);
+        } finally {
+            PythonOptions.OffHeapStorageThreshold = threshold;
+        }
+    }
+
     // Disabled for now.
     public void moreSlice() {
         Path script = Paths.get("slice-test.py");
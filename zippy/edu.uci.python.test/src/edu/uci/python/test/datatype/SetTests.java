@@ -53,4 +53,49 @@ public class SetTests {
                         "print(s)";
         assertPrints("{1, 2, 3}\n{1, 2, 3, 4}\n", source);
     }
+
+    @Test
+    public void setMembership() {
+        String source = "seen = set()\n" + //
+                        "for i in range(100):\n" + //
+                        "    seen.add(i % 7)\n" + //
+                        "print(seen, 3 in seen, 7 in seen, 3.0 in seen, True in seen)\n";
+        assertPrints("{0, 1, 2, 3, 4, 5, 6} True False True True\n", source);
+    }
+
+    @Test
+    public void setMixed() {
+        String source = "s = {1, 2}\n" + //
+                        "s.add('a')\n" + //
+                        "s.add((1, 2))\n" + //
+                        "s.add(1.0)\n" + //
+                        "print(len(s), 'a' in s, (1, 2) in s, 2 in s)\n";
+        assertPrints("4 True True True\n", source);
+    }
+
+    @Test
+    public void setBulkOperations() {
+        String source = "a = {1, 2, 3, 4}\n" + //
+                        "b = {3, 4, 5}\n" + //
+                        "print(a ^ b, a | b, a & b, a - b)\n" + //
+                        "c = set(a)\n" + //
+                        "c.intersection_update(b)\n" + //
+                        "d = set(a)\n" + //
+                        "d.difference_update([1, 5])\n" + //
+                        "e = set(a)\n" + //
+                        "e.symmetric_difference_update(b)\n" + //
+                        "print(c, d, e, a.symmetric_difference(b))\n";
+        assertPrints("{1, 2, 5} {1, 2, 3, 4, 5} {3, 4} {1, 2}\n{3, 4} {2, 3, 4} {1, 2, 5} {1, 2, 5}\n", source);
+    }
+
+    @Test
+    public void setRemove() {
+        String source = "s = {1, 2, 3}\n" + //
+                        "s.remove(2)\n" + //
+                        "s.discard(5)\n" + //
+                        "print(s)\n" + //
+                        "print(s.pop(), s)\n";
+        assertPrints("{1, 3}\n1 {3}\n", source);
+    }
+
 }
@@ -74,6 +74,14 @@ public class StringTests {
         assertPrints("012\n", source);
     }
 
+    @Test
+    public void join2() {
+        String source = "print(','.join(('x', 'yy', 'z')))\n" + //
+                        "print(','.join([]))\n" + //
+                        "print('-'.join(str(i) for i in range(4)))\n";
+        assertPrints("x,yy,z\n\n0-1-2-3\n", source);
+    }
+
     @Test
     public void stringToTuple() {
         String source = "s = \"0123456789\"\n" + //
@@ -81,4 +89,39 @@ public class StringTests {
         assertPrints("('0', '1', '2', '3', '4', '5', '6', '7', '8', '9')\n", source);
     }
 
+    @Test
+    public void ropeConcatenation() {
+        String source = "s = ''\n" + //
+                        "for i in range(3000):\n" + //
+                        "    s += str(i % 10)\n" + //
+                        "print(len(s), s[:12], s[2999])\n" + //
+                        "print(s == '0123456789' * 300)\n" + //
+                        "d = {s : 1}\n" + //
+                        "print(d['0123456789' * 300])\n";
+        assertPrints("3000 012345678901 9\nTrue\n1\n", source);
+    }
+
+    @Test
+    public void iterateRope() {
+        String source = "r = ''\n" + //
+                        "for i in range(300):\n" + //
+                        "    r += 'abcd'\n" + //
+                        "n = 0\n" + //
+                        "for c in r:\n" + //
+                        "    if c == 'd':\n" + //
+                        "        n += 1\n" + //
+                        "print(n, any(c == 'd' for c in r), max(r) == 'd', r[3] == 'd')\n" + //
+                        "print(set(r) == set('abcd'), list(r) == list('abcd' * 300))\n";
+        assertPrints("300 True True True\nTrue True\n", source);
+    }
+
+    @Test
+    public void joinRopes() {
+        String source = "a = 'a' * 600\n" + //
+                        "b = a + a\n" + //
+                        "s = '-'.join([b, b, 'c'])\n" + //
+                        "print(len(s), s[-3:])\n";
+        assertPrints("2403 a-c\n", source);
+    }
+
 }
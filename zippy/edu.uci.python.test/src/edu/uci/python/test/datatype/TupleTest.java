@@ -50,4 +50,56 @@ public class TupleTest {
         assertError("IndexError: tuple index out of range\n", source);
     }
 
+    @Test
+    public void smallTuples() {
+        String source = "t = (1, 2)\n" + //
+                        "u = (1.5, 2.5)\n" + //
+                        "w = (1, 'a', 3)\n" + //
+                        "print(t, u, w, (1, 2, 3, 4), t[0], t[-1], u[1], w[1], len(w))\n" + //
+                        "print(t == (1, 2.0), (1.0, 2.0) == t, t != (2, 1), w == (1, 'a', 3), t < (1, 3))\n" + //
+                        "print(t[0:1], w[1:], t + u, tuple([1, 2]), divmod(7, 2), divmod(7.5, 2.0))\n";
+        assertPrints("(1, 2) (1.5, 2.5) (1, 'a', 3) (1, 2, 3, 4) 1 2 2.5 a 3\n" + //
+                        "True True True True True\n" + //
+                        "(1,) ('a', 3) (1, 2, 1.5, 2.5) (1, 2) (3, 1) (3.0, 1.5)\n", source);
+    }
+
+    @Test
+    public void smallTupleKeys() {
+        String source = "d = {(1, 2): 'a', (1.5, 2.5): 'b', (1, 'a'): 'c'}\n" + //
+                        "s = set()\n" + //
+                        "s.add((1, 2))\n" + //
+                        "s.add((1.0, 2.0))\n" + //
+                        "print(d[(1, 2)], d[(1.5, 2.5)], d[(1, 'a')], (1.0, 2.0) in d, len(s))\n";
+        assertPrints("a b c True 1\n", source);
+    }
+
+    @Test
+    public void pairLiteralRespecializes() {
+        String source = "def pair(n):\n" + //
+                        "    return (n, n + 1) if n % 2 == 0 else (n * 1.5, 'z')\n" + //
+                        "for i in range(4):\n" + //
+                        "    a, b = pair(i)\n" + //
+                        "    print(a, b)\n";
+        assertPrints("0 1\n1.5 z\n2 3\n4.5 z\n", source);
+    }
+
+    @Test
+    public void pairsFromIterators() {
+        String source = "for i, s in enumerate(['x', 'y']):\n" + //
+                        "    print(i, s)\n" + //
+                        "for p, q in zip([1, 2], [3.5, 4.5]):\n" + //
+                        "    print(p, q)\n" + //
+                        "for k, v in {1: 2}.items():\n" + //
+                        "    print(k, v)\n" + //
+                        "print(list(zip([1, 2], [3, 4], [5, 6])))\n";
+        assertPrints("0 x\n1 y\n1 3.5\n2 4.5\n1 2\n[(1, 3, 5), (2, 4, 6)]\n", source);
+    }
+
+    @Test
+    public void pairIndexOutOfBound() {
+        String source = "tup = (1, 2)\n" + //
+                        "tup[2]\n";
+        assertError("IndexError: tuple index out of range\n", source);
+    }
+
 }
@@ -30,6 +30,8 @@ import java.nio.file.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+
 public class GeneratorTests {
 
     @Test
@@ -142,4 +144,37 @@ public class GeneratorTests {
         assertPrints("", script);
     }
 
+    @Test
+    public void stateMachineNestedControl() {
+        String source = "def gen(n):\n" + //
+                        "    yield -1\n" + //
+                        "    i = 0\n" + //
+                        "    while i < n:\n" + //
+                        "        if i % 2 == 0:\n" + //
+                        "            yield i\n" + //
+                        "        else:\n" + //
+                        "            for j in range(i):\n" + //
+                        "                if j == 2:\n" + //
+                        "                    break\n" + //
+                        "                yield j * 10\n" + //
+                        "        i += 1\n" + //
+                        "    yield n\n" + //
+                        "print(list(gen(5)))\n" + //
+                        "def resumed(n):\n" + //
+                        "    try:\n" + //
+                        "        for i in range(n):\n" + //
+                        "            yield i\n" + //
+                        "    finally:\n" + //
+                        "        pass\n" + //
+                        "print(list(resumed(3)))\n";
+
+        PythonOptions.GeneratorStateMachine = true;
+
+        try {
+            assertPrints("[-1, 0, 0, 2, 0, 10, 4, 5]\n[0, 1, 2]\n", source);
+        } finally {
+            PythonOptions.GeneratorStateMachine = false;
+        }
+    }
+
 }
@@ -126,6 +126,51 @@ public class BinaryArithTests {
         assertPrints("18446744073709551615\n", source);
     }
 
+    @Test
+    public void longTier() {
+        String source = "a = 2147483647\n" + //
+                        "b = a + 1\n" + //
+                        "c = b * b\n" + //
+                        "d = 9223372036854775807 + 1\n" + //
+                        "e = -(-9223372036854775807 - 1)\n" + //
+                        "print(b, c, d, e, type(b))\n" + //
+                        "l = [1, 2]\n" + //
+                        "l.append(b)\n" + //
+                        "m = {b : 'x'}\n" + //
+                        "print(l, m[a + 1])\n";
+        assertPrints("2147483648 4611686018427387904 9223372036854775808 9223372036854775808 <class 'int'>\n" + //
+                        "[1, 2, 2147483648] x\n", source);
+    }
+
+    @Test
+    public void floorDivAndModulo() {
+        String source = "print(-7 // 2, 7 // -2, -7 % 3, 7 % -3)\n" + //
+                        "print(-(2**40) // 3, -(2**40) % 7, -2147483648 // -1)\n" + //
+                        "seed = (12345 * 1103515245 + 12345) % 2147483648\n" + //
+                        "l = [1, 2, 3]\n" + //
+                        "l.insert(seed % 2, 0)\n" + //
+                        "print(seed, l)\n";
+        assertPrints("-4 -4 2 -2\n" + //
+                        "-366503875926 5 2147483648\n" + //
+                        "1406932606 [0, 1, 2, 3]\n", source);
+    }
+
+    @Test
+    public void complexArith() {
+        String source = "z = 1+2j\n" + //
+                        "c = 0.5-0.25j\n" + //
+                        "print(z * z + c, z / c, 2 / z, -z, abs(3+4j))\n" + //
+                        "print(z ** 2, z ** -1, (1j) ** 2, (2+0j) == 2.0)\n";
+        assertPrints("(-2.5+3.75j) 4j (0.4-0.8j) (-1-2j) 5.0\n" + //
+                        "(-3+4j) (0.2-0.4j) (-1+0j) True\n", source);
+    }
+
+    @Test
+    public void complexDivisionByZero() {
+        String source = "print((1+2j) / 0j)\n";
+        assertError("ZeroDivisionError: complex division by zero\n", source);
+    }
+
     @Test
     public void NonePlusInt() {
         String source = "a = None\n" + //
@@ -40,6 +40,17 @@ public class BinaryBitwiseTests {
         assertPrints("-1\n", "print(-20 >> 12)");
     }
 
+    @Test
+    public void rightShiftWide() {
+        assertPrints("137438953472 0 -1 -1 0\n", "print(2**40 >> 3, 5 >> 40, -5 >> 40, -2**40 >> 70, 1 >> 32)");
+    }
+
+    @Test
+    public void negativeRightShift() {
+        assertError("ValueError: negative shift count\n", "print(2**40 >> -1)");
+        assertError("ValueError: negative shift count\n", "print(5 >> -1)");
+    }
+
     @Test
     public void bitwiseAnd() {
         assertPrints("0\n", "print(32 & 8)");
@@ -88,4 +88,47 @@ public class ForTests {
         assertPrints("1 2 3 4\n5 6 7 8\n", source);
     }
 
+    @Test
+    public void recursiveFor() {
+        String source = "def rec(n):\n" + //
+                        "  if n == 0:\n" + //
+                        "    return 0\n" + //
+                        "  total = 0\n" + //
+                        "  for i in range(3):\n" + //
+                        "    total += i + rec(n - 1)\n" + //
+                        "  return total\n" + //
+                        "print(rec(4))";
+        assertPrints("120\n", source);
+    }
+
+    @Test
+    public void pairUnpacking() {
+        String source = "d = {'a': 1, 'b': 2}\n" + //
+                        "for k, v in d.items():\n" + //
+                        "    print(k, v)\n" + //
+                        "for i, s in enumerate(['x', 'y']):\n" + //
+                        "    print(i, s)\n" + //
+                        "for p, q in zip([1, 2], [3.5, 4.5]):\n" + //
+                        "    print(p, q)\n" + //
+                        "for p, q in [(1, 2), [3, 4], (5.5, 'z')]:\n" + //
+                        "    print(p, q)\n" + //
+                        "print(p, q, [k * v for k, v in d.items()], {v: i for i, v in enumerate([7, 8])})\n";
+        assertPrints("a 1\nb 2\n0 x\n1 y\n1 3.5\n2 4.5\n1 2\n3 4\n5.5 z\n5.5 z ['a', 'bb'] {7: 0, 8: 1}\n", source);
+    }
+
+    @Test
+    public void pairUnpackingFromGenerator() {
+        String source = "def gen(n):\n" + //
+                        "    for i, v in enumerate(range(n)):\n" + //
+                        "        yield i, v * v\n" + //
+                        "def use(n):\n" + //
+                        "    total = 0\n" + //
+                        "    for a, b in gen(n):\n" + //
+                        "        total += a + b\n" + //
+                        "    return total\n" + //
+                        "for n in range(8):\n" + //
+                        "    print(use(n))\n";
+        assertPrints("0\n0\n2\n8\n20\n40\n70\n112\n", source);
+    }
+
 }
@@ -59,4 +59,15 @@ public class MultiAssignTests {
                         "print(a, b, c, d)\n";
         assertPrints("1 2 3 4\n", source);
     }
+    @Test
+    public void parallelAssignment() {
+        String source = "x, y = 0, 1\n" + //
+                        "for i in range(10):\n" + //
+                        "    x, y = y, x + y\n" + //
+                        "a, b = 5, x\n" + //
+                        "l = [1, 2, 3]\n" + //
+                        "l[0], l[2], c = l[2], l[0], 'c'\n" + //
+                        "print(x, y, a, b, l, c)\n";
+        assertPrints("55 89 5 55 [3, 2, 1] c\n", source);
+    }
 }
@@ -193,4 +193,95 @@ public class TryTests {
         assertPrints("KeyboardInterrupt! KeyboardInterrupt\n\n" + "executing finally clause\n", script);
     }
 
+    @Test
+    public void exceptSubclass() {
+        String source = "class MyError(Exception):\n" + //
+                        "    pass\n" + //
+                        "class SubError(MyError):\n" + //
+                        "    pass\n" + //
+                        "try:\n" + //
+                        "    raise SubError\n" + //
+                        "except MyError:\n" + //
+                        "    print(\"caught MyError\")\n" + //
+                        "try:\n" + //
+                        "    raise MyError\n" + //
+                        "except SubError:\n" + //
+                        "    print(\"wrong\")\n" + //
+                        "except Exception:\n" + //
+                        "    print(\"caught Exception\")\n" + //
+                        "try:\n" + //
+                        "    {}[1]\n" + //
+                        "except LookupError:\n" + //
+                        "    print(\"caught LookupError\")\n";
+
+        assertPrints("caught MyError\n" + "caught Exception\n" + "caught LookupError\n", source);
+    }
+
+    @Test
+    public void exceptInLoop() {
+        String source = "def count(d, n):\n" + //
+                        "    missing = 0\n" + //
+                        "    for i in range(n):\n" + //
+                        "        try:\n" + //
+                        "            d[i]\n" + //
+                        "        except KeyError:\n" + //
+                        "            missing += 1\n" + //
+                        "        try:\n" + //
+                        "            missing += 1 // (i % 4)\n" + //
+                        "        except (IndexError, ZeroDivisionError):\n" + //
+                        "            missing += 10\n" + //
+                        "    return missing\n" + //
+                        "d = {0: 0, 2: 2, 4: 4}\n" + //
+                        "print(count(d, 1000))\n";
+
+        assertPrints("3747\n", source);
+    }
+
+    @Test
+    public void exceptionInElseNotCaught() {
+        String source = "def foo():\n" + //
+                        "    try:\n" + //
+                        "        pass\n" + //
+                        "    except KeyError:\n" + //
+                        "        print(\"inner\")\n" + //
+                        "    else:\n" + //
+                        "        {}[0]\n" + //
+                        "try:\n" + //
+                        "    foo()\n" + //
+                        "except KeyError:\n" + //
+                        "    print(\"outer\")\n";
+
+        assertPrints("outer\n", source);
+    }
+
+    @Test
+    public void uncaughtKeyError() {
+        String source = "d = {1: 2}\n" + //
+                        "d[3]\n";
+
+        assertError("KeyError: 3\n", source);
+    }
+
+    @Test
+    public void longIndexIsNotZeroDivision() {
+        String source = "for seq in [[1, 2], (1, 2, 3), range(3)]:\n" + //
+                        "    for idx in [2**40, -2**40]:\n" + //
+                        "        try:\n" + //
+                        "            seq[idx]\n" + //
+                        "        except IndexError:\n" + //
+                        "            print('IndexError')\n" + //
+                        "        except ZeroDivisionError:\n" + //
+                        "            print('ZeroDivisionError')\n" + //
+                        "try:\n" + //
+                        "    2**40 // 0\n" + //
+                        "except ZeroDivisionError:\n" + //
+                        "    print('ZeroDivisionError')\n" + //
+                        "try:\n" + //
+                        "    2**70 % 0\n" + //
+                        "except ZeroDivisionError:\n" + //
+                        "    print('ZeroDivisionError', 2**70 % -3)\n";
+
+        assertPrints("IndexError\nIndexError\nIndexError\nIndexError\nIndexError\nIndexError\nZeroDivisionError\nZeroDivisionError -2\n", source);
+    }
+
 }
@@ -26,8 +26,12 @@ package edu.uci.python.test.runtime;
 
 import static org.junit.Assert.*;
 
+import java.util.*;
+
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public class SequenceStorageTests {
@@ -213,4 +217,317 @@ public class SequenceStorageTests {
         assertEquals(12, store.length());
     }
 
+    /**
+     * BoolSequenceStorage tests. The sizes straddle word boundaries of the packed representation.
+     */
+    private static boolean[] getBoolValues(int length) {
+        boolean[] values = new boolean[length];
+
+        for (int i = 0; i < length; i++) {
+            values[i] = i % 3 == 0;
+        }
+
+        return values;
+    }
+
+    @Test
+    public void boolGetAndSet() throws SequenceStoreException {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(130));
+        assertEquals(true, store.getItemNormalized(129));
+        assertEquals(false, store.getItemNormalized(128));
+        store.setItemNormalized(128, true);
+        assertEquals(true, store.getItemNormalized(128));
+        assertEquals(45, store.countTrue());
+    }
+
+    @Test
+    public void boolGetSlice() {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(200));
+        BoolSequenceStorage slice = (BoolSequenceStorage) store.getSliceInBound(61, 190, 1, 129);
+
+        for (int i = 0; i < 129; i++) {
+            assertEquals((i + 61) % 3 == 0, slice.getItemNormalized(i));
+        }
+    }
+
+    @Test
+    public void boolSetStridedSlice() throws SequenceStoreException {
+        BoolSequenceStorage store = new BoolSequenceStorage(200);
+        store.extend(new BoolSequenceStorage(new boolean[200]));
+        boolean[] trues = new boolean[40];
+        Arrays.fill(trues, true);
+
+        store.setSliceInBound(5, 200, 5, new BoolSequenceStorage(trues));
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i >= 5 && i % 5 == 0, store.getItemNormalized(i));
+        }
+
+        assertEquals(39, store.countTrue());
+        assertEquals(5, store.indexOfBool(true));
+    }
+
+    @Test
+    public void boolSetSliceResize() throws SequenceStoreException {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(100));
+        store.setSliceInBound(10, 90, 1, new BoolSequenceStorage(new boolean[]{true, true}));
+
+        assertEquals(22, store.length());
+        assertEquals(true, store.getItemNormalized(11));
+        assertEquals(true, store.getItemNormalized(12));
+        assertEquals(false, store.getItemNormalized(20));
+        assertEquals(true, store.getItemNormalized(21));
+        assertEquals(10, store.countTrue());
+    }
+
+    @Test
+    public void boolInsertAndDel() throws SequenceStoreException {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(128));
+        store.insertItem(0, true);
+        assertEquals(129, store.length());
+        assertEquals(true, store.getItemNormalized(127));
+        assertEquals(false, store.getItemNormalized(128));
+
+        store.delItemInBound(0);
+        store.delItemInBound(0);
+
+        for (int i = 0; i < 126; i++) {
+            assertEquals((i + 1) % 3 == 0, store.getItemNormalized(i));
+        }
+
+        assertEquals(127, store.length());
+    }
+
+    @Test
+    public void boolSort() {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(150));
+        store.sort();
+        assertEquals(100, store.indexOfBool(true));
+        assertEquals(50, store.count(true));
+        assertEquals(100, store.count(false));
+    }
+
+    @Test
+    public void intStridedSliceStoreAndDelete() throws SequenceStoreException {
+        IntSequenceStorage store = new IntSequenceStorage(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+        store.setSliceInBound(8, -1, -3, new IntSequenceStorage(new int[]{42, 43, 44}));
+        assertEquals(44, store.getIntItemNormalized(2));
+        assertEquals(43, store.getIntItemNormalized(5));
+        assertEquals(42, store.getIntItemNormalized(8));
+
+        store.delSliceInBound(0, 10, 2, 5);
+        assertEquals(5, store.length());
+        assertArrayEquals(new int[]{1, 3, 43, 7, 9}, Arrays.copyOf(store.getInternalIntArray(), 5));
+    }
+
+    @Test
+    public void doubleFillSlice() throws SequenceStoreException {
+        DoubleSequenceStorage store = new DoubleSequenceStorage(new double[]{1, 2, 3, 4, 5, 6});
+        store.fillSliceInBound(1, 5, 1, 2, 0.5);
+        assertEquals(4, store.length());
+        assertEquals(0.5, store.getItemNormalized(2));
+        assertEquals(6.0, store.getItemNormalized(3));
+
+        store.fillSliceInBound(0, 4, 3, 2, 7.0);
+        assertEquals(7.0, store.getItemNormalized(0));
+        assertEquals(7.0, store.getItemNormalized(3));
+    }
+
+    @Test(expected = SequenceStoreException.class)
+    public void longFillSliceRejectsDouble() throws SequenceStoreException {
+        LongSequenceStorage store = new LongSequenceStorage(new long[]{1, 2, 3});
+        store.fillSliceInBound(0, 3, 1, 3, 1.5);
+    }
+
+    @Test
+    public void boolDelStridedSlice() throws SequenceStoreException {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(150));
+        store.delSliceInBound(0, 150, 3, 50);
+
+        assertEquals(100, store.length());
+        assertEquals(0, store.countTrue());
+
+        store.fillSliceInBound(99, 0, -7, 15, true);
+        assertEquals(15, store.countTrue());
+        assertEquals(true, store.getItemNormalized(1));
+        assertEquals(false, store.getItemNormalized(0));
+    }
+
+    @Test
+    public void intCopyOnWrite() throws SequenceStoreException {
+        IntSequenceStorage store = new IntSequenceStorage(getIntValues());
+        IntSequenceStorage copy = (IntSequenceStorage) store.copy();
+        IntSequenceStorage prefix = (IntSequenceStorage) store.getSliceInBound(0, 3, 1, 3);
+        assertSame(store.getInternalIntArray(), copy.getInternalIntArray());
+        assertSame(store.getInternalIntArray(), prefix.getInternalIntArray());
+
+        copy.setItemNormalized(0, 42);
+        prefix.append(43);
+        assertEquals(1, store.getItemNormalized(0));
+        assertEquals(4, store.getItemNormalized(3));
+        assertEquals(42, copy.getItemNormalized(0));
+        assertEquals(43, prefix.getItemNormalized(3));
+        assertEquals(4, prefix.length());
+    }
+
+    @Test
+    public void boolCopyOnWrite() throws SequenceStoreException {
+        BoolSequenceStorage store = new BoolSequenceStorage(getBoolValues(100));
+        BoolSequenceStorage copy = (BoolSequenceStorage) store.copy();
+        store.setItemNormalized(1, true);
+        copy.delSliceInBound(0, 100, 2, 50);
+
+        assertEquals(35, store.countTrue());
+        assertEquals(false, copy.getItemNormalized(0));
+        assertEquals(17, copy.countTrue());
+    }
+
+    @Test
+    public void permute() {
+        IntSequenceStorage ints = new IntSequenceStorage(getIntValues());
+        ints.permute(new int[]{4, 0, 3, 1, 2, 5});
+        assertEquals(5, ints.getItemNormalized(0));
+        assertEquals(1, ints.getItemNormalized(1));
+        assertEquals(4, ints.getItemNormalized(2));
+        assertEquals(2, ints.getItemNormalized(3));
+        assertEquals(3, ints.getItemNormalized(4));
+        assertEquals(6, ints.getItemNormalized(5));
+
+        BoolSequenceStorage bools = new BoolSequenceStorage(new boolean[]{true, false, false});
+        bools.permute(new int[]{1, 2, 0});
+        assertEquals(false, bools.getItemNormalized(0));
+        assertEquals(true, bools.getItemNormalized(2));
+    }
+
+    @Test
+    public void parallelSort() {
+        int threshold = PythonOptions.ParallelSortThreshold;
+        PythonOptions.ParallelSortThreshold = 2;
+
+        try {
+            long[] longs = new long[100000];
+
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = (i * 7919L) % longs.length - 50000;
+            }
+
+            LongSequenceStorage store = new LongSequenceStorage(longs);
+            store.sort(true);
+            assertEquals(49999L, store.getItemNormalized(0));
+            assertEquals(-50000L, store.getItemNormalized(longs.length - 1));
+
+            DoubleSequenceStorage doubles = new DoubleSequenceStorage(new double[]{0.0, Double.NaN, -0.0, -1.0, 0.0});
+            doubles.sort(false);
+            assertEquals("[-1.0, 0.0, -0.0, 0.0, NaN]", Arrays.toString(Arrays.copyOf(doubles.getInternalDoubleArray(), 5)));
+        } finally {
+            PythonOptions.ParallelSortThreshold = threshold;
+        }
+    }
+
+    @Test
+    public void matrixRows() {
+        PList first = new PList(new IntSequenceStorage(new int[]{1, 2, 3}));
+        PList second = new PList(new IntSequenceStorage(new int[]{4, 5, 6}));
+        MatrixSequenceStorage matrix = (MatrixSequenceStorage) SequenceStorageFactory.createListStorage(new PList[]{first, second});
+
+        assertTrue(matrix.isIntMatrix());
+        assertTrue(second.getStorage() instanceof IntRowSequenceStorage);
+        assertEquals(5, matrix.getIntItem(1, 1));
+
+        second.setItem(1, 50);
+        matrix.setIntItem(0, 2, 30);
+        assertEquals(50, matrix.getIntItem(1, 1));
+        assertEquals(30, first.getItem(2));
+
+        second.append(7);
+        assertFalse(matrix.isFlat());
+        assertTrue(second.getStorage() instanceof IntSequenceStorage);
+        assertEquals("[[1, 2, 30], [4, 50, 6, 7]]", new PList(matrix).toString());
+
+        first.setItem(0, 10);
+        assertEquals(10, first.getItem(0));
+    }
+
+    @Test
+    public void numericStorage() throws SequenceStoreException {
+        IntSequenceStorage ints = new IntSequenceStorage(new int[]{3, 1, 2});
+        NumericSequenceStorage store = (NumericSequenceStorage) ints.generalizeFor(0.5);
+        store.append(0.5);
+        store.insertItem(0, -1);
+
+        assertEquals(-1, store.getItemNormalized(0));
+        assertEquals(0.5, store.getItemNormalized(4));
+        assertEquals(5.5, store.sum());
+        assertEquals(-1, store.min());
+        assertEquals(3, store.max());
+
+        store.sort(false);
+        assertEquals("[-1, 0.5, 1, 2, 3]", new PList(store).toString());
+        assertTrue(store.generalizeFor("x") instanceof ObjectSequenceStorage);
+    }
+
+    @Test
+    public void offHeapStorage() throws SequenceStoreException {
+        int threshold = PythonOptions.OffHeapStorageThreshold;
+        PythonOptions.OffHeapStorageThreshold = 4;
+
+        try {
+            PList list = new PList(SequenceStorageFactory.createStorage(new Object[]{3, 1, 2}));
+            assertTrue(list.getStorage() instanceof IntSequenceStorage);
+
+            list.append(7);
+            OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) list.getStorage();
+            store.appendInt(5);
+            store.insertItem(0, 9);
+            store.sort(false);
+            assertEquals("[1, 2, 3, 5, 7, 9]", list.toString());
+            assertTrue(store.getSliceInBound(0, 2, 1, 2) instanceof IntSequenceStorage);
+            assertTrue(store.copy() instanceof OffHeapIntSequenceStorage);
+
+            list.append(0.5);
+            assertEquals(6, store.length());
+            assertEquals(9, store.getIntItemNormalized(5));
+            assertEquals(0.5, list.getItem(-1));
+
+            SequenceStorage doubles = SequenceStorageFactory.createStorage(DoubleSequenceStorage.class, 16);
+            assertTrue(doubles instanceof OffHeapDoubleSequenceStorage);
+            ((OffHeapDoubleSequenceStorage) doubles).appendDouble(1.5);
+            assertEquals(1.5, ((OffHeapDoubleSequenceStorage) doubles).getDoubleItemNormalized(0), 0);
+        } finally {
+            PythonOptions.OffHeapStorageThreshold = threshold;
+        }
+    }
+
+    @Test
+    public void offHeapStorageLimit() throws SequenceStoreException {
+        int threshold = PythonOptions.OffHeapStorageThreshold;
+        PythonOptions.OffHeapStorageThreshold = 4;
+
+        try {
+            long doubleLimit = OffHeapSequenceStorage.maxCapacity(DoubleSequenceStorage.class);
+            assertEquals(Integer.MAX_VALUE >> 3, doubleLimit);
+            assertEquals(Integer.MAX_VALUE >> 2, OffHeapSequenceStorage.maxCapacity(OffHeapIntSequenceStorage.class));
+
+            DoubleSequenceStorage heap = new DoubleSequenceStorage(new double[]{1.5, 2.5, 3.5, 4.5});
+            assertSame(heap, SequenceStorageFactory.moveOffHeap(heap, doubleLimit + 1));
+
+            OffHeapDoubleSequenceStorage offHeap = (OffHeapDoubleSequenceStorage) SequenceStorageFactory.moveOffHeapIfLarge(heap);
+            assertTrue(offHeap.canGrowTo(doubleLimit));
+            assertFalse(offHeap.canGrowTo(doubleLimit + 1));
+
+            SequenceStorage back = SequenceStorageFactory.moveOffHeap(offHeap, doubleLimit + 1);
+            assertTrue(back instanceof DoubleSequenceStorage);
+            assertEquals(4.5, ((DoubleSequenceStorage) back).getDoubleItemNormalized(3), 0);
+
+            try {
+                new OffHeapDoubleSequenceStorage((int) doubleLimit + 1);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // rejected before anything is allocated
+            }
+        } finally {
+            PythonOptions.OffHeapStorageThreshold = threshold;
+        }
+    }
+
 }
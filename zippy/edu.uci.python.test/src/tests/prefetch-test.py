@@ -0,0 +1,3 @@
+import prefetchpkg
+
+print(prefetchpkg.first.name(), prefetchpkg.second.name())
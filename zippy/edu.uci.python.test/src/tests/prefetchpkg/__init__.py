@@ -0,0 +1 @@
+from prefetchpkg import first, second
@@ -54,6 +54,7 @@ import edu.uci.python.nodes.literal.DoubleLiteralNode;
 import edu.uci.python.nodes.literal.IntegerLiteralNode;
 import edu.uci.python.nodes.literal.KeywordLiteralNode;
 import edu.uci.python.nodes.literal.ListLiteralNode;
+import edu.uci.python.nodes.literal.LongLiteralNode;
 import edu.uci.python.nodes.literal.ObjectLiteralNode;
 import edu.uci.python.nodes.literal.SetLiteralNode;
 import edu.uci.python.nodes.literal.StringLiteralNode;
@@ -76,8 +77,11 @@ import edu.uci.python.nodes.statement.WithNode;
 import edu.uci.python.nodes.subscript.IndexNode;
 import edu.uci.python.nodes.subscript.SliceNode;
 import edu.uci.python.nodes.subscript.SubscriptLoadIndexNode;
+import edu.uci.python.nodes.subscript.SubscriptLoadNestedIndexNode;
 import edu.uci.python.nodes.subscript.SubscriptLoadSliceNode;
 import edu.uci.python.nodes.subscript.SubscriptStoreIndexNode;
+import edu.uci.python.nodes.subscript.SubscriptStoreNestedIndexNode;
+import edu.uci.python.nodes.subscript.SubscriptStoreRepeatedSliceNode;
 import edu.uci.python.nodes.subscript.SubscriptStoreSliceNode;
 
 public interface VisitorIF<T> {
@@ -155,6 +159,8 @@ public interface VisitorIF<T> {
     /*- literal */
     public T visitIntegerLiteralNode(IntegerLiteralNode node) throws Exception; //
 
+    public T visitLongLiteralNode(LongLiteralNode node) throws Exception;
+
     public T visitListLiteralNode(ListLiteralNode node) throws Exception;
 
     public T visitComplexLiteralNode(ComplexLiteralNode node) throws Exception; //
@@ -239,8 +245,14 @@ public interface VisitorIF<T> {
 
     public T visitSubscriptStoreIndexNode(SubscriptStoreIndexNode node) throws Exception; //
 
+    public T visitSubscriptLoadNestedIndexNode(SubscriptLoadNestedIndexNode node) throws Exception;
+
+    public T visitSubscriptStoreNestedIndexNode(SubscriptStoreNestedIndexNode node) throws Exception;
+
     public T visitSubscriptStoreSliceNode(SubscriptStoreSliceNode node) throws Exception;
 
+    public T visitSubscriptStoreRepeatedSliceNode(SubscriptStoreRepeatedSliceNode node) throws Exception;
+
     public T visitSliceNode(SliceNode node) throws Exception;
 
     public T visitSubscriptLoadSliceNode(SubscriptLoadSliceNode node) throws Exception;
@@ -47,6 +47,7 @@ import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 import edu.uci.python.runtime.standardtype.*;
 
 /**
@@ -161,7 +162,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsDict(args)"})
         public PDict dictFromDict(PTuple args) {
-            return new PDict(((PDict) args.getItem(0)).getMap());
+            return ((PDict) args.getItem(0)).copy();
         }
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsIterable(args)"})
@@ -297,6 +298,12 @@ public final class BuiltinConstructors extends PythonBuiltins {
             return arg;
         }
 
+        @SuppressWarnings("unused")
+        @Specialization(guards = "noKeywordArg(arg,keywordArg)")
+        public long createInt(long arg, Object keywordArg) {
+            return arg;
+        }
+
         @SuppressWarnings("unused")
         @Specialization(guards = "noKeywordArg(arg,keywordArg)")
         public BigInteger createInt(BigInteger arg, Object keywordArg) {
@@ -358,6 +365,11 @@ public final class BuiltinConstructors extends PythonBuiltins {
             return new PList(list.getStorage().copy());
         }
 
+        @Specialization
+        public PList listTuple(PTuple tuple) {
+            return new PList(SequenceStorageFactory.createSharedStorage(tuple.getArray()));
+        }
+
         @Specialization
         public PList listIterator(PIterator iterator) {
             return new PList(iterator);
@@ -649,6 +661,11 @@ public final class BuiltinConstructors extends PythonBuiltins {
             return Integer.toString(val);
         }
 
+        @Specialization
+        public String str(long val) {
+            return Long.toString(val);
+        }
+
         @Specialization
         public String str(double arg) {
             return JavaTypeConversions.doubleToString(arg);
@@ -676,6 +693,16 @@ public final class BuiltinConstructors extends PythonBuiltins {
             return new PTuple(new PStringIterator(arg));
         }
 
+        @Specialization
+        public PTuple tuple(PTuple tuple) {
+            return tuple;
+        }
+
+        @Specialization
+        public PTuple tuple(PList list) {
+            return PTuple.create(list.getStorage().getCopyOfInternalArray());
+        }
+
         @Specialization()
         public PTuple tuple(PIterable iterable) {
             return new PTuple(iterable.__iter__());
@@ -29,9 +29,12 @@ import java.util.*;
 
 import org.python.core.*;
 
+import edu.uci.python.builtins.type.*;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.call.*;
 import edu.uci.python.nodes.expression.*;
+import edu.uci.python.nodes.expression.BinaryArithmeticNode.AddNode;
+import edu.uci.python.nodes.expression.BinaryArithmeticNodeFactory.AddNodeFactory;
 import edu.uci.python.nodes.expression.CastToBooleanNodeFactory.YesNodeFactory;
 import edu.uci.python.nodes.function.*;
 import edu.uci.python.nodes.truffle.*;
@@ -64,6 +67,22 @@ public final class BuiltinFunctions extends PythonBuiltins {
         return BuiltinFunctionsFactory.getFactories();
     }
 
+    /**
+     * The iterator the reducing builtins (all, any, max, min, sum) walk when none of their storage
+     * specializations apply.
+     */
+    private static PIterator getIterator(Object iterable) {
+        if (iterable instanceof PIterator) {
+            return (PIterator) iterable;
+        } else if (iterable instanceof PIterable) {
+            return ((PIterable) iterable).__iter__();
+        } else if (iterable instanceof String) {
+            return new PStringIterator((String) iterable);
+        }
+
+        throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(iterable) + "' object is not iterable");
+    }
+
     // abs(x)
     @Builtin(name = "abs", hasFixedNumOfArguments = true, fixedNumOfArguments = 1)
     @GenerateNodeFactory
@@ -74,6 +93,15 @@ public final class BuiltinFunctions extends PythonBuiltins {
             return Math.abs(arg);
         }
 
+        @Specialization
+        public Object absLong(long arg) {
+            if (arg == Long.MIN_VALUE) {
+                return BigInteger.valueOf(arg).negate();
+            }
+
+            return Math.abs(arg);
+        }
+
         @Specialization
         public double absDouble(double arg) {
             return Math.abs(arg);
@@ -81,7 +109,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Specialization
         public double absPComplex(PComplex arg) {
-            return FastMathUtil.hypot(arg.getReal(), arg.getImag());
+            return arg.abs();
         }
 
         @Specialization
@@ -108,14 +136,125 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Child protected CastToBooleanNode toBoolean;
 
-        @Specialization
-        public boolean all(PIterable iterable) {
-            if (iterable.len() == 0) {
-                return false;
+        @Specialization(guards = "isIntStorage(list)")
+        public boolean allInt(PList list) {
+            final IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
+            final int[] values = store.getInternalIntArray();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (values[i] == 0) {
+                    return false;
+                }
             }
 
-            PIterator iterator = iterable.__iter__();
+            return true;
+        }
+
+        @Specialization(guards = "isLongStorage(list)")
+        public boolean allLong(PList list) {
+            final LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
+            final long[] values = store.getInternalLongArray();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (values[i] == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
 
+        @Specialization(guards = "isDoubleStorage(list)")
+        public boolean allDouble(PList list) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
+            final double[] values = store.getInternalDoubleArray();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (values[i] == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Specialization(guards = "isBoolStorage(list)")
+        public boolean allBool(PList list) {
+            final BoolSequenceStorage store = (BoolSequenceStorage) list.getStorage();
+            return store.countTrue() == store.length();
+        }
+
+        @Specialization(guards = "isNumericStorage(list)")
+        public boolean allNumeric(PList list) {
+            final NumericSequenceStorage store = (NumericSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getDoubleValueNormalized(i) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Specialization(guards = "isOffHeapIntStorage(list)")
+        public boolean allOffHeapInt(PList list) {
+            final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getIntItemNormalized(i) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Specialization(guards = "isOffHeapLongStorage(list)")
+        public boolean allOffHeapLong(PList list) {
+            final OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getLongItemNormalized(i) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Specialization(guards = "isOffHeapDoubleStorage(list)")
+        public boolean allOffHeapDouble(PList list) {
+            final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getDoubleItemNormalized(i) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Specialization
+        public boolean allRange(PRange range) {
+            return !rangeContainsZero(range);
+        }
+
+        @Specialization
+        public boolean all(PIterable iterable) {
+            return all(iterable.__iter__());
+        }
+
+        @Specialization
+        public boolean all(PIterator iterator) {
             try {
                 while (true) {
                     if (!toBoolean(iterator.__next__())) {
@@ -131,7 +270,19 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Specialization
         public boolean all(Object object) {
-            throw new RuntimeException("all does not support iterable object " + object);
+            return all(getIterator(object));
+        }
+
+        private static boolean rangeContainsZero(PRange range) {
+            final long start = range.getStart();
+            final long step = range.getStep();
+
+            if (start % step != 0) {
+                return false;
+            }
+
+            final long index = -start / step;
+            return index >= 0 && index < range.len();
         }
 
         private boolean toBoolean(Object value) {
@@ -158,14 +309,127 @@ public final class BuiltinFunctions extends PythonBuiltins {
             return toBoolean.executeBoolean(null, value);
         }
 
-        @Specialization
-        public boolean any(PIterable iterable) {
-            if (iterable.len() == 0) {
-                return false;
+        @Specialization(guards = "isIntStorage(list)")
+        public boolean anyInt(PList list) {
+            final IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
+            final int[] values = store.getInternalIntArray();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (values[i] != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Specialization(guards = "isLongStorage(list)")
+        public boolean anyLong(PList list) {
+            final LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
+            final long[] values = store.getInternalLongArray();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (values[i] != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Specialization(guards = "isDoubleStorage(list)")
+        public boolean anyDouble(PList list) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
+            final double[] values = store.getInternalDoubleArray();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (values[i] != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Specialization(guards = "isBoolStorage(list)")
+        public boolean anyBool(PList list) {
+            return ((BoolSequenceStorage) list.getStorage()).countTrue() != 0;
+        }
+
+        @Specialization(guards = "isNumericStorage(list)")
+        public boolean anyNumeric(PList list) {
+            final NumericSequenceStorage store = (NumericSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getDoubleValueNormalized(i) != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Specialization(guards = "isOffHeapIntStorage(list)")
+        public boolean anyOffHeapInt(PList list) {
+            final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getIntItemNormalized(i) != 0) {
+                    return true;
+                }
             }
 
-            PIterator iterator = iterable.__iter__();
+            return false;
+        }
+
+        @Specialization(guards = "isOffHeapLongStorage(list)")
+        public boolean anyOffHeapLong(PList list) {
+            final OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getLongItemNormalized(i) != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
 
+        @Specialization(guards = "isOffHeapDoubleStorage(list)")
+        public boolean anyOffHeapDouble(PList list) {
+            final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) list.getStorage();
+            final int length = store.length();
+
+            for (int i = 0; i < length; i++) {
+                if (store.getDoubleItemNormalized(i) != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Only a range holding nothing but zero is false throughout.
+         */
+        @Specialization
+        public boolean anyRange(PRange range) {
+            return range.len() > 1 || (range.len() == 1 && range.getStart() != 0);
+        }
+
+        @Specialization
+        public boolean any(PIterable iterable) {
+            return any(iterable.__iter__());
+        }
+
+        @Specialization
+        public boolean any(PIterator iterator) {
             try {
                 while (true) {
                     if (toBoolean(iterator.__next__())) {
@@ -181,7 +445,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Specialization
         public boolean any(Object object) {
-            throw new RuntimeException("any does not support iterable object " + object);
+            return any(getIterator(object));
         }
     }
 
@@ -289,25 +553,36 @@ public final class BuiltinFunctions extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class DivModNode extends PythonBuiltinNode {
 
-        @Specialization
+        /**
+         * Floors like the // and % operators, so the remainder takes the sign of the divisor.
+         */
+        @Specialization(rewriteOn = ArithmeticException.class)
         public PTuple doInt(int a, int b) {
-            return new PTuple(new Object[]{a / b, a % b});
+            if (a == Integer.MIN_VALUE && b == -1) {
+                throw new ArithmeticException("integer overflow");
+            }
+
+            return new PIntTuple2(Math.floorDiv(a, b), Math.floorMod(a, b));
         }
 
-        @Specialization
-        public PTuple doBigInteger(BigInteger a, BigInteger b) {
-            return new PTuple(divideAndRemainderSlowStub(a, b));
+        @Specialization(rewriteOn = ArithmeticException.class)
+        public PTuple doLong(long a, long b) {
+            if (a == Long.MIN_VALUE && b == -1) {
+                throw new ArithmeticException("long overflow");
+            }
+
+            return new PTuple2(Math.floorDiv(a, b), Math.floorMod(a, b));
         }
 
-        @TruffleBoundary
-        private static BigInteger[] divideAndRemainderSlowStub(BigInteger a, BigInteger b) {
-            return a.divideAndRemainder(b);
+        @Specialization
+        public PTuple doBigInteger(BigInteger a, BigInteger b) {
+            return new PTuple(ArithmeticUtil.floorDivideAndRemainder(a, b));
         }
 
         @Specialization
         public PTuple doDouble(double a, double b) {
             double q = Math.floor(a / b);
-            return new PTuple(new Object[]{q, a % b});
+            return new PDoubleTuple2(q, a % b);
         }
     }
 
@@ -531,6 +806,22 @@ public final class BuiltinFunctions extends PythonBuiltins {
             return false;
         }
 
+        @Specialization(guards = "is2ndNotTuple(val,cls)")
+        public boolean isinstance(@SuppressWarnings("unused") long val, Object cls) {
+            return PInt.__class__ == cls;
+        }
+
+        @Specialization
+        public boolean isinstance(@SuppressWarnings("unused") long val, PTuple classTuple) {
+            for (int i = 0; i < classTuple.len(); i++) {
+                if (PInt.__class__ == classTuple.getItem(i)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
         @Specialization
         public boolean isinstance(@SuppressWarnings("unused") String val, PTuple classTuple) {
             for (int i = 0; i < classTuple.len(); i++) {
@@ -716,191 +1007,427 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
     }
 
+    /**
+     * The comparison loops shared by max and min. Primitive storages are scanned directly; anything
+     * else compares its items, or the keys computed from them, the way Python's {@code <} and
+     * {@code >} do. An item only replaces a strictly larger (or smaller) one, so the first extremum
+     * wins.
+     */
+    abstract static class MinMaxNode extends PythonBuiltinNode {
+
+        protected static PythonCallable getKey(Object keywordArg) {
+            if (keywordArg instanceof PKeyword) {
+                final Object value = ((PKeyword) keywordArg).getValue();
+
+                if (value instanceof PythonCallable) {
+                    return (PythonCallable) value;
+                } else if (!(value instanceof PNone)) {
+                    throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(value) + "' object is not callable");
+                }
+            }
+
+            return null;
+        }
+
+        protected static int checkedLength(SequenceStorage store, boolean largest) {
+            final int length = store.length();
+
+            if (length == 0) {
+                throw emptySequence(largest);
+            }
+
+            return length;
+        }
+
+        protected static Object rangeExtreme(PRange range, boolean largest) {
+            final int length = range.len();
+
+            if (length == 0) {
+                throw emptySequence(largest);
+            }
+
+            final int last = range.getStart() + (length - 1) * range.getStep();
+            return (range.getStep() > 0) == largest ? last : range.getStart();
+        }
+
+        protected static Object extreme(SequenceStorage store, PythonCallable key, boolean largest) {
+            final int length = checkedLength(store, largest);
+            Object best = store.getItemNormalized(0);
+            Object bestKey = key == null ? best : callKey(key, best);
+
+            for (int i = 1; i < length; i++) {
+                final Object item = store.getItemNormalized(i);
+                final Object itemKey = key == null ? item : callKey(key, item);
+
+                if (isBetter(itemKey, bestKey, largest)) {
+                    best = item;
+                    bestKey = itemKey;
+                }
+            }
+
+            return best;
+        }
+
+        protected static Object extreme(PIterator iterator, PythonCallable key, boolean largest) {
+            Object best = null;
+            Object bestKey = null;
+
+            try {
+                while (true) {
+                    final Object item = iterator.__next__();
+                    final Object itemKey = key == null ? item : callKey(key, item);
+
+                    if (best == null || isBetter(itemKey, bestKey, largest)) {
+                        best = item;
+                        bestKey = itemKey;
+                    }
+                }
+            } catch (StopIterationException e) {
+                // fall through
+            }
+
+            if (best == null) {
+                throw emptySequence(largest);
+            }
+
+            return best;
+        }
+
+        protected static Object extreme(Object first, Object[] rest, PythonCallable key, boolean largest) {
+            Object best = first;
+            Object bestKey = key == null ? best : callKey(key, best);
+
+            for (int i = 0; i < rest.length; i++) {
+                final Object item = rest[i];
+                final Object itemKey = key == null ? item : callKey(key, item);
+
+                if (isBetter(itemKey, bestKey, largest)) {
+                    best = item;
+                    bestKey = itemKey;
+                }
+            }
+
+            return best;
+        }
+
+        private static Object callKey(PythonCallable key, Object item) {
+            return key.call(PArguments.createWithUserArguments(item));
+        }
+
+        /**
+         * A comparison involving NaN is false, as it is for Python's {@code <} and {@code >}.
+         */
+        @TruffleBoundary
+        private static boolean isBetter(Object key, Object bestKey, boolean largest) {
+            if (isNaN(key) || isNaN(bestKey)) {
+                return false;
+            }
+
+            final int result = SortUtil.PYTHON_ORDER.compare(key, bestKey);
+            return largest ? result > 0 : result < 0;
+        }
+
+        private static boolean isNaN(Object value) {
+            return value instanceof Double && Double.isNaN((double) value);
+        }
+
+        private static PyException emptySequence(boolean largest) {
+            return Py.ValueError((largest ? "max" : "min") + "() arg is an empty sequence");
+        }
+    }
+
     // max(iterable, *[, key])
     // max(arg1, arg2, *args[, key])
     @Builtin(name = "max", minNumOfArguments = 1, takesKeywordArguments = true, takesVariableArguments = true, keywordNames = {"key"})
     @GenerateNodeFactory
-    public abstract static class MaxNode extends PythonBuiltinNode {
+    public abstract static class MaxNode extends MinMaxNode {
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object maxSequence(PSequence arg1, PTuple args, Object keywordArg) {
-            return arg1.getMax();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isIntStorage(arg1)"})
+        public int maxInt(PList arg1, PTuple args, Object keywordArg) {
+            final IntSequenceStorage store = (IntSequenceStorage) arg1.getStorage();
+            final int[] values = store.getInternalIntArray();
+            final int length = checkedLength(store, true);
+            int max = values[0];
+
+            for (int i = 1; i < length; i++) {
+                if (values[i] > max) {
+                    max = values[i];
+                }
+            }
+
+            return max;
         }
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object maxBaseSet(PBaseSet arg1, PTuple args, Object keywordArg) {
-            return arg1.getMax();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isLongStorage(arg1)"})
+        public long maxLong(PList arg1, PTuple args, Object keywordArg) {
+            final LongSequenceStorage store = (LongSequenceStorage) arg1.getStorage();
+            final long[] values = store.getInternalLongArray();
+            final int length = checkedLength(store, true);
+            long max = values[0];
+
+            for (int i = 1; i < length; i++) {
+                if (values[i] > max) {
+                    max = values[i];
+                }
+            }
+
+            return max;
         }
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object maxDictionary(PDict arg1, PTuple args, Object keywordArg) {
-            return arg1.getMax();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isDoubleStorage(arg1)"})
+        public double maxDouble(PList arg1, PTuple args, Object keywordArg) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) arg1.getStorage();
+            final double[] values = store.getInternalDoubleArray();
+            final int length = checkedLength(store, true);
+            double max = values[0];
+
+            for (int i = 1; i < length; i++) {
+                if (values[i] > max) {
+                    max = values[i];
+                }
+            }
+
+            return max;
         }
 
-        /**
-         * Incomplete. Only deals with ints now.
-         */
         @SuppressWarnings("unused")
-        @Specialization
-        public Object maxPIterator(PIterator arg1, PTuple args, PNone keywordArg) {
-            int max = Integer.MIN_VALUE;
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isBoolStorage(arg1)"})
+        public boolean maxBool(PList arg1, PTuple args, Object keywordArg) {
+            final BoolSequenceStorage store = (BoolSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, true);
+            return store.countTrue() != 0;
+        }
 
-            try {
-                while (true) {
-                    int item = (int) arg1.__next__();
-                    max = Math.max(max, item);
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isNumericStorage(arg1)"})
+        public Object maxNumeric(PList arg1, PTuple args, Object keywordArg) {
+            return ((NumericSequenceStorage) arg1.getStorage()).max();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isOffHeapIntStorage(arg1)"})
+        public int maxOffHeapInt(PList arg1, PTuple args, Object keywordArg) {
+            final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, true);
+            int max = store.getIntItemNormalized(0);
+
+            for (int i = 1; i < length; i++) {
+                final int value = store.getIntItemNormalized(i);
+
+                if (value > max) {
+                    max = value;
                 }
-            } catch (StopIterationException e) {
             }
 
             return max;
         }
 
-        @Specialization
-        public Object maxGeneric(Object arg1, PTuple args, Object keywordArg) {
-            if (keywordArg instanceof PNone) {
-                if (args.len() == 1) {
-                    return getMax(arg1, args.getItem(0));
-                } else {
-                    Object[] argsArray = new Object[args.len() + 1];
-                    argsArray[0] = arg1;
-                    System.arraycopy(args.getArray(), 0, argsArray, 1, args.len());
-                    Object max = getMax(argsArray);
-                    return max;
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isOffHeapLongStorage(arg1)"})
+        public long maxOffHeapLong(PList arg1, PTuple args, Object keywordArg) {
+            final OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, true);
+            long max = store.getLongItemNormalized(0);
+
+            for (int i = 1; i < length; i++) {
+                final long value = store.getLongItemNormalized(i);
+
+                if (value > max) {
+                    max = value;
                 }
-            } else {
-                throw new RuntimeException("Optional keyword-only key argument is not supported");
             }
+
+            return max;
         }
 
-        private static Object getMax(Object arg1, Object arg2) {
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isOffHeapDoubleStorage(arg1)"})
+        public double maxOffHeapDouble(PList arg1, PTuple args, Object keywordArg) {
+            final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, true);
+            double max = store.getDoubleItemNormalized(0);
+
+            for (int i = 1; i < length; i++) {
+                final double value = store.getDoubleItemNormalized(i);
 
-            if (arg1 instanceof Double) {
-                double arg1Double = (Double) arg1;
-                if (arg2 instanceof Integer || arg2 instanceof Double) {
-                    double arg2Double = (Double) arg2;
-                    return Math.max(arg1Double, arg2Double);
+                if (value > max) {
+                    max = value;
                 }
             }
 
-            BigInteger a = null;
-            if (arg1 instanceof Integer)
-                a = BigInteger.valueOf(Long.valueOf((int) arg1));
-            else if (arg1 instanceof Long)
-                a = BigInteger.valueOf((long) arg1);
-            else if (arg1 instanceof BigInteger)
-                a = (BigInteger) arg1;
-
-            BigInteger b = null;
-            if (arg2 instanceof Integer)
-                b = BigInteger.valueOf(Long.valueOf((int) arg2));
-            else if (arg2 instanceof Long)
-                b = BigInteger.valueOf((long) arg2);
-            else if (arg2 instanceof BigInteger)
-                b = (BigInteger) arg2;
+            return max;
+        }
 
-            if (a != null && b != null)
-                return a.max(b);
+        @SuppressWarnings("unused")
+        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
+        public Object maxRange(PRange arg1, PTuple args, Object keywordArg) {
+            return rangeExtreme(arg1, true);
+        }
 
-            throw new RuntimeException("Unsupported max operation");
+        @Specialization(guards = "emptyArgument(args)")
+        public Object maxList(PList arg1, PTuple args, Object keywordArg) {
+            return extreme(arg1.getStorage(), getKey(keywordArg), true);
         }
 
-        private static Object getMax(Object[] args) {
-            Arrays.sort(args);
-            return args[args.length - 1];
+        @Specialization(guards = "emptyArgument(args)")
+        public Object maxIterable(Object arg1, PTuple args, Object keywordArg) {
+            return extreme(getIterator(arg1), getKey(keywordArg), true);
         }
 
+        @Specialization
+        public Object maxArguments(Object arg1, PTuple args, Object keywordArg) {
+            return extreme(arg1, args.getArray(), getKey(keywordArg), true);
+        }
     }
 
     // min(iterable, *[, key])
     // min(arg1, arg2, *args[, key])
     @Builtin(name = "min", minNumOfArguments = 1, takesKeywordArguments = true, takesVariableArguments = true, keywordNames = {"key"})
     @GenerateNodeFactory
-    public abstract static class MinNode extends PythonBuiltinNode {
+    public abstract static class MinNode extends MinMaxNode {
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object minString(String arg1, PTuple args, Object keywordArg) {
-            PString pstring = new PString(arg1);
-            return pstring.getMin();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isIntStorage(arg1)"})
+        public int minInt(PList arg1, PTuple args, Object keywordArg) {
+            final IntSequenceStorage store = (IntSequenceStorage) arg1.getStorage();
+            final int[] values = store.getInternalIntArray();
+            final int length = checkedLength(store, false);
+            int min = values[0];
+
+            for (int i = 1; i < length; i++) {
+                if (values[i] < min) {
+                    min = values[i];
+                }
+            }
+
+            return min;
         }
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object minSequence(PSequence arg1, PTuple args, Object keywordArg) {
-            return arg1.getMin();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isLongStorage(arg1)"})
+        public long minLong(PList arg1, PTuple args, Object keywordArg) {
+            final LongSequenceStorage store = (LongSequenceStorage) arg1.getStorage();
+            final long[] values = store.getInternalLongArray();
+            final int length = checkedLength(store, false);
+            long min = values[0];
+
+            for (int i = 1; i < length; i++) {
+                if (values[i] < min) {
+                    min = values[i];
+                }
+            }
+
+            return min;
         }
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object minBaseSet(PBaseSet arg1, PTuple args, Object keywordArg) {
-            return arg1.getMin();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isDoubleStorage(arg1)"})
+        public double minDouble(PList arg1, PTuple args, Object keywordArg) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) arg1.getStorage();
+            final double[] values = store.getInternalDoubleArray();
+            final int length = checkedLength(store, false);
+            double min = values[0];
+
+            for (int i = 1; i < length; i++) {
+                if (values[i] < min) {
+                    min = values[i];
+                }
+            }
+
+            return min;
         }
 
         @SuppressWarnings("unused")
-        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
-        public Object minDictionary(PDict arg1, PTuple args, Object keywordArg) {
-            return arg1.getMin();
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isBoolStorage(arg1)"})
+        public boolean minBool(PList arg1, PTuple args, Object keywordArg) {
+            final BoolSequenceStorage store = (BoolSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, false);
+            return store.countTrue() == length;
         }
 
-        @Specialization
-        public Object minGeneric(Object arg1, PTuple args, Object keywordArg) {
-            if (keywordArg instanceof PNone) {
-                if (arg1 instanceof Iterable) {
-                    throw new RuntimeException("Multiple iterables are not supported");
-                } else if (args.len() == 1) {
-                    return getMin(arg1, args.getItem(0));
-                } else {
-                    Object[] argsArray = new Object[args.len() + 1];
-                    argsArray[0] = arg1;
-                    System.arraycopy(args.getArray(), 0, argsArray, 1, args.len());
-                    Object min = getMin(argsArray);
-                    return min;
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isNumericStorage(arg1)"})
+        public Object minNumeric(PList arg1, PTuple args, Object keywordArg) {
+            return ((NumericSequenceStorage) arg1.getStorage()).min();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isOffHeapIntStorage(arg1)"})
+        public int minOffHeapInt(PList arg1, PTuple args, Object keywordArg) {
+            final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, false);
+            int min = store.getIntItemNormalized(0);
+
+            for (int i = 1; i < length; i++) {
+                final int value = store.getIntItemNormalized(i);
+
+                if (value < min) {
+                    min = value;
+                }
+            }
+
+            return min;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isOffHeapLongStorage(arg1)"})
+        public long minOffHeapLong(PList arg1, PTuple args, Object keywordArg) {
+            final OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, false);
+            long min = store.getLongItemNormalized(0);
+
+            for (int i = 1; i < length; i++) {
+                final long value = store.getLongItemNormalized(i);
+
+                if (value < min) {
+                    min = value;
                 }
-            } else {
-                throw new RuntimeException("Optional keyword-only key argument is not supported");
             }
+
+            return min;
         }
 
-        private static Object getMin(Object arg1, Object arg2) {
-            if (arg1 instanceof Double) {
-                double arg1Double = (Double) arg1;
-                if (arg2 instanceof Integer || arg2 instanceof Long || arg2 instanceof Double) {
-                    double arg2Double = (Double) arg2;
-                    return Math.min(arg1Double, arg2Double);
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"hasOneArgument(arg1,args,keywordArg)", "isOffHeapDoubleStorage(arg1)"})
+        public double minOffHeapDouble(PList arg1, PTuple args, Object keywordArg) {
+            final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) arg1.getStorage();
+            final int length = checkedLength(store, false);
+            double min = store.getDoubleItemNormalized(0);
+
+            for (int i = 1; i < length; i++) {
+                final double value = store.getDoubleItemNormalized(i);
+
+                if (value < min) {
+                    min = value;
                 }
             }
-            BigInteger a = null;
-            if (arg1 instanceof Integer)
-                a = BigInteger.valueOf(Long.valueOf((int) arg1));
-            else if (arg1 instanceof Long)
-                a = BigInteger.valueOf((long) arg1);
-            else if (arg1 instanceof BigInteger)
-                a = (BigInteger) arg1;
 
-            BigInteger b = null;
-            if (arg2 instanceof Integer)
-                b = BigInteger.valueOf(Long.valueOf((int) arg2));
-            else if (arg2 instanceof Long)
-                b = BigInteger.valueOf((long) arg2);
-            else if (arg2 instanceof BigInteger)
-                b = (BigInteger) arg2;
+            return min;
+        }
 
-            if (a != null && b != null)
-                return a.min(b);
+        @SuppressWarnings("unused")
+        @Specialization(guards = "hasOneArgument(arg1,args,keywordArg)")
+        public Object minRange(PRange arg1, PTuple args, Object keywordArg) {
+            return rangeExtreme(arg1, false);
+        }
 
-            throw new RuntimeException("Unsupported min operation");
+        @Specialization(guards = "emptyArgument(args)")
+        public Object minList(PList arg1, PTuple args, Object keywordArg) {
+            return extreme(arg1.getStorage(), getKey(keywordArg), false);
         }
 
-        private static Object getMin(Object[] args) {
-            Object[] copy = args;
-            Arrays.sort(copy);
-            return copy[0];
+        @Specialization(guards = "emptyArgument(args)")
+        public Object minIterable(Object arg1, PTuple args, Object keywordArg) {
+            return extreme(getIterator(arg1), getKey(keywordArg), false);
         }
 
+        @Specialization
+        public Object minArguments(Object arg1, PTuple args, Object keywordArg) {
+            return extreme(arg1, args.getArray(), getKey(keywordArg), false);
+        }
     }
 
     // next(iterator[, default])
@@ -1134,73 +1661,313 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
     }
 
+    // sorted(iterable, key=None, reverse=False)
+    @Builtin(name = "sorted", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"key", "reverse"})
+    @GenerateNodeFactory
+    public abstract static class SortedNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PList sorted(PList list, Object[] keywords) {
+            return sort(new PList(list.getStorage().copy()), keywords);
+        }
+
+        @Specialization
+        public PList sorted(PTuple tuple, Object[] keywords) {
+            return sort(new PList(SequenceStorageFactory.createSharedStorage(tuple.getArray())), keywords);
+        }
+
+        @Specialization
+        public PList sorted(String str, Object[] keywords) {
+            return sort(new PList(new PStringIterator(str)), keywords);
+        }
+
+        @Specialization
+        public PList sorted(PIterator iterator, Object[] keywords) {
+            return sort(new PList(iterator), keywords);
+        }
+
+        @Specialization
+        public PList sorted(PIterable iterable, Object[] keywords) {
+            return sort(new PList(iterable.__iter__()), keywords);
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public PList sorted(Object iterable, Object keywords) {
+            throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(iterable) + "' object is not iterable");
+        }
+
+        private static PList sort(PList list, Object[] keywords) {
+            ListBuiltins.ListSortNode.sortWithKeywords(list, keywords);
+            return list;
+        }
+    }
+
     // sum(iterable[, start])
     @Builtin(name = "sum", minNumOfArguments = 1, takesKeywordArguments = true, maxNumOfArguments = 2, keywordNames = {"start"})
     @GenerateNodeFactory
     public abstract static class SumNode extends PythonBuiltinNode {
-        /**
-         * Incomplete. Only support ints.
-         */
 
+        @Child protected AddNode add;
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isIntStorage(list)", rewriteOn = ArithmeticException.class)
+        public int sumInt(PList list, PNone start, PNone keywordArg) {
+            return Math.toIntExact(sumOfInts((IntSequenceStorage) list.getStorage()));
+        }
+
+        @SuppressWarnings("unused")
         @Specialization(guards = "isIntStorage(list)")
-        public int doPIteratorInt(PList list) {
-            PIterator iterator = list.__iter__();
-            int sum = 0;
-            try {
-                while (true) {
-                    sum += (int) iterator.__next__();
-                }
-            } catch (StopIterationException e) {
+        public long sumIntToLong(PList list, PNone start, PNone keywordArg) {
+            return sumOfInts((IntSequenceStorage) list.getStorage());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isLongStorage(list)", rewriteOn = ArithmeticException.class)
+        public long sumLong(PList list, PNone start, PNone keywordArg) {
+            final LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
+            final long[] values = store.getInternalLongArray();
+            final int length = store.length();
+            long sum = 0;
+
+            for (int i = 0; i < length; i++) {
+                sum = Math.addExact(sum, values[i]);
             }
 
             return sum;
         }
 
+        /**
+         * Adds up in long, and only spills into the BigInteger total when the long overflows.
+         */
+        @SuppressWarnings("unused")
         @Specialization(guards = "isLongStorage(list)")
-        public long doPIteratorLong(PList list) {
-            PIterator iterator = list.__iter__();
+        public BigInteger sumLongToBigInteger(PList list, PNone start, PNone keywordArg) {
+            final LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
+            final long[] values = store.getInternalLongArray();
+            final int length = store.length();
+            BigInteger total = BigInteger.ZERO;
             long sum = 0;
-            try {
-                while (true) {
-                    sum += (long) iterator.__next__();
+
+            for (int i = 0; i < length; i++) {
+                try {
+                    sum = Math.addExact(sum, values[i]);
+                } catch (ArithmeticException e) {
+                    total = total.add(BigInteger.valueOf(sum));
+                    sum = values[i];
                 }
-            } catch (StopIterationException e) {
             }
 
-            return sum;
+            return total.add(BigInteger.valueOf(sum));
         }
 
+        @SuppressWarnings("unused")
         @Specialization(guards = "isDoubleStorage(list)")
-        public double doPIteratorDouble(PList list) {
-            PIterator iterator = list.__iter__();
+        public double sumDouble(PList list, PNone start, PNone keywordArg) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
+            final double[] values = store.getInternalDoubleArray();
+            final int length = store.length();
             double sum = 0.0;
-            try {
-                while (true) {
-                    sum += (double) iterator.__next__();
+
+            for (int i = 0; i < length; i++) {
+                sum += values[i];
+            }
+
+            return sum;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isBoolStorage(list)")
+        public int sumBool(PList list, PNone start, PNone keywordArg) {
+            return ((BoolSequenceStorage) list.getStorage()).countTrue();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isNumericStorage(list)")
+        public Object sumNumeric(PList list, PNone start, PNone keywordArg) {
+            return ((NumericSequenceStorage) list.getStorage()).sum();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isOffHeapIntStorage(list)")
+        public Object sumOffHeapInt(PList list, PNone start, PNone keywordArg) {
+            final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) list.getStorage();
+            final int length = store.length();
+            long sum = 0;
+
+            for (int i = 0; i < length; i++) {
+                sum += store.getIntItemNormalized(i);
+            }
+
+            return narrow(sum);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isOffHeapLongStorage(list)")
+        public Object sumOffHeapLong(PList list, PNone start, PNone keywordArg) {
+            final OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) list.getStorage();
+            final int length = store.length();
+            BigInteger total = null;
+            long sum = 0;
+
+            for (int i = 0; i < length; i++) {
+                final long value = store.getLongItemNormalized(i);
+
+                try {
+                    sum = Math.addExact(sum, value);
+                } catch (ArithmeticException e) {
+                    total = total == null ? BigInteger.valueOf(sum) : total.add(BigInteger.valueOf(sum));
+                    sum = value;
                 }
-            } catch (StopIterationException e) {
+            }
+
+            return total == null ? sum : total.add(BigInteger.valueOf(sum));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "isOffHeapDoubleStorage(list)")
+        public double sumOffHeapDouble(PList list, PNone start, PNone keywordArg) {
+            final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) list.getStorage();
+            final int length = store.length();
+            double sum = 0.0;
+
+            for (int i = 0; i < length; i++) {
+                sum += store.getDoubleItemNormalized(i);
             }
 
             return sum;
         }
 
+        /**
+         * The closed form {@code n * start + step * n * (n - 1) / 2}.
+         */
+        @SuppressWarnings("unused")
         @Specialization
-        public int doPIterable(PIterable iterable) {
-            return doPIterator(iterable.__iter__());
+        public Object sumRange(PRange range, PNone start, PNone keywordArg) {
+            final long length = range.len();
+            final long triangle = length * (length - 1) / 2;
+
+            try {
+                return narrow(Math.addExact(Math.multiplyExact(length, range.getStart()), Math.multiplyExact(triangle, range.getStep())));
+            } catch (ArithmeticException e) {
+                final BigInteger startTerm = BigInteger.valueOf(length).multiply(BigInteger.valueOf(range.getStart()));
+                return startTerm.add(BigInteger.valueOf(triangle).multiply(BigInteger.valueOf(range.getStep())));
+            }
         }
 
         @Specialization
-        public int doPIterator(PIterator iterator) {
-            int sum = 0;
+        public Object sum(VirtualFrame frame, Object iterable, Object start, Object keywordArg) {
+            return sumItems(frame, getIterator(iterable), getStart(start, keywordArg));
+        }
+
+        /**
+         * Follows CPython: int items are added up in a long and float items in a double, for as
+         * long as the items allow; anything else is added with Python's + from there on.
+         */
+        private Object sumItems(VirtualFrame frame, PIterator iterator, Object start) {
+            Object result = start;
+            boolean inLong = start instanceof Integer || start instanceof Long;
+            boolean inDouble = start instanceof Double;
+            long longSum = inLong ? ((Number) start).longValue() : 0;
+            double doubleSum = inDouble ? (double) start : 0.0;
+
             try {
                 while (true) {
-                    sum += (int) iterator.__next__();
+                    final Object item = iterator.__next__();
+
+                    if (inLong) {
+                        if (item instanceof Integer || item instanceof Long || item instanceof Boolean) {
+                            final long value = toLong(item);
+
+                            try {
+                                longSum = Math.addExact(longSum, value);
+                                continue;
+                            } catch (ArithmeticException e) {
+                                result = BigInteger.valueOf(longSum).add(BigInteger.valueOf(value));
+                                inLong = false;
+                                continue;
+                            }
+                        } else if (item instanceof Double) {
+                            doubleSum = longSum + (double) item;
+                            inLong = false;
+                            inDouble = true;
+                            continue;
+                        }
+
+                        result = narrow(longSum);
+                        inLong = false;
+                    } else if (inDouble) {
+                        if (item instanceof Double) {
+                            doubleSum += (double) item;
+                            continue;
+                        } else if (item instanceof Integer || item instanceof Long || item instanceof Boolean) {
+                            doubleSum += toLong(item);
+                            continue;
+                        }
+
+                        result = doubleSum;
+                        inDouble = false;
+                    }
+
+                    result = add(frame, result, item);
                 }
             } catch (StopIterationException e) {
+                // fall through
+            }
+
+            if (inLong) {
+                return narrow(longSum);
+            } else if (inDouble) {
+                return doubleSum;
+            }
+
+            return result;
+        }
+
+        private Object add(VirtualFrame frame, Object left, Object right) {
+            if (add == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                add = insert(AddNodeFactory.create(null, null));
+            }
+
+            return add.executeWith(frame, left, right);
+        }
+
+        private static Object getStart(Object start, Object keywordArg) {
+            final Object value = keywordArg instanceof PKeyword ? ((PKeyword) keywordArg).getValue() : start;
+
+            if (value instanceof PNone) {
+                return 0;
+            } else if (value instanceof String || value instanceof PString) {
+                throw Py.TypeError("sum() can't sum strings [use ''.join(seq) instead]");
+            }
+
+            return value;
+        }
+
+        private static long sumOfInts(IntSequenceStorage store) {
+            final int[] values = store.getInternalIntArray();
+            final int length = store.length();
+            long sum = 0;
+
+            for (int i = 0; i < length; i++) {
+                sum += values[i];
             }
 
             return sum;
         }
+
+        private static long toLong(Object value) {
+            if (value instanceof Boolean) {
+                return (boolean) value ? 1 : 0;
+            }
+
+            return ((Number) value).longValue();
+        }
+
+        private static Object narrow(long value) {
+            return value == (int) value ? (Object) (int) value : (Object) value;
+        }
     }
 
     // super([type[, object-or-type]])
@@ -1236,6 +2003,18 @@ public final class BuiltinFunctions extends PythonBuiltins {
             return PInt.__class__;
         }
 
+        @Specialization
+        @SuppressWarnings("unused")
+        public Object type(long value) {
+            return PInt.__class__;
+        }
+
+        @Specialization
+        @SuppressWarnings("unused")
+        public Object type(BigInteger value) {
+            return PInt.__class__;
+        }
+
         @Specialization
         @SuppressWarnings("unused")
         public Object type(double value) {
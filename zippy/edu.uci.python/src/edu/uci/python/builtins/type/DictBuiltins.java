@@ -26,6 +26,8 @@ package edu.uci.python.builtins.type;
 
 import java.util.List;
 
+import org.python.core.Py;
+
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 
@@ -34,6 +36,7 @@ import edu.uci.python.builtins.PythonBuiltins;
 import edu.uci.python.nodes.function.PythonBuiltinNode;
 import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PDictView;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PTuple;
 import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
@@ -57,10 +60,12 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object setDefault(PDict dict, Object arg0, Object arg1) {
-            if (dict.getMap().containsKey(arg0)) {
-                return dict.getMap().get(arg0);
+            final Object value = dict.getItem(arg0);
+
+            if (value != null) {
+                return value;
             } else {
-                dict.getMap().put(arg0, arg1);
+                dict.setItem(arg0, arg1);
                 return arg1;
             }
         }
@@ -73,9 +78,8 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object pop(PDict dict, Object arg0, Object arg1) {
-            Object retVal = dict.getMap().get(arg0);
+            Object retVal = dict.delItem(arg0);
             if (retVal != null) {
-                dict.getMap().remove(arg0);
                 return retVal;
             } else {
                 return arg1;
@@ -90,11 +94,16 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object popItem(PDict dict) {
-            Object key = dict.__iter__().__next__();
-            dict.delItem(key);
-            Object nextKey = dict.__iter__().__next__();
-            Object nextValue = dict.getItem(nextKey);
-            return new PTuple(new Object[]{nextKey, nextValue});
+            final DictStorage store = dict.getStorage();
+            final int entry = store.lastEntry();
+
+            if (entry == -1) {
+                throw Py.KeyError("popitem(): dictionary is empty");
+            }
+
+            Object key = store.getKeyAt(entry);
+            Object value = dict.delItem(key);
+            return PTuple.create(key, value);
         }
     }
 
@@ -103,15 +112,30 @@ public final class DictBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class KeysNode extends PythonBuiltinNode {
 
-        @Specialization(rewriteOn = ClassCastException.class)
-        public PList keysPDictInt(PDict self) {
-            IntSequenceStorage store = new IntSequenceStorage();
+        @Specialization(guards = "isIntIntStorage(self)")
+        public PList keysIntInt(PDict self) {
+            final IntIntDictStorage dictStore = (IntIntDictStorage) self.getStorage();
+            final int[] keys = new int[dictStore.length()];
+            int i = 0;
+
+            for (int entry = dictStore.nextEntry(0); entry != -1; entry = dictStore.nextEntry(entry + 1)) {
+                keys[i++] = dictStore.getIntKeyAt(entry);
+            }
+
+            return new PList(new IntSequenceStorage(keys));
+        }
+
+        @Specialization(guards = "isIntDoubleStorage(self)")
+        public PList keysIntDouble(PDict self) {
+            final IntDoubleDictStorage dictStore = (IntDoubleDictStorage) self.getStorage();
+            final int[] keys = new int[dictStore.length()];
+            int i = 0;
 
-            for (Object key : self.keys()) {
-                store.appendInt((int) key);
+            for (int entry = dictStore.nextEntry(0); entry != -1; entry = dictStore.nextEntry(entry + 1)) {
+                keys[i++] = dictStore.getIntKeyAt(entry);
             }
 
-            return new PList(store);
+            return new PList(new IntSequenceStorage(keys));
         }
 
         @Specialization
@@ -138,7 +162,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object get(PDict dict, Object key, Object defaultValue) {
-            final Object value = dict.getMap().get(key);
+            final Object value = dict.getItem(key);
             return value != null ? value : defaultValue;
         }
     }
@@ -150,7 +174,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            return new PDict(dict.getMap());
+            return dict.copy();
         }
     }
 
@@ -161,7 +185,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            dict.getMap().clear();
+            dict.clear();
             return dict;
         }
     }
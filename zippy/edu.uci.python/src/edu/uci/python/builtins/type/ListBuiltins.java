@@ -26,12 +26,17 @@ package edu.uci.python.builtins.type;
 
 import java.util.*;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -62,6 +67,14 @@ public class ListBuiltins extends PythonBuiltins {
         public PList appendInt(PList list, int arg) {
             IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
             store.appendInt(arg);
+            list.moveOffHeapIfLarge();
+            return list;
+        }
+
+        @Specialization(guards = {"isOffHeapIntStorage(list)", "hasOffHeapRoom(list)"})
+        public PList appendOffHeapInt(PList list, int arg) {
+            OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) list.getStorage();
+            store.appendInt(arg);
             return list;
         }
 
@@ -69,13 +82,39 @@ public class ListBuiltins extends PythonBuiltins {
         public PList appendLong(PList list, long arg) {
             LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
             store.appendLong(arg);
+            list.moveOffHeapIfLarge();
+            return list;
+        }
+
+        @Specialization(guards = {"isOffHeapLongStorage(list)", "hasOffHeapRoom(list)"})
+        public PList appendOffHeapLong(PList list, long arg) {
+            OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) list.getStorage();
+            store.appendLong(arg);
             return list;
         }
 
         @Specialization(guards = "isDoubleStorage(list)")
-        public PList appendDouble(PList list, double arg) {
-            DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
-            store.appendDouble(arg);
+        public PList appendDouble(PList list, Object arg) {
+            if (arg instanceof Double) {
+                DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
+                store.appendDouble((double) arg);
+                list.moveOffHeapIfLarge();
+            } else {
+                list.append(arg);
+            }
+
+            return list;
+        }
+
+        @Specialization(guards = {"isOffHeapDoubleStorage(list)", "hasOffHeapRoom(list)"})
+        public PList appendOffHeapDouble(PList list, Object arg) {
+            if (arg instanceof Double) {
+                OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) list.getStorage();
+                store.appendDouble((double) arg);
+            } else {
+                list.append(arg);
+            }
+
             return list;
         }
 
@@ -99,6 +138,16 @@ public class ListBuiltins extends PythonBuiltins {
             store.append(arg);
             return list;
         }
+
+        /**
+         * The element does not fit the current storage, e.g. a long appended to an int list. The
+         * list generalizes its storage.
+         */
+        @Specialization
+        public PList appendGeneric(PList list, Object arg) {
+            list.append(arg);
+            return list;
+        }
     }
 
     // list.extend(L)
@@ -218,31 +267,55 @@ public class ListBuiltins extends PythonBuiltins {
 
         @Specialization
         public int count(PList list, Object arg) {
-            int count = 0;
-
-            try {
-                while (true) {
-                    if (list.__iter__().__next__().equals(arg)) {
-                        count++;
-                    }
-                }
-            } catch (StopIterationException e) {
-                // fall through
-            }
-
-            return count;
+            return list.count(arg);
         }
     }
 
-    // list.sort()
-    @Builtin(name = "sort", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    // list.sort(key=None, reverse=False)
+    @Builtin(name = "sort", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"key", "reverse"})
     @GenerateNodeFactory
     public abstract static class ListSortNode extends PythonBuiltinNode {
 
         @Specialization
-        public PList sort(PList list) {
-            list.sort();
-            return list;
+        public PNone sort(PList list, Object[] keywords) {
+            sortWithKeywords(list, keywords);
+            return PNone.NONE;
+        }
+
+        /**
+         * Shared with sorted(), which accepts the same keywords.
+         */
+        @TruffleBoundary
+        public static void sortWithKeywords(PList list, Object[] keywords) {
+            PythonCallable key = null;
+            boolean reverse = false;
+
+            if (keywords != null) {
+                for (int i = 0; i < keywords.length; i++) {
+                    PKeyword keyword = (PKeyword) keywords[i];
+                    Object value = keyword.getValue();
+
+                    if (keyword.getName().equals("key")) {
+                        if (value instanceof PythonCallable) {
+                            key = (PythonCallable) value;
+                        } else if (!(value instanceof PNone)) {
+                            throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(value) + "' object is not callable");
+                        }
+                    } else if (keyword.getName().equals("reverse")) {
+                        if (value instanceof Boolean) {
+                            reverse = (boolean) value;
+                        } else if (value instanceof Integer) {
+                            reverse = (int) value != 0;
+                        } else {
+                            throw Py.TypeError("an integer is required");
+                        }
+                    } else {
+                        throw Py.TypeError("'" + keyword.getName() + "' is an invalid keyword argument for this function");
+                    }
+                }
+            }
+
+            list.sort(key, reverse);
         }
     }
 
@@ -257,4 +330,15 @@ public class ListBuiltins extends PythonBuiltins {
             return list;
         }
     }
+
+    // list.copy()
+    @Builtin(name = "copy", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ListCopyNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PList copy(PList list) {
+            return new PList(list.getStorage().copy());
+        }
+    }
 }
@@ -66,4 +66,102 @@ public final class SetBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "remove", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class RemoveNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object remove(PSet self, Object o) {
+            self.remove(o);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "discard", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class DiscardNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object discard(PSet self, Object o) {
+            self.discard(o);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "pop", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PopNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object pop(PSet self) {
+            return self.pop();
+        }
+    }
+
+    @Builtin(name = "symmetric_difference", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class SymmetricDifferenceNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object symmetricDifference(PSet self, PBaseSet other) {
+            return self.symmetricDifference(other);
+        }
+
+        @Specialization
+        public Object symmetricDifference(PSet self, PSequence other) {
+            return self.symmetricDifference(other.__iter__());
+        }
+    }
+
+    @Builtin(name = "intersection_update", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IntersectionUpdateNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object intersectionUpdate(PSet self, PBaseSet other) {
+            self.intersectionUpdate(other);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public Object intersectionUpdate(PSet self, PSequence other) {
+            self.intersectionUpdate(other.__iter__());
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "difference_update", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class DifferenceUpdateNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object differenceUpdate(PSet self, PBaseSet other) {
+            self.differenceUpdate(other);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public Object differenceUpdate(PSet self, PSequence other) {
+            self.differenceUpdate(other.__iter__());
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "symmetric_difference_update", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class SymmetricDifferenceUpdateNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object symmetricDifferenceUpdate(PSet self, PBaseSet other) {
+            self.symmetricDifferenceUpdate(other);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public Object symmetricDifferenceUpdate(PSet self, PSequence other) {
+            self.symmetricDifferenceUpdate(other.__iter__());
+            return PNone.NONE;
+        }
+    }
+
 }
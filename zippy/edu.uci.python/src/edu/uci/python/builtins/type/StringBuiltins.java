@@ -27,13 +27,18 @@ package edu.uci.python.builtins.type;
 import java.util.*;
 import java.util.regex.Pattern;
 
+import org.python.core.*;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -85,80 +90,148 @@ public final class StringBuiltins extends PythonBuiltins {
 
         @Specialization
         public String join(String string, String arg) {
-            StringBuilder sb = new StringBuilder();
-            char[] joinString = arg.toCharArray();
+            final int length = arg.length();
+
+            if (length == 0) {
+                return "";
+            }
 
-            for (int i = 0; i < joinString.length - 1; i++) {
-                sb.append(Character.toString(joinString[i]));
+            final StringBuilder sb = new StringBuilder(length + (length - 1) * string.length());
+            sb.append(arg.charAt(0));
+
+            for (int i = 1; i < length; i++) {
                 sb.append(string);
+                sb.append(arg.charAt(i));
             }
 
-            sb.append(Character.toString(joinString[joinString.length - 1]));
             return sb.toString();
         }
 
+        @SuppressWarnings("unused")
+        @Specialization(guards = "is2ndEmptyStorage(string,list)")
+        public String joinEmpty(String string, PList list) {
+            return "";
+        }
+
         @Specialization(guards = "is2ndObjectStorage(string,list)")
         public String join(String string, PList list) {
-            StringBuilder sb = new StringBuilder();
             ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
+            return joinItems(string, store.getInternalArray(), store.length());
+        }
 
-            for (int i = 0; i < list.len() - 1; i++) {
-                sb.append(store.getItemNormalized(i));
-                sb.append(string);
-            }
-
-            sb.append(list.getItem(list.len() - 1));
-            return sb.toString();
+        @Specialization
+        public String join(String string, PTuple tuple) {
+            final Object[] items = tuple.getArray();
+            return joinItems(string, items, items.length);
         }
 
         @Specialization
         public String join(String string, PCharArray array) {
-            StringBuilder sb = new StringBuilder();
-            char[] stringList = array.getSequence();
+            final char[] chars = array.getSequence();
+
+            if (chars.length == 0) {
+                return "";
+            }
+
+            final StringBuilder sb = new StringBuilder(chars.length + (chars.length - 1) * string.length());
+            sb.append(chars[0]);
 
-            for (int i = 0; i < stringList.length - 1; i++) {
-                sb.append(Character.toString(stringList[i]));
+            for (int i = 1; i < chars.length; i++) {
                 sb.append(string);
+                sb.append(chars[i]);
             }
 
-            sb.append(Character.toString(stringList[stringList.length - 1]));
             return sb.toString();
         }
 
         @Specialization
         public String join(String string, PSequence seq) {
-            StringBuilder sb = new StringBuilder();
+            final int length = seq.len();
+            final Object[] items = new Object[length];
 
-            for (int i = 0; i < seq.len() - 1; i++) {
-                sb.append(seq.getItem(i).toString());
-                sb.append(string);
+            for (int i = 0; i < length; i++) {
+                items[i] = seq.getItem(i);
             }
 
-            sb.append(seq.getItem(seq.len() - 1));
-            return sb.toString();
+            return joinItems(string, items, length);
         }
 
         @Specialization
-        public String join(String string, PSet arg) {
-            if (arg.len() == 0) {
-                return string.toString();
-            }
+        public String join(String string, PBaseSet arg) {
+            final Object[] items = arg.getStorage().toArray();
+            return joinItems(string, items, items.length);
+        }
 
-            StringBuilder sb = new StringBuilder();
-            Object[] joinString = arg.getSet().toArray();
-            for (int i = 0; i < joinString.length - 1; i++) {
-                sb.append(joinString[i]);
-                sb.append(string);
+        @Specialization
+        public String join(String string, PIterator iterator) {
+            final ArrayList<Object> items = new ArrayList<>();
+
+            try {
+                while (true) {
+                    items.add(iterator.__next__());
+                }
+            } catch (StopIterationException e) {
+                // fall through
             }
 
-            sb.append(joinString[joinString.length - 1]);
-            return sb.toString();
+            return joinItems(string, items.toArray(), items.size());
         }
 
         @Fallback
         public String join(Object self, Object arg) {
             throw new RuntimeException("invalid arguments type for join(): self " + self + ", arg " + arg);
         }
+
+        /**
+         * Sums up the item lengths first, so that the result is copied into a buffer of the exact
+         * size once.
+         */
+        private static String joinItems(String separator, Object[] items, int length) {
+            if (length == 0) {
+                return "";
+            }
+
+            int total = separator.length() * (length - 1);
+
+            for (int i = 0; i < length; i++) {
+                total += itemLength(items[i], i);
+            }
+
+            final StringBuilder sb = new StringBuilder(total);
+            append(sb, items[0]);
+
+            for (int i = 1; i < length; i++) {
+                sb.append(separator);
+                append(sb, items[i]);
+            }
+
+            return sb.toString();
+        }
+
+        private static int itemLength(Object item, int index) {
+            if (item instanceof String) {
+                return ((String) item).length();
+            } else if (item instanceof PString) {
+                return ((PString) item).len();
+            } else if (item instanceof Character) {
+                return 1;
+            }
+
+            throw Py.TypeError("sequence item " + index + ": expected str instance, " + PythonTypesUtil.getPythonTypeName(item) + " found");
+        }
+
+        /**
+         * Copies rope items straight into the result instead of flattening each of them first.
+         */
+        private static void append(StringBuilder sb, Object item) {
+            if (item instanceof String) {
+                sb.append((String) item);
+            } else if (item instanceof PString) {
+                ((PString) item).appendTo(sb);
+            } else {
+                sb.append((char) item);
+            }
+        }
     }
 
     // str.upper()
@@ -122,6 +122,10 @@ public class NodeFactory {
         return GetIteratorNodeFactory.create(collection);
     }
 
+    public PNode createUnpackPairTarget(PNode tempWrite, PNode unpack, PNode first, PNode second) {
+        return new UnpackPairTargetNode(tempWrite, unpack, first, second);
+    }
+
     public StatementNode createElse(StatementNode then, PNode orelse) {
         return new ElseNode(then, orelse);
     }
@@ -162,6 +166,10 @@ public class NodeFactory {
         return new IntegerLiteralNode(value);
     }
 
+    public PNode createLongLiteral(long value) {
+        return new LongLiteralNode(value);
+    }
+
     public PNode createBigIntegerLiteral(BigInteger value) {
         return new BigIntegerLiteralNode(value);
     }
@@ -186,7 +194,7 @@ public class NodeFactory {
 
     public PNode createTupleLiteral(List<PNode> values) {
         PNode[] convertedValues = values.toArray(new PNode[values.size()]);
-        return new TupleLiteralNode(convertedValues);
+        return TupleLiteralNode.create(convertedValues);
     }
 
     public PNode createListLiteral(List<PNode> values) {
@@ -319,6 +327,11 @@ public class NodeFactory {
     }
 
     public PNode createSubscriptLoadIndex(PNode primary, PNode slice) {
+        if (primary instanceof SubscriptLoadIndexNode) {
+            SubscriptLoadIndexNode rowLoad = (SubscriptLoadIndexNode) primary;
+            return SubscriptLoadNestedIndexNodeFactory.create(rowLoad.getPrimary(), rowLoad.getSlice(), slice);
+        }
+
         return SubscriptLoadIndexNodeFactory.create(primary, slice);
     }
 
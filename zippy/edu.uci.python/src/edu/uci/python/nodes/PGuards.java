@@ -3,6 +3,7 @@ package edu.uci.python.nodes;
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.object.*;
@@ -58,6 +59,34 @@ public abstract class PGuards {
         return list.getStorage() instanceof DoubleSequenceStorage;
     }
 
+    public static boolean isNumericStorage(PList list) {
+        return list.getStorage() instanceof NumericSequenceStorage;
+    }
+
+    public static boolean isOffHeapIntStorage(PList list) {
+        return list.getStorage() instanceof OffHeapIntSequenceStorage;
+    }
+
+    public static boolean isOffHeapLongStorage(PList list) {
+        return list.getStorage() instanceof OffHeapLongSequenceStorage;
+    }
+
+    public static boolean isOffHeapDoubleStorage(PList list) {
+        return list.getStorage() instanceof OffHeapDoubleSequenceStorage;
+    }
+
+    /**
+     * Whether the list's off-heap storage can take one more element. A full one goes back to the
+     * heap through {@link PList#append(Object)}.
+     */
+    public static boolean hasOffHeapRoom(PList list) {
+        return ((OffHeapSequenceStorage) list.getStorage()).canGrowTo(list.len() + 1L);
+    }
+
+    public static boolean isBoolStorage(PList list) {
+        return list.getStorage() instanceof BoolSequenceStorage;
+    }
+
     public static boolean is2ndDoubleStorage(@SuppressWarnings("unused") Object first, PList list) {
         return list.getStorage() instanceof DoubleSequenceStorage;
     }
@@ -90,6 +119,44 @@ public abstract class PGuards {
         return first.getStorage() instanceof ObjectSequenceStorage && second.getStorage() instanceof ObjectSequenceStorage;
     }
 
+    public static boolean isIntRowStorage(PList list) {
+        return list.getStorage() instanceof IntRowSequenceStorage;
+    }
+
+    public static boolean isDoubleRowStorage(PList list) {
+        return list.getStorage() instanceof DoubleRowSequenceStorage;
+    }
+
+    public static boolean isFlatIntMatrix(PList list) {
+        final SequenceStorage store = list.getStorage();
+        return store instanceof MatrixSequenceStorage && ((MatrixSequenceStorage) store).isIntMatrix();
+    }
+
+    public static boolean isFlatDoubleMatrix(PList list) {
+        final SequenceStorage store = list.getStorage();
+        return store instanceof MatrixSequenceStorage && ((MatrixSequenceStorage) store).isDoubleMatrix();
+    }
+
+    public static boolean isEmptyStorage(PDict dict) {
+        return dict.getStorage() instanceof EmptyDictStorage;
+    }
+
+    public static boolean isIntIntStorage(PDict dict) {
+        return dict.getStorage() instanceof IntIntDictStorage;
+    }
+
+    public static boolean isIntDoubleStorage(PDict dict) {
+        return dict.getStorage() instanceof IntDoubleDictStorage;
+    }
+
+    public static boolean isStringStorage(PDict dict) {
+        return dict.getStorage() instanceof StringDictStorage;
+    }
+
+    public static boolean isIntSetStorage(PBaseSet set) {
+        return set.getStorage() instanceof IntSetStorage;
+    }
+
     public static boolean isObjectStorageIterator(PSequenceIterator iterator) {
         PSequence sequence = iterator.getSeqence();
 
@@ -70,13 +70,13 @@ public abstract class PNode extends Node {
     }
 
     public long executeLong(VirtualFrame frame) throws UnexpectedResultException {
-        Object val = execute(frame);
-        Object value = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-
-        if (value instanceof Long) {
-            return (long) value;
+        Object o = execute(frame);
+        if (o instanceof Long) {
+            return (long) o;
+        } else if (o instanceof Integer) {
+            return (int) o;
         } else {
-            throw new UnexpectedResultException(val);
+            throw new UnexpectedResultException(o);
         }
     }
 
@@ -27,12 +27,14 @@ package edu.uci.python.nodes;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeClass;
 import com.oracle.truffle.api.nodes.NodeFieldAccessor;
 import com.oracle.truffle.api.nodes.NodeFieldAccessor.NodeFieldKind;
 import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.nodes.NodeVisitor;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.api.nodes.RootNode;
 
 import edu.uci.python.runtime.object.ObjectLayoutUtil;
@@ -57,6 +59,20 @@ public class PNodeUtil {
         throw new IllegalStateException();
     }
 
+    /**
+     * Returns the parent of {@code node} in the Python AST, skipping the Truffle loop node and
+     * repeating node a loop wraps its body in.
+     */
+    public static Node getPythonParent(Node node) {
+        Node current = node.getParent();
+
+        while (current instanceof RepeatingNode || current instanceof LoopNode) {
+            current = current.getParent();
+        }
+
+        return current;
+    }
+
     public static List<PNode> getListOfSubExpressionsInOrder(PNode root) {
         List<PNode> expressions = new ArrayList<>();
 
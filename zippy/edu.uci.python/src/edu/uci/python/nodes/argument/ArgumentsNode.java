@@ -103,7 +103,7 @@ public class ArgumentsNode extends PNode {
         }
 
         for (int i = 0; i < stararglen; i++) {
-            values[USER_ARGUMENTS_OFFSET + arguments.length + i] = ((PTuple) starargsValue).getArray()[i];
+            values[USER_ARGUMENTS_OFFSET + arguments.length + i] = ((PTuple) starargsValue).getItemNormalized(i);
         }
 
         return values;
@@ -129,7 +129,7 @@ public class ArgumentsNode extends PNode {
         }
 
         for (int i = 0; i < stararglen; i++) {
-            values[USER_ARGUMENTS_OFFSET + offset + arguments.length + i] = ((PTuple) starargsValue).getArray()[i];
+            values[USER_ARGUMENTS_OFFSET + offset + arguments.length + i] = ((PTuple) starargsValue).getItemNormalized(i);
         }
 
         return values;
@@ -144,7 +144,7 @@ public class ArgumentsNode extends PNode {
         }
 
         for (int i = 0; i < stararglen; i++) {
-            values[USER_ARGUMENTS_OFFSET + arguments.length + i] = ((PTuple) starargsValue).getArray()[i];
+            values[USER_ARGUMENTS_OFFSET + arguments.length + i] = ((PTuple) starargsValue).getItemNormalized(i);
         }
 
         return values;
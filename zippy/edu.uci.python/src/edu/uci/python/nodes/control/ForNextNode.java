@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.control;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.iterator.*;
+
+/**
+ * Fetches the next value of a for loop's iterator, specialized on the iterator type. Throws
+ * {@link edu.uci.python.runtime.exception.StopIterationException} once it is exhausted.
+ */
+@TypeSystemReference(PythonTypes.class)
+public abstract class ForNextNode extends Node {
+
+    public abstract Object executeNext(Object iterator);
+
+    @Specialization
+    public int doPRange(PRangeIterator iterator) {
+        return iterator.__nextInt__();
+    }
+
+    @Specialization
+    public int doIntegerSequenceIterator(PIntegerSequenceIterator iterator) {
+        return iterator.__nextInt__();
+    }
+
+    @Specialization
+    public int doIntegerIterator(PIntegerIterator iterator) {
+        return iterator.__nextInt__();
+    }
+
+    @Specialization
+    public long doLongSequenceIterator(PLongSequenceIterator iterator) {
+        return iterator.__nextLong__();
+    }
+
+    @Specialization
+    public long doLongIterator(PLongIterator iterator) {
+        return iterator.__nextLong__();
+    }
+
+    @Specialization
+    public double doDoubleIterator(PDoubleIterator iterator) {
+        return iterator.__nextDouble__();
+    }
+
+    @Specialization
+    public Object doSequenceIterator(PSequenceIterator iterator) {
+        return iterator.__next__();
+    }
+
+    @Specialization
+    public Object doGenerator(PGenerator generator) {
+        return generator.__next__();
+    }
+
+    @Specialization
+    public Object doIterator(PIterator iterator) {
+        return iterator.__next__();
+    }
+
+}
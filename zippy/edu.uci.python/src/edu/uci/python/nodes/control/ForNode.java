@@ -24,260 +24,133 @@
  */
 package edu.uci.python.nodes.control;
 
-import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.dsl.GenerateNodeFactory;
-import com.oracle.truffle.api.dsl.NodeChild;
-import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.nodes.frame.WriteNode;
-import edu.uci.python.runtime.PythonOptions;
-import edu.uci.python.runtime.datatype.PGenerator;
 import edu.uci.python.runtime.datatype.PNone;
 import edu.uci.python.runtime.exception.StopIterationException;
-import edu.uci.python.runtime.iterator.PDoubleIterator;
-import edu.uci.python.runtime.iterator.PIntegerIterator;
-import edu.uci.python.runtime.iterator.PIntegerSequenceIterator;
-import edu.uci.python.runtime.iterator.PIterator;
-import edu.uci.python.runtime.iterator.PLongIterator;
-import edu.uci.python.runtime.iterator.PLongSequenceIterator;
-import edu.uci.python.runtime.iterator.PRangeIterator;
-import edu.uci.python.runtime.iterator.PSequenceIterator;
-import edu.uci.python.runtime.sequence.PList;
-import edu.uci.python.runtime.sequence.PSequence;
-import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
-import edu.uci.python.runtime.sequence.storage.LongSequenceStorage;
-import edu.uci.python.runtime.sequence.storage.ObjectSequenceStorage;
 
 @NodeInfo(shortName = "for")
-@NodeChild(value = "iterator", type = GetIteratorNode.class)
-@GenerateNodeFactory
-public abstract class ForNode extends LoopNode {
+public final class ForNode extends LoopNode {
 
-    @Child protected PNode target;
+    private static int iteratorSlotCounter;
 
-    public ForNode(PNode body, PNode target) {
-        super(body);
-        this.target = target;
+    @Child protected GetIteratorNode getIterator;
+    @Child protected com.oracle.truffle.api.nodes.LoopNode loop;
+
+    public ForNode(PNode body, PNode target, GetIteratorNode getIterator) {
         assert target instanceof WriteNode;
+        this.getIterator = getIterator;
+        this.loop = Truffle.getRuntime().createLoopNode(new ForRepeatingNode(target, body, nextIteratorSlotId()));
     }
 
-    protected ForNode(ForNode prev) {
-        this(prev.body, prev.target);
+    private static synchronized String nextIteratorSlotId() {
+        return "<for_iterator" + iteratorSlotCounter++ + ">";
     }
 
-    public PNode getTarget() {
-        return target;
-    }
-
-    public abstract PNode getIterator();
-
-    @Specialization
-    public Object doPRange(VirtualFrame frame, PRangeIterator range) {
-        final int start = range.getStart();
-        final int stop = range.getStop();
-        final int step = range.getStep();
-
-        for (int i = start; i < stop; i += step) {
-            ((WriteNode) target).executeWrite(frame, i);
-            body.executeVoid(frame);
-        }
-
-        return PNone.NONE;
+    private ForRepeatingNode getRepeatingNode() {
+        return (ForRepeatingNode) loop.getRepeatingNode();
     }
 
-    @Specialization
-    public Object doIntegerSequenceIterator(VirtualFrame frame, PIntegerSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        IntSequenceStorage store = iterator.getSequenceStorage();
-
-        for (int index = 0; index < store.length(); index++) {
-            ((WriteNode) target).executeWrite(frame, store.getIntItemNormalized(index));
-            body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-
-        return PNone.NONE;
+    public PNode getTarget() {
+        return getRepeatingNode().target;
     }
 
-    @Specialization
-    public Object doIntegerIterator(VirtualFrame frame, PIntegerIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__nextInt__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
-
-        }
-
-        return PNone.NONE;
+    public PNode getIterator() {
+        return getIterator;
     }
 
-    @Specialization
-    public Object doLongSequenceIterator(VirtualFrame frame, PLongSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        LongSequenceStorage store = iterator.getSequenceStorage();
-
-        for (int index = 0; index < store.length(); index++) {
-            ((WriteNode) target).executeWrite(frame, store.getLongItemNormalized(index));
-            body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-
-        return PNone.NONE;
+    @Override
+    public PNode getBody() {
+        return getRepeatingNode().body;
     }
 
-    @Specialization
-    public Object doLongIterator(VirtualFrame frame, PLongIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__nextLong__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
-
-        }
-
+    @Override
+    public Object execute(VirtualFrame frame) {
+        executeLoop(frame, executeIterator(frame));
         return PNone.NONE;
     }
 
-    @Specialization
-    public Object doDoubleIterator(VirtualFrame frame, PDoubleIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__nextDouble__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
-
-        }
-
-        return PNone.NONE;
+    public Object executeIterator(VirtualFrame frame) {
+        return getIterator.execute(frame);
     }
 
-    @Specialization(guards = "isObjectStorageIterator(iterator)")
-    public Object doObjectStorageIterator(VirtualFrame frame, PSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        PList list = (PList) iterator.getSeqence();
-        ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
+    /**
+     * Runs the loop over an iterator previously obtained from {@link #executeIterator}. Split out so
+     * that a comprehension can inspect the iterator, e.g. for its length, before the first iteration.
+     */
+    public void executeLoop(VirtualFrame frame, Object iterator) {
+        final FrameSlot iteratorSlot = getRepeatingNode().getIteratorSlot(frame);
 
-        for (int index = 0; index < store.length(); index++) {
-            ((WriteNode) target).executeWrite(frame, store.getItemNormalized(index));
-            body.executeVoid(frame);
+        frame.setObject(iteratorSlot, iterator);
 
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
+        try {
+            loop.executeLoop(frame);
+        } finally {
+            frame.setObject(iteratorSlot, null);
         }
-        return PNone.NONE;
     }
 
-    @Specialization
-    public Object doIterator(VirtualFrame frame, PSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        PSequence sequence = iterator.getSeqence();
-
-        for (int index = 0; index < sequence.len(); index++) {
-            ((WriteNode) target).executeWrite(frame, sequence.getItem(index));
-            body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-        return PNone.NONE;
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitForNode(this);
     }
 
-    @Specialization
-    public Object doGenerator(VirtualFrame frame, PGenerator generator) {
-        int count = 0;
+    /**
+     * Runs one iteration. The iterator lives in a frame slot rather than in a field, which keeps the
+     * loop reentrant and lets an OSR compiled loop pick it up from the frame.
+     */
+    static final class ForRepeatingNode extends Node implements RepeatingNode {
 
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, generator.__next__());
-                body.executeVoid(frame);
+        @Child protected PNode target;
+        @Child protected PNode body;
+        @Child protected ForNextNode next;
 
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
+        private final String iteratorSlotId;
+        @CompilationFinal private FrameSlot iteratorSlot;
 
+        ForRepeatingNode(PNode target, PNode body, String iteratorSlotId) {
+            this.target = target;
+            this.body = body;
+            this.next = ForNextNodeGen.create();
+            this.iteratorSlotId = iteratorSlotId;
         }
 
-        if (CompilerDirectives.inInterpreter()) {
-            if (count > 0 && PythonOptions.InlineGeneratorCalls) {
-                CompilerAsserts.neverPartOfCompilation();
-                /**
-                 * TODO zwei: This is probably a better place to peel generators than the
-                 * complicated logic we currently have in FunctionRootNode now.
-                 */
+        /**
+         * The slot is added lazily, since optimizations may move a loop into another frame.
+         */
+        FrameSlot getIteratorSlot(VirtualFrame frame) {
+            if (iteratorSlot == null || iteratorSlot.getFrameDescriptor() != frame.getFrameDescriptor()) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                iteratorSlot = frame.getFrameDescriptor().findOrAddFrameSlot(iteratorSlotId, FrameSlotKind.Object);
             }
-        }
 
-        return PNone.NONE;
-    }
+            return iteratorSlot;
+        }
 
-    @Specialization
-    public Object doIterator(VirtualFrame frame, PIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
+        public boolean executeRepeating(VirtualFrame frame) {
+            final Object iterator = FrameUtil.getObjectSafe(frame, getIteratorSlot(frame));
 
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__next__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
+            try {
+                ((WriteNode) target).writeNext(frame, iterator, next);
+            } catch (StopIterationException e) {
+                return false;
             }
-        } catch (StopIterationException e) {
 
+            body.executeVoid(frame);
+            return true;
         }
-
-        return PNone.NONE;
-    }
-
-    @Override
-    public <R> R accept(VisitorIF<R> visitor) throws Exception {
-        return visitor.visitForNode(this);
     }
 
 }
@@ -60,6 +60,21 @@ public abstract class GetIteratorNode extends UnaryOpNode {
         return new PDoubleSequenceIterator((DoubleSequenceStorage) primary.getStorage());
     }
 
+    @Specialization(guards = "isOffHeapIntStorage(primary)")
+    public Object doPListOffHeapInt(PList primary) {
+        return new POffHeapIntegerIterator((OffHeapIntSequenceStorage) primary.getStorage());
+    }
+
+    @Specialization(guards = "isOffHeapLongStorage(primary)")
+    public Object doPListOffHeapLong(PList primary) {
+        return new POffHeapLongIterator((OffHeapLongSequenceStorage) primary.getStorage());
+    }
+
+    @Specialization(guards = "isOffHeapDoubleStorage(primary)")
+    public Object doPListOffHeapDouble(PList primary) {
+        return new POffHeapDoubleIterator((OffHeapDoubleSequenceStorage) primary.getStorage());
+    }
+
     @Specialization
     public Object doPList(PList value) {
         return value.__iter__();
@@ -85,6 +100,11 @@ public abstract class GetIteratorNode extends UnaryOpNode {
         return value.__iter__();
     }
 
+    @Specialization
+    public Object doPString(PString value) {
+        return new PStringIterator(value.getValue());
+    }
+
     @Specialization
     public Object doPSequence(PSequence value) {
         return value.__iter__();
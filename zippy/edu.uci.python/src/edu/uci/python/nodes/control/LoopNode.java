@@ -27,20 +27,14 @@ package edu.uci.python.nodes.control;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.nodes.statement.StatementNode;
 
+/**
+ * Python loops run their body through a Truffle {@link com.oracle.truffle.api.nodes.LoopNode}, so
+ * that a hot loop can be compiled by on-stack replacement while it is still running. The body is
+ * therefore a child of the loop's {@link com.oracle.truffle.api.nodes.RepeatingNode}, not of this
+ * node.
+ */
 public abstract class LoopNode extends StatementNode {
 
-    @Child protected PNode body;
-
-    public LoopNode(PNode body) {
-        this.body = body;
-    }
-
-    public PNode getBody() {
-        return body;
-    }
-
-    protected int reportLoopCount(int count) {
-        return count;
-    }
+    public abstract PNode getBody();
 
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.control;
+
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Target of a for loop unpacking into two names, as in <code>for k, v in d.items()</code>.
+ * <p>
+ * Pair producing iterators, i.e. zip, enumerate and dict items, hand over their two halves one by
+ * one, which are written straight into the targets without allocating the pair. Pair tuples are
+ * taken apart directly too. Anything else goes the translated way, through a temporary variable
+ * and one subscript per target.
+ */
+@NodeInfo(shortName = "unpack_pair_target")
+public final class UnpackPairTargetNode extends PNode implements WriteNode {
+
+    @Child protected PNode tempWrite;
+    @Child protected PNode unpack;
+    @Child protected PNode first;
+    @Child protected PNode second;
+
+    /**
+     * @param tempWrite write of the loop item to the temporary variable
+     * @param unpack the generic per target writes reading the temporary variable
+     * @param first write to the first target
+     * @param second write to the second target
+     */
+    public UnpackPairTargetNode(PNode tempWrite, PNode unpack, PNode first, PNode second) {
+        assert tempWrite instanceof WriteNode && first instanceof WriteNode && second instanceof WriteNode;
+        this.tempWrite = tempWrite;
+        this.unpack = unpack;
+        this.first = first;
+        this.second = second;
+    }
+
+    public PNode getTempWrite() {
+        return tempWrite;
+    }
+
+    public PNode getUnpack() {
+        return unpack;
+    }
+
+    @Override
+    public PNode makeReadNode() {
+        return ((WriteNode) tempWrite).makeReadNode();
+    }
+
+    @Override
+    public PNode getRhs() {
+        return ((WriteNode) tempWrite).getRhs();
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        return executeWrite(frame, getRhs().execute(frame));
+    }
+
+    @Override
+    public Object executeWrite(VirtualFrame frame, Object value) {
+        if (value instanceof PTuple && ((PTuple) value).len() == 2) {
+            final PTuple pair = (PTuple) value;
+            ((WriteNode) first).executeWrite(frame, pair.getItemNormalized(0));
+            ((WriteNode) second).executeWrite(frame, pair.getItemNormalized(1));
+        } else {
+            ((WriteNode) tempWrite).executeWrite(frame, value);
+            unpack.executeVoid(frame);
+        }
+
+        return value;
+    }
+
+    /**
+     * Fetches the next item of the loop's iterator and unpacks it into the two targets.
+     */
+    @Override
+    public void writeNext(VirtualFrame frame, Object iterator, ForNextNode next) {
+        if (iterator instanceof PPairIterator && ((PPairIterator) iterator).producesPairs()) {
+            final PPairIterator pairs = (PPairIterator) iterator;
+            ((WriteNode) first).executeWrite(frame, pairs.__nextFirst__());
+            ((WriteNode) second).executeWrite(frame, pairs.getSecond());
+        } else {
+            executeWrite(frame, next.executeNext(iterator));
+        }
+    }
+
+}
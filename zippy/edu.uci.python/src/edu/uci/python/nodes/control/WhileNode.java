@@ -36,35 +36,32 @@ import edu.uci.python.runtime.datatype.*;
 @NodeInfo(shortName = "while")
 public class WhileNode extends LoopNode {
 
-    @Child protected CastToBooleanNode condition;
+    @Child protected com.oracle.truffle.api.nodes.LoopNode loop;
 
     public WhileNode(CastToBooleanNode condition, PNode body) {
-        super(body);
-        this.condition = condition;
+        this(new WhileRepeatingNode(condition, body));
     }
 
-    public CastToBooleanNode getCondition() {
-        return condition;
+    protected WhileNode(WhileRepeatingNode repeatingNode) {
+        this.loop = Truffle.getRuntime().createLoopNode(repeatingNode);
     }
 
-    @Override
-    public Object execute(VirtualFrame frame) {
-        int count = 0;
+    protected final WhileRepeatingNode getRepeatingNode() {
+        return (WhileRepeatingNode) loop.getRepeatingNode();
+    }
 
-        try {
-            while (condition.executeBoolean(frame)) {
-                body.execute(frame);
+    public CastToBooleanNode getCondition() {
+        return getRepeatingNode().condition;
+    }
 
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } finally {
-            if (CompilerDirectives.inInterpreter()) {
-                reportLoopCount(count);
-            }
-        }
+    @Override
+    public PNode getBody() {
+        return getRepeatingNode().body;
+    }
 
+    @Override
+    public Object execute(VirtualFrame frame) {
+        loop.executeLoop(frame);
         return PNone.NONE;
     }
 
@@ -73,4 +70,24 @@ public class WhileNode extends LoopNode {
         return visitor.visitWhileNode(this);
     }
 
+    public static class WhileRepeatingNode extends Node implements RepeatingNode {
+
+        @Child protected CastToBooleanNode condition;
+        @Child protected PNode body;
+
+        protected WhileRepeatingNode(CastToBooleanNode condition, PNode body) {
+            this.condition = condition;
+            this.body = body;
+        }
+
+        public boolean executeRepeating(VirtualFrame frame) {
+            if (!condition.executeBoolean(frame)) {
+                return false;
+            }
+
+            body.executeVoid(frame);
+            return true;
+        }
+    }
+
 }
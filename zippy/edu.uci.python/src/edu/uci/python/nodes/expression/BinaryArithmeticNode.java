@@ -37,6 +37,7 @@ import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.misc.*;
@@ -50,10 +51,16 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class AddNode extends BinaryArithmeticNode {
 
+        public abstract Object executeWith(VirtualFrame frame, Object left, Object right);
+
         public static final boolean isEitherOperandPythonObject(Object left, Object right) {
             return left instanceof PythonObject || right instanceof PythonObject;
         }
 
+        public static final boolean isShortConcatenation(String left, String right) {
+            return left.length() + right.length() < PythonOptions.StringRopeThreshold;
+        }
+
         @Specialization
         int doBoolean(boolean left, boolean right) {
             final int leftInt = left ? 1 : 0;
@@ -66,9 +73,9 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return ExactMath.addExact(left, right);
         }
 
-        @Specialization
-        Long doLong(Long left, Long right) {
-            return left + right;
+        @Specialization(rewriteOn = ArithmeticException.class)
+        long doLong(long left, long right) {
+            return ExactMath.addExact(left, right);
         }
 
         @Specialization
@@ -133,11 +140,34 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return left.add(right);
         }
 
+        /**
+         * Ropes come first, so that they are not flattened by the implicit cast to String.
+         */
+        @Specialization
+        Object doPString(PString left, PString right) {
+            return PString.concat(left, right);
+        }
+
         @Specialization
+        Object doPStringString(PString left, String right) {
+            return PString.concat(left, right);
+        }
+
+        @Specialization
+        Object doStringPString(String left, PString right) {
+            return PString.concat(left, right);
+        }
+
+        @Specialization(guards = "isShortConcatenation(left,right)")
         String doString(String left, String right) {
             return left + right;
         }
 
+        @Specialization
+        Object doStringRope(String left, String right) {
+            return PString.concat(left, right);
+        }
+
         @Specialization(guards = "areBothIntStorage(left,right)")
         PList doPListInt(PList left, PList right) {
             IntSequenceStorage leftStore = (IntSequenceStorage) left.getStorage().copy();
@@ -197,9 +227,9 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return ExactMath.subtractExact(left, right);
         }
 
-        @Specialization
-        Long doLong(Long left, Long right) {
-            return left - right;
+        @Specialization(rewriteOn = ArithmeticException.class)
+        long doLong(long left, long right) {
+            return ExactMath.subtractExact(left, right);
         }
 
         @Specialization
@@ -249,9 +279,9 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return ExactMath.multiplyExact(left, right);
         }
 
-        @Specialization
-        Long doLong(Long left, Long right) {
-            return left * right;
+        @Specialization(rewriteOn = ArithmeticException.class)
+        long doLong(long left, long right) {
+            return ExactMath.multiplyExact(left, right);
         }
 
         @Specialization
@@ -370,8 +400,8 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return (double) left / right;
         }
 
-        @Specialization
-        double doLong(Long left, Long right) {
+        @Specialization(rewriteOn = ArithmeticException.class)
+        double doLong(long left, long right) {
             if (right == 0) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 throw new ArithmeticException("divide by zero");
@@ -380,16 +410,6 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return (double) left / right;
         }
 
-        @Specialization
-        double doLong(Long left, double right) {
-            return (double) left / right;
-        }
-
-        @Specialization
-        double doLong(double left, Long right) {
-            return left / right;
-        }
-
         @Specialization
         double doBigInteger(BigInteger left, BigInteger right) {
             return FastMathUtil.slowPathDivide(left, right).doubleValue();
@@ -403,18 +423,20 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         @Specialization
         PComplex doDoubleComplex(double left, PComplex right) {
             double opNormSq = right.getReal() * right.getReal() + right.getImag() * right.getImag();
-            PComplex conjugate = right.getConjugate();
-            double realPart = left * conjugate.getReal();
-            double imagPart = left * conjugate.getImag();
-            return new PComplex(realPart / opNormSq, imagPart / opNormSq);
+            if (opNormSq == 0) {
+                throw Py.ZeroDivisionError("complex division by zero");
+            }
+
+            return new PComplex(left * right.getReal() / opNormSq, -left * right.getImag() / opNormSq);
         }
 
         @Specialization
         PComplex doComplexDouble(PComplex left, double right) {
-            double opNormSq = right * right;
-            double realPart = left.getReal() * right;
-            double imagPart = left.getImag() * right;
-            return new PComplex(realPart / opNormSq, imagPart / opNormSq);
+            if (right == 0) {
+                throw Py.ZeroDivisionError("complex division by zero");
+            }
+
+            return new PComplex(left.getReal() / right, left.getImag() / right);
         }
 
         @Specialization
@@ -437,19 +459,27 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class FloorDivNode extends BinaryArithmeticNode {
 
-        @Specialization
+        @Specialization(rewriteOn = ArithmeticException.class)
         int doInteger(int left, int right) {
-            return left / right;
+            if (left == Integer.MIN_VALUE && right == -1) {
+                throw new ArithmeticException("integer overflow");
+            }
+
+            return Math.floorDiv(left, right);
         }
 
-        @Specialization
+        @Specialization(rewriteOn = ArithmeticException.class)
         long doLong(long left, long right) {
-            return left / right;
+            if (left == Long.MIN_VALUE && right == -1) {
+                throw new ArithmeticException("long overflow");
+            }
+
+            return Math.floorDiv(left, right);
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return FastMathUtil.slowPathDivide(left, right);
+            return ArithmeticUtil.floorDivideAndRemainder(left, right)[0];
         }
 
         @Specialization
@@ -472,52 +502,39 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class ModuloNode extends BinaryArithmeticNode {
 
-        @Specialization(guards = "isLeftPositive(left)")
+        /**
+         * Python's modulo takes the sign of the divisor, which is what floorMod computes.
+         */
+        @Specialization
         int doInteger(int left, int right) {
-            return left % right;
+            return Math.floorMod(left, right);
         }
 
+        /**
+         * The result is smaller in magnitude than an int divisor, so it drops back to the int tier.
+         */
         @Specialization
-        int doIntegerNegative(int left, int right) {
-            return (left + right) % right;
-        }
-
-        protected static boolean isLeftPositive(int left) {
-            return left >= 0;
-        }
-
-        protected static boolean isLeftNegative(int left) {
-            return left < 0;
-        }
-
-        @Specialization(guards = "isLeftPositive(left)")
-        long doLong(long left, int right) {
-            return left % right;
+        int doLongInt(long left, int right) {
+            return (int) Math.floorMod(left, (long) right);
         }
 
         @Specialization
-        long doLongNegative(long left, int right) {
-            return (left + right) % right;
-        }
-
-        @Specialization(guards = "isLeftPositive(left)")
         long doLong(long left, long right) {
-            return left % right;
-        }
-
-        @Specialization
-        long doLongNegative(long left, long right) {
-            return (left + right) % right;
-        }
-
-        protected static boolean isLeftPositive(long left) {
-            return left >= 0;
+            return Math.floorMod(left, right);
         }
 
         @TruffleBoundary
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return left.mod(right);
+            if (right.signum() == 0) {
+                throw Py.ZeroDivisionError("integer division or modulo by zero");
+            }
+
+            /**
+             * BigInteger.mod only takes a positive modulus and always returns a positive result.
+             */
+            final BigInteger result = left.mod(right.abs());
+            return right.signum() < 0 && result.signum() != 0 ? result.add(right) : result;
         }
 
         @Specialization
@@ -553,18 +570,13 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         @TruffleBoundary
         @Specialization
         Object doInteger(int left, int right) {
-            BigInteger val = BigInteger.valueOf(left).pow(right);
-            return (val.longValue() <= Integer.MAX_VALUE) ? val.intValue() : val;
-        }
-
-        @Specialization
-        long doLong(long left, int right) {
-            return BigInteger.valueOf(left).pow(right).longValue();
+            return ArithmeticUtil.narrow(BigInteger.valueOf(left).pow(right));
         }
 
+        @TruffleBoundary
         @Specialization
-        long doLong(long left, long right) {
-            return BigInteger.valueOf(left).pow(Math.toIntExact(right)).longValue();
+        Object doLong(long left, long right) {
+            return ArithmeticUtil.narrow(BigInteger.valueOf(left).pow(Math.toIntExact(right)));
         }
 
         @TruffleBoundary
@@ -581,6 +593,26 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return Math.pow(left, right);
         }
 
+        @Specialization
+        PComplex doComplexInt(PComplex left, int right) {
+            return left.pow(right);
+        }
+
+        @Specialization
+        PComplex doComplexDouble(PComplex left, double right) {
+            return left.pow(new PComplex(right, 0));
+        }
+
+        @Specialization
+        PComplex doDoubleComplex(double left, PComplex right) {
+            return new PComplex(left, 0).pow(right);
+        }
+
+        @Specialization
+        PComplex doComplex(PComplex left, PComplex right) {
+            return left.pow(right);
+        }
+
         @Specialization(guards = "isEitherOperandPythonObject(left,right)")
         Object doPythonObject(VirtualFrame frame, Object left, Object right) {
             return doSpecialMethodCall(frame, "__pow__", left, right);
@@ -44,6 +44,11 @@ public abstract class BinaryBitwiseNode extends BinaryOpNode {
             return ArithmeticUtil.leftShiftExact(left, right);
         }
 
+        @Specialization(rewriteOn = ArithmeticException.class)
+        long doLong(long left, long right) {
+            return ArithmeticUtil.leftShiftExact(left, right);
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger left, int right) {
             return left.shiftLeft(right);
@@ -64,16 +69,23 @@ public abstract class BinaryBitwiseNode extends BinaryOpNode {
 
         @Specialization
         int doInteger(int left, int right) {
-            return left >> right;
+            return (int) ArithmeticUtil.rightShift(left, right);
+        }
+
+        @Specialization
+        long doLong(long left, long right) {
+            return ArithmeticUtil.rightShift(left, right);
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, int right) {
+            ArithmeticUtil.checkShiftCount(right);
             return left.shiftRight(right);
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
+            ArithmeticUtil.checkShiftCount(right.signum());
             /**
              * Right operand may lose precision.
              */
@@ -90,6 +102,11 @@ public abstract class BinaryBitwiseNode extends BinaryOpNode {
             return left & right;
         }
 
+        @Specialization
+        long doLong(long left, long right) {
+            return left & right;
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
             return left.and(right);
@@ -110,10 +127,20 @@ public abstract class BinaryBitwiseNode extends BinaryOpNode {
             return left ^ right;
         }
 
+        @Specialization
+        long doLong(long left, long right) {
+            return left ^ right;
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
             return left.xor(right);
         }
+
+        @Specialization
+        PBaseSet doPBaseSet(PBaseSet left, PBaseSet right) {
+            return left.symmetricDifference(right);
+        }
     }
 
     @NodeInfo(shortName = "|")
@@ -125,10 +152,20 @@ public abstract class BinaryBitwiseNode extends BinaryOpNode {
             return left | right;
         }
 
+        @Specialization
+        long doLong(long left, long right) {
+            return left | right;
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
             return left.or(right);
         }
+
+        @Specialization
+        PBaseSet doPBaseSet(PBaseSet left, PBaseSet right) {
+            return left.union(right);
+        }
     }
 
     @Override
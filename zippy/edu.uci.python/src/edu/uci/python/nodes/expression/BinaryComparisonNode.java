@@ -32,6 +32,7 @@ import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
@@ -54,6 +55,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left == right;
         }
 
+        @Specialization()
+        boolean doLong(long left, long right) {
+            return left == right;
+        }
+
         @Specialization
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.equals(right);
@@ -69,6 +75,16 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left.equals(right);
         }
 
+        @Specialization
+        boolean doComplexDouble(PComplex left, double right) {
+            return left.getReal() == right && left.getImag() == 0;
+        }
+
+        @Specialization
+        boolean doDoubleComplex(double left, PComplex right) {
+            return left == right.getReal() && right.getImag() == 0;
+        }
+
         @Specialization
         boolean doChar(char left, char right) {
             return left == right;
@@ -120,6 +136,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left.equals(right);
         }
 
+        @Specialization
+        boolean doPBaseSet(PBaseSet left, PBaseSet right) {
+            return left.isEqual(right);
+        }
+
         @Specialization
         public boolean doPythonClass(PythonClass left, PythonClass right) {
             return left == right;
@@ -160,6 +181,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left != right;
         }
 
+        @Specialization
+        boolean doLong(long left, long right) {
+            return left != right;
+        }
+
         @Specialization
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return !left.equals(right);
@@ -175,6 +201,16 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left.notEqual(right);
         }
 
+        @Specialization
+        boolean doComplexDouble(PComplex left, double right) {
+            return left.getReal() != right || left.getImag() != 0;
+        }
+
+        @Specialization
+        boolean doDoubleComplex(double left, PComplex right) {
+            return left != right.getReal() || right.getImag() != 0;
+        }
+
         @Specialization
         boolean doString(String left, String right) {
             return !left.equals(right);
@@ -185,11 +221,21 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return !left.equals(right);
         }
 
+        @Specialization
+        boolean doPTuple(PTuple left, PTuple right) {
+            return !left.equals(right);
+        }
+
         @Specialization
         boolean doPDict(PDict left, PDict right) {
             return !left.equals(right);
         }
 
+        @Specialization
+        boolean doPBaseSet(PBaseSet left, PBaseSet right) {
+            return !left.isEqual(right);
+        }
+
         @SuppressWarnings("unused")
         @Specialization
         public boolean doObjectNone(PythonObject left, PNone right) {
@@ -216,6 +262,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left < right;
         }
 
+        @Specialization
+        boolean doLong(long left, long right) {
+            return left < right;
+        }
+
         @Specialization
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.compareTo(right) < 0;
@@ -251,6 +302,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left <= right;
         }
 
+        @Specialization
+        boolean doLong(long left, long right) {
+            return left <= right;
+        }
+
         @Specialization
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.compareTo(right) <= 0;
@@ -287,6 +343,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left > right;
         }
 
+        @Specialization()
+        boolean doLong(long left, long right) {
+            return left > right;
+        }
+
         @Specialization()
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.compareTo(right) > 0;
@@ -327,6 +388,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left >= right;
         }
 
+        @Specialization()
+        boolean doLong(long left, long right) {
+            return left >= right;
+        }
+
         @Specialization()
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.compareTo(right) >= 0;
@@ -379,6 +445,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left == right;
         }
 
+        @Specialization()
+        boolean doLong(long left, long right) {
+            return left == right;
+        }
+
         @Specialization()
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.compareTo(right) == 0;
@@ -416,6 +487,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return left != right;
         }
 
+        @Specialization()
+        boolean doLong(long left, long right) {
+            return left != right;
+        }
+
         @Specialization()
         boolean doBigInteger(BigInteger left, BigInteger right) {
             return left.compareTo(right) != 0;
@@ -453,11 +529,21 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return right.contains(left);
         }
 
+        @Specialization(guards = "isIntSetStorage(right)")
+        public boolean doIntSet(int left, PBaseSet right) {
+            return ((IntSetStorage) right.getStorage()).containsInt(left);
+        }
+
         @Specialization
         public boolean doBaseSet(Object left, PBaseSet right) {
             return right.contains(left);
         }
 
+        @Specialization
+        public boolean doPStringPSequence(PString left, PSequence right) {
+            return right.index(left.getValue()) != -1;
+        }
+
         @Specialization
         public boolean doPSequence(Object left, PSequence right) {
             return right.index(left) != -1;
@@ -483,6 +569,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class NotInNode extends BinaryComparisonNode {
 
+        @Specialization(guards = "isIntSetStorage(right)")
+        public boolean doIntSet(int left, PBaseSet right) {
+            return !((IntSetStorage) right.getStorage()).containsInt(left);
+        }
+
         @Specialization
         public boolean doBaseSet(Object left, PBaseSet right) {
             return !right.contains(left);
@@ -494,6 +585,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return true;
         }
 
+        @Specialization
+        public boolean doPStringPSequence(PString left, PSequence right) {
+            return right.index(left.getValue()) == -1;
+        }
+
         @Specialization(guards = "is2ndIntStorage(left,right)")
         public boolean doPListInt(int left, PList right) {
             IntSequenceStorage store = (IntSequenceStorage) right.getStorage();
@@ -64,6 +64,11 @@ public abstract class CastToBooleanNode extends UnaryOpNode {
             return operand != 0;
         }
 
+        @Specialization()
+        boolean doLong(long operand) {
+            return operand != 0;
+        }
+
         @Specialization()
         boolean doBigInteger(BigInteger operand) {
             return operand.compareTo(BigInteger.ZERO) != 0;
@@ -163,6 +168,11 @@ public abstract class CastToBooleanNode extends UnaryOpNode {
             return operand == 0;
         }
 
+        @Specialization
+        boolean doLong(long operand) {
+            return operand == 0;
+        }
+
         @Specialization
         boolean doBigInteger(BigInteger operand) {
             return operand.compareTo(BigInteger.ZERO) == 0;
@@ -191,7 +201,7 @@ public abstract class CastToBooleanNode extends UnaryOpNode {
 
         @Specialization(guards = "isEmptyStorage(list)")
         public boolean doPListEmpty(@SuppressWarnings("unused") PList list) {
-            return false;
+            return true;
         }
 
         @Specialization(guards = "isIntStorage(primary)")
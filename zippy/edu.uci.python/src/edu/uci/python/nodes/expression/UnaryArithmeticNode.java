@@ -26,10 +26,12 @@ package edu.uci.python.nodes.expression;
 
 import java.math.BigInteger;
 
+import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.dsl.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.runtime.datatype.*;
 
 @GenerateNodeFactory
 public abstract class UnaryArithmeticNode extends UnaryOpNode {
@@ -43,6 +45,11 @@ public abstract class UnaryArithmeticNode extends UnaryOpNode {
             return operand;
         }
 
+        @Specialization
+        long doLong(long operand) {
+            return operand;
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger operand) {
             return operand;
@@ -52,15 +59,25 @@ public abstract class UnaryArithmeticNode extends UnaryOpNode {
         double doDouble(double operand) {
             return operand;
         }
+
+        @Specialization
+        PComplex doComplex(PComplex operand) {
+            return operand;
+        }
     }
 
     @NodeInfo(shortName = "-")
     @GenerateNodeFactory
     public abstract static class MinusNode extends UnaryArithmeticNode {
 
-        @Specialization
+        @Specialization(rewriteOn = ArithmeticException.class)
         int doInteger(int operand) {
-            return -operand;
+            return ExactMath.subtractExact(0, operand);
+        }
+
+        @Specialization(rewriteOn = ArithmeticException.class)
+        long doLong(long operand) {
+            return ExactMath.subtractExact(0, operand);
         }
 
         @Specialization
@@ -72,6 +89,11 @@ public abstract class UnaryArithmeticNode extends UnaryOpNode {
         double doDouble(double operand) {
             return -operand;
         }
+
+        @Specialization
+        PComplex doComplex(PComplex operand) {
+            return operand.neg();
+        }
     }
 
     @GenerateNodeFactory
@@ -82,6 +104,11 @@ public abstract class UnaryArithmeticNode extends UnaryOpNode {
             return ~operand;
         }
 
+        @Specialization
+        long doLong(long operand) {
+            return ~operand;
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger operand) {
             return operand.not();
@@ -99,7 +99,7 @@ public abstract class FrameSlotNode extends PNode {
     }
 
     protected final boolean isLongKind(@SuppressWarnings("unused") Frame frame) {
-        return isKind(FrameSlotKind.Long);
+        return isKind(FrameSlotKind.Long) || intToLong();
     }
 
     protected final boolean isDoubleKind(@SuppressWarnings("unused") Frame frame) {
@@ -135,6 +135,15 @@ public abstract class FrameSlotNode extends PNode {
         return false;
     }
 
+    private boolean intToLong() {
+        if (frameSlot.getKind() == FrameSlotKind.Int) {
+            CompilerDirectives.transferToInterpreter();
+            frameSlot.setKind(FrameSlotKind.Long);
+            return true;
+        }
+        return false;
+    }
+
     private boolean intToDouble() {
         if (frameSlot.getKind() == FrameSlotKind.Int) {
             CompilerDirectives.transferToInterpreter();
@@ -180,6 +180,43 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
         }
     }
 
+    /**
+     * Reads a name that only Jython's builtins define, e.g. exception types. The value is cached
+     * as long as neither the global scope nor the builtins module defines the name.
+     */
+    public static final class ReadJythonBuiltinDirectNode extends ReadGlobalNode {
+
+        @Child protected LayoutCheckNode check;
+        private final Object value;
+
+        public ReadJythonBuiltinDirectNode(PythonContext context, PythonModule globalScope, String attributeId, Object value) {
+            super(context, globalScope, attributeId);
+            PythonModule builtinsModule = context.getPythonBuiltinsLookup().lookupModule("builtins");
+            this.check = LayoutCheckNode.create(globalScope, builtinsModule.getObjectLayout(), 1);
+            this.value = value;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            try {
+                check.accept(globalScope);
+                return value;
+            } catch (InvalidAssumptionException e) {
+                return specializeAndExecute(frame);
+            }
+        }
+
+        @Override
+        public Object executeWithPrimary(VirtualFrame frame, Object primary) {
+            return execute(frame);
+        }
+
+        @Override
+        public LayoutCheckNode extractShapeCheckNode() {
+            return NodeUtil.cloneNode(check);
+        }
+    }
+
     public static final class UninitializedReadGlobalNode extends ReadGlobalNode {
 
         public UninitializedReadGlobalNode(PythonContext context, PythonModule globalScope, String attributeId) {
@@ -201,6 +238,7 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
 
             if (value == PNone.NONE) {
                 value = slowPathLookup();
+                replace(new ReadJythonBuiltinDirectNode(context, globalScope, attributeId, value));
             } else {
                 replace(new ReadBuiltinDirectNode(context, globalScope, attributeId));
             }
@@ -66,6 +66,11 @@ public abstract class ReadLocalVariableNode extends ReadVariableNode {
         return new ReadLocalVariableIntNode((ReadLocalVariableNode) prev);
     }
 
+    @Override
+    protected final ReadVariableNode createReadLong(ReadVariableNode prev) {
+        return new ReadLocalVariableLongNode((ReadLocalVariableNode) prev);
+    }
+
     @Override
     protected final ReadVariableNode createReadDouble(ReadVariableNode prev) {
         return new ReadLocalVariableDoubleNode((ReadLocalVariableNode) prev);
@@ -129,6 +134,24 @@ public abstract class ReadLocalVariableNode extends ReadVariableNode {
         }
     }
 
+    @NodeInfo(cost = NodeCost.MONOMORPHIC)
+    private static final class ReadLocalVariableLongNode extends ReadLocalVariableNode {
+
+        ReadLocalVariableLongNode(ReadLocalVariableNode copy) {
+            super(copy);
+        }
+
+        @Override
+        public long executeLong(VirtualFrame frame) throws UnexpectedResultException {
+            return doLongUnboxed(frame, frame);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return doLongBoxed(frame, frame);
+        }
+    }
+
     @NodeInfo(cost = NodeCost.MONOMORPHIC)
     private static final class ReadLocalVariableDoubleNode extends ReadLocalVariableNode {
 
@@ -53,6 +53,8 @@ public abstract class ReadVariableNode extends FrameSlotNode implements ReadNode
 
     protected abstract ReadVariableNode createReadInt(ReadVariableNode prev);
 
+    protected abstract ReadVariableNode createReadLong(ReadVariableNode prev);
+
     protected abstract ReadVariableNode createReadDouble(ReadVariableNode prev);
 
     protected abstract ReadVariableNode createReadObject(ReadVariableNode prev);
@@ -82,6 +84,8 @@ public abstract class ReadVariableNode extends FrameSlotNode implements ReadNode
             readNode = createReadObject(this);
         } else if (accessingFrame.isInt(frameSlot)) {
             readNode = createReadInt(this);
+        } else if (accessingFrame.isLong(frameSlot)) {
+            readNode = createReadLong(this);
         } else if (accessingFrame.isDouble(frameSlot)) {
             readNode = createReadDouble(this);
         } else if (accessingFrame.isBoolean(frameSlot)) {
@@ -125,6 +129,26 @@ public abstract class ReadVariableNode extends FrameSlotNode implements ReadNode
         }
     }
 
+    /**
+     * A slot is widened from int to long in place, so frames still holding an int in it are routed
+     * to the next node by checking the frame tag rather than the slot kind.
+     */
+    protected final long doLongUnboxed(VirtualFrame frame, Frame accessingFrame) throws UnexpectedResultException {
+        if (accessingFrame.isLong(frameSlot)) {
+            return getLong(accessingFrame);
+        } else {
+            return PythonTypesGen.expectLong(executeNext(frame));
+        }
+    }
+
+    protected final Object doLongBoxed(VirtualFrame frame, Frame accessingFrame) {
+        if (accessingFrame.isLong(frameSlot)) {
+            return getLong(accessingFrame);
+        } else {
+            return executeNext(frame);
+        }
+    }
+
     protected final double doDoubleUnboxed(VirtualFrame frame, Frame accessingFrame) throws UnexpectedResultException {
         if (frameSlot.getKind() == FrameSlotKind.Double) {
             return getDouble(accessingFrame);
@@ -27,6 +27,7 @@ package edu.uci.python.nodes.frame;
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.control.*;
 
 public interface WriteNode {
 
@@ -36,4 +37,12 @@ public interface WriteNode {
 
     Object executeWrite(VirtualFrame frame, Object value);
 
+    /**
+     * Writes the next item of a for loop's iterator, fetched through the loop's {@code next} node.
+     * Targets that can consume the iterator more directly override this.
+     */
+    default void writeNext(VirtualFrame frame, Object iterator, ForNextNode next) {
+        executeWrite(frame, next.executeNext(iterator));
+    }
+
 }
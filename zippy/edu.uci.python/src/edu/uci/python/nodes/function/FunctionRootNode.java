@@ -285,7 +285,7 @@ public final class FunctionRootNode extends RootNode {
             return false;
         }
 
-        PNode loopParent = (PNode) loop.getParent();
+        Node loopParent = loop.getParent();
         if (loopParent instanceof PeeledGeneratorLoopBoxedNode) {
             ((PeeledGeneratorLoopBoxedNode) loopParent).insertNext((PeeledGeneratorLoopBoxedNode) peeled);
         } else {
@@ -293,18 +293,7 @@ public final class FunctionRootNode extends RootNode {
         }
 
         peeled.adoptOriginalLoop();
-        PNode loopBody = loop.getBody();
-        FrameSlot yieldToSlotInCallerFrame;
-        PNode target = loop.getTarget();
-
-        yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
-
-        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
-            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
-            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
-            PNode block = BlockNode.create(frameTransfer, frameSwapper);
-            yield.replace(block);
-        }
+        replaceYieldsWithLoopBody(loop, peeled);
 
         /**
          * Reset generator expressions in the ungeneratorized function as declared not in generator
@@ -345,18 +334,7 @@ public final class FunctionRootNode extends RootNode {
         loop.replace(peeled);
 
         peeled.adoptOriginalLoop();
-        PNode loopBody = loop.getBody();
-        FrameSlot yieldToSlotInCallerFrame;
-        PNode target = loop.getTarget();
-
-        yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
-
-        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
-            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
-            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
-            PNode block = BlockNode.create(frameTransfer, frameSwapper);
-            yield.replace(block);
-        }
+        replaceYieldsWithLoopBody(loop, peeled);
 
         /**
          * Reset generator expressions in the ungeneratorized function as declared not in generator
@@ -372,6 +350,31 @@ public final class FunctionRootNode extends RootNode {
         return true;
     }
 
+    /**
+     * Replaces each yield in the peeled generator by a transfer of the yielded value to the loop
+     * target, followed by the loop body. A pair target receives the value through its temporary
+     * variable and unpacks it at the start of the body.
+     */
+    private static void replaceYieldsWithLoopBody(ForNode loop, PeeledGeneratorLoopNode peeled) {
+        PNode loopBody = loop.getBody();
+        PNode target = loop.getTarget();
+
+        if (target instanceof UnpackPairTargetNode) {
+            UnpackPairTargetNode pairTarget = (UnpackPairTargetNode) target;
+            loopBody = BlockNode.create(NodeUtil.cloneNode(pairTarget.getUnpack()), NodeUtil.cloneNode(loopBody));
+            target = pairTarget.getTempWrite();
+        }
+
+        FrameSlot yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
+
+        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
+            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
+            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
+            PNode block = BlockNode.create(frameTransfer, frameSwapper);
+            yield.replace(block);
+        }
+    }
+
     @Override
     public String toString() {
         return "<function root " + functionName + " at " + Integer.toHexString(hashCode()) + ">";
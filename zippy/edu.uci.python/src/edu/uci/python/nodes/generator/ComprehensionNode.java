@@ -27,17 +27,20 @@ package edu.uci.python.nodes.generator;
 import java.util.*;
 
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.dsl.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.control.*;
 import edu.uci.python.nodes.frame.*;
-import edu.uci.python.nodes.literal.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 @GenerateNodeFactory
 public abstract class ComprehensionNode extends PNode {
@@ -50,23 +53,96 @@ public abstract class ComprehensionNode extends PNode {
         this.comprehension = comprehension;
     }
 
+    /**
+     * Appends straight into the sequence storage the list ends up with. The storage kind is profiled
+     * from the lists this node produced so far, and the storage is presized from the length of the
+     * outermost iterable when that is known, so {@code [x * x for x in range(n)]} fills a single
+     * {@code int[]} without boxing or regrowing.
+     */
     @NodeInfo(shortName = "list_comprehension")
     public static final class ListComprehensionNode extends ComprehensionNode {
 
-        @Child protected PNode list;
+        /**
+         * {@code null} until the first non empty list is produced; {@link EmptySequenceStorage}
+         * once different kinds have been seen, in which case the list starts empty and generalizes
+         * on append.
+         */
+        @CompilationFinal private Class<? extends SequenceStorage> storageKind;
 
         public ListComprehensionNode(FrameSlot frameSlot, PNode comprehension) {
             super(frameSlot, comprehension);
-            list = new ListLiteralNode.UninitializedListLiteralNode(new PNode[]{});
         }
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final PList newList = (PList) list.execute(frame);
-            ((WriteNode) write).executeWrite(frame, newList);
-            comprehension.execute(frame);
+            final PList newList;
+
+            if (comprehension instanceof ForNode) {
+                final ForNode loop = (ForNode) comprehension;
+                final Object iterator = loop.executeIterator(frame);
+                newList = createList(isFiltered(loop) ? 0 : lengthHint(iterator));
+                ((WriteNode) write).executeWrite(frame, newList);
+                loop.executeLoop(frame, iterator);
+            } else {
+                newList = createList(0);
+                ((WriteNode) write).executeWrite(frame, newList);
+                comprehension.execute(frame);
+            }
+
+            profileStorage(newList.getStorage());
             return newList;
         }
+
+        private PList createList(int capacity) {
+            if (storageKind == null) {
+                return new PList(EmptySequenceStorage.INSTANCE);
+            }
+
+            return new PList(SequenceStorageFactory.createStorage(storageKind, capacity));
+        }
+
+        private void profileStorage(SequenceStorage store) {
+            final Class<? extends SequenceStorage> kind = store.getClass();
+
+            if (kind == storageKind || storageKind == EmptySequenceStorage.class || kind == EmptySequenceStorage.class) {
+                return;
+            }
+
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            storageKind = storageKind == null ? kind : EmptySequenceStorage.class;
+        }
+
+        /**
+         * A filter in the outermost loop makes the iterable length an upper bound only, which is not
+         * worth reserving.
+         */
+        private static boolean isFiltered(ForNode loop) {
+            return loop.getBody() instanceof IfNode;
+        }
+
+        private static int lengthHint(Object iterator) {
+            if (iterator instanceof PRangeIterator) {
+                final PRangeIterator range = (PRangeIterator) iterator;
+                final long remaining = (long) range.getStop() - range.getStart();
+                return remaining <= 0 ? 0 : (int) ((remaining + range.getStep() - 1) / range.getStep());
+            } else if (iterator instanceof PIntegerSequenceIterator) {
+                return ((PIntegerSequenceIterator) iterator).getSequenceStorage().length();
+            } else if (iterator instanceof PLongSequenceIterator) {
+                return ((PLongSequenceIterator) iterator).getSequenceStorage().length();
+            } else if (iterator instanceof PDoubleSequenceIterator) {
+                return ((PDoubleSequenceIterator) iterator).getSequenceStorage().length();
+            } else if (iterator instanceof POffHeapIntegerIterator) {
+                return ((POffHeapIntegerIterator) iterator).getSequenceStorage().length();
+            } else if (iterator instanceof POffHeapLongIterator) {
+                return ((POffHeapLongIterator) iterator).getSequenceStorage().length();
+            } else if (iterator instanceof POffHeapDoubleIterator) {
+                return ((POffHeapDoubleIterator) iterator).getSequenceStorage().length();
+            } else if (iterator instanceof PSequenceIterator) {
+                return ((PSequenceIterator) iterator).getSeqence().len();
+            }
+
+            return 0;
+        }
     }
 
     @GenerateNodeFactory
@@ -118,22 +194,22 @@ public abstract class ComprehensionNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final TreeSet<Object> set = new TreeSet<>();
+            final PSet set = new PSet();
             ((WriteNode) write).executeWrite(frame, set);
             comprehension.execute(frame);
-            return new PSet(set);
+            return set;
         }
     }
 
     @NodeChild(value = "rightNode", type = PNode.class)
     @GenerateNodeFactory
-    public abstract static class TreeSetAddNode extends FrameSlotNode {
+    public abstract static class SetAddNode extends FrameSlotNode {
 
-        public TreeSetAddNode(FrameSlot frameSlot) {
+        public SetAddNode(FrameSlot frameSlot) {
             super(frameSlot);
         }
 
-        protected TreeSetAddNode(TreeSetAddNode node) {
+        protected SetAddNode(SetAddNode node) {
             this(node.frameSlot);
         }
 
@@ -143,9 +219,8 @@ public abstract class ComprehensionNode extends PNode {
             return right;
         }
 
-        @SuppressWarnings("unchecked")
-        private TreeSet<Object> getSet(Frame frame) {
-            return (TreeSet<Object>) getObject(frame);
+        private PSet getSet(Frame frame) {
+            return (PSet) getObject(frame);
         }
     }
 
@@ -158,10 +233,10 @@ public abstract class ComprehensionNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final Map<Object, Object> map = new TreeMap<>();
-            ((WriteNode) write).executeWrite(frame, map);
+            final PDict dict = new PDict();
+            ((WriteNode) write).executeWrite(frame, dict);
             comprehension.execute(frame);
-            return new PDict(map);
+            return dict;
         }
     }
 
@@ -179,13 +254,12 @@ public abstract class ComprehensionNode extends PNode {
 
         @Specialization
         public Object doObject(VirtualFrame frame, Object key, Object value) {
-            getMap(frame).put(key, value);
+            getDict(frame).setItem(key, value);
             return value;
         }
 
-        @SuppressWarnings("unchecked")
-        private TreeMap<Object, Object> getMap(Frame frame) {
-            return (TreeMap<Object, Object>) getObject(frame);
+        private PDict getDict(Frame frame) {
+            return (PDict) getObject(frame);
         }
     }
 
@@ -65,19 +65,19 @@ public abstract class FrameTransferNode extends FrameSlotNode {
         return value;
     }
 
-    @Specialization(guards = "isIntOrObjectKind(frame)")
-    public BigInteger write(VirtualFrame frame, BigInteger value) {
+    @Specialization(guards = "isLongKind(frame)")
+    public long doLong(VirtualFrame frame, long value) {
         VirtualFrame cargoFrame = PArguments.getVirtualFrameCargoArguments(frame);
         assert frameSlot.getFrameDescriptor() == cargoFrame.getFrameDescriptor();
-        setObject(cargoFrame, value);
+        cargoFrame.setLong(frameSlot, value);
         return value;
     }
 
-    @Specialization(guards = "isLongKind(frame)")
-    public long doLong(VirtualFrame frame, long value) {
+    @Specialization(guards = "isIntOrObjectKind(frame)")
+    public BigInteger write(VirtualFrame frame, BigInteger value) {
         VirtualFrame cargoFrame = PArguments.getVirtualFrameCargoArguments(frame);
         assert frameSlot.getFrameDescriptor() == cargoFrame.getFrameDescriptor();
-        cargoFrame.setLong(frameSlot, value);
+        setObject(cargoFrame, value);
         return value;
     }
 
@@ -73,6 +73,11 @@ public final class GeneratorBlockNode extends BlockNode implements GeneratorCont
             }
 
             result = statements[i].execute(frame);
+
+            if (YieldNode.isSuspended(frame)) {
+                return result;
+            }
+
             setIndex(frame, indexSlot, currentIndex + 1);
         }
 
@@ -39,17 +39,15 @@ import edu.uci.python.runtime.iterator.*;
 
 public abstract class GeneratorForNode extends LoopNode implements GeneratorControlNode {
 
-    @Child protected WriteGeneratorFrameVariableNode target;
     @Child protected GetIteratorNode getIterator;
+    @Child protected com.oracle.truffle.api.nodes.LoopNode loop;
 
     private final int iteratorSlot;
-    private int count;
 
-    public GeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-        super(body);
-        this.target = target;
+    protected GeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, Class<? extends PIterator> iteratorType) {
         this.getIterator = getIterator;
         this.iteratorSlot = iteratorSlot;
+        this.loop = Truffle.getRuntime().createLoopNode(new GeneratorForRepeatingNode(target, body, iteratorSlot, iteratorType));
     }
 
     public static GeneratorForNode create(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
@@ -68,105 +66,82 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
         PArguments.getControlData(frame).setIteratorAt(iteratorSlot, value);
     }
 
-    protected final Object doReturn(VirtualFrame frame) {
-        if (CompilerDirectives.inInterpreter()) {
-            reportLoopCount(count);
-            count = 0;
-        }
+    private GeneratorForRepeatingNode getRepeatingNode() {
+        return (GeneratorForRepeatingNode) loop.getRepeatingNode();
+    }
 
+    protected final Object doReturn(VirtualFrame frame) {
         setIterator(frame, null);
         return PNone.NONE;
     }
 
-    protected final void incrementCounter() {
-        if (CompilerDirectives.inInterpreter()) {
-            count++;
-        }
-    }
-
     @Override
     public Object execute(VirtualFrame frame) {
-
         try {
             executeIterator(frame);
         } catch (StopIterationException e) {
             return doReturn(frame);
         }
 
-        try {
-            while (true) {
-                body.executeVoid(frame);
-                target.executeWith(frame, getIterator(frame).__next__());
-                incrementCounter();
-            }
-        } catch (StopIterationException e) {
+        return executeLoop(frame);
+    }
+
+    protected final Object executeLoop(VirtualFrame frame) {
+        loop.executeLoop(frame);
 
+        if (YieldNode.isSuspended(frame)) {
+            return PNone.NONE;
         }
 
         return doReturn(frame);
     }
 
+    /**
+     * Fetches the iterator and writes its first value, unless the loop is resumed.
+     */
     protected abstract void executeIterator(VirtualFrame frame) throws StopIterationException;
 
-    @NodeInfo(cost = NodeCost.MONOMORPHIC)
-    public static final class RangeGeneratorForNode extends GeneratorForNode {
+    /**
+     * Runs the body, then advances the iterator kept in the generator's control data. The body
+     * runs first because the target is written before the loop starts, and so that a resumed
+     * generator continues in the middle of the body.
+     */
+    private static final class GeneratorForRepeatingNode extends Node implements RepeatingNode {
 
-        public RangeGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
+        @Child protected WriteGeneratorFrameVariableNode target;
+        @Child protected PNode body;
 
-        protected PRangeIterator getPRangeIterator(VirtualFrame frame) {
-            return (PRangeIterator) getIterator(frame);
-        }
+        private final int iteratorSlot;
+        private final Class<? extends PIterator> iteratorType;
 
-        @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
-            PRangeIterator iterator = (PRangeIterator) getIterator(frame);
-            if (iterator != null) {
-                return;
-            }
-
-            try {
-                setIterator(frame, getIterator.executePRangeIterator(frame));
-            } catch (UnexpectedResultException e) {
-                throw new RuntimeException();
-            }
-
-            target.executeWith(frame, getPRangeIterator(frame).__nextInt__());
-            incrementCounter();
+        GeneratorForRepeatingNode(WriteGeneratorFrameVariableNode target, PNode body, int iteratorSlot, Class<? extends PIterator> iteratorType) {
+            this.target = target;
+            this.body = body;
+            this.iteratorSlot = iteratorSlot;
+            this.iteratorType = iteratorType;
         }
 
-        @Override
-        public Object execute(VirtualFrame frame) {
+        public boolean executeRepeating(VirtualFrame frame) {
             try {
-                executeIterator(frame);
-            } catch (StopIterationException e) {
-                return doReturn(frame);
-            }
+                body.executeVoid(frame);
 
-            try {
-                while (true) {
-                    body.executeVoid(frame);
-                    target.executeWith(frame, getPRangeIterator(frame).__nextInt__());
-                    incrementCounter();
+                if (YieldNode.isSuspended(frame)) {
+                    return false;
                 }
-            } catch (StopIterationException e) {
 
+                target.executeWith(frame, iteratorType.cast(PArguments.getControlData(frame).getIteratorAt(iteratorSlot)).__next__());
+                return true;
+            } catch (StopIterationException e) {
+                return false;
             }
-
-            return doReturn(frame);
         }
     }
 
     @NodeInfo(cost = NodeCost.MONOMORPHIC)
-    public static final class SequenceGeneratorForNode extends GeneratorForNode {
-
-        public SequenceGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
+    public static final class RangeGeneratorForNode extends GeneratorForNode {
 
-        protected PSequenceIterator getPSequenceIterator(VirtualFrame frame) {
-            return (PSequenceIterator) getIterator(frame);
+        public RangeGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
+            super(target, getIterator, body, iteratorSlot, PRangeIterator.class);
         }
 
         @Override
@@ -175,35 +150,40 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
                 return;
             }
 
+            final PRangeIterator iterator;
             try {
-                setIterator(frame, getIterator.executePSequenceIterator(frame));
+                iterator = getIterator.executePRangeIterator(frame);
             } catch (UnexpectedResultException e) {
                 throw new RuntimeException();
             }
 
-            target.executeWith(frame, getPSequenceIterator(frame).__next__());
-            incrementCounter();
+            setIterator(frame, iterator);
+            getTarget().executeWith(frame, iterator.__nextInt__());
+        }
+    }
+
+    @NodeInfo(cost = NodeCost.MONOMORPHIC)
+    public static final class SequenceGeneratorForNode extends GeneratorForNode {
+
+        public SequenceGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
+            super(target, getIterator, body, iteratorSlot, PSequenceIterator.class);
         }
 
         @Override
-        public Object execute(VirtualFrame frame) {
-            try {
-                executeIterator(frame);
-            } catch (StopIterationException e) {
-                return doReturn(frame);
+        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
+            if (getIterator(frame) != null) {
+                return;
             }
 
+            final PSequenceIterator iterator;
             try {
-                while (true) {
-                    body.executeVoid(frame);
-                    target.executeWith(frame, getPSequenceIterator(frame).__next__());
-                    incrementCounter();
-                }
-            } catch (StopIterationException e) {
-
+                iterator = getIterator.executePSequenceIterator(frame);
+            } catch (UnexpectedResultException e) {
+                throw new RuntimeException();
             }
 
-            return doReturn(frame);
+            setIterator(frame, iterator);
+            getTarget().executeWith(frame, iterator.__next__());
         }
     }
 
@@ -211,11 +191,7 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     public static final class GeneratorGeneratorForNode extends GeneratorForNode {
 
         public GeneratorGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
-
-        protected PGenerator getPGenerator(VirtualFrame frame) {
-            return (PGenerator) getIterator(frame);
+            super(target, getIterator, body, iteratorSlot, PGenerator.class);
         }
 
         @Override
@@ -224,35 +200,15 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
                 return;
             }
 
+            final PGenerator iterator;
             try {
-                setIterator(frame, getIterator.executePGenerator(frame));
+                iterator = getIterator.executePGenerator(frame);
             } catch (UnexpectedResultException e) {
                 throw new RuntimeException();
             }
 
-            target.executeWith(frame, getPGenerator(frame).__next__());
-            incrementCounter();
-        }
-
-        @Override
-        public Object execute(VirtualFrame frame) {
-            try {
-                executeIterator(frame);
-            } catch (StopIterationException e) {
-                return doReturn(frame);
-            }
-
-            try {
-                while (true) {
-                    body.executeVoid(frame);
-                    target.executeWith(frame, getPGenerator(frame).__next__());
-                    incrementCounter();
-                }
-            } catch (StopIterationException e) {
-
-            }
-
-            return doReturn(frame);
+            setIterator(frame, iterator);
+            getTarget().executeWith(frame, iterator.__next__());
         }
     }
 
@@ -260,7 +216,7 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     public static final class GenericGeneratorForNode extends GeneratorForNode {
 
         public GenericGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+            super(target, getIterator, body, iteratorSlot, PIterator.class);
         }
 
         @Override
@@ -275,8 +231,7 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
                 throw new RuntimeException();
             }
 
-            target.executeWith(frame, getIterator(frame).__next__());
-            incrementCounter();
+            getTarget().executeWith(frame, getIterator(frame).__next__());
         }
     }
 
@@ -284,42 +239,66 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     public static final class UninitializedGeneratorForNode extends GeneratorForNode {
 
         public UninitializedGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+            super(target, getIterator, body, iteratorSlot, PIterator.class);
         }
 
+        /**
+         * Continues in the specialized node, so that the loop runs in the final tree.
+         */
         @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
+        public Object execute(VirtualFrame frame) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-
-            if (getIterator(frame) != null) {
-                return;
+            PIterator iterator = getIterator(frame);
+            final boolean resumed = iterator != null;
+
+            if (!resumed) {
+                try {
+                    iterator = getIterator.executePIterator(frame);
+                } catch (UnexpectedResultException e) {
+                    throw new RuntimeException();
+                }
             }
 
-            PIterator iterator;
-            try {
-                iterator = getIterator.executePIterator(frame);
-            } catch (UnexpectedResultException e) {
-                throw new RuntimeException();
-            }
+            final WriteGeneratorFrameVariableNode target = getTarget();
+            final PNode body = getBody();
+            final GeneratorForNode specialized;
 
             if (iterator instanceof PRangeIterator) {
-                replace(new RangeGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                specialized = replace(new RangeGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
             } else if (iterator instanceof PSequenceIterator) {
-                replace(new SequenceGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                specialized = replace(new SequenceGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
             } else if (iterator instanceof PGenerator) {
-                replace(new GeneratorGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                specialized = replace(new GeneratorGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
             } else {
-                replace(new GenericGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                specialized = replace(new GenericGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
             }
 
-            setIterator(frame, iterator);
-            target.executeWith(frame, getIterator(frame).__next__());
-            incrementCounter();
+            if (!resumed) {
+                setIterator(frame, iterator);
+
+                try {
+                    target.executeWith(frame, iterator.__next__());
+                } catch (StopIterationException e) {
+                    return doReturn(frame);
+                }
+            }
+
+            return specialized.executeLoop(frame);
+        }
+
+        @Override
+        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
+            throw new IllegalStateException();
         }
     }
 
     public WriteGeneratorFrameVariableNode getTarget() {
-        return target;
+        return getRepeatingNode().target;
+    }
+
+    @Override
+    public PNode getBody() {
+        return getRepeatingNode().body;
     }
 
     public GetIteratorNode getGetIterator() {
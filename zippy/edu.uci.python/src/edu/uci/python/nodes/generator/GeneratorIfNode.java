@@ -70,6 +70,11 @@ public class GeneratorIfNode extends IfNode implements GeneratorControlNode {
     protected final Object executeThen(VirtualFrame frame) {
         setActive(frame, thenFlagSlot, true);
         then.execute(frame);
+
+        if (YieldNode.isSuspended(frame)) {
+            return PNone.NONE;
+        }
+
         setActive(frame, thenFlagSlot, false);
         return PNone.NONE;
     }
@@ -77,6 +82,11 @@ public class GeneratorIfNode extends IfNode implements GeneratorControlNode {
     protected final Object executeElse(VirtualFrame frame) {
         setActive(frame, elseFlagSlot, true);
         orelse.execute(frame);
+
+        if (YieldNode.isSuspended(frame)) {
+            return PNone.NONE;
+        }
+
         setActive(frame, elseFlagSlot, false);
         return PNone.NONE;
     }
@@ -68,6 +68,14 @@ public final class GeneratorReturnTargetNode extends ReturnTargetNode implements
             return returnValue.execute(frame);
         } catch (ReturnException ire) {
             // return statement in generators throws StopIteration.
+            throw StopIterationException.INSTANCE;
+        }
+
+        final GeneratorControlData control = PArguments.getControlData(frame);
+
+        if (control.isSuspended()) {
+            control.setSuspended(false);
+            return returnValue.execute(frame);
         }
 
         throw StopIterationException.INSTANCE;
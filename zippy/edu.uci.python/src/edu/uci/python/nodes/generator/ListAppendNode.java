@@ -65,6 +65,14 @@ public abstract class ListAppendNode extends BinaryOpNode {
     public int doIntStorage(PList list, int right) {
         IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
         store.appendInt(right);
+        list.moveOffHeapIfLarge();
+        return right;
+    }
+
+    @Specialization(guards = {"isOffHeapIntStorage(list)", "hasOffHeapRoom(list)"})
+    public int doOffHeapIntStorage(PList list, int right) {
+        OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) list.getStorage();
+        store.appendInt(right);
         return right;
     }
 
@@ -74,6 +82,7 @@ public abstract class ListAppendNode extends BinaryOpNode {
 
         if (store instanceof IntSequenceStorage) {
             ((IntSequenceStorage) store).appendInt(right);
+            list.moveOffHeapIfLarge();
         } else {
             list.append(right);
         }
@@ -85,6 +94,14 @@ public abstract class ListAppendNode extends BinaryOpNode {
     public long doLongStorage(PList list, long right) {
         LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
         store.appendLong(right);
+        list.moveOffHeapIfLarge();
+        return right;
+    }
+
+    @Specialization(guards = {"isOffHeapLongStorage(list)", "hasOffHeapRoom(list)"})
+    public long doOffHeapLongStorage(PList list, long right) {
+        OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) list.getStorage();
+        store.appendLong(right);
         return right;
     }
 
@@ -94,6 +111,7 @@ public abstract class ListAppendNode extends BinaryOpNode {
 
         if (store instanceof LongSequenceStorage) {
             ((LongSequenceStorage) store).appendLong(right);
+            list.moveOffHeapIfLarge();
         } else {
             list.append(right);
         }
@@ -101,19 +119,27 @@ public abstract class ListAppendNode extends BinaryOpNode {
         return right;
     }
 
+    /**
+     * Takes an Object so that an int appended to a float list is not implicitly cast to a float.
+     */
     @Specialization(guards = "isDoubleStorage(list)")
-    public double doDoubleStorage(PList list, double right) {
-        DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
-        store.appendDouble(right);
+    public Object doDoubleStorage(PList list, Object right) {
+        if (right instanceof Double) {
+            DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
+            store.appendDouble((double) right);
+            list.moveOffHeapIfLarge();
+        } else {
+            list.append(right);
+        }
+
         return right;
     }
 
-    @Specialization
-    public double doDouble(PList list, double right) {
-        SequenceStorage store = list.getStorage();
-
-        if (store instanceof DoubleSequenceStorage) {
-            ((DoubleSequenceStorage) store).appendDouble(right);
+    @Specialization(guards = {"isOffHeapDoubleStorage(list)", "hasOffHeapRoom(list)"})
+    public Object doOffHeapDoubleStorage(PList list, Object right) {
+        if (right instanceof Double) {
+            OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) list.getStorage();
+            store.appendDouble((double) right);
         } else {
             list.append(right);
         }
@@ -67,6 +67,11 @@ public abstract class ReadGeneratorFrameVariableNode extends ReadVariableNode {
         return new ReadGeneratorFrameVariableIntNode((ReadGeneratorFrameVariableNode) prev);
     }
 
+    @Override
+    protected final ReadVariableNode createReadLong(ReadVariableNode prev) {
+        return new ReadGeneratorFrameVariableLongNode((ReadGeneratorFrameVariableNode) prev);
+    }
+
     @Override
     protected final ReadVariableNode createReadDouble(ReadVariableNode prev) {
         return new ReadGeneratorFrameVariableDoubleNode((ReadGeneratorFrameVariableNode) prev);
@@ -132,6 +137,25 @@ public abstract class ReadGeneratorFrameVariableNode extends ReadVariableNode {
         }
     }
 
+    private static final class ReadGeneratorFrameVariableLongNode extends ReadGeneratorFrameVariableNode {
+
+        ReadGeneratorFrameVariableLongNode(ReadGeneratorFrameVariableNode copy) {
+            super(copy);
+        }
+
+        @Override
+        public long executeLong(VirtualFrame frame) throws UnexpectedResultException {
+            MaterializedFrame mframe = PArguments.getGeneratorFrame(frame);
+            return doLongUnboxed(frame, mframe);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            MaterializedFrame mframe = PArguments.getGeneratorFrame(frame);
+            return doLongBoxed(frame, mframe);
+        }
+    }
+
     private static final class ReadGeneratorFrameVariableDoubleNode extends ReadGeneratorFrameVariableNode {
 
         ReadGeneratorFrameVariableDoubleNode(ReadGeneratorFrameVariableNode copy) {
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.generator;
+
+import com.oracle.truffle.api.frame.*;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import static edu.uci.python.nodes.generator.GeneratorBlockNode.*;
+
+/**
+ * A yield that suspends the generator without throwing {@code YieldException}.
+ * <p>
+ * The yield marks the generator as suspended and returns normally. Every generator control node
+ * between the yield and {@link GeneratorReturnTargetNode} checks the flag after running its child
+ * and returns immediately, leaving its block index, iterator or active flag untouched as the
+ * resume point. {@link GeneratorTranslator} only uses this node when all those enclosing nodes
+ * are generator control nodes.
+ */
+public final class SuspendingYieldNode extends YieldNode {
+
+    public SuspendingYieldNode(YieldNode prev) {
+        super(prev, prev.getParentBlockIndexSlot());
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        right.execute(frame);
+        final int parentBlockIndexSlot = getParentBlockIndexSlot();
+        setIndex(frame, parentBlockIndexSlot, getIndex(frame, parentBlockIndexSlot) + 1);
+        PArguments.getControlData(frame).setSuspended(true);
+        return PNone.NONE;
+    }
+
+}
@@ -30,6 +30,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.statement.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
 import static edu.uci.python.nodes.generator.GeneratorBlockNode.*;
 
 public class YieldNode extends StatementNode {
@@ -55,6 +56,14 @@ public class YieldNode extends StatementNode {
         return right;
     }
 
+    /**
+     * True while a {@link SuspendingYieldNode} returns through the enclosing generator control
+     * nodes to {@link GeneratorReturnTargetNode}.
+     */
+    public static boolean isSuspended(VirtualFrame frame) {
+        return PArguments.getControlData(frame).isSuspended();
+    }
+
     @Override
     public Object execute(VirtualFrame frame) {
         right.execute(frame);
@@ -42,6 +42,10 @@ public abstract class ListLiteralNode extends LiteralNode {
         this.values = values;
     }
 
+    public PNode[] getValues() {
+        return values;
+    }
+
     @ExplodeLoop
     protected PList doGeneric(VirtualFrame frame, Object[] evaluated) {
         transferToInterpreterAndInvalidate();
@@ -55,8 +59,14 @@ public abstract class ListLiteralNode extends LiteralNode {
             }
         }
 
-        replace(new ObjectListLiteralNode(values));
-        return new PList(SequenceStorageFactory.createStorage(evaluated));
+        // an int literal seeing a float, or the reverse, settles on the mixed numeric storage
+        if (values.length > 0 && SequenceStorageFactory.canSpecializeToNumeric(elements)) {
+            replace(new NumericListLiteralNode(values));
+        } else {
+            replace(new ObjectListLiteralNode(values));
+        }
+
+        return new PList(SequenceStorageFactory.createStorage(elements));
     }
 
     public static class UninitializedListLiteralNode extends ListLiteralNode {
@@ -87,6 +97,10 @@ public abstract class ListLiteralNode extends LiteralNode {
                 replace(new LongListLiteralNode(values));
             } else if (store instanceof DoubleSequenceStorage) {
                 replace(new DoubleListLiteralNode(values));
+            } else if (store instanceof NumericSequenceStorage) {
+                replace(new NumericListLiteralNode(values));
+            } else if (store instanceof BoolSequenceStorage) {
+                replace(new BoolListLiteralNode(values));
             } else if (store instanceof ListSequenceStorage) {
                 replace(new ListListLiteralNode(values)).execute(frame);
             } else if (store instanceof TupleSequenceStorage) {
@@ -129,6 +143,10 @@ public abstract class ListLiteralNode extends LiteralNode {
                 newList = (PList) replace(new LongListLiteralNode(values)).execute(frame);
             } else if (store instanceof DoubleSequenceStorage) {
                 newList = (PList) replace(new DoubleListLiteralNode(values)).execute(frame);
+            } else if (store instanceof NumericSequenceStorage) {
+                newList = (PList) replace(new NumericListLiteralNode(values)).execute(frame);
+            } else if (store instanceof BoolSequenceStorage) {
+                newList = (PList) replace(new BoolListLiteralNode(values)).execute(frame);
             } else if (store instanceof ListSequenceStorage) {
                 newList = (PList) replace(new ListListLiteralNode(values)).execute(frame);
             } else if (store instanceof TupleSequenceStorage) {
@@ -156,13 +174,14 @@ public abstract class ListLiteralNode extends LiteralNode {
                 try {
                     elements[i] = values[i].executeInt(frame);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -185,13 +204,14 @@ public abstract class ListLiteralNode extends LiteralNode {
                 try {
                     elements[i] = values[i].executeLong(frame);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -210,21 +230,80 @@ public abstract class ListLiteralNode extends LiteralNode {
         public Object execute(VirtualFrame frame) {
             final double[] elements = new double[values.length];
 
+            for (int i = 0; i < values.length; i++) {
+                // executeDouble would widen an int, which has to stay an int in the list
+                final Object value = values[i].execute(frame);
+
+                if (value instanceof Double) {
+                    elements[i] = (double) value;
+                } else {
+                    final Object[] evaluated = new Object[i + 1];
+
+                    for (int j = 0; j < i; j++) {
+                        evaluated[j] = elements[j];
+                    }
+
+                    evaluated[i] = value;
+                    return doGeneric(frame, evaluated);
+                }
+            }
+
+            return new PList(new DoubleSequenceStorage(elements));
+        }
+    }
+
+    public static final class NumericListLiteralNode extends ListLiteralNode {
+
+        public NumericListLiteralNode(PNode[] values) {
+            super(values);
+        }
+
+        @ExplodeLoop
+        @Override
+        public Object execute(VirtualFrame frame) {
+            final Object[] elements = new Object[values.length];
+
+            for (int i = 0; i < values.length; i++) {
+                elements[i] = values[i].execute(frame);
+
+                if (!NumericSequenceStorage.canStore(elements[i])) {
+                    final Object[] evaluated = new Object[i + 1];
+                    System.arraycopy(elements, 0, evaluated, 0, i + 1);
+                    return doGeneric(frame, evaluated);
+                }
+            }
+
+            return new PList(new NumericSequenceStorage(elements));
+        }
+    }
+
+    public static final class BoolListLiteralNode extends ListLiteralNode {
+
+        public BoolListLiteralNode(PNode[] values) {
+            super(values);
+        }
+
+        @ExplodeLoop
+        @Override
+        public Object execute(VirtualFrame frame) {
+            final boolean[] elements = new boolean[values.length];
+
             for (int i = 0; i < values.length; i++) {
                 try {
-                    elements[i] = values[i].executeDouble(frame);
+                    elements[i] = values[i].executeBoolean(frame);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
-            return new PList(new DoubleSequenceStorage(elements));
+            return new PList(new BoolSequenceStorage(elements));
         }
     }
 
@@ -260,7 +339,7 @@ public abstract class ListLiteralNode extends LiteralNode {
                 }
             }
 
-            return new PList(new ListSequenceStorage(elements));
+            return new PList(SequenceStorageFactory.createListStorage(elements));
         }
     }
 
@@ -24,8 +24,6 @@
  */
 package edu.uci.python.nodes.literal;
 
-import java.util.*;
-
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -44,13 +42,13 @@ public final class SetLiteralNode extends LiteralNode {
     @ExplodeLoop
     @Override
     public PSet executePSet(VirtualFrame frame) {
-        final TreeSet<Object> elements = new TreeSet<>();
+        final PSet set = new PSet();
 
         for (PNode v : this.values) {
-            elements.add(v.execute(frame));
+            set.add(v.execute(frame));
         }
 
-        return new PSet(elements);
+        return set;
     }
 
     @Override
@@ -24,35 +24,163 @@
  */
 package edu.uci.python.nodes.literal;
 
+import static com.oracle.truffle.api.CompilerDirectives.*;
+
 import com.oracle.truffle.api.frame.*;
-import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.sequence.*;
 
-public final class TupleLiteralNode extends LiteralNode {
+public abstract class TupleLiteralNode extends LiteralNode {
 
-    @Children private final PNode[] values;
+    @Children protected final PNode[] values;
 
     public TupleLiteralNode(PNode[] values) {
         this.values = values;
     }
 
+    /**
+     * Pairs start out uninitialized, so that they can settle on an unboxed int or float pair.
+     */
+    public static TupleLiteralNode create(PNode[] values) {
+        if (values.length == 2) {
+            return new UninitializedTupleLiteralNode(values);
+        }
+
+        return new ObjectTupleLiteralNode(values);
+    }
+
+    public PNode[] getValues() {
+        return values;
+    }
+
     @ExplodeLoop
-    @Override
-    public Object execute(VirtualFrame frame) {
-        final Object[] elements = new Object[values.length];
+    protected PTuple doGeneric(VirtualFrame frame, Object[] evaluated) {
+        transferToInterpreterAndInvalidate();
+        Object[] elements = new Object[values.length];
 
         for (int i = 0; i < values.length; i++) {
-            elements[i] = values[i].execute(frame);
+            if (i < evaluated.length) {
+                elements[i] = evaluated[i];
+            } else {
+                elements[i] = values[i].execute(frame);
+            }
         }
 
-        return new PTuple(elements);
+        replace(new ObjectTupleLiteralNode(values));
+        return PTuple.create(elements);
     }
 
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitTupleLiteralNode(this);
     }
+
+    public static final class UninitializedTupleLiteralNode extends TupleLiteralNode {
+
+        public UninitializedTupleLiteralNode(PNode[] values) {
+            super(values);
+        }
+
+        @ExplodeLoop
+        @Override
+        public Object execute(VirtualFrame frame) {
+            transferToInterpreterAndInvalidate();
+
+            final Object[] elements = new Object[values.length];
+
+            for (int i = 0; i < values.length; i++) {
+                elements[i] = values[i].execute(frame);
+            }
+
+            PTuple tuple = PTuple.create(elements);
+
+            if (tuple instanceof PIntTuple2) {
+                replace(new IntTuple2LiteralNode(values));
+            } else if (tuple instanceof PDoubleTuple2) {
+                replace(new DoubleTuple2LiteralNode(values));
+            } else {
+                replace(new ObjectTupleLiteralNode(values));
+            }
+
+            return tuple;
+        }
+    }
+
+    public static final class IntTuple2LiteralNode extends TupleLiteralNode {
+
+        public IntTuple2LiteralNode(PNode[] values) {
+            super(values);
+            assert values.length == 2;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            final int first;
+            final int second;
+
+            try {
+                first = values[0].executeInt(frame);
+            } catch (UnexpectedResultException e) {
+                return doGeneric(frame, new Object[]{e.getResult()});
+            }
+
+            try {
+                second = values[1].executeInt(frame);
+            } catch (UnexpectedResultException e) {
+                return doGeneric(frame, new Object[]{first, e.getResult()});
+            }
+
+            return new PIntTuple2(first, second);
+        }
+    }
+
+    public static final class DoubleTuple2LiteralNode extends TupleLiteralNode {
+
+        public DoubleTuple2LiteralNode(PNode[] values) {
+            super(values);
+            assert values.length == 2;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            final double first;
+            final double second;
+
+            try {
+                first = values[0].executeDouble(frame);
+            } catch (UnexpectedResultException e) {
+                return doGeneric(frame, new Object[]{e.getResult()});
+            }
+
+            try {
+                second = values[1].executeDouble(frame);
+            } catch (UnexpectedResultException e) {
+                return doGeneric(frame, new Object[]{first, e.getResult()});
+            }
+
+            return new PDoubleTuple2(first, second);
+        }
+    }
+
+    public static final class ObjectTupleLiteralNode extends TupleLiteralNode {
+
+        public ObjectTupleLiteralNode(PNode[] values) {
+            super(values);
+        }
+
+        @ExplodeLoop
+        @Override
+        public Object execute(VirtualFrame frame) {
+            final Object[] elements = new Object[values.length];
+
+            for (int i = 0; i < values.length; i++) {
+                elements[i] = values[i].execute(frame);
+            }
+
+            return PTuple.create(elements);
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.statement;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * Decides whether an except clause catches an exception type. Results are cached per pair of
+ * thrown and named exception types, which are compared by identity.
+ */
+public abstract class ExceptMatchNode extends Node {
+
+    public abstract boolean executeMatch(Object thrownType, Object exceptType);
+
+    public static ExceptMatchNode create() {
+        return new UninitializedExceptMatchNode();
+    }
+
+    @NodeInfo(cost = NodeCost.UNINITIALIZED)
+    public static final class UninitializedExceptMatchNode extends ExceptMatchNode {
+
+        @Override
+        public boolean executeMatch(Object thrownType, Object exceptType) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            Node current = this;
+            int depth = 0;
+
+            while (current.getParent() instanceof CachedExceptMatchNode) {
+                current = current.getParent();
+                depth++;
+            }
+
+            if (depth < PythonOptions.ExceptMatchInlineCacheMaxDepth) {
+                final boolean matches = PException.isSubtype(thrownType, exceptType);
+                replace(new CachedExceptMatchNode(thrownType, exceptType, matches, this));
+                return matches;
+            }
+
+            /**
+             * Replace the whole chain once it gets too deep.
+             */
+            return ((ExceptMatchNode) current).replace(new GenericExceptMatchNode()).executeMatch(thrownType, exceptType);
+        }
+    }
+
+    public static final class CachedExceptMatchNode extends ExceptMatchNode {
+
+        private final Object cachedThrownType;
+        private final Object cachedExceptType;
+        private final boolean matches;
+
+        @Child protected ExceptMatchNode next;
+
+        public CachedExceptMatchNode(Object thrownType, Object exceptType, boolean matches, ExceptMatchNode next) {
+            this.cachedThrownType = thrownType;
+            this.cachedExceptType = exceptType;
+            this.matches = matches;
+            this.next = next;
+        }
+
+        @Override
+        public boolean executeMatch(Object thrownType, Object exceptType) {
+            if (thrownType == cachedThrownType && exceptType == cachedExceptType) {
+                return matches;
+            }
+
+            return next.executeMatch(thrownType, exceptType);
+        }
+    }
+
+    public static final class GenericExceptMatchNode extends ExceptMatchNode {
+
+        @Override
+        public boolean executeMatch(Object thrownType, Object exceptType) {
+            return PException.isSubtype(thrownType, exceptType);
+        }
+    }
+
+}
@@ -24,8 +24,6 @@
  */
 package edu.uci.python.nodes.statement;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -33,6 +31,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.frame.*;
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 
 /**
  * @author Gulfem
@@ -43,6 +42,7 @@ public class ExceptNode extends StatementNode {
     @Child protected PNode body;
     @Children private final PNode[] exceptType;
     @Child protected PNode exceptName;
+    @Child protected ExceptMatchNode matchNode;
 
     private final PythonContext context;
 
@@ -51,46 +51,41 @@ public class ExceptNode extends StatementNode {
         this.exceptName = exceptName;
         this.exceptType = exceptType;
         this.context = context;
+        this.matchNode = ExceptMatchNode.create();
     }
 
-    protected Object executeExcept(VirtualFrame frame, RuntimeException excep) {
-        PyException e = null;
-        if (excep instanceof PyException) {
-            e = (PyException) excep;
-        } else if (excep instanceof ArithmeticException && excep.getMessage().endsWith("divide by zero")) {
-            e = Py.ZeroDivisionError("divide by zero");
-        } else {
-            throw excep;
+    /**
+     * Returns true if this clause handles {@code exception}. A clause without an exception type
+     * handles every exception.
+     */
+    @ExplodeLoop
+    protected boolean matches(VirtualFrame frame, PException exception) {
+        if (exceptType == null) {
+            return true;
         }
 
-        context.setCurrentException(e);
-
-        /**
-         * TODO: need to support exceptType instance of type e.g. 'divide by zero' instance of
-         * 'Exception'
-         *
-         * TODO: need to make exception messages consistent with Python 3.3 e.g. 'division by zero'
-         */
-        if (exceptType != null) {
-            PyObject type = null;
-            for (int i = 0; i < exceptType.length && type != e.type; i++) {
-                type = (PyObject) exceptType[i].execute(frame);
-            }
+        final Object thrownType = exception.getType();
 
-            if (e.type == type) {
-                if (exceptName != null) {
-                    ((WriteNode) exceptName).executeWrite(frame, e);
-                }
-            } else {
-                throw excep;
+        for (int i = 0; i < exceptType.length; i++) {
+            if (matchNode.executeMatch(thrownType, exceptType[i].execute(frame))) {
+                return true;
             }
         }
 
+        return false;
+    }
+
+    protected void executeExcept(VirtualFrame frame, PException exception) {
+        context.setCurrentException(exception);
+
+        if (exceptName != null) {
+            ((WriteNode) exceptName).executeWrite(frame, exception.getExceptionObject());
+        }
+
         body.execute(frame);
 
         // clear the exception after executing the except body.
         context.setCurrentException(null);
-        throw new ControlFlowException();
     }
 
     @Override
@@ -26,14 +26,15 @@ package edu.uci.python.nodes.statement;
 
 import org.python.core.*;
 
-import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.*;
-import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.standardtype.*;
 
 public class RaiseNode extends StatementNode {
 
@@ -49,8 +50,6 @@ public class RaiseNode extends StatementNode {
 
     @Override
     public Object execute(VirtualFrame frame) {
-        CompilerDirectives.transferToInterpreterAndInvalidate();
-
         Object t = (type == null) ? null : type.execute(frame);
         Object i = (inst == null) ? null : inst.execute(frame);
         /**
@@ -65,13 +64,24 @@ public class RaiseNode extends StatementNode {
             throw context.getCurrentException();
         }
 
-        doRaise(t, i);
-        return PNone.NONE;
+        if (i == null) {
+            if (t instanceof PyType || t instanceof PythonClass) {
+                throw new PException(t, null);
+            } else if (t instanceof PythonObject) {
+                throw new PException(((PythonObject) t).getPythonClass(), t);
+            }
+        }
+
+        throw doRaise(t, i);
     }
 
     @TruffleBoundary
-    private static void doRaise(Object t, Object i) {
-        throw PyException.doRaise((PyObject) t, (PyObject) i, null);
+    private static PException doRaise(Object t, Object i) {
+        if (i == null && t instanceof PyBaseException) {
+            return new PException(((PyObject) t).getType(), t);
+        }
+
+        return PException.fromRuntimeException(PyException.doRaise((PyObject) t, (PyObject) i, null));
     }
 
     public PNode getType() {
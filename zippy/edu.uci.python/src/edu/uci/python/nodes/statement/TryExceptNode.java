@@ -24,11 +24,13 @@
  */
 package edu.uci.python.nodes.statement;
 
-import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
-import edu.uci.python.nodes.PNode;
+import edu.uci.python.nodes.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 
 public class TryExceptNode extends StatementNode {
 
@@ -46,22 +48,29 @@ public class TryExceptNode extends StatementNode {
     public Object execute(VirtualFrame frame) {
         try {
             body.execute(frame);
-            return orelse.execute(frame);
-        } catch (RuntimeException ex) {
+        } catch (PException ex) {
             return catchException(frame, ex);
+        } catch (ControlFlowException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            final PException exception = PException.fromRuntimeException(ex);
+
+            if (exception == null) {
+                throw ex;
+            }
+
+            return catchException(frame, exception);
         }
+
+        return orelse.execute(frame);
     }
 
-    private Object catchException(VirtualFrame frame, RuntimeException exception) {
+    @ExplodeLoop
+    private Object catchException(VirtualFrame frame, PException exception) {
         for (ExceptNode exceptNode : exceptNodes) {
-            try {
+            if (exceptNode.matches(frame, exception)) {
                 exceptNode.executeExcept(frame, exception);
-            } catch (ControlFlowException cf) {
-                return cf;
-            } catch (RuntimeException ex) {
-                if (exception != ex) {
-                    throw ex;
-                }
+                return PNone.NONE;
             }
         }
 
@@ -31,6 +31,7 @@ import com.oracle.truffle.api.frame.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
@@ -104,16 +105,19 @@ public class WithNode extends StatementNode {
         } finally {
             PythonCallable exitCall = (PythonCallable) pythonObj.getAttribute("__exit__");
 
-            if (exception instanceof ArithmeticException && exception.getMessage().endsWith("divide by zero")) {
-                exception = Py.ZeroDivisionError("divide by zero");
+            final PException pexception = exception == null ? null : PException.fromRuntimeException(exception);
+
+            if (pexception != null) {
+                exception = pexception;
             }
 
             Object returnValue = null;
 
-            if (exception instanceof PyException) {
-                Object type = ((PyException) exception).type;
-                Object value = ((PyException) exception).value;
-                Object trace = ((PyException) exception).traceback;
+            if (pexception != null) {
+                PyException pyException = pexception.toPyException();
+                Object type = pyException.type;
+                Object value = pyException.value;
+                Object trace = pyException.traceback;
                 returnValue = exitCall.call(PArguments.createWithUserArguments(pythonObj, type, value, trace));
             } else if (exception == null) {
                 return exitCall.call(PArguments.createWithUserArguments(pythonObj));
@@ -26,13 +26,11 @@ package edu.uci.python.nodes.subscript;
 
 import java.math.BigInteger;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.expression.*;
-import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.*;
 
 @GenerateNodeFactory
@@ -44,14 +42,16 @@ public abstract class IndexNode extends UnaryOpNode {
     }
 
     @Specialization
-    public int doInteger(BigInteger index) {
-        return index.intValue();
+    public long doLong(long index) {
+        return index;
     }
 
-    @SuppressWarnings("unused")
+    /**
+     * A BigInteger index keeps its value; truncating it would make it alias an unrelated int key.
+     */
     @Specialization
-    public double doDouble(double index) {
-        throw Py.TypeError("list indices must be integers, not float");
+    public Object doBigInteger(BigInteger index) {
+        return ArithmeticUtil.narrow(index);
     }
 
     @Specialization
@@ -64,9 +64,13 @@ public abstract class IndexNode extends UnaryOpNode {
         return clazz;
     }
 
+    /**
+     * Any other key is passed through untouched. It might be a valid dict key, sequences reject
+     * it in the subscript node.
+     */
     @Specialization
     public Object doObject(Object index) {
-        throw Py.TypeError("list indices must be integers, not " + PythonTypesUtil.getPythonTypeName(index));
+        return index;
     }
 
     @Override
@@ -24,6 +24,9 @@
  */
 package edu.uci.python.nodes.subscript;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.dsl.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -58,7 +61,11 @@ public abstract class SubscriptDeleteNode extends BinaryOpNode {
 
     @Specialization
     public Object doPDict(PDict primary, Object key) {
-        primary.delItem(key);
+        if (primary.delItem(key) == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw Py.KeyError(String.valueOf(key));
+        }
+
         return PNone.NONE;
     }
 
@@ -36,6 +36,8 @@ import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
@@ -48,6 +50,8 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return SubscriptStoreIndexNodeFactory.create(getPrimary(), getSlice(), rhs);
     }
 
+    public abstract Object executeWith(VirtualFrame frame, Object primary, Object slice);
+
     @Specialization
     public String doString(String primary, int idx) {
         int index = idx;
@@ -64,6 +68,14 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return new String(new char[]{charactor});
     }
 
+    /**
+     * Long indices beyond the int range saturate, so that they fail the bounds check of the sequence
+     * and raise an IndexError.
+     */
+    private static int toIndex(long idx) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, idx));
+    }
+
     @Specialization(guards = {"isIntStorage(primary)", "isIndexPositive(primary,idx)"})
     public int doPListInt(PList primary, int idx) {
         final IntSequenceStorage store = (IntSequenceStorage) primary.getStorage();
@@ -112,11 +124,51 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return store.getItemNormalized(idx + store.length());
     }
 
+    @Specialization(guards = {"isIntRowStorage(primary)", "isIndexPositive(primary,idx)"})
+    public int doPListIntRow(PList primary, int idx) {
+        final IntRowSequenceStorage store = (IntRowSequenceStorage) primary.getStorage();
+        return store.getIntItemNormalized(idx);
+    }
+
+    @Specialization(guards = {"isDoubleRowStorage(primary)", "isIndexPositive(primary,idx)"})
+    public double doPListDoubleRow(PList primary, int idx) {
+        final DoubleRowSequenceStorage store = (DoubleRowSequenceStorage) primary.getStorage();
+        return store.getDoubleItemNormalized(idx);
+    }
+
+    @Specialization(guards = {"isOffHeapIntStorage(primary)", "isIndexPositive(primary,idx)"})
+    public int doPListOffHeapInt(PList primary, int idx) {
+        final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) primary.getStorage();
+        return store.getIntItemNormalized(idx);
+    }
+
+    @Specialization(guards = {"isOffHeapLongStorage(primary)", "isIndexPositive(primary,idx)"})
+    public long doPListOffHeapLong(PList primary, int idx) {
+        final OffHeapLongSequenceStorage store = (OffHeapLongSequenceStorage) primary.getStorage();
+        return store.getLongItemNormalized(idx);
+    }
+
+    @Specialization(guards = {"isOffHeapDoubleStorage(primary)", "isIndexPositive(primary,idx)"})
+    public double doPListOffHeapDouble(PList primary, int idx) {
+        final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) primary.getStorage();
+        return store.getDoubleItemNormalized(idx);
+    }
+
     @Specialization
     public Object doPList(PList list, int idx) {
         return list.getItem(idx);
     }
 
+    @Specialization(guards = "isIndexPositive(tuple,idx)")
+    public int doPIntTuple2(PIntTuple2 tuple, int idx) {
+        return tuple.getIntItemNormalized(idx);
+    }
+
+    @Specialization(guards = "isIndexPositive(tuple,idx)")
+    public double doPDoubleTuple2(PDoubleTuple2 tuple, int idx) {
+        return tuple.getDoubleItemNormalized(idx);
+    }
+
     @Specialization(guards = "isIndexPositive(tuple,idx)")
     public Object doPTuplePositive(PTuple tuple, int idx) {
         return tuple.getItemNormalized(idx);
@@ -150,84 +202,111 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
     @Specialization(guards = {"isIntStorage(primary)", "isIndexPositive(primary,idx)"})
     public int doPListInt(PList primary, long idx) {
         final IntSequenceStorage store = (IntSequenceStorage) primary.getStorage();
-        return store.getIntItemNormalized(Math.toIntExact(idx));
+        return store.getIntItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = {"isIntStorage(primary)", "isIndexNegative(primary,idx)"})
     public int doPListIntNegative(PList primary, long idx) {
         final IntSequenceStorage store = (IntSequenceStorage) primary.getStorage();
-        return store.getIntItemNormalized(Math.toIntExact(idx) + store.length());
+        return store.getIntItemNormalized(toIndex(idx) + store.length());
     }
 
     @Specialization(guards = {"isLongStorage(primary)", "isIndexPositive(primary,idx)"})
     public long doPListLong(PList primary, long idx) {
         final LongSequenceStorage store = (LongSequenceStorage) primary.getStorage();
-        return store.getLongItemNormalized(Math.toIntExact(idx));
+        return store.getLongItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = {"isLongStorage(primary)", "isIndexNegative(primary,idx)"})
     public long doPListLongNegative(PList primary, long idx) {
         final LongSequenceStorage store = (LongSequenceStorage) primary.getStorage();
-        return store.getLongItemNormalized(Math.toIntExact(idx) + store.length());
+        return store.getLongItemNormalized(toIndex(idx) + store.length());
     }
 
     @Specialization(guards = {"isDoubleStorage(primary)", "isIndexPositive(primary,idx)"})
     public double doPListDouble(PList primary, long idx) {
         final DoubleSequenceStorage store = (DoubleSequenceStorage) primary.getStorage();
-        return store.getDoubleItemNormalized(Math.toIntExact(idx));
+        return store.getDoubleItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = {"isDoubleStorage(primary)", "isIndexNegative(primary,idx)"})
     public double doPListDoubleNegative(PList primary, long idx) {
         final DoubleSequenceStorage store = (DoubleSequenceStorage) primary.getStorage();
-        return store.getDoubleItemNormalized(Math.toIntExact(idx) + store.length());
+        return store.getDoubleItemNormalized(toIndex(idx) + store.length());
     }
 
     @Specialization(guards = {"isObjectStorage(primary)", "isIndexPositive(primary,idx)"})
     public Object doPListObject(PList primary, long idx) {
         final ObjectSequenceStorage store = (ObjectSequenceStorage) primary.getStorage();
-        return store.getItemNormalized(Math.toIntExact(idx));
+        return store.getItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = {"isObjectStorage(primary)", "isIndexNegative(primary,idx)"})
     public Object doPListObjectNegative(PList primary, long idx) {
         final ObjectSequenceStorage store = (ObjectSequenceStorage) primary.getStorage();
-        return store.getItemNormalized(Math.toIntExact(idx) + store.length());
+        return store.getItemNormalized(toIndex(idx) + store.length());
     }
 
     @Specialization
     public Object doPList(PList list, long idx) {
-        return list.getItem(Math.toIntExact(idx));
+        return list.getItem(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexPositive(tuple,idx)")
     public Object doPTuplePositive(PTuple tuple, long idx) {
-        return tuple.getItemNormalized(Math.toIntExact(idx));
+        return tuple.getItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexNegative(tuple,idx)")
     public Object doPTupleNegative(PTuple tuple, long idx) {
-        return tuple.getItemNormalized(Math.toIntExact(idx) + tuple.len());
+        return tuple.getItemNormalized(toIndex(idx) + tuple.len());
     }
 
     @Specialization
     public Object doPTuple(PTuple tuple, long idx) {
-        return tuple.getItem(Math.toIntExact(idx));
+        return tuple.getItem(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexPositive(primary,idx)")
     public Object doPRangePositive(PRange primary, long idx) {
-        return primary.getItemNormalized(Math.toIntExact(idx));
+        return primary.getItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexNegative(primary,idx)")
     public Object doPRangeNegative(PRange primary, long idx) {
-        return primary.getItemNormalized(Math.toIntExact(idx) + primary.len());
+        return primary.getItemNormalized(toIndex(idx) + primary.len());
     }
 
     @Specialization
     public Object doPRange(PRange primary, long idx) {
-        return primary.getItem(Math.toIntExact(idx));
+        return primary.getItem(toIndex(idx));
+    }
+
+    /**
+     * PDict lookups specialized on the dict storage.
+     */
+    @Specialization(guards = "isIntIntStorage(primary)")
+    public int doPDictIntInt(PDict primary, int key) {
+        final IntIntDictStorage store = (IntIntDictStorage) primary.getStorage();
+        return store.getIntItem(key);
+    }
+
+    @Specialization(guards = "isIntDoubleStorage(primary)")
+    public double doPDictIntDouble(PDict primary, int key) {
+        final IntDoubleDictStorage store = (IntDoubleDictStorage) primary.getStorage();
+        return store.getDoubleItem(key);
+    }
+
+    @Specialization(guards = "isStringStorage(primary)")
+    public Object doPDictString(PDict primary, String key) {
+        final StringDictStorage store = (StringDictStorage) primary.getStorage();
+        final Object value = store.getStringItem(key);
+
+        if (value == null) {
+            throw new PException(Py.KeyError, key);
+        }
+
+        return value;
     }
 
     /**
@@ -235,9 +314,7 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
      */
     @Specialization
     public Object doPDict(PDict primary, Object key) {
-        final Object result = primary.getItem(key);
-        assert result != null;
-        return result;
+        return primary.getItemOrRaise(key);
     }
 
     /**
@@ -290,47 +367,47 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
 
     @Specialization(guards = "isIndexPositive(primary,idx)")
     public int doPIntArray(PIntArray primary, long idx) {
-        return primary.getIntItemNormalized(Math.toIntExact(idx));
+        return primary.getIntItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexNegative(primary,idx)")
     public int doPIntArrayNegative(PIntArray primary, long idx) {
-        return primary.getIntItemNormalized(Math.toIntExact(idx) + primary.len());
+        return primary.getIntItemNormalized(toIndex(idx) + primary.len());
     }
 
     @Specialization(guards = "isIndexPositive(primary,idx)")
     public long doPIntArray(PLongArray primary, long idx) {
-        return primary.getLongItemNormalized(Math.toIntExact(idx));
+        return primary.getLongItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexNegative(primary,idx)")
     public long doPIntArrayNegative(PLongArray primary, long idx) {
-        return primary.getLongItemNormalized(Math.toIntExact(idx) + primary.len());
+        return primary.getLongItemNormalized(toIndex(idx) + primary.len());
     }
 
     @Specialization(guards = "isIndexPositive(primary,idx)")
     public double doPDoubleArray(PDoubleArray primary, long idx) {
-        return primary.getDoubleItemNormalized(Math.toIntExact(idx));
+        return primary.getDoubleItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexNegative(primary,idx)")
     public double doPDoubleArrayNegative(PDoubleArray primary, long idx) {
-        return primary.getDoubleItemNormalized(Math.toIntExact(idx) + primary.len());
+        return primary.getDoubleItemNormalized(toIndex(idx) + primary.len());
     }
 
     @Specialization(guards = "isIndexPositive(primary,idx)")
     public char doPCharArray(PCharArray primary, long idx) {
-        return primary.getCharItemNormalized(Math.toIntExact(idx));
+        return primary.getCharItemNormalized(toIndex(idx));
     }
 
     @Specialization(guards = "isIndexNegative(primary,idx)")
     public char doPCharArrayNegative(PCharArray primary, long idx) {
-        return primary.getCharItemNormalized(Math.toIntExact(idx) + primary.len());
+        return primary.getCharItemNormalized(toIndex(idx) + primary.len());
     }
 
     @Specialization
     public Object doPArray(PArray primary, long idx) {
-        return primary.getItem(Math.toIntExact(idx));
+        return primary.getItem(toIndex(idx));
     }
 
     /**
@@ -357,7 +434,7 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         CompilerAsserts.neverPartOfCompilation();
 
         PyList list = (PyList) primary;
-        Object value = list.get(Math.toIntExact(index));
+        Object value = list.get(toIndex(index));
 
         if (value instanceof PyObject) {
             return PythonTypesUtil.unboxPyObject((PyObject) value);
@@ -376,6 +453,12 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return doSpecialMethodCall(frame, "__getitem__", primary, index);
     }
 
+    @Specialization
+    public Object doPSequenceInvalidIndex(PSequence primary, Object idx) {
+        CompilerDirectives.transferToInterpreter();
+        throw Py.TypeError(PythonTypesUtil.getPythonTypeName(primary) + " indices must be integers, not " + PythonTypesUtil.getPythonTypeName(idx));
+    }
+
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitSubscriptLoadIndexNode(this);
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.subscript;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * {@code primary[row][column]}. On a flat {@link MatrixSequenceStorage} the element is read from the
+ * flat array without loading the row; anything else is two ordinary index loads.
+ */
+@NodeInfo(shortName = "subscript_load_nested_index")
+@NodeChildren({@NodeChild(value = "primary", type = PNode.class), @NodeChild(value = "row", type = PNode.class), @NodeChild(value = "column", type = PNode.class)})
+@GenerateNodeFactory
+public abstract class SubscriptLoadNestedIndexNode extends PNode implements ReadNode {
+
+    @Child protected SubscriptLoadIndexNode rowLoad;
+    @Child protected SubscriptLoadIndexNode columnLoad;
+
+    public abstract PNode getPrimary();
+
+    public abstract PNode getRow();
+
+    public abstract PNode getColumn();
+
+    public PNode makeWriteNode(PNode rhs) {
+        return SubscriptStoreNestedIndexNodeFactory.create(getPrimary(), getRow(), getColumn(), rhs);
+    }
+
+    protected static int normalize(int idx, int length) {
+        return idx < 0 ? idx + length : idx;
+    }
+
+    @Specialization(guards = "isFlatIntMatrix(primary)")
+    public int doIntMatrix(PList primary, int row, int column) {
+        final MatrixSequenceStorage store = (MatrixSequenceStorage) primary.getStorage();
+        return store.getIntItem(normalize(row, store.length()), normalize(column, store.getColumns()));
+    }
+
+    @Specialization(guards = "isFlatDoubleMatrix(primary)")
+    public double doDoubleMatrix(PList primary, int row, int column) {
+        final MatrixSequenceStorage store = (MatrixSequenceStorage) primary.getStorage();
+        return store.getDoubleItem(normalize(row, store.length()), normalize(column, store.getColumns()));
+    }
+
+    @Specialization
+    public Object doGeneric(VirtualFrame frame, Object primary, Object row, Object column) {
+        if (rowLoad == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            rowLoad = insert(SubscriptLoadIndexNodeFactory.create(null, null));
+            columnLoad = insert(SubscriptLoadIndexNodeFactory.create(null, null));
+        }
+
+        return columnLoad.executeWith(frame, rowLoad.executeWith(frame, primary, row), column);
+    }
+
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitSubscriptLoadNestedIndexNode(this);
+    }
+
+}
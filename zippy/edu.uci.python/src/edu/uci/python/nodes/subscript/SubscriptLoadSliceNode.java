@@ -29,6 +29,8 @@ import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.expression.BinaryArithmeticNode.MulNode;
+import edu.uci.python.nodes.literal.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.datatype.PSlice.PStartSlice;
@@ -41,9 +43,23 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
 
     @Override
     public PNode makeWriteNode(PNode rhs) {
+        if (rhs instanceof MulNode) {
+            MulNode mul = (MulNode) rhs;
+
+            if (isSingletonList(mul.getLeftNode())) {
+                return SubscriptStoreRepeatedSliceNodeFactory.create(getPrimary(), getSlice(), ((ListLiteralNode) mul.getLeftNode()).getValues()[0], mul.getRightNode());
+            } else if (isSingletonList(mul.getRightNode())) {
+                return SubscriptStoreRepeatedSliceNodeFactory.create(getPrimary(), getSlice(), ((ListLiteralNode) mul.getRightNode()).getValues()[0], mul.getLeftNode());
+            }
+        }
+
         return SubscriptStoreSliceNodeFactory.create(getPrimary(), getSlice(), rhs);
     }
 
+    private static boolean isSingletonList(PNode node) {
+        return node instanceof ListLiteralNode && ((ListLiteralNode) node).getValues().length == 1;
+    }
+
 // @ExplodeLoop
     @Specialization
     public String doString(String primary, PSlice slice) {
@@ -24,13 +24,19 @@
  */
 package edu.uci.python.nodes.subscript;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -43,6 +49,8 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return SubscriptLoadIndexNodeFactory.create(getPrimary(), getSlice());
     }
 
+    public abstract Object executeWith(VirtualFrame frame, Object primary, Object slice, Object value);
+
     @Specialization(guards = {"isIntStorage(primary)", "isIndexPositive(primary,idx)"})
     public Object doPListInt(PList primary, int idx, int value) {
         final IntSequenceStorage store = (IntSequenceStorage) primary.getStorage();
@@ -57,17 +65,31 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return PNone.NONE;
     }
 
+    /**
+     * The value is taken as Object so that an int stored into a float list stays an int; the list
+     * generalizes to a {@link NumericSequenceStorage} instead.
+     */
     @Specialization(guards = {"isDoubleStorage(primary)", "isIndexPositive(primary,idx)"})
-    public Object doPListDouble(PList primary, int idx, double value) {
-        final DoubleSequenceStorage store = (DoubleSequenceStorage) primary.getStorage();
-        store.setDoubleItemNormalized(idx, value);
+    public Object doPListDouble(PList primary, int idx, Object value) {
+        if (value instanceof Double) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) primary.getStorage();
+            store.setDoubleItemNormalized(idx, (double) value);
+        } else {
+            primary.setItem(idx, value);
+        }
+
         return PNone.NONE;
     }
 
     @Specialization(guards = {"isDoubleStorage(primary)", "isIndexNegative(primary,idx)"})
-    public Object doPListDoubleNegative(PList primary, int idx, double value) {
-        final DoubleSequenceStorage store = (DoubleSequenceStorage) primary.getStorage();
-        store.setDoubleItemNormalized(idx + store.length(), value);
+    public Object doPListDoubleNegative(PList primary, int idx, Object value) {
+        if (value instanceof Double) {
+            final DoubleSequenceStorage store = (DoubleSequenceStorage) primary.getStorage();
+            store.setDoubleItemNormalized(idx + store.length(), (double) value);
+        } else {
+            primary.setItem(idx, value);
+        }
+
         return PNone.NONE;
     }
 
@@ -85,12 +107,74 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return PNone.NONE;
     }
 
+    @Specialization(guards = {"isIntRowStorage(primary)", "isIndexPositive(primary,idx)"})
+    public Object doPListIntRow(PList primary, int idx, int value) {
+        final IntRowSequenceStorage store = (IntRowSequenceStorage) primary.getStorage();
+        store.setIntItemNormalized(idx, value);
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = {"isOffHeapIntStorage(primary)", "isIndexPositive(primary,idx)"})
+    public Object doPListOffHeapInt(PList primary, int idx, int value) {
+        final OffHeapIntSequenceStorage store = (OffHeapIntSequenceStorage) primary.getStorage();
+        store.setIntItemNormalized(idx, value);
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = {"isOffHeapDoubleStorage(primary)", "isIndexPositive(primary,idx)"})
+    public Object doPListOffHeapDouble(PList primary, int idx, Object value) {
+        if (value instanceof Double) {
+            final OffHeapDoubleSequenceStorage store = (OffHeapDoubleSequenceStorage) primary.getStorage();
+            store.setDoubleItemNormalized(idx, (double) value);
+        } else {
+            primary.setItem(idx, value);
+        }
+
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doPList(PList list, int idx, Object value) {
         list.setItem(idx, value);
         return PNone.NONE;
     }
 
+    /**
+     * PDict stores specialized on the dict storage. The value is taken as Object so that implicit
+     * casts cannot turn a bool into an int or an int into a float; anything the storage cannot hold
+     * unboxed goes through {@link PDict#setItem}, which generalizes the storage.
+     */
+    @Specialization(guards = "isIntIntStorage(primary)")
+    public Object doPDictIntInt(PDict primary, int key, Object value) {
+        if (value instanceof Integer) {
+            final IntIntDictStorage store = (IntIntDictStorage) primary.getStorage();
+            store.setIntItem(key, (int) value);
+        } else {
+            primary.setItem(key, value);
+        }
+
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = "isIntDoubleStorage(primary)")
+    public Object doPDictIntDouble(PDict primary, int key, Object value) {
+        if (value instanceof Double) {
+            final IntDoubleDictStorage store = (IntDoubleDictStorage) primary.getStorage();
+            store.setDoubleItem(key, (double) value);
+        } else {
+            primary.setItem(key, value);
+        }
+
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = "isStringStorage(primary)")
+    public Object doPDictString(PDict primary, String key, Object value) {
+        final StringDictStorage store = (StringDictStorage) primary.getStorage();
+        store.setStringItem(key, value);
+        return PNone.NONE;
+    }
+
     /**
      * PDict key & value store.
      */
@@ -139,6 +223,13 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return 0;
     }
 
+    @SuppressWarnings("unused")
+    @Specialization
+    public Object doPSequenceInvalidIndex(PSequence primary, Object idx, Object value) {
+        CompilerDirectives.transferToInterpreter();
+        throw Py.TypeError(PythonTypesUtil.getPythonTypeName(primary) + " indices must be integers, not " + PythonTypesUtil.getPythonTypeName(idx));
+    }
+
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitSubscriptStoreIndexNode(this);
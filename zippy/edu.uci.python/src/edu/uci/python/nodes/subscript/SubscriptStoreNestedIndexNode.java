@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.subscript;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.nodes.statement.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * {@code primary[row][column] = right}, the store counterpart of
+ * {@link SubscriptLoadNestedIndexNode}.
+ */
+@NodeInfo(shortName = "subscript_store_nested_index")
+@NodeChildren({@NodeChild(value = "primary", type = PNode.class), @NodeChild(value = "row", type = PNode.class), @NodeChild(value = "column", type = PNode.class),
+                @NodeChild(value = "right", type = PNode.class)})
+@GenerateNodeFactory
+public abstract class SubscriptStoreNestedIndexNode extends StatementNode implements WriteNode {
+
+    @Child protected SubscriptLoadIndexNode rowLoad;
+    @Child protected SubscriptStoreIndexNode columnStore;
+
+    public abstract PNode getPrimary();
+
+    public abstract PNode getRow();
+
+    public abstract PNode getColumn();
+
+    public abstract PNode getRight();
+
+    @Override
+    public PNode getRhs() {
+        return getRight();
+    }
+
+    @Override
+    public PNode makeReadNode() {
+        return SubscriptLoadNestedIndexNodeFactory.create(getPrimary(), getRow(), getColumn());
+    }
+
+    @Override
+    public Object executeWrite(VirtualFrame frame, Object value) {
+        return executeWith(frame, getPrimary().execute(frame), getRow().execute(frame), getColumn().execute(frame), value);
+    }
+
+    public abstract Object executeWith(VirtualFrame frame, Object primary, Object row, Object column, Object value);
+
+    @Specialization(guards = "isFlatIntMatrix(primary)")
+    public Object doIntMatrix(PList primary, int row, int column, int value) {
+        final MatrixSequenceStorage store = (MatrixSequenceStorage) primary.getStorage();
+        store.setIntItem(SubscriptLoadNestedIndexNode.normalize(row, store.length()), SubscriptLoadNestedIndexNode.normalize(column, store.getColumns()), value);
+        return PNone.NONE;
+    }
+
+    /**
+     * The value is taken as Object so that an int is not implicitly cast into a float row; the row
+     * generalizes through the ordinary store instead.
+     */
+    @Specialization(guards = "isFlatDoubleMatrix(primary)")
+    public Object doDoubleMatrix(VirtualFrame frame, PList primary, int row, int column, Object value) {
+        if (value instanceof Double) {
+            final MatrixSequenceStorage store = (MatrixSequenceStorage) primary.getStorage();
+            store.setDoubleItem(SubscriptLoadNestedIndexNode.normalize(row, store.length()), SubscriptLoadNestedIndexNode.normalize(column, store.getColumns()), (double) value);
+            return PNone.NONE;
+        }
+
+        return doGeneric(frame, primary, row, column, value);
+    }
+
+    @Specialization
+    public Object doGeneric(VirtualFrame frame, Object primary, Object row, Object column, Object value) {
+        if (rowLoad == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            rowLoad = insert(SubscriptLoadIndexNodeFactory.create(null, null));
+            columnStore = insert(SubscriptStoreIndexNodeFactory.create(null, null, null));
+        }
+
+        return columnStore.executeWith(frame, rowLoad.executeWith(frame, primary, row), column, value);
+    }
+
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitSubscriptStoreNestedIndexNode(this);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.subscript;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.statement.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Slice store of the form {@code a[i:j:k] = [element] * count}. The repeated right hand side is
+ * filled into the storage directly instead of being materialized as a list first.
+ */
+@NodeInfo(shortName = "subscript_store_repeated_slice")
+@NodeChildren({@NodeChild(value = "primary", type = PNode.class), @NodeChild(value = "slice", type = PNode.class), @NodeChild(value = "element", type = PNode.class),
+                @NodeChild(value = "count", type = PNode.class)})
+@GenerateNodeFactory
+public abstract class SubscriptStoreRepeatedSliceNode extends StatementNode {
+
+    public abstract PNode getPrimary();
+
+    public abstract PNode getSlice();
+
+    public abstract PNode getElement();
+
+    public abstract PNode getCount();
+
+    @Specialization
+    public Object doPList(PList primary, PSlice slice, Object element, int count) {
+        primary.setSliceRepeated(slice, element, count);
+        return PNone.NONE;
+    }
+
+    @Specialization
+    public Object doPListLong(PList primary, PSlice slice, Object element, long count) {
+        if (count > Integer.MAX_VALUE) {
+            throw Py.MemoryError("");
+        }
+
+        primary.setSliceRepeated(slice, element, (int) count);
+        return PNone.NONE;
+    }
+
+    @Fallback
+    public Object doGeneric(Object primary, Object slice, Object element, Object count) {
+        throw Py.TypeError("unsupported slice assignment of repeated " + element + " to " + primary);
+    }
+
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitSubscriptStoreRepeatedSliceNode(this);
+    }
+
+}
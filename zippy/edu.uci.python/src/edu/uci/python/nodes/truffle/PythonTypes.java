@@ -98,6 +98,15 @@ public class PythonTypes {
         return value ? 1 : 0;
     }
 
+    /**
+     * Integer tiers: int widens to long, and both widen to BigInteger. Arithmetic promotes to the
+     * next tier on overflow and never demotes.
+     */
+    @ImplicitCast
+    public static long intToLong(int value) {
+        return value;
+    }
+
     @ImplicitCast
     public static BigInteger intToBigInteger(int value) {
         return BigInteger.valueOf(value);
@@ -113,6 +122,11 @@ public class PythonTypes {
         return value;
     }
 
+    @ImplicitCast
+    public static double longToDouble(long value) {
+        return value;
+    }
+
     @ImplicitCast
     public static double bigIntegerToDouble(BigInteger value) {
         return value.doubleValue();
@@ -54,10 +54,12 @@ import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PFrozenSet;
 import edu.uci.python.runtime.datatype.PNone;
 import edu.uci.python.runtime.datatype.PRange;
+import edu.uci.python.runtime.datatype.storage.DictStorage;
 import edu.uci.python.runtime.function.PFunction;
 import edu.uci.python.runtime.object.PythonObject;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PSet;
+import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.sequence.PTuple;
 
 public class PythonTypesUtil {
@@ -100,6 +102,8 @@ public class PythonTypesUtil {
             } catch (Exception e) {
                 return Py.newUnicode((String) value);
             }
+        } else if (value instanceof PString) {
+            return adaptToPyObject(((PString) value).getValue());
         } else if (value instanceof PNone) {
             return Py.None;
         } else if (value instanceof PTuple) {
@@ -116,15 +120,16 @@ public class PythonTypesUtil {
             return new PyList(pyObjs);
         } else if (value instanceof PSet) {
             PSet set = (PSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getStorage().toArray()));
         } else if (value instanceof PFrozenSet) {
             PFrozenSet set = (PFrozenSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getStorage().toArray()));
         } else if (value instanceof PDict) {
             PDict dict = (PDict) value;
             ConcurrentHashMap<PyObject, PyObject> map = new ConcurrentHashMap<>();
-            for (Object key : dict.keys()) {
-                map.put(adaptToPyObject(key), adaptToPyObject(dict.getItem(key)));
+            DictStorage store = dict.getStorage();
+            for (int entry = store.nextEntry(0); entry != -1; entry = store.nextEntry(entry + 1)) {
+                map.put(adaptToPyObject(store.getKeyAt(entry)), adaptToPyObject(store.getValueAt(entry)));
             }
             return new PyDictionary(map);
         } else if (value instanceof PIntArray) {
@@ -212,13 +217,13 @@ public class PythonTypesUtil {
     public static String getPythonTypeName(Object object) {
         CompilerAsserts.neverPartOfCompilation();
 
-        if (object instanceof Integer || object instanceof BigInteger) {
+        if (object instanceof Integer || object instanceof Long || object instanceof BigInteger) {
             return "int";
         } else if (object instanceof Double) {
             return "float";
         } else if (object instanceof PComplex) {
             return "complex";
-        } else if (object instanceof String) {
+        } else if (object instanceof String || object instanceof PString) {
             return "str";
         } else if (object instanceof PList) {
             return "list";
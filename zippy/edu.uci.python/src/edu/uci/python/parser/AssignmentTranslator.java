@@ -103,6 +103,7 @@ public class AssignmentTranslator {
      * Multi-assignment: <br>
      * Transform a, b = c, d. <br>
      * To: temp_c = c; temp_d = d; a = temp_c; b = temp_d <br>
+     * Constants skip the temporary: a, b = 0, c becomes temp_c = c; a = 0; b = temp_c <br>
      * for each assignment in multiassignment, sourcesection is assigned in walkTarget method
      */
 
@@ -112,13 +113,20 @@ public class AssignmentTranslator {
         }
 
         List<PNode> rights = translator.walkExprList(rhs);
-        List<PNode> writeToTempVars = environment.makeTempLocalVariables(rights);
+        List<PNode> writeToTempVars = new ArrayList<>();
+        List<PNode> writes = new ArrayList<>();
 
         for (int i = 0; i < rhs.size(); i++) {
-            WriteNode tempWrite = (WriteNode) writeToTempVars.get(i);
-            writeToTempVars.addAll(walkTarget(lhs.get(i), tempWrite.makeReadNode()));
+            if (isConstant(rhs.get(i))) {
+                writes.addAll(walkTarget(lhs.get(i), rights.get(i)));
+            } else {
+                WriteNode tempWrite = (WriteNode) environment.makeTempLocalVariable().makeWriteNode(rights.get(i));
+                writeToTempVars.add((PNode) tempWrite);
+                writes.addAll(walkTarget(lhs.get(i), tempWrite.makeReadNode()));
+            }
         }
 
+        writeToTempVars.addAll(writes);
         return factory.createBlock(writeToTempVars);
     }
 
@@ -136,6 +144,27 @@ public class AssignmentTranslator {
         return factory.createBlock(writes);
     }
 
+    /**
+     * Pair unpacking target of a loop: <br>
+     * Transform for a, b in c, which is translated to temp = next; a = temp[0]; b = temp[1]. <br>
+     * To: a target writing a and b straight from the pairs of zip, enumerate or dict items. <br>
+     * Returns null unless the target is a pair of names.
+     */
+    public PNode makePairTarget(expr target, PNode tempWrite, List<PNode> unpack) throws Exception {
+        if (!isDecomposable(target)) {
+            return null;
+        }
+
+        List<expr> elements = decompose(target);
+        if (elements.size() != 2 || !(elements.get(0) instanceof Name) || !(elements.get(1) instanceof Name)) {
+            return null;
+        }
+
+        PNode first = makeSingleAssignment((PNode) translator.visit(elements.get(0)), EmptyNode.create());
+        PNode second = makeSingleAssignment((PNode) translator.visit(elements.get(1)), EmptyNode.create());
+        return factory.createUnpackPairTarget(tempWrite, factory.createBlock(unpack), first, second);
+    }
+
     public List<PNode> walkTarget(expr target, PNode rightHandSide) throws Exception {
         List<PNode> writes = new ArrayList<>();
 
@@ -180,6 +209,13 @@ public class AssignmentTranslator {
         return writes;
     }
 
+    /**
+     * Constants neither depend on nor affect the other assignments, so they need no temporary.
+     */
+    private static boolean isConstant(expr node) {
+        return node instanceof Num || node instanceof Str;
+    }
+
     private static boolean isDecomposable(expr node) {
         return node instanceof org.python.antlr.ast.List || node instanceof Tuple;
     }
@@ -98,12 +98,42 @@ public class GeneratorTranslator {
             replaceContinue(continueNode);
         }
 
+        if (PythonOptions.GeneratorStateMachine && canSuspendWithoutUnwinding()) {
+            for (YieldNode yield : NodeUtil.findAllNodeInstances(root, YieldNode.class)) {
+                yield.replace(new SuspendingYieldNode(yield));
+            }
+        }
+
         return callTarget;
     }
 
+    /**
+     * A yield can return normally instead of throwing only if every node between it and the
+     * {@link GeneratorReturnTargetNode} stops executing once the generator is suspended. That rules
+     * out yield expressions and yields nested in try, with or other statements.
+     */
+    private boolean canSuspendWithoutUnwinding() {
+        for (YieldNode yield : NodeUtil.findAllNodeInstances(root, YieldNode.class)) {
+            Node current = PNodeUtil.getPythonParent(yield);
+
+            while (!(current instanceof GeneratorReturnTargetNode)) {
+                boolean transparent = current instanceof GeneratorBlockNode || current instanceof GeneratorIfNode || current instanceof GeneratorWhileNode ||
+                                current instanceof GeneratorForNode || current instanceof BreakTargetNode || current instanceof ContinueTargetNode;
+
+                if (!transparent || current == root) {
+                    return false;
+                }
+
+                current = PNodeUtil.getPythonParent(current);
+            }
+        }
+
+        return true;
+    }
+
     private static void replaceBreak(BreakNode breakNode) {
         // look for it's breaking loop node
-        Node current = breakNode.getParent();
+        Node current = PNodeUtil.getPythonParent(breakNode);
         List<Integer> indexSlots = new ArrayList<>();
         List<Integer> flagSlots = new ArrayList<>();
 
@@ -120,7 +150,7 @@ public class GeneratorTranslator {
                 flagSlots.add(ifNode.getElseFlagSlot());
             }
 
-            current = current.getParent();
+            current = PNodeUtil.getPythonParent(current);
         }
 
         if (current instanceof GeneratorForNode) {
@@ -132,7 +162,7 @@ public class GeneratorTranslator {
     }
 
     private static void replaceContinue(ContinueNode continueNode) {
-        Node current = continueNode.getParent();
+        Node current = PNodeUtil.getPythonParent(continueNode);
         List<Integer> indexSlots = new ArrayList<>();
         List<Integer> flagSlots = new ArrayList<>();
 
@@ -149,7 +179,7 @@ public class GeneratorTranslator {
                 flagSlots.add(ifNode.getElseFlagSlot());
             }
 
-            current = current.getParent();
+            current = PNodeUtil.getPythonParent(current);
         }
 
         int[] indexSlotsArray = Ints.toArray(indexSlots);
@@ -161,8 +191,8 @@ public class GeneratorTranslator {
         int depth = 0;
         PNode current = yield;
 
-        while (current.getParent() != root) {
-            current = (PNode) current.getParent();
+        while (PNodeUtil.getPythonParent(current) != root) {
+            current = (PNode) PNodeUtil.getPythonParent(current);
             replaceControl(current, yield, depth++);
         }
 
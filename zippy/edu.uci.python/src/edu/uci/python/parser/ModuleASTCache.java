@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.parser;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.math.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.*;
+
+import org.python.antlr.*;
+import org.python.antlr.base.*;
+import org.python.antlr.runtime.*;
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * On-disk cache of the Jython ASTs of module files, so that warm starts skip ANTLR lexing and
+ * parsing.
+ * <p>
+ * An entry is keyed by the canonical path of the source file and is only used if the file's
+ * modification time and length, and the cache format and runtime version hash, all match the entry
+ * header. Nodes are written reflectively field by field together with the token positions the
+ * translators use for source sections, so the restored tree translates exactly like a freshly
+ * parsed one.
+ * <p>
+ * Scope analysis and translation still run on every start: their output is bound to the live
+ * {@link PythonContext} (frame descriptors, builtins, module objects) and cannot be persisted.
+ */
+public final class ModuleASTCache {
+
+    private static final int MAGIC = 0x5A505941; // "ZPYA"
+    private static final int FORMAT_VERSION = 1;
+    private static final long VERSION_HASH = computeVersionHash();
+
+    private static final byte NULL = 0;
+    private static final byte NODE = 1;
+    private static final byte STRING = 2;
+    private static final byte INTEGER = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte LIST = 5;
+    private static final byte ENUM = 6;
+    private static final byte PY_INTEGER = 7;
+    private static final byte PY_LONG = 8;
+    private static final byte PY_FLOAT = 9;
+    private static final byte PY_COMPLEX = 10;
+    private static final byte PY_STRING = 11;
+    private static final byte PY_UNICODE = 12;
+
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+
+    private static final Map<Class<?>, Field[]> fieldsCache = new ConcurrentHashMap<>();
+
+    private final File directory;
+
+    public ModuleASTCache(File directory) {
+        this.directory = directory;
+    }
+
+    public static ModuleASTCache createDefault() {
+        String path = PythonOptions.ModuleASTCacheDirectory;
+
+        if (path == null) {
+            path = System.getProperty("user.home") + File.separatorChar + ".zippy" + File.separatorChar + "ast-cache";
+        }
+
+        return new ModuleASTCache(new File(path));
+    }
+
+    public static int getHits() {
+        return hits.get();
+    }
+
+    public static int getMisses() {
+        return misses.get();
+    }
+
+    private static long computeVersionHash() {
+        CRC32 crc = new CRC32();
+        String version = FORMAT_VERSION + ":" + org.python.Version.PY_VERSION + ":" + org.python.Version.getBuildInfo() + ":" + resourceTimestamp(PythonParserImpl.class);
+        crc.update(version.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Modification time of the class file (or the jar holding it), so that a rebuilt runtime does
+     * not pick up entries written by an older one.
+     */
+    private static long resourceTimestamp(Class<?> clazz) {
+        try {
+            return clazz.getResource(clazz.getSimpleName() + ".class").openConnection().getLastModified();
+        } catch (IOException | NullPointerException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the cached AST of {@code source}, or null if there is no valid entry.
+     */
+    public mod load(File source) {
+        mod node = null;
+
+        try {
+            final File sourceFile = source.getCanonicalFile();
+            node = read(sourceFile, entryFor(sourceFile));
+        } catch (IOException e) {
+            // treated as a miss
+        }
+
+        if (node != null) {
+            hits.incrementAndGet();
+            trace("hit " + source);
+        } else {
+            misses.incrementAndGet();
+            trace("miss " + source);
+        }
+
+        return node;
+    }
+
+    public void store(File source, mod node) {
+        try {
+            final File sourceFile = source.getCanonicalFile();
+            write(sourceFile, entryFor(sourceFile), node);
+        } catch (IOException e) {
+            trace("could not store " + source + ": " + e);
+        }
+    }
+
+    private File entryFor(File sourceFile) {
+        final String path = sourceFile.getPath();
+        final CRC32 crc = new CRC32();
+        crc.update(path.getBytes(StandardCharsets.UTF_8));
+        return new File(directory, sourceFile.getName() + "-" + Long.toHexString(crc.getValue()) + ".ast");
+    }
+
+    private static void trace(String message) {
+        if (PythonOptions.TraceImports) {
+            // CheckStyle: stop system..print check
+            System.out.println("[ZipPy] module AST cache " + message);
+            // CheckStyle: resume system..print check
+        }
+    }
+
+    private static mod read(File sourceFile, File entry) {
+        if (!entry.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != VERSION_HASH) {
+                return null;
+            }
+
+            if (!in.readUTF().equals(sourceFile.getPath()) || in.readLong() != sourceFile.lastModified() || in.readLong() != sourceFile.length()) {
+                return null;
+            }
+
+            return (mod) new Reader(in).readValue();
+        } catch (IOException | ReflectiveOperationException | ClassCastException e) {
+            trace("could not read " + entry + ": " + e);
+            return null;
+        }
+    }
+
+    private void write(File sourceFile, File entry, mod node) {
+        try {
+            Files.createDirectories(directory.toPath());
+            final File temp = File.createTempFile(entry.getName(), ".tmp", directory);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(VERSION_HASH);
+                out.writeUTF(sourceFile.getPath());
+                out.writeLong(sourceFile.lastModified());
+                out.writeLong(sourceFile.length());
+                new Writer(out).writeValue(node);
+            } catch (IOException | ReflectiveOperationException e) {
+                temp.delete();
+                throw e;
+            }
+
+            Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | ReflectiveOperationException e) {
+            trace("could not write " + entry + ": " + e);
+        }
+    }
+
+    /**
+     * The instance fields of an AST class and its AST super classes, excluding the Python level
+     * {@code __dict__}.
+     */
+    private static Field[] getFields(Class<?> clazz) {
+        Field[] fields = fieldsCache.get(clazz);
+
+        if (fields == null) {
+            final List<Field> list = new ArrayList<>();
+
+            for (Class<?> c = clazz; c != PythonTree.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.getType() != PyObject.class) {
+                        field.setAccessible(true);
+                        list.add(field);
+                    }
+                }
+            }
+
+            fields = list.toArray(new Field[list.size()]);
+            fieldsCache.put(clazz, fields);
+        }
+
+        return fields;
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<Class<?>, Integer> classIds = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeClass(Class<?> clazz) throws IOException {
+            final Integer id = classIds.get(clazz);
+
+            if (id != null) {
+                out.writeInt(id);
+            } else {
+                out.writeInt(classIds.size());
+                classIds.put(clazz, classIds.size());
+                out.writeUTF(clazz.getName());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeNullableString(String value) throws IOException {
+            out.writeBoolean(value != null);
+
+            if (value != null) {
+                writeString(value);
+            }
+        }
+
+        void writeValue(Object value) throws IOException, ReflectiveOperationException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof PythonTree) {
+                out.writeByte(NODE);
+                writeNode((PythonTree) value);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INTEGER);
+                out.writeInt((int) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((boolean) value);
+            } else if (value instanceof List) {
+                final List<?> list = (List<?>) value;
+                out.writeByte(LIST);
+                out.writeInt(list.size());
+
+                for (Object element : list) {
+                    writeValue(element);
+                }
+            } else if (value instanceof Enum) {
+                out.writeByte(ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass());
+                out.writeInt(((Enum<?>) value).ordinal());
+            } else if (value instanceof PyInteger) {
+                out.writeByte(PY_INTEGER);
+                out.writeInt(((PyInteger) value).getValue());
+            } else if (value instanceof PyLong) {
+                out.writeByte(PY_LONG);
+                writeString(((PyLong) value).getValue().toString());
+            } else if (value instanceof PyFloat) {
+                out.writeByte(PY_FLOAT);
+                out.writeDouble(((PyFloat) value).getValue());
+            } else if (value instanceof PyComplex) {
+                out.writeByte(PY_COMPLEX);
+                out.writeDouble(((PyComplex) value).real);
+                out.writeDouble(((PyComplex) value).imag);
+            } else if (value instanceof PyUnicode) {
+                out.writeByte(PY_UNICODE);
+                writeString(((PyUnicode) value).getString());
+            } else if (value instanceof PyString) {
+                out.writeByte(PY_STRING);
+                writeString(((PyString) value).getString());
+            } else {
+                throw new IOException("unsupported AST value " + value.getClass().getName());
+            }
+        }
+
+        private void writeNode(PythonTree node) throws IOException, ReflectiveOperationException {
+            writeClass(node.getClass());
+            out.writeInt(node.getAntlrType());
+            writeNullableString(node.getText());
+            out.writeInt(node.getLine());
+            out.writeInt(node.getCharPositionInLine());
+            out.writeInt(node.getCharStartIndex());
+            out.writeInt(node.getCharStopIndex());
+            out.writeInt(node.getTokenStartIndex());
+            out.writeInt(node.getTokenStopIndex());
+
+            for (Field field : getFields(node.getClass())) {
+                if (field.getType() == int.class) {
+                    out.writeInt(field.getInt(node));
+                } else {
+                    writeValue(field.get(node));
+                }
+            }
+        }
+
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<Class<?>> classes = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private Class<?> readClass() throws IOException, ReflectiveOperationException {
+            final int id = in.readInt();
+
+            if (id < classes.size()) {
+                return classes.get(id);
+            }
+
+            final Class<?> clazz = Class.forName(in.readUTF(), false, PythonTree.class.getClassLoader());
+            classes.add(clazz);
+            return clazz;
+        }
+
+        private String readString() throws IOException {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Object readValue() throws IOException, ReflectiveOperationException {
+            final byte tag = in.readByte();
+
+            switch (tag) {
+                case NULL:
+                    return null;
+                case NODE:
+                    return readNode();
+                case STRING:
+                    return readString();
+                case INTEGER:
+                    return in.readInt();
+                case BOOLEAN:
+                    return in.readBoolean();
+                case LIST:
+                    final int size = in.readInt();
+                    final List<Object> list = new ArrayList<>(size);
+
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+
+                    return list;
+                case ENUM:
+                    return readClass().getEnumConstants()[in.readInt()];
+                case PY_INTEGER:
+                    return Py.newInteger(in.readInt());
+                case PY_LONG:
+                    return Py.newLong(new BigInteger(readString()));
+                case PY_FLOAT:
+                    return Py.newFloat(in.readDouble());
+                case PY_COMPLEX:
+                    return new PyComplex(in.readDouble(), in.readDouble());
+                case PY_STRING:
+                    return Py.newString(readString());
+                case PY_UNICODE:
+                    return Py.newUnicode(readString());
+                default:
+                    throw new IOException("corrupt AST cache entry, tag " + tag);
+            }
+        }
+
+        private PythonTree readNode() throws IOException, ReflectiveOperationException {
+            final Class<?> clazz = readClass();
+            final PythonTree node = (PythonTree) clazz.getDeclaredConstructor().newInstance();
+
+            final CommonToken token = new CommonToken(in.readInt(), in.readBoolean() ? readString() : null);
+            token.setLine(in.readInt());
+            token.setCharPositionInLine(in.readInt());
+            final int charStartIndex = in.readInt();
+            final int charStopIndex = in.readInt();
+            token.setStartIndex(charStartIndex);
+            token.setStopIndex(charStopIndex);
+            node.getNode().token = token;
+            node.setCharStartIndex(charStartIndex);
+            node.setCharStopIndex(charStopIndex);
+            node.setTokenStartIndex(in.readInt());
+            node.setTokenStopIndex(in.readInt());
+
+            for (Field field : getFields(clazz)) {
+                if (field.getType() == int.class) {
+                    field.setInt(node, in.readInt());
+                } else {
+                    field.set(node, readValue());
+                }
+            }
+
+            return node;
+        }
+
+    }
+
+}
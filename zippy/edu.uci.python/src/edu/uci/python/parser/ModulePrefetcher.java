@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.parser;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.python.antlr.*;
+import org.python.antlr.ast.Import;
+import org.python.antlr.ast.ImportFrom;
+import org.python.antlr.ast.alias;
+import org.python.antlr.base.mod;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Parses imported modules ahead of time on a fork-join pool.
+ * <p>
+ * When a module has been parsed, its import statements are scanned and every module file they
+ * resolve to is parsed speculatively on the pool, which in turn scans and schedules its own
+ * imports. By the time {@link ImportManager} executes an import, the AST is usually ready and
+ * {@link #take} only has to join the task.
+ * <p>
+ * Only the ANTLR parse runs in parallel. Scope analysis and translation stay on the importing
+ * thread because they build frame descriptors and nodes against the shared {@link PythonContext}.
+ * A speculative parse that fails is dropped, and the import re-parses the file itself so that the
+ * error surfaces as usual.
+ */
+public final class ModulePrefetcher {
+
+    private final PythonParserImpl parser;
+    private final ImportManager importManager;
+    private final ForkJoinPool pool;
+
+    // keyed by canonical path
+    private final ConcurrentHashMap<String, ForkJoinTask<mod>> tasks = new ConcurrentHashMap<>();
+
+    // every path ever scheduled, so that a module taken already is not parsed again
+    private final Set<String> scheduled = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private static final AtomicInteger hits = new AtomicInteger();
+
+    public ModulePrefetcher(PythonParserImpl parser, ImportManager importManager, int parallelism) {
+        this.parser = parser;
+        this.importManager = importManager;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * The number of imports, across all prefetchers, that were served a speculatively parsed AST.
+     */
+    public static int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Schedules the modules imported by {@code node}, the freshly parsed module at
+     * {@code modulePath}. Must run before scope analysis rewrites the tree.
+     */
+    public void prefetchImports(mod node, String modulePath) {
+        for (String path : scanImports(node, modulePath)) {
+            schedule(path);
+        }
+    }
+
+    /**
+     * Returns the speculatively parsed AST of the module at {@code path}, waiting for it if it is
+     * still being parsed, or null if it was never scheduled or failed to parse. Each AST is handed
+     * out once, since translation consumes it.
+     */
+    public mod take(String path) {
+        final ForkJoinTask<mod> task = tasks.remove(canonicalPath(path));
+
+        if (task == null) {
+            return null;
+        }
+
+        try {
+            final mod node = task.join();
+            hits.incrementAndGet();
+            return node;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void schedule(String path) {
+        final String key = canonicalPath(path);
+
+        if (!scheduled.add(key)) {
+            return;
+        }
+
+        final ForkJoinTask<mod> task = ForkJoinTask.adapt(new Callable<mod>() {
+
+            public mod call() throws IOException {
+                return parseAndPrefetch(key);
+            }
+
+        });
+
+        tasks.put(key, task);
+        pool.execute(task);
+    }
+
+    private mod parseAndPrefetch(String path) throws IOException {
+        if (PythonOptions.TraceImports) {
+            // CheckStyle: stop system..print check
+            System.out.println("[ZipPy] prefetching module " + path);
+            // CheckStyle: resume system..print check
+        }
+
+        final File file = new File(path);
+        final mod node = parser.parseFile(file, Files.readAllBytes(file.toPath()));
+        prefetchImports(node, path);
+        return node;
+    }
+
+    private List<String> scanImports(mod node, String modulePath) {
+        final ImportScanner scanner = new ImportScanner(modulePath);
+
+        try {
+            scanner.visit(node);
+        } catch (Exception e) {
+            // a partial scan only means fewer modules are parsed ahead of time
+        }
+
+        return scanner.paths;
+    }
+
+    private static String canonicalPath(String path) {
+        try {
+            return new File(path).getCanonicalPath();
+        } catch (IOException e) {
+            return new File(path).getAbsolutePath();
+        }
+    }
+
+    private final class ImportScanner extends Visitor {
+
+        private final String modulePath;
+        private final List<String> paths = new ArrayList<>();
+
+        ImportScanner(String modulePath) {
+            this.modulePath = modulePath;
+        }
+
+        /**
+         * Follows a dotted module name one component at a time, the way {@code ImportFromNode}
+         * imports each package relative to the previous one, and returns the last path found.
+         */
+        private String add(String importer, String module) {
+            String path = importer;
+            boolean first = true;
+
+            for (String name : module.split("\\.")) {
+                path = first ? findTopLevel(path, name) : importManager.findModulePath(path, name);
+                first = false;
+
+                if (path == null) {
+                    return null;
+                }
+
+                paths.add(path);
+            }
+
+            return path;
+        }
+
+        /**
+         * A module inside a package names its own package absolutely, e.g. {@code from pkg import a}
+         * in {@code pkg/__init__.py}, so the directories above enclosing packages are searched too.
+         */
+        private String findTopLevel(String importer, String name) {
+            String path = importManager.findModulePath(importer, name);
+            File directory = new File(importer).getAbsoluteFile().getParentFile();
+
+            while (path == null && directory != null && new File(directory, "__init__.py").exists()) {
+                path = importManager.findModulePath(directory.getPath(), name);
+                directory = directory.getParentFile();
+            }
+
+            return path;
+        }
+
+        @Override
+        public Object visitImport(Import node) throws Exception {
+            for (alias name : node.getInternalNames()) {
+                add(modulePath, name.getInternalName());
+            }
+
+            return null;
+        }
+
+        @Override
+        public Object visitImportFrom(ImportFrom node) throws Exception {
+            final Integer level = node.getInternalLevel();
+
+            if ((level != null && level != 0) || node.getInternalModule() == null) {
+                return null;
+            }
+
+            final String packagePath = add(modulePath, node.getInternalModule());
+
+            if (packagePath != null) {
+                // imported names may be submodules of the package
+                for (alias name : node.getInternalNames()) {
+                    if (!name.getInternalName().equals("*")) {
+                        add(packagePath, name.getInternalName());
+                    }
+                }
+            }
+
+            return null;
+        }
+
+    }
+
+}
@@ -41,15 +41,31 @@ import edu.uci.python.runtime.standardtype.*;
 
 public class PythonParserImpl implements PythonParser {
 
+    private ModuleASTCache astCache;
+
+    private ModulePrefetcher prefetcher;
+
     /**
      * Parse input program to AST that is ready to interpret.
      */
 
     @Override
     public PythonParseResult parse(PythonContext context, PythonModule module, Source source) {
-        InputStream istream = new ByteArrayInputStream(source.getCode().getBytes());
         String filename = source.getPath();
-        org.python.antlr.base.mod node = ParserFacade.parse(istream, CompileMode.exec, filename, cookCompilerFlags());
+        mod node = null;
+
+        if (filename != null && prefetcher != null) {
+            node = prefetcher.take(filename);
+        }
+
+        if (node == null) {
+            byte[] code = source.getCode().getBytes();
+            node = filename != null ? parseFile(new File(filename), code) : parseCode(code, null);
+        }
+
+        if (PythonOptions.ImportParallelism > 0 && filename != null) {
+            getPrefetcher(context).prefetchImports(node, filename);
+        }
 
         TranslationEnvironment environment = new TranslationEnvironment(context, module);
         ScopeTranslator ptp = new ScopeTranslator(environment);
@@ -68,6 +84,47 @@ public class PythonParserImpl implements PythonParser {
         return result;
     }
 
+    /**
+     * Parses a module file, going through the module AST cache if it is enabled. Called from the
+     * prefetcher's worker threads as well.
+     */
+    mod parseFile(File file, byte[] code) {
+        if (!PythonOptions.CacheModuleAST) {
+            return parseCode(code, file.getPath());
+        }
+
+        final ModuleASTCache cache = getASTCache();
+        mod node = cache.load(file);
+
+        if (node == null) {
+            node = parseCode(code, file.getPath());
+            cache.store(file, node);
+        }
+
+        return node;
+    }
+
+    private static mod parseCode(byte[] code, String filename) {
+        InputStream istream = new ByteArrayInputStream(code);
+        return ParserFacade.parse(istream, CompileMode.exec, filename, cookCompilerFlags());
+    }
+
+    private synchronized ModuleASTCache getASTCache() {
+        if (astCache == null) {
+            astCache = ModuleASTCache.createDefault();
+        }
+
+        return astCache;
+    }
+
+    private ModulePrefetcher getPrefetcher(PythonContext context) {
+        if (prefetcher == null) {
+            prefetcher = new ModulePrefetcher(this, context.getImportManager(), PythonOptions.ImportParallelism);
+        }
+
+        return prefetcher;
+    }
+
     @Override
     public PythonParseResult parse(PythonContext context, PythonModule module, String expression) {
         mod node = ParserFacade.parseExpressionOrModule(new StringReader(expression), "<eval>", CompilerFlags.getCompilerFlags());
@@ -24,6 +24,7 @@
  */
 package edu.uci.python.parser;
 
+import java.math.*;
 import java.util.*;
 import java.util.List;
 import java.util.Set;
@@ -851,7 +852,13 @@ public class PythonTreeTranslator extends Visitor {
                 // Unpacking
                 List<PNode> targets = assigns.walkTarget(comp.getInternalTarget(), EmptyNode.create());
                 iterWrite = targets.remove(0);
-                current = factory.createBlock(factory.createBlock(targets), current);
+                PNode pairTarget = environment.isInGeneratorScope() ? null : assigns.makePairTarget(comp.getInternalTarget(), iterWrite, targets);
+
+                if (pairTarget != null) {
+                    iterWrite = pairTarget;
+                } else {
+                    current = factory.createBlock(factory.createBlock(targets), current);
+                }
             } else {
                 iterWrite = ((ReadNode) visit(comp.getInternalTarget())).makeWriteNode(EmptyNode.create());
             }
@@ -867,7 +874,7 @@ public class PythonTreeTranslator extends Visitor {
     private LoopNode createForInScope(PNode target, PNode iterator, PNode body) {
         GetIteratorNode getIterator = factory.createGetIterator(iterator);
         getIterator.assignSourceSection(iterator.getSourceSection());
-        return ForNodeFactory.create(body, target, getIterator);
+        return new ForNode(body, target, getIterator);
     }
 
     @Override
@@ -993,7 +1000,17 @@ public class PythonTreeTranslator extends Visitor {
         PNode iter = (PNode) visit(node.getInternalIter());
         List<PNode> body = visitStatements(node.getInternalBody());
         List<PNode> orelse = visitStatements(node.getInternalOrelse());
-        body.addAll(0, targets);
+
+        /**
+         * Generator loops are rebuilt around a plain target later on.
+         */
+        PNode pairTarget = environment.isInGeneratorScope() ? null : assigns.makePairTarget(node.getInternalTarget(), iteratorWrite, targets);
+        if (pairTarget != null) {
+            iteratorWrite = pairTarget;
+        } else {
+            body.addAll(0, targets);
+        }
+
         PNode bodyPart = factory.createBlock(body);
         PNode orelsePart = factory.createBlock(orelse);
         return createForNode(node, iteratorWrite, iter, bodyPart, orelsePart, loops.endLoop());
@@ -1061,7 +1078,13 @@ public class PythonTreeTranslator extends Visitor {
         if (value instanceof PyInteger) {
             return assignSourceFromNode(node, factory.createIntegerLiteral(((PyInteger) value).getValue()));
         } else if (value instanceof PyLong) {
-            return assignSourceFromNode(node, factory.createBigIntegerLiteral(((PyLong) value).getValue()));
+            BigInteger bigValue = ((PyLong) value).getValue();
+
+            if (bigValue.bitLength() < Long.SIZE) {
+                return assignSourceFromNode(node, factory.createLongLiteral(bigValue.longValue()));
+            }
+
+            return assignSourceFromNode(node, factory.createBigIntegerLiteral(bigValue));
         } else if (value instanceof PyFloat) {
             return assignSourceFromNode(node, factory.createDoubleLiteral(((PyFloat) value).getValue()));
         } else if (value instanceof PyComplex) {
@@ -1191,6 +1214,11 @@ public class PythonTreeTranslator extends Visitor {
             SubscriptLoadNode load = (SubscriptLoadNode) target;
             SubscriptDeleteNode subscriptDeleteNode = SubscriptDeleteNodeFactory.create(load.getPrimary(), load.getSlice());
             return assignSourceFromNode(node, subscriptDeleteNode);
+        } else if (target instanceof SubscriptLoadNestedIndexNode) {
+            SubscriptLoadNestedIndexNode load = (SubscriptLoadNestedIndexNode) target;
+            PNode row = SubscriptLoadIndexNodeFactory.create(load.getPrimary(), load.getRow());
+            SubscriptDeleteNode subscriptDeleteNode = SubscriptDeleteNodeFactory.create(row, load.getColumn());
+            return assignSourceFromNode(node, subscriptDeleteNode);
         } else {
             return assignSourceFromNode(node, DeleteNodeFactory.create(target));
         }
@@ -211,16 +211,6 @@ public class TranslationEnvironment {
         return frameDescriptor.findOrAddFrameSlot(tempName);
     }
 
-    public List<PNode> makeTempLocalVariables(List<PNode> rights) {
-        List<PNode> tempWrites = new ArrayList<>();
-
-        for (PNode right : rights) {
-            tempWrites.add(makeTempLocalVariable().makeWriteNode(right));
-        }
-
-        return tempWrites;
-    }
-
     public FrameSlot createGlobal(String name) {
         assert name != null : "name is null!";
         return globalScope.getFrameDescriptor().findOrAddFrameSlot(name);
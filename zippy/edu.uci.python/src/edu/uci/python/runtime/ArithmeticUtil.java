@@ -29,6 +29,7 @@ import java.math.BigInteger;
 import org.python.core.Py;
 
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 public class ArithmeticUtil {
 
@@ -47,14 +48,14 @@ public class ArithmeticUtil {
         return result;
     }
 
-    public static int rightShiftExact(int left, int right) {
-        if (right >= Integer.SIZE || right < 0) {
+    public static long leftShiftExact(long left, long right) {
+        if (right >= Long.SIZE || right < 0) {
             shiftError(right);
         }
 
-        int result = left >> right;
+        long result = left << right;
 
-        if (left != result << right) {
+        if (left != result >> right) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
             throw new ArithmeticException("integer overflow");
         }
@@ -62,16 +63,65 @@ public class ArithmeticUtil {
         return result;
     }
 
-    private static void shiftError(int shiftCount) {
+    /**
+     * Python's right shift floors, so counts past the width of a long just leave the sign.
+     */
+    public static long rightShift(long left, long right) {
+        checkShiftCount(right);
+        return left >> Math.min(right, Long.SIZE - 1);
+    }
+
+    /**
+     * Python's integer division floors, so a non zero remainder takes the sign of the divisor.
+     */
+    @TruffleBoundary
+    public static BigInteger[] floorDivideAndRemainder(BigInteger left, BigInteger right) {
+        if (right.signum() == 0) {
+            throw Py.ZeroDivisionError("integer division or modulo by zero");
+        }
+
+        final BigInteger[] result = left.divideAndRemainder(right);
+
+        if (result[1].signum() != 0 && result[1].signum() != right.signum()) {
+            result[0] = result[0].subtract(BigInteger.ONE);
+            result[1] = result[1].add(right);
+        }
+
+        return result;
+    }
+
+    public static void checkShiftCount(long shiftCount) {
+        if (shiftCount < 0) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw Py.ValueError("negative shift count");
+        }
+    }
+
+    private static void shiftError(long shiftCount) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
 
-        if (shiftCount >= Integer.SIZE) {
+        if (shiftCount > 0) {
             throw new ArithmeticException("integer overflow");
         } else if (shiftCount < 0) {
             throw Py.ValueError("negative shift count");
         }
     }
 
+    /**
+     * Returns the value in the smallest integer tier that holds it: int, long or BigInteger.
+     */
+    public static Object narrow(BigInteger value) {
+        final int bitLength = value.bitLength();
+
+        if (bitLength < Integer.SIZE) {
+            return value.intValue();
+        } else if (bitLength < Long.SIZE) {
+            return value.longValue();
+        } else {
+            return value;
+        }
+    }
+
     public static boolean isZero(int value) {
         return value == 0;
     }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import java.math.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Python hash and key equality used by the hash based dict and set storages.
+ * <p>
+ * Numbers that compare equal in Python (1, 1L, 1.0 and True) hash to the same value, and a str
+ * hashes the same whether it is a {@link String}, a {@link PString} or a single char.
+ */
+public class HashingUtil {
+
+    public static int hash(int value) {
+        return hash((long) value);
+    }
+
+    public static int hash(long value) {
+        return (int) (value ^ (value >>> 32));
+    }
+
+    public static int hash(double value) {
+        final long longValue = (long) value;
+
+        if (longValue == value) {
+            return hash(longValue);
+        }
+
+        return Double.hashCode(value);
+    }
+
+    public static int hash(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    @TruffleBoundary
+    public static int hash(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return hash(value.longValue());
+        }
+
+        return value.hashCode();
+    }
+
+    public static int hash(Object key) {
+        if (key instanceof Integer) {
+            return hash((int) key);
+        } else if (key instanceof String) {
+            return hashString((String) key);
+        } else if (key instanceof Double) {
+            return hash((double) key);
+        } else if (key instanceof Long) {
+            return hash((long) key);
+        } else if (key instanceof Boolean) {
+            return hash((boolean) key);
+        } else if (key instanceof BigInteger) {
+            return hash((BigInteger) key);
+        } else if (key instanceof PString) {
+            return hashString(((PString) key).getValue());
+        }
+
+        return hashObject(key);
+    }
+
+    @TruffleBoundary
+    private static int hashString(String value) {
+        return value.hashCode();
+    }
+
+    @TruffleBoundary
+    private static int hashObject(Object key) {
+        return key.hashCode();
+    }
+
+    /**
+     * Python's {@code ==} on dict keys and set elements.
+     */
+    public static boolean keyEquals(Object left, Object right) {
+        if (left == right) {
+            return true;
+        }
+
+        if (isNumber(left) && isNumber(right)) {
+            return numberEquals(left, right);
+        }
+
+        if (isString(left) && isString(right)) {
+            return stringEquals(asString(left), asString(right));
+        }
+
+        return objectEquals(left, right);
+    }
+
+    private static boolean isNumber(Object value) {
+        return value instanceof Integer || value instanceof Double || value instanceof Long || value instanceof Boolean || value instanceof BigInteger;
+    }
+
+    private static boolean isString(Object value) {
+        return value instanceof String || value instanceof PString || value instanceof Character;
+    }
+
+    private static String asString(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof PString) {
+            return ((PString) value).getValue();
+        }
+
+        return String.valueOf((char) value);
+    }
+
+    private static boolean numberEquals(Object left, Object right) {
+        if (left instanceof Double || right instanceof Double) {
+            return toDouble(left) == toDouble(right);
+        } else if (left instanceof BigInteger || right instanceof BigInteger) {
+            return bigIntegerEquals(toBigInteger(left), toBigInteger(right));
+        }
+
+        return toLong(left) == toLong(right);
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Integer) {
+            return (int) value;
+        } else if (value instanceof Long) {
+            return (long) value;
+        }
+
+        return (boolean) value ? 1 : 0;
+    }
+
+    @TruffleBoundary
+    private static double toDouble(Object value) {
+        if (value instanceof Double) {
+            return (double) value;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).doubleValue();
+        }
+
+        return toLong(value);
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+
+        return BigInteger.valueOf(toLong(value));
+    }
+
+    @TruffleBoundary
+    private static boolean bigIntegerEquals(BigInteger left, BigInteger right) {
+        return left.equals(right);
+    }
+
+    @TruffleBoundary
+    private static boolean stringEquals(String left, String right) {
+        return left.equals(right);
+    }
+
+    @TruffleBoundary
+    private static boolean objectEquals(Object left, Object right) {
+        return left.equals(right);
+    }
+
+    /**
+     * Int keyed storages also answer lookups with keys that compare equal to an int, such as True,
+     * 1.0 or a small long. Returns the int, or null if {@code key} cannot equal any int.
+     */
+    public static Integer asIntKey(Object key) {
+        if (key instanceof Integer) {
+            return (Integer) key;
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1 : 0;
+        } else if (key instanceof Long) {
+            final long value = (long) key;
+            return (int) value == value ? (int) value : null;
+        } else if (key instanceof Double) {
+            final double value = (double) key;
+            return (int) value == value ? (int) value : null;
+        } else if (key instanceof BigInteger) {
+            final BigInteger value = (BigInteger) key;
+            return value.bitLength() < Integer.SIZE ? value.intValue() : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns {@code key} as a {@link String} if it is a str, or null otherwise.
+     */
+    public static String asStringKey(Object key) {
+        if (key instanceof String) {
+            return (String) key;
+        } else if (key instanceof PString) {
+            return ((PString) key).getValue();
+        } else if (key instanceof Character) {
+            return String.valueOf((char) key);
+        }
+
+        return null;
+    }
+
+}
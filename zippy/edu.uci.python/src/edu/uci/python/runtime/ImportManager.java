@@ -27,6 +27,7 @@ package edu.uci.python.runtime;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.python.core.*;
 
@@ -83,7 +84,8 @@ public class ImportManager {
 
     public ImportManager(PythonContext context) {
         this.context = context;
-        this.paths = new ArrayList<>();
+        // read by the module prefetcher's worker threads
+        this.paths = new CopyOnWriteArrayList<>();
         this.importedModules = new HashMap<>();
         this.unsupportedImports = new HashMap<>();
         this.jythonImports = new HashMap<>();
@@ -172,6 +174,35 @@ public class ImportManager {
         return importFromJython(path, moduleName);
     }
 
+    /**
+     * Resolves the file an import of {@code module} from the module at {@code importerPath} would
+     * load, without importing anything. Returns null for builtin and unsupported modules, and for
+     * modules that only Jython can provide. Safe to call from other threads.
+     */
+    public String findModulePath(String importerPath, String module) {
+        String moduleName = getModuleName(module);
+
+        if (unsupportedImports.containsKey(moduleName) || context.getPythonBuiltinsLookup().lookupModule(moduleName) != null) {
+            return null;
+        }
+
+        String path = importerPath == null ? null : getPathFromImporterPath(moduleName, importerPath);
+
+        if (path != null) {
+            return path;
+        }
+
+        for (String directoryPath : paths) {
+            path = getPathFromLibrary(directoryPath, moduleName);
+
+            if (path != null) {
+                return path;
+            }
+        }
+
+        return null;
+    }
+
     private void updateSystemPathFromJython() {
         PyList jythonSystemPaths = Py.getSystemState().path;
 
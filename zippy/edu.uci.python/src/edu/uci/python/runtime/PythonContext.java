@@ -32,6 +32,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
@@ -53,7 +54,7 @@ public class PythonContext extends ExecutionContext {
 
     private static PythonContext currentContext;
 
-    private RuntimeException currentException;
+    private PException currentException;
 
     public PythonContext(PythonOptions opts, PythonBuiltinsLookup lookup, PythonParser parser) {
         this.options = opts;
@@ -167,11 +168,11 @@ public class PythonContext extends ExecutionContext {
         return functionRegistry;
     }
 
-    public void setCurrentException(RuntimeException e) {
+    public void setCurrentException(PException e) {
         currentException = e;
     }
 
-    public RuntimeException getCurrentException() {
+    public PException getCurrentException() {
         assert currentException != null;
         return currentException;
     }
@@ -43,6 +43,10 @@ public class PythonOptions {
 
     public static final boolean TraceSequenceStorageGeneralization = false;
 
+    public static final boolean TraceDictStorageGeneralization = false;
+
+    public static final boolean TraceSetStorageGeneralization = false;
+
     public static boolean TraceObjectLayoutCreation = false;
 
     // Object storage allocation
@@ -62,6 +66,20 @@ public class PythonOptions {
 
     public static final int CallSiteInlineCacheMaxDepth = 20;
 
+    public static final int ExceptMatchInlineCacheMaxDepth = 4;
+
+    // str concatenations producing at least this many chars build a rope instead of copying
+    public static final int StringRopeThreshold = 1024;
+
+    // int, long and float lists of at least this many elements are sorted in parallel
+    public static int ParallelSortThreshold = 1 << 16;
+
+    // lists of equally long int or float lists keep their rows in one flat array
+    public static boolean FlatMatrixStorage = true;
+
+    // int, long and float lists of at least this many elements live in direct memory; off by default
+    public static int OffHeapStorageThreshold = Integer.MAX_VALUE;
+
     public static boolean FlexibleObjectStorageEvolution = false;
 
     public static boolean FlexibleObjectStorage = false;
@@ -73,6 +91,17 @@ public class PythonOptions {
 
     public static boolean TraceGeneratorInlining = false;
 
+    // suspend generators at yield by returning through their control nodes instead of throwing
+    public static boolean GeneratorStateMachine = false;
+
+    // Module loading
+    public static boolean CacheModuleAST = false;
+
+    public static String ModuleASTCacheDirectory = null;
+
+    // number of threads parsing imported modules ahead of time, 0 to parse on demand
+    public static int ImportParallelism = 0;
+
     // Profiling
     public static boolean ProfileCalls = false;
 
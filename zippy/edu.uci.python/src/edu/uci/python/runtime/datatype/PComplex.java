@@ -24,6 +24,9 @@
  */
 package edu.uci.python.runtime.datatype;
 
+import org.python.core.*;
+
+import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public final class PComplex extends PythonBuiltinObject {
@@ -62,14 +65,86 @@ public final class PComplex extends PythonBuiltinObject {
         return new PComplex(newReal, newImage);
     }
 
+    /**
+     * Works on the components directly rather than through {@link #getConjugate()}, so that no
+     * intermediate complex is allocated.
+     */
     public PComplex div(PComplex c) {
-        double opNormSq = c.getReal() * c.getReal() + c.getImag() * c.getImag();
-        PComplex conjugate = c.getConjugate();
-        double realPart = real * conjugate.getReal() - imag * conjugate.getImag();
-        double imagPart = real * conjugate.getImag() + imag * conjugate.getReal();
+        double opNormSq = c.real * c.real + c.imag * c.imag;
+        if (opNormSq == 0) {
+            throw Py.ZeroDivisionError("complex division by zero");
+        }
+
+        double realPart = real * c.real + imag * c.imag;
+        double imagPart = imag * c.real - real * c.imag;
         return new PComplex(realPart / opNormSq, imagPart / opNormSq);
     }
 
+    public PComplex neg() {
+        return new PComplex(-real, -imag);
+    }
+
+    public double abs() {
+        return FastMathUtil.hypot(real, imag);
+    }
+
+    /**
+     * Integral powers are computed by repeated squaring on the components, as CPython does for
+     * small exponents.
+     */
+    public PComplex pow(int exponent) {
+        if (exponent < 0) {
+            return new PComplex(1, 0).div(pow(-exponent));
+        }
+
+        double resultReal = 1;
+        double resultImag = 0;
+        double baseReal = real;
+        double baseImag = imag;
+        int n = exponent;
+
+        while (n > 0) {
+            if ((n & 1) != 0) {
+                double r = resultReal * baseReal - resultImag * baseImag;
+                resultImag = resultReal * baseImag + resultImag * baseReal;
+                resultReal = r;
+            }
+
+            double r = baseReal * baseReal - baseImag * baseImag;
+            baseImag = 2 * baseReal * baseImag;
+            baseReal = r;
+            n >>= 1;
+        }
+
+        return new PComplex(resultReal, resultImag);
+    }
+
+    public PComplex pow(PComplex c) {
+        if (c.real == 0 && c.imag == 0) {
+            return new PComplex(1, 0);
+        }
+
+        if (real == 0 && imag == 0) {
+            if (c.imag != 0 || c.real < 0) {
+                throw Py.ZeroDivisionError("0.0 to a negative or complex power");
+            }
+
+            return new PComplex(0, 0);
+        }
+
+        double vabs = abs();
+        double length = Math.pow(vabs, c.real);
+        double at = Math.atan2(imag, real);
+        double phase = at * c.real;
+
+        if (c.imag != 0) {
+            length /= Math.exp(at * c.imag);
+            phase += c.imag * Math.log(vabs);
+        }
+
+        return new PComplex(length * Math.cos(phase), length * Math.sin(phase));
+    }
+
     public PComplex getConjugate() {
         return new PComplex(real, imag * (-1));
     }
@@ -84,22 +159,22 @@ public final class PComplex extends PythonBuiltinObject {
 
     @SuppressWarnings({"unused", "static-method"})
     public boolean greaterEqual(PComplex c) {
-        throw new RuntimeException("cannot compare complex numbers using <, <=, >, >=");
+        throw Py.TypeError("unorderable types: complex() >= complex()");
     }
 
     @SuppressWarnings({"unused", "static-method"})
     public boolean greaterThan(PComplex c) {
-        throw new RuntimeException("cannot compare complex numbers using <, <=, >, >=");
+        throw Py.TypeError("unorderable types: complex() > complex()");
     }
 
     @SuppressWarnings({"unused", "static-method"})
     public boolean lessEqual(PComplex c) {
-        throw new RuntimeException("cannot compare complex numbers using <, <=, >, >=");
+        throw Py.TypeError("unorderable types: complex() <= complex()");
     }
 
     @SuppressWarnings({"unused", "static-method"})
     public boolean lessThan(PComplex c) {
-        throw new RuntimeException("cannot compare complex numbers using <, <=, >, >=");
+        throw Py.TypeError("unorderable types: complex() < complex()");
     }
 
     public double getReal() {
@@ -24,13 +24,14 @@
  */
 package edu.uci.python.runtime.datatype;
 
-import java.util.*;
-import java.util.Map.Entry;
+import org.python.core.*;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
@@ -40,24 +41,18 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PDict.class);
 
-    private final Map<Object, Object> map;
+    @CompilationFinal private DictStorage store;
 
     public PDict() {
-        map = new TreeMap<>();
+        store = EmptyDictStorage.INSTANCE;
     }
 
-    public PDict(Map<Object, Object> map) {
-        this();
-        addAll(map);
-    }
-
-    @TruffleBoundary
-    private void addAll(Map<Object, Object> mapToAdd) {
-        this.map.putAll(mapToAdd);
+    private PDict(DictStorage store) {
+        this.store = store;
     }
 
     public PDict(PIterator iter) {
-        map = new TreeMap<>();
+        this();
 
         try {
             while (true) {
@@ -70,7 +65,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     private void unpackKeyValuePair(Object obj) {
         if (obj instanceof PSequence && ((PSequence) obj).len() == 2) {
-            map.put(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
+            setItem(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
         } else {
             throw new RuntimeException("invalid args for dict()");
         }
@@ -81,56 +76,83 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         return __class__;
     }
 
+    public DictStorage getStorage() {
+        return store;
+    }
+
+    /**
+     * Returns the value mapped to {@code key}, or null if there is none.
+     */
     public Object getItem(Object key) {
-        return map.get(key);
+        return store.getItem(key);
     }
 
-    public void setItem(Object key, Object value) {
-        map.put(key, value);
+    /**
+     * Subscript read, raises KeyError for a missing key.
+     */
+    public Object getItemOrRaise(Object key) {
+        final Object value = store.getItem(key);
+
+        if (value == null) {
+            throw new PException(Py.KeyError, String.valueOf(key));
+        }
+
+        return value;
     }
 
-    public void delItem(Object key) {
-        map.remove(key);
+    public void setItem(Object key, Object value) {
+        try {
+            store.setItem(key, value);
+        } catch (DictStoreException e) {
+            store = store.generalizeFor(key, value);
+
+            try {
+                store.setItem(key, value);
+            } catch (DictStoreException e1) {
+                throw new IllegalStateException();
+            }
+        }
     }
 
-    public Collection<Object> items() {
-        return map.values();
+    /**
+     * Removes {@code key} and returns its value, or null if the key is absent.
+     */
+    public Object delItem(Object key) {
+        return store.delItem(key);
     }
 
-    public Collection<Object> keys() {
-        return map.keySet();
+    public boolean hasKey(Object key) {
+        return store.hasKey(key);
     }
 
-    public Map<Object, Object> getMap() {
-        return map;
+    public void clear() {
+        store = EmptyDictStorage.INSTANCE;
     }
 
-    public boolean hasKey(Object key) {
-        return this.map.containsKey(key);
+    public PDict copy() {
+        return new PDict(store.copy());
     }
 
     public PIterator __iter__() {
-        return new PDictIterator(map.keySet().iterator());
+        return new PDictIterator(this, PDictIterator.KEYS);
     }
 
     public PIterator values() {
-        return new PDictIterator(map.values().iterator());
+        return new PDictIterator(this, PDictIterator.VALUES);
     }
 
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder("{");
-        int length = map.size();
-        int i = 0;
+        int entry = store.nextEntry(0);
 
-        for (Entry<?, ?> entry : map.entrySet()) {
-            buf.append(entry.getKey() + ": " + entry.getValue());
+        while (entry != -1) {
+            buf.append(store.getKeyAt(entry) + ": " + store.getValueAt(entry));
+            entry = store.nextEntry(entry + 1);
 
-            if (i < length - 1) {
+            if (entry != -1) {
                 buf.append(", ");
             }
-
-            i++;
         }
 
         buf.append("}");
@@ -139,7 +161,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     @Override
     public int len() {
-        return map.size();
+        return store.length();
     }
 
     @Override
@@ -149,7 +171,20 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         }
 
         PDict otherDict = (PDict) other;
-        return map.equals(otherDict.getMap());
+
+        if (len() != otherDict.len()) {
+            return false;
+        }
+
+        for (int entry = store.nextEntry(0); entry != -1; entry = store.nextEntry(entry + 1)) {
+            Object otherValue = otherDict.getItem(store.getKeyAt(entry));
+
+            if (otherValue == null || !HashingUtil.keyEquals(store.getValueAt(entry), otherValue)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
@@ -24,9 +24,7 @@
  */
 package edu.uci.python.runtime.datatype;
 
-import java.util.*;
-import java.util.Map.Entry;
-
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
@@ -66,23 +64,49 @@ public class PDictView {
         }
     }
 
-    public static final class PDictViewItemsIterator implements PIterator {
+    public static final class PDictViewItemsIterator implements PPairIterator {
 
-        private final Iterator<Entry<Object, Object>> iterator;
+        private final PDict dict;
+        private int entry;
+        private Object second;
 
         public PDictViewItemsIterator(PDict dict) {
-            iterator = dict.getMap().entrySet().iterator();
+            this.dict = dict;
         }
 
         @Override
         public Object __next__() throws StopIterationException {
-            if (iterator.hasNext()) {
-                Entry<Object, Object> entry = iterator.next();
-                return new PTuple(new Object[]{entry.getKey(), entry.getValue()});
+            final DictStorage store = dict.getStorage();
+            final int next = store.nextEntry(entry);
+
+            if (next != -1) {
+                entry = next + 1;
+                return PTuple.create(store.getKeyAt(next), store.getValueAt(next));
+            }
+
+            throw StopIterationException.INSTANCE;
+        }
+
+        public boolean producesPairs() {
+            return true;
+        }
+
+        public Object __nextFirst__() throws StopIterationException {
+            final DictStorage store = dict.getStorage();
+            final int next = store.nextEntry(entry);
+
+            if (next != -1) {
+                entry = next + 1;
+                second = store.getValueAt(next);
+                return store.getKeyAt(next);
             }
 
             throw StopIterationException.INSTANCE;
         }
+
+        public Object getSecond() {
+            return second;
+        }
     }
 
 }
@@ -28,6 +28,7 @@ import org.python.core.*;
 
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
@@ -111,9 +112,8 @@ public final class PRange extends PImmutableSequence {
     }
 
     public Object getItemNormalized(int index) {
-        if (index >= length) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("range object index out of range");
+        if (index < 0 || index >= length) {
+            throw new PException(Py.IndexError, "range object index out of range");
         }
 
         return index * step + start;
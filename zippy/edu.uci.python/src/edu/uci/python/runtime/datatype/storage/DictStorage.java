@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+/**
+ * Storage strategy of a {@link edu.uci.python.runtime.datatype.PDict}.
+ * <p>
+ * Like {@link edu.uci.python.runtime.sequence.storage.SequenceStorage}, a storage that cannot hold
+ * a key or value throws {@link DictStoreException} and the owner replaces it with the storage
+ * returned by {@link #generalizeFor}.
+ * <p>
+ * Entries are addressed by position in insertion order. {@link #nextEntry} skips deleted
+ * positions, which is how iterators walk a dict.
+ */
+public abstract class DictStorage {
+
+    public abstract int length();
+
+    /**
+     * Returns the value mapped to {@code key}, or null if there is none.
+     */
+    public abstract Object getItem(Object key);
+
+    public abstract boolean hasKey(Object key);
+
+    public abstract void setItem(Object key, Object value) throws DictStoreException;
+
+    /**
+     * Removes {@code key} and returns its value, or null if the key is absent.
+     */
+    public abstract Object delItem(Object key);
+
+    public abstract DictStorage copy();
+
+    /**
+     * Returns the position of the first live entry at or after {@code from}, or -1 when there is
+     * none.
+     */
+    public abstract int nextEntry(int from);
+
+    /**
+     * Returns the position of the most recently inserted live entry, or -1 when empty.
+     */
+    public abstract int lastEntry();
+
+    public abstract Object getKeyAt(int entry);
+
+    public abstract Object getValueAt(int entry);
+
+    public abstract DictStorage generalizeFor(Object key, Object value);
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+
+import edu.uci.python.runtime.*;
+
+public final class EmptySetStorage extends SetStorage {
+
+    public static final EmptySetStorage INSTANCE = new EmptySetStorage();
+
+    private EmptySetStorage() {
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object element) {
+        final SetStorage generalized;
+
+        if (element instanceof Integer) {
+            generalized = new IntSetStorage();
+        } else if (element instanceof String) {
+            generalized = new StringSetStorage();
+        } else {
+            generalized = new ObjectSetStorage();
+        }
+
+        if (PythonOptions.TraceSetStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to " + generalized);
+        }
+
+        return generalized;
+    }
+
+    @Override
+    public int length() {
+        return 0;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return false;
+    }
+
+    @Override
+    public boolean add(Object element) throws SetStoreException {
+        throw SetStoreException.INSTANCE;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        return false;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return this;
+    }
+
+    @Override
+    public int nextSlot(int from) {
+        return -1;
+    }
+
+    @Override
+    public Object getItemAt(int slot) {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    public void removeSlot(int slot) {
+        throw new IndexOutOfBoundsException();
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Insertion ordered open addressing hash table shared by the non-empty dict storages.
+ * <p>
+ * The layout follows CPython 3.6's compact dict: a sparse power-of-two index table maps probe slots
+ * to positions in dense entry arrays that are kept in insertion order. This class owns the index
+ * table and the per entry hashes, subclasses own the key and value arrays in whatever
+ * representation suits them. Deleted entries stay in place until the next resize squeezes them
+ * out.
+ */
+public abstract class HashDictStorage extends DictStorage {
+
+    protected static final int EMPTY = -1;
+    protected static final int DUMMY = -2;
+    protected static final int PERTURB_SHIFT = 5;
+    private static final int MIN_INDEX_SIZE = 8;
+
+    // sparse index table
+    protected int[] indices;
+
+    // dense entry hashes in insertion order
+    protected int[] hashes;
+
+    // number of entry positions handed out, including deleted ones
+    protected int used;
+
+    // number of live entries
+    protected int size;
+
+    // allocated on the first deletion
+    private boolean[] deleted;
+
+    protected HashDictStorage(int expectedSize) {
+        final int indexSize = indexSizeFor(expectedSize);
+        indices = new int[indexSize];
+        Arrays.fill(indices, EMPTY);
+        hashes = new int[usableFraction(indexSize)];
+    }
+
+    /**
+     * The index table is kept at most two thirds full.
+     */
+    private static int usableFraction(int indexSize) {
+        return (indexSize << 1) / 3;
+    }
+
+    private static int indexSizeFor(int expectedSize) {
+        int indexSize = MIN_INDEX_SIZE;
+
+        while (usableFraction(indexSize) < expectedSize) {
+            indexSize <<= 1;
+        }
+
+        return indexSize;
+    }
+
+    protected final int capacity() {
+        return hashes.length;
+    }
+
+    @Override
+    public final int length() {
+        return size;
+    }
+
+    @Override
+    public final int nextEntry(int from) {
+        for (int i = from; i < used; i++) {
+            if (deleted == null || !deleted[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public final int lastEntry() {
+        for (int i = used - 1; i >= 0; i--) {
+            if (deleted == null || !deleted[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reserves the next entry position for a new key with the given hash, growing the table if
+     * needed. The caller fills in the key and value.
+     */
+    protected final int appendEntry(int hash) {
+        if (used == hashes.length) {
+            resize();
+        }
+
+        indices[findEmptySlot(hash)] = used;
+        hashes[used] = hash;
+        size++;
+        return used++;
+    }
+
+    /**
+     * Unlinks the entry referred to by {@code slot} and returns its position.
+     */
+    protected final int removeEntry(int slot) {
+        final int entry = indices[slot];
+        indices[slot] = DUMMY;
+
+        if (deleted == null) {
+            deleted = new boolean[hashes.length];
+        }
+
+        deleted[entry] = true;
+        size--;
+        clearEntry(entry);
+        return entry;
+    }
+
+    protected final int findEmptySlot(int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (indices[slot] != EMPTY) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Probes for an int key. Only used by storages whose keys are all ints, so there is no need to
+     * compare hashes.
+     */
+    protected final int findIntSlot(int[] keys, int key) {
+        final int mask = indices.length - 1;
+        final int hash = HashingUtil.hash(key);
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0 && keys[entry] == key) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    /**
+     * Probes for an arbitrary key using Python key equality.
+     */
+    protected final int findObjectSlot(Object[] keys, Object key, int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0 && hashes[entry] == hash && HashingUtil.keyEquals(keys[entry], key)) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        if (deleted != null) {
+            compact();
+        }
+
+        final int indexSize = indexSizeFor(size * 3);
+        final int newCapacity = usableFraction(indexSize);
+        indices = new int[indexSize];
+        Arrays.fill(indices, EMPTY);
+        hashes = Arrays.copyOf(hashes, newCapacity);
+        resizeEntries(newCapacity);
+
+        for (int i = 0; i < used; i++) {
+            indices[findEmptySlot(hashes[i])] = i;
+        }
+    }
+
+    /**
+     * Slides the live entries down over the deleted ones, preserving their order.
+     */
+    private void compact() {
+        int live = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (!deleted[i]) {
+                if (i != live) {
+                    hashes[live] = hashes[i];
+                    moveEntry(i, live);
+                }
+
+                live++;
+            }
+        }
+
+        for (int i = live; i < used; i++) {
+            clearEntry(i);
+        }
+
+        used = live;
+        deleted = null;
+    }
+
+    protected abstract void resizeEntries(int newCapacity);
+
+    protected abstract void moveEntry(int from, int to);
+
+    /**
+     * Drops the references held by a dead entry.
+     */
+    protected abstract void clearEntry(int entry);
+
+    /**
+     * Copies the live entries into a generic storage, in order.
+     */
+    protected final ObjectDictStorage toObjectStorage() {
+        final ObjectDictStorage generalized = new ObjectDictStorage(size);
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            generalized.setItem(getKeyAt(i), getValueAt(i));
+        }
+
+        return generalized;
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key, Object value) {
+        if (PythonOptions.TraceDictStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to ObjectDictStorage");
+        }
+
+        return toObjectStorage();
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Open addressing hash table shared by the non-empty set storages.
+ * <p>
+ * This class owns the slot states and the probing scheme, subclasses own the element arrays. The
+ * table is kept at most two thirds full, counting deleted slots, and probes with CPython's
+ * perturbation sequence so that clustered int elements stay cheap.
+ */
+public abstract class HashSetStorage extends SetStorage {
+
+    protected static final byte EMPTY = 0;
+    protected static final byte FULL = 1;
+    protected static final byte DUMMY = 2;
+    protected static final int PERTURB_SHIFT = 5;
+    private static final int MIN_TABLE_SIZE = 8;
+
+    protected byte[] states;
+
+    // number of live elements
+    protected int size;
+
+    // number of live and deleted slots
+    private int fill;
+
+    protected HashSetStorage(int expectedSize) {
+        states = new byte[tableSizeFor(expectedSize)];
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int tableSize = MIN_TABLE_SIZE;
+
+        while ((tableSize << 1) / 3 <= expectedSize) {
+            tableSize <<= 1;
+        }
+
+        return tableSize;
+    }
+
+    @Override
+    public final int length() {
+        return size;
+    }
+
+    @Override
+    public final int nextSlot(int from) {
+        for (int i = from; i < states.length; i++) {
+            if (states[i] == FULL) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public final void removeSlot(int slot) {
+        assert states[slot] == FULL;
+        states[slot] = DUMMY;
+        size--;
+        clearSlot(slot);
+    }
+
+    /**
+     * Marks a slot the subclass has just filled as occupied, growing the table if it got too full.
+     */
+    protected final void occupy(int slot) {
+        if (states[slot] == EMPTY) {
+            fill++;
+        }
+
+        states[slot] = FULL;
+        size++;
+
+        if (fill * 3 >= states.length << 1) {
+            resize();
+        }
+    }
+
+    protected final int findEmptySlot(int hash) {
+        final int mask = states.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (states[slot] != EMPTY) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void resize() {
+        final byte[] oldStates = states;
+        states = new byte[tableSizeFor(size << 1)];
+        fill = size;
+        rehash(oldStates);
+    }
+
+    /**
+     * Moves the elements in the {@code oldStates} slots into a freshly allocated table of
+     * {@code states.length} slots, using {@link #findEmptySlot}.
+     */
+    protected abstract void rehash(byte[] oldStates);
+
+    /**
+     * Drops the reference held by a removed slot.
+     */
+    protected abstract void clearSlot(int slot);
+
+    @Override
+    public SetStorage generalizeFor(Object element) {
+        final ObjectSetStorage generalized = new ObjectSetStorage(size);
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            generalized.add(getItemAt(i));
+        }
+
+        if (PythonOptions.TraceSetStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to " + generalized);
+        }
+
+        return generalized;
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * Dict storage for int keys mapping to int values, e.g. counters and histograms. Both keys and values are kept unboxed.
+ */
+public final class IntIntDictStorage extends HashDictStorage {
+
+    private int[] keys;
+    private int[] values;
+
+    public IntIntDictStorage() {
+        this(0);
+    }
+
+    public IntIntDictStorage(int expectedSize) {
+        super(expectedSize);
+        keys = new int[capacity()];
+        values = new int[capacity()];
+    }
+
+    public int getIntItem(int key) {
+        final int slot = findIntSlot(keys, key);
+
+        if (slot == EMPTY) {
+            throw new PException(Py.KeyError, String.valueOf(key));
+        }
+
+        return values[indices[slot]];
+    }
+
+    public void setIntItem(int key, int value) {
+        final int slot = findIntSlot(keys, key);
+
+        if (slot != EMPTY) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int entry = appendEntry(HashingUtil.hash(key));
+        keys[entry] = key;
+        values[entry] = value;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final Integer intKey = HashingUtil.asIntKey(key);
+
+        if (intKey == null) {
+            return null;
+        }
+
+        final int slot = findIntSlot(keys, intKey);
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        final Integer intKey = HashingUtil.asIntKey(key);
+        return intKey != null && findIntSlot(keys, intKey) != EMPTY;
+    }
+
+    @Override
+    public void setItem(Object key, Object value) throws DictStoreException {
+        if (key instanceof Integer && value instanceof Integer) {
+            setIntItem((int) key, (int) value);
+        } else {
+            throw DictStoreException.INSTANCE;
+        }
+    }
+
+    @Override
+    public Object delItem(Object key) {
+        final Integer intKey = HashingUtil.asIntKey(key);
+
+        if (intKey == null) {
+            return null;
+        }
+
+        final int slot = findIntSlot(keys, intKey);
+
+        if (slot == EMPTY) {
+            return null;
+        }
+
+        final int value = values[indices[slot]];
+        removeEntry(slot);
+        return value;
+    }
+
+    @Override
+    public DictStorage copy() {
+        final IntIntDictStorage copy = new IntIntDictStorage(size);
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            copy.setIntItem(keys[i], values[i]);
+        }
+
+        return copy;
+    }
+
+    public int getIntKeyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    public Object getKeyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    public Object getValueAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    protected void resizeEntries(int newCapacity) {
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    @Override
+    protected void moveEntry(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearEntry(int entry) {
+        // primitive entries hold no references
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Set storage holding only ints, unboxed in the slot array.
+ */
+public final class IntSetStorage extends HashSetStorage {
+
+    private int[] elements;
+
+    public IntSetStorage() {
+        this(0);
+    }
+
+    public IntSetStorage(int expectedSize) {
+        super(expectedSize);
+        elements = new int[states.length];
+    }
+
+    /**
+     * Returns the slot holding {@code element}, or the bitwise complement of the slot it would be
+     * inserted into.
+     */
+    private int findSlot(int element) {
+        final int mask = states.length - 1;
+        final int hash = HashingUtil.hash(element);
+        int perturb = hash;
+        int slot = hash & mask;
+        int freeSlot = -1;
+
+        while (true) {
+            final byte state = states[slot];
+
+            if (state == EMPTY) {
+                return ~(freeSlot == -1 ? slot : freeSlot);
+            } else if (state == FULL) {
+                if (elements[slot] == element) {
+                    return slot;
+                }
+            } else if (freeSlot == -1) {
+                freeSlot = slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    public boolean containsInt(int element) {
+        return findSlot(element) >= 0;
+    }
+
+    public boolean addInt(int element) {
+        final int slot = findSlot(element);
+
+        if (slot >= 0) {
+            return false;
+        }
+
+        elements[~slot] = element;
+        occupy(~slot);
+        return true;
+    }
+
+    public boolean removeInt(int element) {
+        final int slot = findSlot(element);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeSlot(slot);
+        return true;
+    }
+
+    public int getIntItemAt(int slot) {
+        return elements[slot];
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        final Integer value = HashingUtil.asIntKey(element);
+        return value != null && containsInt(value);
+    }
+
+    @Override
+    public boolean add(Object element) throws SetStoreException {
+        if (element instanceof Integer) {
+            return addInt((int) element);
+        }
+
+        throw SetStoreException.INSTANCE;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        final Integer value = HashingUtil.asIntKey(element);
+        return value != null && removeInt(value);
+    }
+
+    @Override
+    public SetStorage copy() {
+        final IntSetStorage copy = new IntSetStorage(size);
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            copy.addInt(elements[i]);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public Object getItemAt(int slot) {
+        return elements[slot];
+    }
+
+    @Override
+    public void retainAll(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            super.retainAll(other);
+            return;
+        }
+
+        final IntSetStorage intOther = (IntSetStorage) other;
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            if (!intOther.containsInt(elements[i])) {
+                removeSlot(i);
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            super.removeAll(other);
+            return;
+        }
+
+        final IntSetStorage intOther = (IntSetStorage) other;
+
+        if (intOther.length() < length()) {
+            for (int i = intOther.nextSlot(0); i != -1; i = intOther.nextSlot(i + 1)) {
+                removeInt(intOther.elements[i]);
+            }
+        } else {
+            for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+                if (intOther.containsInt(elements[i])) {
+                    removeSlot(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * In place symmetric difference with another int set, which can never need generalization.
+     */
+    public void symmetricDifferenceUpdate(IntSetStorage other) {
+        assert other != this;
+
+        for (int i = other.nextSlot(0); i != -1; i = other.nextSlot(i + 1)) {
+            final int element = other.elements[i];
+
+            if (!removeInt(element)) {
+                addInt(element);
+            }
+        }
+    }
+
+    @Override
+    public boolean isSubset(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.isSubset(other);
+        }
+
+        if (length() > other.length()) {
+            return false;
+        }
+
+        final IntSetStorage intOther = (IntSetStorage) other;
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            if (!intOther.containsInt(elements[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void rehash(byte[] oldStates) {
+        final int[] oldElements = elements;
+        elements = new int[states.length];
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == FULL) {
+                final int slot = findEmptySlot(HashingUtil.hash(oldElements[i]));
+                states[slot] = FULL;
+                elements[slot] = oldElements[i];
+            }
+        }
+    }
+
+    @Override
+    protected void clearSlot(int slot) {
+        // primitive slots hold no references
+    }
+
+}
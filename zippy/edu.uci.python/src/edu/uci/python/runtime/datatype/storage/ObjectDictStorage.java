@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * The generic dict storage. Holds any hashable key and any value.
+ */
+public final class ObjectDictStorage extends HashDictStorage {
+
+    private Object[] keys;
+    private Object[] values;
+
+    public ObjectDictStorage() {
+        this(0);
+    }
+
+    public ObjectDictStorage(int expectedSize) {
+        super(expectedSize);
+        keys = new Object[capacity()];
+        values = new Object[capacity()];
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final int slot = findObjectSlot(keys, key, HashingUtil.hash(key));
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        return findObjectSlot(keys, key, HashingUtil.hash(key)) != EMPTY;
+    }
+
+    @Override
+    public void setItem(Object key, Object value) {
+        assert key != null && value != null;
+        final int hash = HashingUtil.hash(key);
+        final int slot = findObjectSlot(keys, key, hash);
+
+        if (slot != EMPTY) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int entry = appendEntry(hash);
+        keys[entry] = key;
+        values[entry] = value;
+    }
+
+    @Override
+    public Object delItem(Object key) {
+        final int slot = findObjectSlot(keys, key, HashingUtil.hash(key));
+
+        if (slot == EMPTY) {
+            return null;
+        }
+
+        final Object value = values[indices[slot]];
+        removeEntry(slot);
+        return value;
+    }
+
+    @Override
+    public DictStorage copy() {
+        final ObjectDictStorage copy = new ObjectDictStorage(size);
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            copy.setItem(keys[i], values[i]);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public Object getKeyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    public Object getValueAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key, Object value) {
+        throw new IllegalStateException("ObjectDictStorage is already the most general storage");
+    }
+
+    @Override
+    protected void resizeEntries(int newCapacity) {
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    @Override
+    protected void moveEntry(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearEntry(int entry) {
+        keys[entry] = null;
+        values[entry] = null;
+    }
+
+}
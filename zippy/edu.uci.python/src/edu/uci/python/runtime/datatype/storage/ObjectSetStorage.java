@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * The generic set storage. Holds any hashable element, with its hash cached next to it.
+ */
+public final class ObjectSetStorage extends HashSetStorage {
+
+    private Object[] elements;
+    private int[] hashes;
+
+    public ObjectSetStorage() {
+        this(0);
+    }
+
+    public ObjectSetStorage(int expectedSize) {
+        super(expectedSize);
+        elements = new Object[states.length];
+        hashes = new int[states.length];
+    }
+
+    /**
+     * Returns the slot holding {@code element}, or the bitwise complement of the slot it would be
+     * inserted into.
+     */
+    private int findSlot(Object element, int hash) {
+        final int mask = states.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+        int freeSlot = -1;
+
+        while (true) {
+            final byte state = states[slot];
+
+            if (state == EMPTY) {
+                return ~(freeSlot == -1 ? slot : freeSlot);
+            } else if (state == FULL) {
+                if (hashes[slot] == hash && HashingUtil.keyEquals(elements[slot], element)) {
+                    return slot;
+                }
+            } else if (freeSlot == -1) {
+                freeSlot = slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return findSlot(element, HashingUtil.hash(element)) >= 0;
+    }
+
+    @Override
+    public boolean add(Object element) {
+        assert element != null;
+        final int hash = HashingUtil.hash(element);
+        final int slot = findSlot(element, hash);
+
+        if (slot >= 0) {
+            return false;
+        }
+
+        elements[~slot] = element;
+        hashes[~slot] = hash;
+        occupy(~slot);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        final int slot = findSlot(element, HashingUtil.hash(element));
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public SetStorage copy() {
+        final ObjectSetStorage copy = new ObjectSetStorage(size);
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            copy.add(elements[i]);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public Object getItemAt(int slot) {
+        return elements[slot];
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object element) {
+        throw new IllegalStateException("ObjectSetStorage is already the most general storage");
+    }
+
+    @Override
+    protected void rehash(byte[] oldStates) {
+        final Object[] oldElements = elements;
+        final int[] oldHashes = hashes;
+        elements = new Object[states.length];
+        hashes = new int[states.length];
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == FULL) {
+                final int slot = findEmptySlot(oldHashes[i]);
+                states[slot] = FULL;
+                elements[slot] = oldElements[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    @Override
+    protected void clearSlot(int slot) {
+        elements[slot] = null;
+    }
+
+}
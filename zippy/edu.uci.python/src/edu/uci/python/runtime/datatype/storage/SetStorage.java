@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+/**
+ * Storage strategy of a {@link edu.uci.python.runtime.sequence.PBaseSet}.
+ * <p>
+ * Elements live in the slots of an open addressing table and are visited in slot order, which like
+ * CPython yields small non-negative ints in ascending order. A storage that cannot hold an element
+ * throws {@link SetStoreException} and the owner replaces it with the storage returned by
+ * {@link #generalizeFor}.
+ * <p>
+ * The bulk operations work slot by slot on the two storages without building intermediate sets.
+ */
+public abstract class SetStorage {
+
+    public abstract int length();
+
+    public abstract boolean contains(Object element);
+
+    /**
+     * Adds {@code element} and returns false if it was already present.
+     */
+    public abstract boolean add(Object element) throws SetStoreException;
+
+    /**
+     * Removes {@code element} and returns false if it was not present.
+     */
+    public abstract boolean remove(Object element);
+
+    public abstract SetStorage copy();
+
+    /**
+     * Returns the first occupied slot at or after {@code from}, or -1 when there is none.
+     */
+    public abstract int nextSlot(int from);
+
+    public abstract Object getItemAt(int slot);
+
+    /**
+     * Removes the element in an occupied slot. Removal never moves other elements, so it is safe
+     * while walking the slots.
+     */
+    public abstract void removeSlot(int slot);
+
+    public abstract SetStorage generalizeFor(Object element);
+
+    /**
+     * Keeps only the elements that are also in {@code other}.
+     */
+    public void retainAll(SetStorage other) {
+        if (other == this) {
+            return;
+        }
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            if (!other.contains(getItemAt(i))) {
+                removeSlot(i);
+            }
+        }
+    }
+
+    /**
+     * Removes every element of {@code other}, walking whichever storage is smaller.
+     */
+    public void removeAll(SetStorage other) {
+        if (other.length() < length()) {
+            for (int i = other.nextSlot(0); i != -1; i = other.nextSlot(i + 1)) {
+                remove(other.getItemAt(i));
+            }
+        } else {
+            for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+                if (other.contains(getItemAt(i))) {
+                    removeSlot(i);
+                }
+            }
+        }
+    }
+
+    public boolean isDisjoint(SetStorage other) {
+        final SetStorage smaller = length() <= other.length() ? this : other;
+        final SetStorage larger = smaller == this ? other : this;
+
+        for (int i = smaller.nextSlot(0); i != -1; i = smaller.nextSlot(i + 1)) {
+            if (larger.contains(smaller.getItemAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isSubset(SetStorage other) {
+        if (length() > other.length()) {
+            return false;
+        }
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            if (!other.contains(getItemAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public Object[] toArray() {
+        final Object[] elements = new Object[length()];
+        int index = 0;
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            elements[index++] = getItemAt(i);
+        }
+
+        return elements;
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Dict storage for str keys mapping to arbitrary values, the shape of most keyword, attribute and
+ * record style dicts. Keys are compared with {@link String#equals} and their hashes are cached in the
+ * entry table.
+ */
+public final class StringDictStorage extends HashDictStorage {
+
+    private String[] keys;
+    private Object[] values;
+
+    public StringDictStorage() {
+        this(0);
+    }
+
+    public StringDictStorage(int expectedSize) {
+        super(expectedSize);
+        keys = new String[capacity()];
+        values = new Object[capacity()];
+    }
+
+    private int findStringSlot(String key, int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0 && (keys[entry] == key || (hashes[entry] == hash && key.equals(keys[entry])))) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    public Object getStringItem(String key) {
+        final int slot = findStringSlot(key, key.hashCode());
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    public void setStringItem(String key, Object value) {
+        assert value != null;
+        final int hash = key.hashCode();
+        final int slot = findStringSlot(key, hash);
+
+        if (slot != EMPTY) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int entry = appendEntry(hash);
+        keys[entry] = key;
+        values[entry] = value;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final String stringKey = HashingUtil.asStringKey(key);
+        return stringKey == null ? null : getStringItem(stringKey);
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        return getItem(key) != null;
+    }
+
+    @Override
+    public void setItem(Object key, Object value) throws DictStoreException {
+        if (key instanceof String) {
+            setStringItem((String) key, value);
+        } else {
+            throw DictStoreException.INSTANCE;
+        }
+    }
+
+    @Override
+    public Object delItem(Object key) {
+        final String stringKey = HashingUtil.asStringKey(key);
+
+        if (stringKey == null) {
+            return null;
+        }
+
+        final int slot = findStringSlot(stringKey, stringKey.hashCode());
+
+        if (slot == EMPTY) {
+            return null;
+        }
+
+        final Object value = values[indices[slot]];
+        removeEntry(slot);
+        return value;
+    }
+
+    @Override
+    public DictStorage copy() {
+        final StringDictStorage copy = new StringDictStorage(size);
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            copy.setStringItem(keys[i], values[i]);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public Object getKeyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    public Object getValueAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    protected void resizeEntries(int newCapacity) {
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    @Override
+    protected void moveEntry(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearEntry(int entry) {
+        keys[entry] = null;
+        values[entry] = null;
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Set storage holding only strs. {@link String} caches its own hash, so only the elements are
+ * stored.
+ */
+public final class StringSetStorage extends HashSetStorage {
+
+    private String[] elements;
+
+    public StringSetStorage() {
+        this(0);
+    }
+
+    public StringSetStorage(int expectedSize) {
+        super(expectedSize);
+        elements = new String[states.length];
+    }
+
+    /**
+     * Returns the slot holding {@code element}, or the bitwise complement of the slot it would be
+     * inserted into.
+     */
+    private int findSlot(String element) {
+        final int mask = states.length - 1;
+        final int hash = element.hashCode();
+        int perturb = hash;
+        int slot = hash & mask;
+        int freeSlot = -1;
+
+        while (true) {
+            final byte state = states[slot];
+
+            if (state == EMPTY) {
+                return ~(freeSlot == -1 ? slot : freeSlot);
+            } else if (state == FULL) {
+                final String candidate = elements[slot];
+
+                if (candidate == element || (candidate.hashCode() == hash && candidate.equals(element))) {
+                    return slot;
+                }
+            } else if (freeSlot == -1) {
+                freeSlot = slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    public boolean addString(String element) {
+        final int slot = findSlot(element);
+
+        if (slot >= 0) {
+            return false;
+        }
+
+        elements[~slot] = element;
+        occupy(~slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        final String value = HashingUtil.asStringKey(element);
+        return value != null && findSlot(value) >= 0;
+    }
+
+    @Override
+    public boolean add(Object element) throws SetStoreException {
+        if (element instanceof String) {
+            return addString((String) element);
+        }
+
+        throw SetStoreException.INSTANCE;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        final String value = HashingUtil.asStringKey(element);
+
+        if (value == null) {
+            return false;
+        }
+
+        final int slot = findSlot(value);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public SetStorage copy() {
+        final StringSetStorage copy = new StringSetStorage(size);
+
+        for (int i = nextSlot(0); i != -1; i = nextSlot(i + 1)) {
+            copy.addString(elements[i]);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public Object getItemAt(int slot) {
+        return elements[slot];
+    }
+
+    @Override
+    protected void rehash(byte[] oldStates) {
+        final String[] oldElements = elements;
+        elements = new String[states.length];
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == FULL) {
+                final int slot = findEmptySlot(oldElements[i].hashCode());
+                states[slot] = FULL;
+                elements[slot] = oldElements[i];
+            }
+        }
+    }
+
+    @Override
+    protected void clearSlot(int slot) {
+        elements[slot] = null;
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.exception;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A Python exception raised and caught inside ZipPy.
+ * <p>
+ * Unlike Jython's {@link PyException}, raising a {@link PException} neither captures a Java stack
+ * trace nor creates Jython objects. The exception type is either a Jython exception type (e.g.
+ * {@link Py#KeyError}) or a {@link PythonClass} defined by the program. The equivalent
+ * {@link PyException} is only materialized when the exception is bound with {@code as}, handed to
+ * a context manager or escapes to the top level.
+ */
+public final class PException extends ControlFlowException {
+
+    private static final long serialVersionUID = -3421598732491763127L;
+
+    private final Object type;
+
+    /**
+     * The message string, the Jython exception instance, the {@link PythonObject} instance, or
+     * null.
+     */
+    private final Object value;
+
+    private PyException pyException;
+
+    public PException(Object type, Object value) {
+        assert type instanceof PyObject || type instanceof PythonClass;
+        this.type = type;
+        this.value = value;
+    }
+
+    private PException(PyException pyException) {
+        this.type = pyException.type;
+        this.value = pyException.value;
+        this.pyException = pyException;
+    }
+
+    public Object getType() {
+        return type;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Converts an exception thrown by Jython or by the Java runtime into a {@link PException}, or
+     * returns null if it does not represent a Python exception.
+     */
+    @TruffleBoundary
+    public static PException fromRuntimeException(RuntimeException e) {
+        if (e instanceof PException) {
+            return (PException) e;
+        } else if (e instanceof PyException) {
+            return new PException((PyException) e);
+        } else if (e instanceof ArithmeticException && isDivisionByZero(e)) {
+            return new PException(Py.ZeroDivisionError, "divide by zero");
+        }
+
+        return null;
+    }
+
+    /**
+     * Integer division by zero surfaces as an ArithmeticException, from our own arithmetic nodes or
+     * from the JVM. Other ArithmeticExceptions, e.g. overflows, are not a ZeroDivisionError.
+     */
+    private static boolean isDivisionByZero(RuntimeException e) {
+        final String message = e.getMessage();
+        return message != null && (message.endsWith("divide by zero") || message.endsWith("/ by zero"));
+    }
+
+    /**
+     * Returns the object an {@code except ... as name} clause binds.
+     */
+    public Object getExceptionObject() {
+        if (value instanceof PythonObject) {
+            return value;
+        }
+
+        return toPyException();
+    }
+
+    @TruffleBoundary
+    public PyException toPyException() {
+        if (pyException == null) {
+            pyException = materialize();
+        }
+
+        return pyException;
+    }
+
+    private PyException materialize() {
+        if (type instanceof PythonClass) {
+            final PyType base = getJythonBaseType((PythonClass) type);
+            final String name = ((PythonClass) type).getName();
+            return new PyException(base == null ? Py.Exception : base, name);
+        } else if (value instanceof PyObject) {
+            return new PyException((PyObject) type, (PyObject) value);
+        } else if (value != null) {
+            return new PyException((PyObject) type, value.toString());
+        } else {
+            return new PyException((PyObject) type);
+        }
+    }
+
+    /**
+     * Answers whether an exception of type {@code thrownType} is caught by an except clause naming
+     * {@code exceptType}.
+     */
+    @TruffleBoundary
+    public static boolean isSubtype(Object thrownType, Object exceptType) {
+        if (thrownType == exceptType) {
+            return true;
+        }
+
+        if (thrownType instanceof PythonClass) {
+            for (PythonClass clazz : ((PythonClass) thrownType).getMethodResolutionOrder()) {
+                if (clazz == exceptType) {
+                    return true;
+                }
+            }
+
+            final PyType base = getJythonBaseType((PythonClass) thrownType);
+            return base != null && exceptType instanceof PyType && base.isSubType((PyType) exceptType);
+        }
+
+        if (thrownType instanceof PyType && exceptType instanceof PyType) {
+            return ((PyType) thrownType).isSubType((PyType) exceptType);
+        }
+
+        return false;
+    }
+
+    private static PyType getJythonBaseType(PythonClass clazz) {
+        for (PythonClass current : clazz.getMethodResolutionOrder()) {
+            if (current instanceof JythonTypeSubClass) {
+                return ((JythonTypeSubClass) current).getJythonBaseType();
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return toPyException().toString();
+    }
+
+}
@@ -24,22 +24,25 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import java.util.*;
-
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 
 public class PBaseSetIterator implements PIterator {
 
-    private final Iterator<?> setIterator;
+    private final SetStorage store;
+    private int slot;
 
-    public PBaseSetIterator(Iterator<?> iterator) {
-        this.setIterator = iterator;
+    public PBaseSetIterator(SetStorage store) {
+        this.store = store;
     }
 
     @Override
     public Object __next__() throws StopIterationException {
-        if (setIterator.hasNext()) {
-            return setIterator.next();
+        final int next = store.nextSlot(slot);
+
+        if (next != -1) {
+            slot = next + 1;
+            return store.getItemAt(next);
         }
 
         throw StopIterationException.INSTANCE;
@@ -24,25 +24,38 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import java.util.*;
-
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 
+/**
+ * Walks the entries of a {@link PDict} in insertion order, yielding either its keys or its values.
+ */
 public class PDictIterator implements PIterator {
 
-    private final Iterator<?> keyIterator;
+    public static final boolean KEYS = true;
+    public static final boolean VALUES = false;
 
-    public PDictIterator(Iterator<?> iterator) {
-        keyIterator = iterator;
+    private final PDict dict;
+    private final boolean yieldKeys;
+    private int entry;
+
+    public PDictIterator(PDict dict, boolean yieldKeys) {
+        this.dict = dict;
+        this.yieldKeys = yieldKeys;
     }
 
     @Override
     public Object __next__() throws StopIterationException {
-        if (keyIterator.hasNext()) {
-            return keyIterator.next();
+        final DictStorage store = dict.getStorage();
+        final int next = store.nextEntry(entry);
+
+        if (next == -1) {
+            throw StopIterationException.INSTANCE;
         }
 
-        throw StopIterationException.INSTANCE;
+        entry = next + 1;
+        return yieldKeys ? store.getKeyAt(next) : store.getValueAt(next);
     }
 
 }
@@ -31,10 +31,11 @@ import edu.uci.python.runtime.sequence.*;
  * @author Gulfem
  */
 
-public class PEnumerateIterator implements PIterator {
+public class PEnumerateIterator implements PPairIterator {
 
     private int index;
     private final PIterator iterator;
+    private Object second;
 
     public PEnumerateIterator(PIterator iterator) {
         this.iterator = iterator;
@@ -46,7 +47,21 @@ public class PEnumerateIterator implements PIterator {
          * StopIterationException is not explicitly thrown, but it can be implicitly thrown and
          * stops the iteration when the __next__() method is called on the iterated object.
          */
-        return new PTuple((new Object[]{index++, iterator.__next__()}));
+        final Object item = iterator.__next__();
+        return PTuple.create(index++, item);
+    }
+
+    public boolean producesPairs() {
+        return true;
+    }
+
+    public Object __nextFirst__() throws StopIterationException {
+        second = iterator.__next__();
+        return index++;
+    }
+
+    public Object getSecond() {
+        return second;
     }
 
 }
@@ -35,9 +35,10 @@ import edu.uci.python.runtime.standardtype.*;
  * @author Gulfem
  * @author zwei
  */
-public final class PZip extends PythonBuiltinObject implements PIterable, PIterator {
+public final class PZip extends PythonBuiltinObject implements PIterable, PPairIterator {
 
     private final PIterator[] iterators;
+    private Object second;
 
     public PZip(PIterator[] iterators) {
         this.iterators = iterators;
@@ -54,12 +55,31 @@ public final class PZip extends PythonBuiltinObject implements PIterable, PItera
          * StopIterationException is not explicitly thrown, but it can be implicitly thrown and
          * stops the iteration when the __next__() method is called on one of the iterated objects.
          */
+        if (iterators.length == 2) {
+            final Object first = iterators[0].__next__();
+            return PTuple.create(first, iterators[1].__next__());
+        }
+
         Object[] tupleElements = new Object[iterators.length];
         for (int i = 0; i < iterators.length; i++) {
             tupleElements[i] = iterators[i].__next__();
         }
 
-        return new PTuple(tupleElements);
+        return PTuple.create(tupleElements);
+    }
+
+    public boolean producesPairs() {
+        return iterators.length == 2;
+    }
+
+    public Object __nextFirst__() throws StopIterationException {
+        final Object first = iterators[0].__next__();
+        second = iterators[1].__next__();
+        return first;
+    }
+
+    public Object getSecond() {
+        return second;
     }
 
     @Override
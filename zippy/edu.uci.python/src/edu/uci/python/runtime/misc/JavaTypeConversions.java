@@ -34,6 +34,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
 
 public class JavaTypeConversions {
 
@@ -67,6 +68,8 @@ public class JavaTypeConversions {
         } else if (arg instanceof String) {
             String stringArg = (String) arg;
             return !(stringArg.isEmpty());
+        } else if (arg instanceof PString) {
+            return ((PString) arg).len() != 0;
         } else if (arg instanceof PIterable) {
             PIterable iterable = (PIterable) arg;
             return iterable.len() != 0;
@@ -84,6 +87,8 @@ public class JavaTypeConversions {
             return doubleToInt((Double) arg);
         } else if (arg instanceof String) {
             return stringToInt((String) arg, 10);
+        } else if (arg instanceof PString) {
+            return stringToInt(((PString) arg).getValue(), 10);
         } else {
             throw new RuntimeException("invalid value for int()");
         }
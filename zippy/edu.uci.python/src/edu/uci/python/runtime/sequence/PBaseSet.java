@@ -26,80 +26,77 @@ package edu.uci.python.runtime.sequence;
 
 import java.util.*;
 
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public abstract class PBaseSet extends PythonBuiltinObject implements PIterable {
 
-    protected final TreeSet<Object> set;
+    @CompilationFinal protected SetStorage store;
 
     public PBaseSet() {
-        this.set = new TreeSet<>();
+        this.store = EmptySetStorage.INSTANCE;
     }
 
-    public PBaseSet(TreeSet<Object> elements) {
-        this.set = elements;
+    protected PBaseSet(SetStorage store) {
+        this.store = store;
     }
 
     public PBaseSet(PIterator iter) {
         this();
-        try {
-            while (true) {
-                this.set.add(iter.__next__());
-            }
-        } catch (StopIterationException e) {
-            // fall through
-        }
+        updateInternal(iter);
     }
 
     public PBaseSet(PBaseSet baseSet) {
-        this();
-        addAll(baseSet);
+        this(baseSet.store.copy());
     }
 
-    @TruffleBoundary
-    private void addAll(PBaseSet baseSet) {
-        this.set.addAll(baseSet.set);
-    }
-
-    public Set<Object> getSet() {
-        return set;
+    public SetStorage getStorage() {
+        return store;
     }
 
     public PIterator __iter__() {
-        return new PBaseSetIterator(set.iterator());
+        return new PBaseSetIterator(store);
     }
 
     public final boolean contains(Object o) {
-        return this.set.contains(o);
+        return store.contains(o);
+    }
+
+    /**
+     * Adds {@code o}, generalizing the storage if it cannot hold it.
+     */
+    protected final boolean addInternal(Object o) {
+        try {
+            return store.add(o);
+        } catch (SetStoreException e) {
+            store = store.generalizeFor(o);
+
+            try {
+                return store.add(o);
+            } catch (SetStoreException e1) {
+                throw new IllegalStateException();
+            }
+        }
     }
 
     // disjoint
     public boolean isDisjoint(PBaseSet other) {
-        return Collections.disjoint(this.set, other.set);
+        return store.isDisjoint(other.store);
     }
 
-    @SuppressWarnings("unused")
     public boolean isDisjoint(PIterator other) {
-        throw new UnsupportedOperationException();
+        return this.isDisjoint(new PSet(other));
     }
 
     // subset
     public boolean isSubset(PBaseSet other) {
-        if (this.len() > other.len()) {
-            return false;
-        }
-
-        for (Object p : this.set) {
-            if (!other.set.contains(p)) {
-                return false;
-            }
-        }
-        return true;
+        return store.isSubset(other.store);
     }
 
     public boolean isSubset(PIterator other) {
@@ -110,6 +107,11 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
         return this.len() < other.len() && this.isSubset(other);
     }
 
+    // equality
+    public boolean isEqual(PBaseSet other) {
+        return this.len() == other.len() && this.isSubset(other);
+    }
+
     // superset
     public boolean isSuperset(PBaseSet other) {
         return other.isSubset(this); // use subset comparison with this/other
@@ -127,7 +129,7 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     // union
     public PBaseSet union(PBaseSet other) {
         PBaseSet newSet = cloneThisSet();
-        newSet.set.addAll(other.set);
+        newSet.updateInternal(other);
         return newSet;
     }
 
@@ -137,10 +139,9 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     // intersection
     public PBaseSet intersection(PBaseSet other) {
-        boolean set1IsLarger = set.size() > other.set.size();
-        PBaseSet cloneSet = (set1IsLarger ? other.cloneThisSet() : this.cloneThisSet());
-        cloneSet.set.retainAll(set1IsLarger ? this.set : other.set);
-        return cloneSet;
+        PBaseSet newSet = cloneThisSet();
+        newSet.store.retainAll(other.store);
+        return newSet;
     }
 
     public PBaseSet intersection(PIterator other) {
@@ -150,18 +151,23 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     // difference
     public PBaseSet difference(PBaseSet other) {
         PBaseSet newSet = cloneThisSet();
-        newSet.set.removeAll(other.set);
+        newSet.store.removeAll(other.store);
         return newSet;
     }
 
     public PBaseSet difference(PIterator other) {
-        return this.intersection(new PSet(other));
+        return this.difference(new PSet(other));
     }
 
     // symmetric_difference
-    @SuppressWarnings("unused")
     public PBaseSet symmetricDifference(PBaseSet other) {
-        throw new UnsupportedOperationException();
+        PBaseSet newSet = cloneThisSet();
+        newSet.symmetricDifferenceUpdateInternal(other.store);
+        return newSet;
+    }
+
+    public PBaseSet symmetricDifference(PIterator other) {
+        return this.symmetricDifference(new PSet(other));
     }
 
     // copy
@@ -175,36 +181,53 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     public abstract void update(PIterator iterator);
 
     // intersection_update
-    @SuppressWarnings("unused")
     public void intersectionUpdate(PBaseSet other) {
-        throw new UnsupportedOperationException();
+        store.retainAll(other.store);
     }
 
-    @SuppressWarnings("unused")
     public void intersectionUpdate(PIterator iterator) {
-        throw new UnsupportedOperationException();
+        this.intersectionUpdate(new PSet(iterator));
     }
 
     // difference_update
-    @SuppressWarnings("unused")
     public void differenceUpdate(PBaseSet other) {
-        throw new UnsupportedOperationException();
+        store.removeAll(other.store);
     }
 
-    @SuppressWarnings("unused")
     public void differenceUpdate(PIterator iterator) {
-        throw new UnsupportedOperationException();
+        try {
+            while (true) {
+                store.remove(iterator.__next__());
+            }
+        } catch (StopIterationException e) {
+            // fall through
+        }
     }
 
     // symmetric_difference_update
-    @SuppressWarnings("unused")
     public void symmetricDifferenceUpdate(PBaseSet other) {
-        throw new UnsupportedOperationException();
+        symmetricDifferenceUpdateInternal(other.store);
     }
 
-    @SuppressWarnings("unused")
     public void symmetricDifferenceUpdate(PIterator iterator) {
-        throw new UnsupportedOperationException();
+        // duplicates in the iterable must only toggle once
+        this.symmetricDifferenceUpdate(new PSet(iterator));
+    }
+
+    private void symmetricDifferenceUpdateInternal(SetStorage other) {
+        if (other == store) {
+            store = EmptySetStorage.INSTANCE;
+        } else if (store instanceof IntSetStorage && other instanceof IntSetStorage) {
+            ((IntSetStorage) store).symmetricDifferenceUpdate((IntSetStorage) other);
+        } else {
+            for (int i = other.nextSlot(0); i != -1; i = other.nextSlot(i + 1)) {
+                final Object element = other.getItemAt(i);
+
+                if (!store.remove(element)) {
+                    addInternal(element);
+                }
+            }
+        }
     }
 
     protected abstract PBaseSet cloneThisSet();
@@ -218,19 +241,27 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
         if (data instanceof PBaseSet) {
             updateInternal((PBaseSet) data);
         } else if (data instanceof PIterator) {
-            throw new UnsupportedOperationException();
+            updateInternal((PIterator) data);
         }
     }
 
     protected void updateInternal(PBaseSet data) {
-        // Skip the iteration if both are sets
-        set.addAll(data.set);
+        final SetStorage other = data.store;
+
+        if (store instanceof EmptySetStorage) {
+            store = other.copy();
+            return;
+        }
+
+        for (int i = other.nextSlot(0); i != -1; i = other.nextSlot(i + 1)) {
+            addInternal(other.getItemAt(i));
+        }
     }
 
     protected void updateInternal(PIterator iterator) {
         try {
             while (true) {
-                set.add(iterator.__next__());
+                addInternal(iterator.__next__());
             }
         } catch (StopIterationException e) {
             // fall through
@@ -239,32 +270,55 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     @Override
     public Object getMax() {
-        return this.set.last();
+        return extreme(1);
     }
 
     @Override
     public Object getMin() {
-        return this.set.first();
+        return extreme(-1);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @TruffleBoundary
+    private Object extreme(int sign) {
+        int i = store.nextSlot(0);
+
+        if (i == -1) {
+            throw new NoSuchElementException();
+        }
+
+        Object result = store.getItemAt(i);
+
+        for (i = store.nextSlot(i + 1); i != -1; i = store.nextSlot(i + 1)) {
+            final Object element = store.getItemAt(i);
+
+            if (((Comparable) element).compareTo(result) * sign > 0) {
+                result = element;
+            }
+        }
+
+        return result;
     }
 
     @Override
     public int len() {
-        return this.set.size();
+        return store.length();
     }
 
     @Override
     public String toString() {
-        if (set.size() == 0) {
+        if (store.length() == 0) {
             return "set()";
         }
 
         StringBuilder buf = new StringBuilder().append("{");
 
-        for (Iterator<Object> i = set.iterator(); i.hasNext();) {
-            String str = PSequence.toString(i.next());
+        for (int i = store.nextSlot(0); i != -1;) {
+            String str = PSequence.toString(store.getItemAt(i));
             buf.append(str);
+            i = store.nextSlot(i + 1);
 
-            if (i.hasNext()) {
+            if (i != -1) {
                 buf.append(", ");
             }
         }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * A pair of floats, held unboxed.
+ */
+public final class PDoubleTuple2 extends PTuple {
+
+    private final double first;
+    private final double second;
+
+    public PDoubleTuple2(double first, double second) {
+        super(IN_FIELDS);
+        this.first = first;
+        this.second = second;
+    }
+
+    public double getFirst() {
+        return first;
+    }
+
+    public double getSecond() {
+        return second;
+    }
+
+    @Override
+    public Object[] getArray() {
+        return new Object[]{first, second};
+    }
+
+    @Override
+    public int len() {
+        return 2;
+    }
+
+    @Override
+    public Object getItemNormalized(int index) {
+        return getDoubleItemNormalized(index);
+    }
+
+    public double getDoubleItemNormalized(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw indexOutOfRange();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof PDoubleTuple2) {
+            final PDoubleTuple2 otherTuple = (PDoubleTuple2) other;
+            return first == otherTuple.first && second == otherTuple.second;
+        }
+
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 + HashingUtil.hash(first)) + HashingUtil.hash(second);
+    }
+
+}
@@ -35,6 +35,7 @@ import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -78,6 +79,12 @@ public class PList extends PSequence {
                 return new PLongSequenceIterator((LongSequenceStorage) store);
             } else if (store instanceof DoubleSequenceStorage) {
                 return new PDoubleSequenceIterator((DoubleSequenceStorage) store);
+            } else if (store instanceof OffHeapIntSequenceStorage) {
+                return new POffHeapIntegerIterator((OffHeapIntSequenceStorage) store);
+            } else if (store instanceof OffHeapLongSequenceStorage) {
+                return new POffHeapLongIterator((OffHeapLongSequenceStorage) store);
+            } else if (store instanceof OffHeapDoubleSequenceStorage) {
+                return new POffHeapDoubleIterator((OffHeapDoubleSequenceStorage) store);
             }
         }
 
@@ -89,6 +96,69 @@ public class PList extends PSequence {
         return store;
     }
 
+    /**
+     * Used by {@link MatrixSequenceStorage} to turn a row it takes over into a view of its flat
+     * array.
+     */
+    public final void setStorage(SequenceStorage store) {
+        this.store = store;
+    }
+
+    /**
+     * A matrix row cannot change its length, so it is copied out of the matrix first.
+     */
+    private void ensureResizable() {
+        if (store instanceof RowSequenceStorage) {
+            store = ((RowSequenceStorage) store).detach();
+        }
+    }
+
+    /**
+     * Storages of other lists are read through their internal arrays, which a matrix row does not
+     * have on its own. Only an off-heap {@code target} reads an off-heap storage directly.
+     */
+    private static SequenceStorage sourceOf(SequenceStorage storage, SequenceStorage target) {
+        if (storage instanceof RowSequenceStorage) {
+            return ((RowSequenceStorage) storage).materialize();
+        } else if (storage instanceof OffHeapSequenceStorage && !(target instanceof OffHeapSequenceStorage)) {
+            return ((OffHeapSequenceStorage) storage).materialize();
+        }
+
+        return storage;
+    }
+
+    /**
+     * Moves an off-heap storage back to the Java heap before it grows past what one direct buffer
+     * holds.
+     */
+    private void ensureRoomFor(long newLength) {
+        if (store instanceof OffHeapSequenceStorage && !((OffHeapSequenceStorage) store).canGrowTo(newLength)) {
+            store = ((OffHeapSequenceStorage) store).materialize();
+        }
+    }
+
+    /**
+     * Moves a storage that has grown to {@link PythonOptions#OffHeapStorageThreshold} elements
+     * off the Java heap.
+     */
+    public final void moveOffHeapIfLarge() {
+        if (store.length() >= PythonOptions.OffHeapStorageThreshold) {
+            store = SequenceStorageFactory.moveOffHeapIfLarge(store);
+        }
+    }
+
+    /**
+     * A mixed numeric storage has no single indicative value, so an empty list adopts its kind
+     * directly instead of settling on floats and failing again.
+     */
+    private static SequenceStorage generalizeFor(SequenceStorage storage, SequenceStorage other) {
+        if (storage instanceof EmptySequenceStorage && other instanceof NumericSequenceStorage) {
+            return new NumericSequenceStorage(new DoubleSequenceStorage());
+        }
+
+        return storage.generalizeFor(other.getIndicativeValue());
+    }
+
     @Override
     public final Object getItem(int idx) {
         int index = SequenceUtil.normalizeIndex(idx, store.length());
@@ -104,7 +174,7 @@ public class PList extends PSequence {
             store = store.generalizeFor(value);
 
             try {
-                store.setItemNormalized(idx, value);
+                store.setItemNormalized(index, value);
             } catch (SequenceStoreException ex) {
                 throw new IllegalStateException();
             }
@@ -124,41 +194,85 @@ public class PList extends PSequence {
 
     @Override
     public final void setSlice(PSlice slice, PSequence value) {
-        setSlice(slice.getStart(), slice.getStop(), slice.getStep(), value);
+        ensureRoomFor((long) store.length() + value.len());
+        SequenceStorage other = sourceOf(value.getStorage(), store);
+        int sliceLength = slice.computeActualIndices(store.length());
+        int start = slice.getStart();
+        int stop = slice.getStop();
+        int step = slice.getStep();
+        checkExtendedSliceLength(step, sliceLength, other.length());
+
+        if (step == 1 && other.length() == 0) {
+            ensureResizable();
+            store.delSliceInBound(start, stop, step, sliceLength);
+            return;
+        }
+
+        try {
+            store.setSliceInBound(start, stop, step, other);
+        } catch (SequenceStoreException e) {
+            store = generalizeFor(store, other);
+
+            try {
+                store.setSliceInBound(start, stop, step, other);
+            } catch (SequenceStoreException ex) {
+                throw new IllegalStateException();
+            }
+        }
+
+        moveOffHeapIfLarge();
     }
 
     @Override
     public final void setSlice(int start, int stop, int step, PSequence value) {
-        final int normalizedStart = SequenceUtil.normalizeSliceStart(start, step, store.length());
-        int normalizedStop = SequenceUtil.normalizeSliceStop(stop, step, store.length());
+        setSlice(new PSlice(start, stop, step), value);
+    }
 
-        if (normalizedStop < normalizedStart) {
-            normalizedStop = normalizedStart;
-        }
+    /**
+     * Assigns {@code count} copies of {@code value} to the slice, as in
+     * {@code a[i::k] = [value] * count}, without materializing the right hand side.
+     */
+    public final void setSliceRepeated(PSlice slice, Object value, int count) {
+        int sliceLength = slice.computeActualIndices(store.length());
+        int start = slice.getStart();
+        int stop = slice.getStop();
+        int step = slice.getStep();
+        int length = Math.max(count, 0);
+        checkExtendedSliceLength(step, sliceLength, length);
+        ensureRoomFor((long) store.length() + length);
 
         try {
-            store.setSliceInBound(normalizedStart, normalizedStop, step, value.getStorage());
+            store.fillSliceInBound(start, stop, step, length, value);
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(value.getStorage().getIndicativeValue());
+            store = store.generalizeFor(value);
 
             try {
-                store.setSliceInBound(start, stop, step, value.getStorage());
+                store.fillSliceInBound(start, stop, step, length, value);
             } catch (SequenceStoreException ex) {
                 throw new IllegalStateException();
             }
         }
     }
 
+    private static void checkExtendedSliceLength(int step, int sliceLength, int valueLength) {
+        if (step != 1 && sliceLength != valueLength) {
+            throw Py.ValueError("attempt to assign sequence of size " + valueLength + " to extended slice of size " + sliceLength);
+        }
+    }
+
     @Override
     public final void delItem(int idx) {
+        ensureResizable();
         store.delItemInBound(idx);
     }
 
     public final void delSlice(PSlice slice) {
-        int start = slice.getStart();
-        final int stop = slice.getStop();
-        start = slice.getStart() < 0 ? start += store.length() : start;
-        store.delSlice(start, stop);
+        int sliceLength = slice.computeActualIndices(store.length());
+
+        if (sliceLength > 0) {
+            ensureResizable();
+            store.delSliceInBound(slice.getStart(), slice.getStop(), slice.getStep(), sliceLength);
+        }
     }
 
     @Override
@@ -185,6 +299,10 @@ public class PList extends PSequence {
 
     @Override
     public final Object getMax() {
+        if (store instanceof NumericSequenceStorage) {
+            return ((NumericSequenceStorage) store).max();
+        }
+
         Object[] copy = store.getCopyOfInternalArray();
         Arrays.sort(copy);
         return copy[copy.length - 1];
@@ -192,6 +310,10 @@ public class PList extends PSequence {
 
     @Override
     public final Object getMin() {
+        if (store instanceof NumericSequenceStorage) {
+            return ((NumericSequenceStorage) store).min();
+        }
+
         Object[] copy = store.getCopyOfInternalArray();
         Arrays.sort(copy);
         return copy[0];
@@ -201,18 +323,36 @@ public class PList extends PSequence {
         store.sort();
     }
 
+    /**
+     * Stable sort. With a key function the keys are computed once, sorted on their own and the
+     * resulting permutation applied to the storage.
+     */
+    public final void sort(PythonCallable key, boolean reverse) {
+        if (key == null) {
+            store.sort(reverse);
+            return;
+        }
+
+        Object[] keys = SortUtil.evaluateKeys(store, key);
+        store.permute(SortUtil.sortedOrder(keys, reverse));
+    }
+
     @Override
     public final int len() {
         return store.length();
     }
 
     public final PList __mul__(int value) {
-        assert value > 0;
-        SequenceStorage newStore = store.copy();
+        if (value <= 0) {
+            return new PList();
+        }
+
+        SequenceStorage newStore = SequenceStorageFactory.moveOffHeap(sourceOf(store, store).copy(), (long) store.length() * value);
+        SequenceStorage source = sourceOf(store, newStore);
 
         try {
             for (int i = 1; i < value; i++) {
-                newStore.extend(store.copy());
+                newStore.extend(source);
             }
         } catch (SequenceStoreException e) {
             throw new IllegalStateException();
@@ -230,6 +370,8 @@ public class PList extends PSequence {
             store = store.generalizeFor(value);
         }
 
+        ensureRoomFor(store.length() + 1L);
+
         try {
             store.append(value);
         } catch (SequenceStoreException e) {
@@ -241,15 +383,22 @@ public class PList extends PSequence {
                 throw new IllegalStateException();
             }
         }
+
+        moveOffHeapIfLarge();
     }
 
     public final void extend(PList appendee) {
-        SequenceStorage other = appendee.getStorage();
+        ensureRoomFor((long) store.length() + appendee.len());
+        SequenceStorage other = sourceOf(appendee.getStorage(), store);
+
+        if (other instanceof EmptySequenceStorage) {
+            return;
+        }
 
         try {
             store.extend(other);
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(other.getIndicativeValue());
+            store = generalizeFor(store, other);
 
             try {
                 store.extend(other);
@@ -257,16 +406,22 @@ public class PList extends PSequence {
                 throw new IllegalStateException();
             }
         }
+
+        moveOffHeapIfLarge();
     }
 
     public final PList __add__(PList other) {
-        SequenceStorage otherStore = other.getStorage();
-        SequenceStorage newStore = store.copy();
+        SequenceStorage newStore = SequenceStorageFactory.moveOffHeap(store.copy(), (long) store.length() + other.len());
+        SequenceStorage otherStore = sourceOf(other.getStorage(), newStore);
+
+        if (otherStore instanceof EmptySequenceStorage) {
+            return new PList(newStore);
+        }
 
         try {
             newStore.extend(otherStore);
         } catch (SequenceStoreException e) {
-            newStore = newStore.generalizeFor(otherStore.getIndicativeValue());
+            newStore = generalizeFor(newStore, otherStore);
 
             try {
                 newStore.extend(otherStore);
@@ -275,7 +430,7 @@ public class PList extends PSequence {
             }
         }
 
-        return new PList(newStore);
+        return new PList(SequenceStorageFactory.moveOffHeapIfLarge(newStore));
     }
 
     @Override
@@ -290,7 +445,13 @@ public class PList extends PSequence {
         throw Py.ValueError(value + " is not in list");
     }
 
+    public final int count(Object value) {
+        return store.count(value);
+    }
+
     public final void insert(int index, Object value) {
+        ensureRoomFor(store.length() + 1L);
+
         try {
             store.insertItem(index, value);
         } catch (SequenceStoreException e) {
@@ -302,6 +463,8 @@ public class PList extends PSequence {
                 throw new IllegalStateException();
             }
         }
+
+        moveOffHeapIfLarge();
     }
 
     @Override
@@ -311,8 +474,14 @@ public class PList extends PSequence {
         }
 
         PList otherList = (PList) other;
-        SequenceStorage otherStore = otherList.getStorage();
-        return store.equals(otherStore);
+        SequenceStorage ownStore = sourceOf(store, store);
+        SequenceStorage otherStore = sourceOf(otherList.getStorage(), ownStore);
+
+        if (ownStore.getClass() != otherStore.getClass() && NumericSequenceStorage.isNumericStorage(ownStore) && NumericSequenceStorage.isNumericStorage(otherStore)) {
+            return NumericSequenceStorage.numericEquals(ownStore, otherStore);
+        }
+
+        return ownStore.equals(otherStore);
     }
 
     @Override
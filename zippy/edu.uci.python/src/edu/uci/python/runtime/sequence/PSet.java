@@ -24,10 +24,12 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import java.util.*;
+import org.python.core.*;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 
 public final class PSet extends PBaseSet {
@@ -38,10 +40,6 @@ public final class PSet extends PBaseSet {
         super();
     }
 
-    public PSet(TreeSet<Object> elements) {
-        super(elements);
-    }
-
     public PSet(PIterator iterator) {
         super(iterator);
     }
@@ -73,30 +71,37 @@ public final class PSet extends PBaseSet {
 
     // add
     public boolean add(Object o) {
-        return set.add(o);
+        return addInternal(o);
     }
 
     // remove
-    @SuppressWarnings({"unused", "static-method"})
-    public boolean remove(Object o) {
-        throw new UnsupportedOperationException();
+    public void remove(Object o) {
+        if (!store.remove(o)) {
+            throw new PException(Py.KeyError, String.valueOf(o));
+        }
     }
 
     // discard
-    @SuppressWarnings({"unused", "static-method"})
     public boolean discard(Object o) {
-        throw new UnsupportedOperationException();
+        return store.remove(o);
     }
 
     // pop
-    @SuppressWarnings("static-method")
-    public boolean pop() {
-        throw new UnsupportedOperationException();
+    public Object pop() {
+        final int slot = store.nextSlot(0);
+
+        if (slot == -1) {
+            throw new PException(Py.KeyError, "pop from an empty set");
+        }
+
+        final Object element = store.getItemAt(slot);
+        store.removeSlot(slot);
+        return element;
     }
 
     // clear
     public void clear() {
-        set.clear();
+        store = EmptySetStorage.INSTANCE;
     }
 
 }
@@ -24,19 +24,61 @@
  */
 package edu.uci.python.runtime.sequence;
 
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
+/**
+ * A str that is either flat or a rope. A rope records the two operands of a concatenation, each a
+ * {@link String} or another {@link PString}, and is only flattened when its characters are needed.
+ * Repeated {@code s += x} therefore stays linear in the length of the result.
+ */
 public final class PString extends PImmutableSequence {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PString.class);
 
-    private final String value;
+    private String value;
+    private Object left;
+    private Object right;
+    private final int length;
 
     public PString(String value) {
         this.value = value;
+        this.length = value.length();
+    }
+
+    private PString(Object left, Object right, int length) {
+        this.left = left;
+        this.right = right;
+        this.length = length;
+    }
+
+    /**
+     * Concatenates two str operands, each a {@link String} or a {@link PString}. Short results
+     * are copied into a flat {@link String}, longer ones become a rope.
+     */
+    public static Object concat(Object left, Object right) {
+        final int length = lengthOf(left) + lengthOf(right);
+
+        if (length < PythonOptions.StringRopeThreshold) {
+            return flatValueOf(left).concat(flatValueOf(right));
+        }
+
+        return new PString(left, right, length);
+    }
+
+    private static int lengthOf(Object string) {
+        return string instanceof PString ? ((PString) string).length : ((String) string).length();
+    }
+
+    private static String flatValueOf(Object string) {
+        return string instanceof PString ? ((PString) string).getValue() : (String) string;
     }
 
     @Override
@@ -44,18 +86,78 @@ public final class PString extends PImmutableSequence {
         return __class__;
     }
 
+    public boolean isRope() {
+        return value == null;
+    }
+
+    /**
+     * Returns the flat value, flattening a rope once and dropping its operands.
+     */
     public String getValue() {
+        if (value == null) {
+            flatten();
+        }
+
         return value;
     }
 
+    @TruffleBoundary
+    private void flatten() {
+        final StringBuilder sb = new StringBuilder(length);
+        appendTo(sb);
+        value = sb.toString();
+        left = null;
+        right = null;
+    }
+
+    /**
+     * Appends the characters of this str to {@code sb} without flattening it.
+     */
+    @TruffleBoundary
+    public void appendTo(StringBuilder sb) {
+        if (value != null) {
+            sb.append(value);
+            return;
+        }
+
+        /**
+         * Ropes built by accumulation lean to the left, so walk them with an explicit stack.
+         */
+        final ArrayDeque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+
+        while (!pending.isEmpty()) {
+            final Object part = pending.pop();
+
+            if (part instanceof String) {
+                sb.append((String) part);
+                continue;
+            }
+
+            final PString rope = (PString) part;
+
+            if (rope.value != null) {
+                sb.append(rope.value);
+            } else {
+                pending.push(rope.right);
+                pending.push(rope.left);
+            }
+        }
+    }
+
     @Override
     public int len() {
-        return value.length();
+        return length;
     }
 
     @Override
     public Object getItem(int idx) {
-        return value.charAt(idx);
+        return Character.toString(getValue().charAt(idx));
+    }
+
+    @Override
+    public PIterator __iter__() {
+        return new PStringIterator(getValue());
     }
 
     @Override
@@ -75,7 +177,21 @@ public final class PString extends PImmutableSequence {
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof PString) {
+            return getValue().equals(((PString) other).getValue());
+        }
+
+        return other instanceof String && getValue().equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
     }
 
     @Override
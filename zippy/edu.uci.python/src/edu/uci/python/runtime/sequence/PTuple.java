@@ -37,10 +37,23 @@ import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
-public final class PTuple extends PImmutableSequence implements Comparable<Object> {
+/**
+ * A tuple backed by an {@code Object[]}. Tuples of two to four elements are usually one of the
+ * fixed-arity subclasses instead, which keep their elements in fields ({@link PTuple2},
+ * {@link PTuple3}, {@link PTuple4}) or, for pairs of ints or floats, unboxed ({@link PIntTuple2},
+ * {@link PDoubleTuple2}); {@link #create} picks the representation. Code that does not care about
+ * the representation goes through {@link #len()} and {@link #getItemNormalized(int)};
+ * {@link #getArray()} has to build an array for the fixed-arity tuples.
+ */
+public class PTuple extends PImmutableSequence implements Comparable<Object> {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PTuple.class);
 
+    /**
+     * The fixed-arity subclasses share this placeholder, and never read it.
+     */
+    protected static final Object[] IN_FIELDS = new Object[0];
+
     private final Object[] array;
 
     public PTuple() {
@@ -53,7 +66,26 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
     }
 
     public static PTuple create(Object[] objects) {
-        return new PTuple(objects);
+        switch (objects.length) {
+            case 2:
+                return create(objects[0], objects[1]);
+            case 3:
+                return new PTuple3(objects[0], objects[1], objects[2]);
+            case 4:
+                return new PTuple4(objects[0], objects[1], objects[2], objects[3]);
+            default:
+                return new PTuple(objects);
+        }
+    }
+
+    public static PTuple create(Object first, Object second) {
+        if (first instanceof Integer && second instanceof Integer) {
+            return new PIntTuple2((int) first, (int) second);
+        } else if (first instanceof Double && second instanceof Double) {
+            return new PDoubleTuple2((double) first, (double) second);
+        }
+
+        return new PTuple2(first, second);
     }
 
     public PTuple(PIterator iter) {
@@ -90,28 +122,36 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
         try {
             return array[index];
         } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("tuple index out of range");
+            throw indexOutOfRange();
         }
     }
 
+    protected static PException indexOutOfRange() {
+        return new PException(Py.IndexError, "tuple index out of range");
+    }
+
     @Override
     public Object getSlice(PSlice slice) {
-        int length = slice.computeActualIndices(array.length);
+        int length = slice.computeActualIndices(len());
         return getSlice(slice.getStart(), slice.getStop(), slice.getStep(), length);
     }
 
     @Override
     public Object getSlice(int start, int stop, int step, int length) {
+        if (step == 1 && length == len()) {
+            // tuples are immutable, so a full slice can be the tuple itself
+            return this;
+        }
+
         Object[] newArray = new Object[length];
         if (step == 1) {
-            System.arraycopy(array, start, newArray, 0, stop - start);
-            return new PTuple(newArray);
+            System.arraycopy(getArray(), start, newArray, 0, stop - start);
+            return create(newArray);
         }
         for (int i = start, j = 0; j < length; i += step, j++) {
-            newArray[j] = array[i];
+            newArray[j] = getItemNormalized(i);
         }
-        return new PTuple(newArray);
+        return create(newArray);
     }
 
     @Override
@@ -142,17 +182,18 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
 
     @Override
     public String toString() {
+        final int length = len();
         StringBuilder buf = new StringBuilder("(");
-        for (int i = 0; i < array.length - 1; i++) {
-            buf.append(toString(array[i]));
+        for (int i = 0; i < length - 1; i++) {
+            buf.append(toString(getItemNormalized(i)));
             buf.append(", ");
         }
 
-        if (array.length > 0) {
-            buf.append(toString(array[array.length - 1]));
+        if (length > 0) {
+            buf.append(toString(getItemNormalized(length - 1)));
         }
 
-        if (array.length == 1) {
+        if (length == 1) {
             buf.append(",");
         }
 
@@ -162,14 +203,14 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
 
     @Override
     public Object getMin() {
-        Object[] copy = Arrays.copyOf(this.array, this.array.length);
+        Object[] copy = Arrays.copyOf(getArray(), len());
         Arrays.sort(copy);
         return copy[0];
     }
 
     @Override
     public Object getMax() {
-        Object[] copy = Arrays.copyOf(this.array, this.array.length);
+        Object[] copy = Arrays.copyOf(getArray(), len());
         Arrays.sort(copy);
         return copy[copy.length - 1];
     }
@@ -180,7 +221,7 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
 
         System.arraycopy(getArray(), 0, newArray, 0, len());
         System.arraycopy(rightArray, 0, newArray, len(), rightArray.length);
-        return new PTuple(newArray);
+        return create(newArray);
     }
 
     @SuppressWarnings({"unused", "static-method"})
@@ -195,8 +236,8 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
 
     @Override
     public int index(Object value) {
-        for (int i = 0; i < array.length; i++) {
-            Object val = array[i];
+        for (int i = 0; i < len(); i++) {
+            Object val = getItemNormalized(i);
 
             if (val.equals(value)) {
                 return i;
@@ -217,12 +258,33 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
         }
 
         PTuple otherTuple = (PTuple) other;
-        return Arrays.equals(array, otherTuple.array);
+        final int length = len();
+
+        if (length != otherTuple.len()) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (!HashingUtil.keyEquals(getItemNormalized(i), otherTuple.getItemNormalized(i))) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
+    /**
+     * Tuples are hashable, so the hash is derived from the elements.
+     */
     @Override
     public int hashCode() {
-        return super.hashCode();
+        int hash = 1;
+
+        for (int i = 0; i < len(); i++) {
+            hash = 31 * hash + HashingUtil.hash(getItemNormalized(i));
+        }
+
+        return hash;
     }
 
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import java.math.*;
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Sorting support shared by list.sort() and sorted().
+ * <p>
+ * Python sorts are stable, also when reversed. A key function is called exactly once per element;
+ * the resulting keys are packed into a primitive array when they are all ints or floats, and only
+ * fall back to comparing boxed keys otherwise. The result is a permutation that the storage
+ * applies in place.
+ */
+public class SortUtil {
+
+    public static final Comparator<Object> PYTHON_ORDER = new PythonOrder();
+
+    public static final Comparator<Object> REVERSED_PYTHON_ORDER = Collections.reverseOrder(PYTHON_ORDER);
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    public static Object[] evaluateKeys(SequenceStorage store, PythonCallable key) {
+        final int length = store.length();
+        final Object[] keys = new Object[length];
+
+        for (int i = 0; i < length; i++) {
+            keys[i] = key.call(PArguments.createWithUserArguments(store.getItemNormalized(i)));
+        }
+
+        if (store.length() != length) {
+            throw Py.ValueError("list modified during sort");
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns the stable order of {@code keys}: element {@code i} of the sorted sequence is the
+     * element at index {@code order[i]} of the unsorted one.
+     */
+    public static int[] sortedOrder(Object[] keys, boolean reverse) {
+        final int length = keys.length;
+        boolean allInts = true;
+        boolean allLongs = true;
+        boolean allDoubles = true;
+
+        for (int i = 0; i < length; i++) {
+            final Object key = keys[i];
+
+            if (!(key instanceof Integer)) {
+                allInts = false;
+
+                if (!(key instanceof Long)) {
+                    allLongs = false;
+                }
+            }
+
+            if (!(key instanceof Integer || key instanceof Double)) {
+                allDoubles = false;
+            }
+
+            if (!allLongs && !allDoubles) {
+                return sortedOrderOfObjects(keys, reverse);
+            }
+        }
+
+        if (allInts) {
+            return sortedOrderOfInts(keys, reverse);
+        }
+
+        final long[] primitiveKeys = new long[length];
+
+        for (int i = 0; i < length; i++) {
+            final Object key = keys[i];
+            final long primitive;
+
+            if (allLongs) {
+                primitive = key instanceof Integer ? (int) key : (long) key;
+            } else {
+                primitive = sortableBits(key instanceof Integer ? (int) key : (double) key);
+            }
+
+            primitiveKeys[i] = reverse ? ~primitive : primitive;
+        }
+
+        final int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+
+        mergeSort(order, new int[length], primitiveKeys, 0, length);
+        return order;
+    }
+
+    /**
+     * Packs each int key above its index, so that a plain primitive sort is stable.
+     */
+    private static int[] sortedOrderOfInts(Object[] keys, boolean reverse) {
+        final int length = keys.length;
+        final long[] packed = new long[length];
+
+        for (int i = 0; i < length; i++) {
+            final int key = (int) keys[i];
+            packed[i] = ((long) (reverse ? ~key : key) << 32) | i;
+        }
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(packed);
+        } else {
+            Arrays.sort(packed);
+        }
+
+        final int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            order[i] = (int) packed[i];
+        }
+
+        return order;
+    }
+
+    private static int[] sortedOrderOfObjects(Object[] keys, boolean reverse) {
+        final int length = keys.length;
+        final Integer[] boxedOrder = new Integer[length];
+
+        for (int i = 0; i < length; i++) {
+            boxedOrder[i] = i;
+        }
+
+        Comparator<Integer> comparator = new KeyComparator(keys);
+        Arrays.sort(boxedOrder, reverse ? Collections.reverseOrder(comparator) : comparator);
+        final int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            order[i] = boxedOrder[i];
+        }
+
+        return order;
+    }
+
+    /**
+     * Maps a double to a long with the same ordering. Negative zero sorts as zero, NaN sorts
+     * after every other value.
+     */
+    private static long sortableBits(double value) {
+        final long bits = Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static void mergeSort(int[] order, int[] buffer, long[] keys, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int index = order[i];
+                final long key = keys[index];
+                int j = i - 1;
+
+                while (j >= from && keys[order[j]] > key) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+
+                order[j + 1] = index;
+            }
+
+            return;
+        }
+
+        final int middle = (from + to) >>> 1;
+        mergeSort(order, buffer, keys, from, middle);
+        mergeSort(order, buffer, keys, middle, to);
+
+        if (keys[order[middle - 1]] <= keys[order[middle]]) {
+            return;
+        }
+
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && keys[buffer[left]] <= keys[buffer[right]])) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static final class KeyComparator implements Comparator<Integer> {
+
+        private final Object[] keys;
+
+        public KeyComparator(Object[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int compare(Integer left, Integer right) {
+            return PYTHON_ORDER.compare(keys[left], keys[right]);
+        }
+    }
+
+    /**
+     * The ordering of Python's < operator on the built-in types.
+     */
+    private static final class PythonOrder implements Comparator<Object> {
+
+        @Override
+        public int compare(Object left, Object right) {
+            if (isNumber(left) && isNumber(right)) {
+                return compareNumbers(left, right);
+            } else if (isString(left) && isString(right)) {
+                return left.toString().compareTo(right.toString());
+            } else if (left instanceof PList && right instanceof PList) {
+                final SequenceStorage leftStore = ((PList) left).getStorage();
+                final SequenceStorage rightStore = ((PList) right).getStorage();
+                final int length = Math.min(leftStore.length(), rightStore.length());
+
+                for (int i = 0; i < length; i++) {
+                    final int result = compare(leftStore.getItemNormalized(i), rightStore.getItemNormalized(i));
+
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+
+                return Integer.compare(leftStore.length(), rightStore.length());
+            } else if (left instanceof PTuple && right instanceof PTuple) {
+                final PTuple leftTuple = (PTuple) left;
+                final PTuple rightTuple = (PTuple) right;
+                final int length = Math.min(leftTuple.len(), rightTuple.len());
+
+                for (int i = 0; i < length; i++) {
+                    final int result = compare(leftTuple.getItemNormalized(i), rightTuple.getItemNormalized(i));
+
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+
+                return Integer.compare(leftTuple.len(), rightTuple.len());
+            } else if (left instanceof Comparable && left.getClass() == right.getClass() && !(left instanceof PythonObject)) {
+                @SuppressWarnings("unchecked")
+                final Comparable<Object> comparable = (Comparable<Object>) left;
+                return comparable.compareTo(right);
+            } else if (left instanceof PythonObject || right instanceof PythonObject) {
+                if (lessThan(left, right)) {
+                    return -1;
+                }
+
+                return lessThan(right, left) ? 1 : 0;
+            }
+
+            throw Py.TypeError("unorderable types: " + typeName(left) + "() < " + typeName(right) + "()");
+        }
+
+        /**
+         * Evaluates {@code left < right} through {@code left.__lt__}, falling back to the reflected
+         * {@code right.__gt__} like the Python comparison operators do.
+         */
+        private static boolean lessThan(Object left, Object right) {
+            Object result = callSpecialMethod(left, "__lt__", right);
+
+            if (result == null) {
+                result = callSpecialMethod(right, "__gt__", left);
+            }
+
+            if (result == null) {
+                throw Py.TypeError("unorderable types: " + typeName(left) + "() < " + typeName(right) + "()");
+            }
+
+            return isTrue(result);
+        }
+
+        private static Object callSpecialMethod(Object self, String name, Object other) {
+            if (self instanceof PythonObject) {
+                final Object method = ((PythonObject) self).getAttribute(name);
+
+                if (method instanceof PythonCallable) {
+                    return ((PythonCallable) method).call(PArguments.createWithUserArguments(self, other));
+                }
+            }
+
+            return null;
+        }
+
+        private static boolean isTrue(Object value) {
+            if (value instanceof Boolean) {
+                return (boolean) value;
+            } else if (isNumber(value)) {
+                return compareNumbers(value, 0) != 0;
+            }
+
+            return value != PNone.NONE;
+        }
+
+        private static boolean isNumber(Object value) {
+            return value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof BigInteger || value instanceof Boolean;
+        }
+
+        private static boolean isString(Object value) {
+            return value instanceof String || value instanceof PString;
+        }
+
+        private static int compareNumbers(Object left, Object right) {
+            if (left instanceof Double || right instanceof Double) {
+                final double leftDouble = toDouble(left);
+                final double rightDouble = toDouble(right);
+
+                if (Double.isNaN(leftDouble) || Double.isNaN(rightDouble)) {
+                    return Boolean.compare(Double.isNaN(leftDouble), Double.isNaN(rightDouble));
+                }
+
+                return Double.compare(leftDouble + 0.0, rightDouble + 0.0);
+            } else if (left instanceof BigInteger || right instanceof BigInteger) {
+                return toBigInteger(left).compareTo(toBigInteger(right));
+            }
+
+            return Long.compare(toLong(left), toLong(right));
+        }
+
+        private static long toLong(Object value) {
+            if (value instanceof Integer) {
+                return (int) value;
+            } else if (value instanceof Boolean) {
+                return (boolean) value ? 1 : 0;
+            }
+
+            return (long) value;
+        }
+
+        private static double toDouble(Object value) {
+            if (value instanceof Double) {
+                return (double) value;
+            } else if (value instanceof BigInteger) {
+                return ((BigInteger) value).doubleValue();
+            }
+
+            return toLong(value);
+        }
+
+        private static BigInteger toBigInteger(Object value) {
+            return value instanceof BigInteger ? (BigInteger) value : BigInteger.valueOf(toLong(value));
+        }
+
+        private static String typeName(Object value) {
+            if (value instanceof PythonObject) {
+                return ((PythonObject) value).getPythonClass().getName();
+            }
+
+            return PythonTypesUtil.getPythonTypeName(value);
+        }
+    }
+
+}
@@ -24,6 +24,8 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
+import edu.uci.python.runtime.*;
+
 public abstract class BasicSequenceStorage extends SequenceStorage {
 
     // nominated storage length
@@ -32,6 +34,9 @@ public abstract class BasicSequenceStorage extends SequenceStorage {
     // physical storage length
     protected int capacity;
 
+    // backing array is shared with another storage and must be copied before the next write
+    protected boolean shared;
+
     @Override
     public final int length() {
         return length;
@@ -51,9 +56,29 @@ public abstract class BasicSequenceStorage extends SequenceStorage {
     protected void ensureCapacity(int newCapacity) {
         if (newCapacity > capacity) {
             increaseCapacityExactWithCopy(capacityFor(newCapacity));
+            shared = false;
+        }
+    }
+
+    /**
+     * Copies the backing array if it is shared, so that a write does not show through other
+     * storages. Copies, full slices and prefix slices share the array of their source until one of
+     * them is written.
+     */
+    protected final void ensureUnshared() {
+        if (shared) {
+            increaseCapacityExactWithCopy(capacity);
+            shared = false;
         }
     }
 
+    /**
+     * Marks the backing array as shared by another owner, such as a tuple or another storage.
+     */
+    public final void markShared() {
+        shared = true;
+    }
+
     protected abstract void increaseCapacityExactWithCopy(int newCapacity);
 
     protected abstract void increaseCapacityExact(int newCapacity);
@@ -62,14 +87,60 @@ public abstract class BasicSequenceStorage extends SequenceStorage {
         capacity = length;
     }
 
+    /**
+     * How many of {@code count} elements fit in the strided slice from {@code start} towards
+     * {@code stop}.
+     */
+    protected static int stridedCount(int start, int stop, int step, int count) {
+        int extent = step > 0 ? (stop - start + step - 1) / step : (stop - start + step + 1) / step;
+        return Math.min(count, Math.max(extent, 0));
+    }
+
+    /**
+     * Removes {@code count} elements at start, start + step, ... from {@code array} by compacting
+     * the gaps between them, and returns the new length.
+     */
+    protected static int deleteStrided(Object array, int length, int start, int step, int count) {
+        if (count == 0) {
+            return length;
+        }
+
+        int first = step > 0 ? start : start + (count - 1) * step;
+        int stride = Math.abs(step);
+        int dest = first;
+        int source = first + 1;
+
+        for (int k = 1; k < count; k++) {
+            System.arraycopy(array, source, array, dest, stride - 1);
+            dest += stride - 1;
+            source += stride;
+        }
+
+        System.arraycopy(array, source, array, dest, length - source);
+        return dest + length - source;
+    }
+
     @Override
     public int index(Object value) {
         for (int i = 0; i < length; i++) {
-            if (getItemNormalized(i).equals(value)) {
+            if (HashingUtil.keyEquals(getItemNormalized(i), value)) {
                 return i;
             }
         }
 
         return -1;
     }
+
+    @Override
+    public int count(Object value) {
+        int count = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (HashingUtil.keyEquals(getItemNormalized(i), value)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
 }
@@ -29,41 +29,80 @@ import java.util.*;
 
 import org.python.core.*;
 
-import com.oracle.truffle.api.*;
-import com.oracle.truffle.api.nodes.*;
-
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
+/**
+ * Booleans packed 64 to a {@code long} word. Bits at or beyond {@link #length} are always kept
+ * clear, so that counting, searching and comparing can work a whole word at a time.
+ */
 public final class BoolSequenceStorage extends BasicSequenceStorage {
 
-    private boolean[] values;
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final long ALL_ONES = -1L;
+
+    private long[] words;
 
     public BoolSequenceStorage() {
-        values = new boolean[]{};
+        words = new long[]{};
+    }
+
+    public BoolSequenceStorage(int capacity) {
+        this.words = new long[wordsFor(capacity)];
+        this.capacity = words.length * BITS_PER_WORD;
+        this.length = 0;
     }
 
     public BoolSequenceStorage(boolean[] elements) {
-        this.values = elements;
-        capacity = values.length;
+        this(elements.length);
+
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i]) {
+                words[i >>> ADDRESS_BITS_PER_WORD] |= 1L << i;
+            }
+        }
+
         length = elements.length;
     }
 
+    private BoolSequenceStorage(long[] words, int length) {
+        this.words = words;
+        this.capacity = words.length * BITS_PER_WORD;
+        this.length = length;
+    }
+
+    private static int wordsFor(int bits) {
+        return (int) (((long) bits + BITS_PER_WORD - 1) >>> ADDRESS_BITS_PER_WORD);
+    }
+
+    /**
+     * The low {@code bits} bits of a word, for {@code bits} in [0, 64].
+     */
+    private static long lowMask(int bits) {
+        return bits == BITS_PER_WORD ? ALL_ONES : (1L << bits) - 1;
+    }
+
     @Override
     protected void increaseCapacityExactWithCopy(int newCapacity) {
-        values = Arrays.copyOf(values, newCapacity);
-        capacity = values.length;
+        words = Arrays.copyOf(words, wordsFor(newCapacity));
+        capacity = words.length * BITS_PER_WORD;
     }
 
     @Override
     protected void increaseCapacityExact(int newCapacity) {
-        values = new boolean[newCapacity];
-        capacity = values.length;
+        words = new long[wordsFor(newCapacity)];
+        capacity = words.length * BITS_PER_WORD;
     }
 
     @Override
     public SequenceStorage copy() {
-        return new BoolSequenceStorage(Arrays.copyOf(values, length));
+        // bits past length are clear on both sides, so the whole word array can be shared
+        BoolSequenceStorage copy = new BoolSequenceStorage(words, length);
+        copy.shared = true;
+        shared = true;
+        return copy;
     }
 
     @Override
@@ -74,33 +113,145 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
         Object[] boxed = new Object[length];
 
         for (int i = 0; i < length; i++) {
-            boxed[i] = values[i];
+            boxed[i] = getBit(i);
         }
 
         return boxed;
     }
 
-    public boolean[] getInternalBoolArray() {
-        return values;
-    }
-
     @Override
     public Object[] getCopyOfInternalArray() {
         return getInternalArray();
     }
 
+    private boolean getBit(int idx) {
+        return (words[idx >>> ADDRESS_BITS_PER_WORD] & (1L << idx)) != 0;
+    }
+
+    private void setBit(int idx, boolean value) {
+        if (value) {
+            words[idx >>> ADDRESS_BITS_PER_WORD] |= 1L << idx;
+        } else {
+            words[idx >>> ADDRESS_BITS_PER_WORD] &= ~(1L << idx);
+        }
+    }
+
+    private void applyMask(int wordIndex, long mask, boolean value) {
+        if (value) {
+            words[wordIndex] |= mask;
+        } else {
+            words[wordIndex] &= ~mask;
+        }
+    }
+
+    /**
+     * Sets or clears the bits in [from, to).
+     */
+    private void fill(int from, int to, boolean value) {
+        if (from >= to) {
+            return;
+        }
+
+        int first = from >>> ADDRESS_BITS_PER_WORD;
+        int last = (to - 1) >>> ADDRESS_BITS_PER_WORD;
+        long firstMask = ALL_ONES << from;
+        long lastMask = ALL_ONES >>> -to;
+
+        if (first == last) {
+            applyMask(first, firstMask & lastMask, value);
+            return;
+        }
+
+        applyMask(first, firstMask, value);
+        Arrays.fill(words, first + 1, last, value ? ALL_ONES : 0);
+        applyMask(last, lastMask, value);
+    }
+
+    /**
+     * Sets or clears every {@code step}th bit in [from, to), one word write at a time.
+     */
+    private void fillStrided(int from, int to, int step, boolean value) {
+        int i = from;
+
+        while (i < to) {
+            int wordIndex = i >>> ADDRESS_BITS_PER_WORD;
+            int wordEnd = Math.min((wordIndex + 1) << ADDRESS_BITS_PER_WORD, to);
+            long mask = 0;
+
+            for (; i < wordEnd; i += step) {
+                mask |= 1L << i;
+            }
+
+            applyMask(wordIndex, mask, value);
+        }
+    }
+
+    /**
+     * The 64 bits of {@code source} starting at {@code bitIndex}, zero-filled past its end.
+     */
+    private static long readWord(long[] source, int bitIndex) {
+        int wordIndex = bitIndex >>> ADDRESS_BITS_PER_WORD;
+        int shift = bitIndex & (BITS_PER_WORD - 1);
+        long value = wordIndex < source.length ? source[wordIndex] >>> shift : 0;
+
+        if (shift != 0 && wordIndex + 1 < source.length) {
+            value |= source[wordIndex + 1] << (BITS_PER_WORD - shift);
+        }
+
+        return value;
+    }
+
+    /**
+     * Stores the low {@code count} bits of {@code value} starting at {@code bitIndex}.
+     */
+    private void writeWord(int bitIndex, long value, int count) {
+        long mask = lowMask(count);
+        long bits = value & mask;
+        int wordIndex = bitIndex >>> ADDRESS_BITS_PER_WORD;
+        int shift = bitIndex & (BITS_PER_WORD - 1);
+        words[wordIndex] = (words[wordIndex] & ~(mask << shift)) | (bits << shift);
+
+        if (shift != 0 && shift + count > BITS_PER_WORD) {
+            int spill = BITS_PER_WORD - shift;
+            words[wordIndex + 1] = (words[wordIndex + 1] & ~(mask >>> spill)) | (bits >>> spill);
+        }
+    }
+
+    /**
+     * Copies {@code count} bits from {@code source} into this storage. The source must not be
+     * this storage's own word array.
+     */
+    private void copyBits(long[] source, int sourceIndex, int destIndex, int count) {
+        for (int offset = 0; offset < count; offset += BITS_PER_WORD) {
+            writeWord(destIndex + offset, readWord(source, sourceIndex + offset), Math.min(BITS_PER_WORD, count - offset));
+        }
+    }
+
+    private long[] extractBits(int from, int count) {
+        long[] result = new long[wordsFor(count)];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readWord(words, from + i * BITS_PER_WORD);
+        }
+
+        if (result.length > 0) {
+            result[result.length - 1] &= ALL_ONES >>> -count;
+        }
+
+        return result;
+    }
+
     @Override
     public Object getItemNormalized(int idx) {
         return getBoolItemNormalized(idx);
     }
 
     public boolean getBoolItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return getBit(idx);
     }
 
     @Override
@@ -113,12 +264,12 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setBoolItemNormalized(int idx, boolean value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        setBit(idx, value);
     }
 
     @Override
@@ -132,83 +283,176 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
 
     public void insertBoolItem(int idx, boolean value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
+        int wordIndex = idx >>> ADDRESS_BITS_PER_WORD;
 
-        // shifting tail to the right by one slot
-        for (int i = values.length - 1; i > idx; i--) {
-            values[i] = values[i - 1];
+        // shifting tail to the left by one bit, carrying across words
+        for (int i = length >>> ADDRESS_BITS_PER_WORD; i > wordIndex; i--) {
+            words[i] = (words[i] << 1) | (words[i - 1] >>> (BITS_PER_WORD - 1));
         }
 
-        values[idx] = value;
+        long below = lowMask(idx & (BITS_PER_WORD - 1));
+        words[wordIndex] = (words[wordIndex] & below) | ((words[wordIndex] & ~below) << 1);
         length++;
+        setBit(idx, value);
     }
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
-        boolean[] newArray = new boolean[sliceLength];
+        BoolSequenceStorage slice = new BoolSequenceStorage(sliceLength);
 
         if (step == 1) {
-            System.arraycopy(values, start, newArray, 0, sliceLength);
-            return new BoolSequenceStorage(newArray);
-        }
-
-        for (int i = start, j = 0; j < sliceLength; i += step, j++) {
-            newArray[j] = values[i];
+            slice.copyBits(words, start, 0, sliceLength);
+        } else {
+            for (int i = start, j = 0; j < sliceLength; i += step, j++) {
+                if (getBit(i)) {
+                    slice.words[j >>> ADDRESS_BITS_PER_WORD] |= 1L << j;
+                }
+            }
         }
 
-        return new BoolSequenceStorage(newArray);
+        slice.length = sliceLength;
+        return slice;
     }
 
     @Override
     public void setSliceInBound(int start, int stop, int step, SequenceStorage sequence) throws SequenceStoreException {
         if (sequence instanceof BoolSequenceStorage) {
             setBoolSliceInBound(start, stop, step, (BoolSequenceStorage) sequence);
+        } else if (sequence instanceof EmptySequenceStorage) {
+            setBoolSliceInBound(start, stop, step, new BoolSequenceStorage());
         } else {
             throw new SequenceStoreException();
         }
     }
 
-    public void setBoolSliceInBound(int start, int stop, int step, BoolSequenceStorage sequence) {
+    public void setBoolSliceInBound(int start, int stop, int step, BoolSequenceStorage other) {
+        BoolSequenceStorage sequence = other == this ? (BoolSequenceStorage) copy() : other;
+        ensureUnshared();
         int otherLength = sequence.length();
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
-            length = otherLength;
-            minimizeCapacity();
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            copyBits(sequence.words, 0, start, otherLength);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, otherLength);
+        int trueCount = sequence.countTrue();
+
+        if (trueCount == 0 || trueCount == otherLength) {
+            // uniform values, such as flags[i*i::i] = [False] * k, need not be read one by one
+            fillStridedSlice(start, step, limit, trueCount != 0);
+        } else {
+            for (int i = start, j = 0; j < limit; i += step, j++) {
+                setBit(i, sequence.getBit(j));
+            }
+        }
+    }
+
+    @Override
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (value instanceof Boolean) {
+            fillBoolSliceInBound(start, stop, step, count, (boolean) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void fillBoolSliceInBound(int start, int stop, int step, int count, boolean value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            fill(start, start + count, value);
+        } else {
+            fillStridedSlice(start, step, stridedCount(start, stop, step, count), value);
+        }
+    }
+
+    private void fillStridedSlice(int start, int step, int count, boolean value) {
+        if (count == 0) {
             return;
         }
 
-        ensureCapacity(stop);
+        int first = step > 0 ? start : start + (count - 1) * step;
+        int stride = Math.abs(step);
+        fillStrided(first, first + (count - 1) * stride + 1, stride, value);
+    }
+
+    /**
+     * Replaces the bits in [start, stop) with room for {@code newLength} cleared bits, moving the
+     * tail a word at a time.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+        if (end - start == newLength) {
+            return;
         }
 
-        length = length > stop ? length : stop;
+        int tailLength = length - end;
+        long[] tail = extractBits(end, tailLength);
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        fill(start, length, false);
+        copyBits(tail, 0, start + newLength, tailLength);
+        length = newTotal;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        if (sliceLength == 0) {
+            return;
+        }
+
+        if (step == 1) {
+            resizeRange(start, stop, 0);
+            return;
+        }
+
+        int first = step > 0 ? start : start + (sliceLength - 1) * step;
+        int stride = Math.abs(step);
+        int last = first + (sliceLength - 1) * stride;
+        int dest = first;
+
+        // compacting the bits between deleted positions, then the tail in one go
+        for (int i = first + 1; i < last; i++) {
+            if ((i - first) % stride != 0) {
+                setBit(dest++, getBit(i));
+            }
         }
+
+        int tailLength = length - last - 1;
+        long[] tail = extractBits(last + 1, tailLength);
+        fill(dest, length, false);
+        copyBits(tail, 0, dest, tailLength);
+        length = dest + tailLength;
     }
 
     @Override
     public void delItemInBound(int idx) {
-        if (values.length - 1 == idx) {
-            popBool();
-        } else {
-            popInBound(idx);
-        }
+        popInBound(idx);
     }
 
     @Override
     public Object popInBound(int idx) {
-        boolean pop = values[idx];
+        ensureUnshared();
+
+        boolean pop = getBit(idx);
+        int wordIndex = idx >>> ADDRESS_BITS_PER_WORD;
+        int last = (length - 1) >>> ADDRESS_BITS_PER_WORD;
 
-        for (int i = idx; i < values.length - 1; i++) {
-            values[i] = values[i + 1];
+        // shifting tail to the right by one bit, carrying across words
+        long below = lowMask(idx & (BITS_PER_WORD - 1));
+        long carry = wordIndex < last ? words[wordIndex + 1] << (BITS_PER_WORD - 1) : 0;
+        words[wordIndex] = (words[wordIndex] & below) | ((words[wordIndex] >>> 1) & ~below) | carry;
+
+        for (int i = wordIndex + 1; i <= last; i++) {
+            carry = i < last ? words[i + 1] << (BITS_PER_WORD - 1) : 0;
+            words[i] = (words[i] >>> 1) | carry;
         }
 
         length--;
@@ -216,7 +460,10 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
     }
 
     public boolean popBool() {
-        boolean pop = values[capacity - 1];
+        ensureUnshared();
+
+        boolean pop = getBit(length - 1);
+        setBit(length - 1, false);
         length--;
         return pop;
     }
@@ -231,17 +478,50 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
 
     }
 
-    @ExplodeLoop
     public int indexOfBool(boolean value) {
-        for (int i = 0; i < length; i++) {
-            if (values[i] == value) {
-                return i;
+        int usedWords = wordsFor(length);
+
+        for (int i = 0; i < usedWords; i++) {
+            long word = value ? words[i] : ~words[i];
+
+            if (word != 0) {
+                int index = (i << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+                return index < length ? index : -1;
             }
         }
 
         return -1;
     }
 
+    @Override
+    public int count(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value ? countTrue() : length - countTrue();
+        }
+
+        /**
+         * Numbers equal to 0 or 1, such as 1, 1.0 or -0.0, count like False and True.
+         */
+        final Integer number = HashingUtil.asIntKey(value);
+
+        if (number != null) {
+            return number == 1 ? countTrue() : number == 0 ? length - countTrue() : 0;
+        } else {
+            return super.count(value);
+        }
+    }
+
+    public int countTrue() {
+        int usedWords = wordsFor(length);
+        int count = 0;
+
+        for (int i = 0; i < usedWords; i++) {
+            count += Long.bitCount(words[i]);
+        }
+
+        return count;
+    }
+
     @Override
     public void append(Object value) throws SequenceStoreException {
         if (value instanceof Boolean) {
@@ -253,7 +533,8 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
 
     public void appendBool(boolean value) {
         ensureCapacity(length + 1);
-        values[length] = value;
+        ensureUnshared();
+        setBit(length, value);
         length++;
     }
 
@@ -266,52 +547,56 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
         }
     }
 
-// @ExplodeLoop
     public void extendWithBoolStorage(BoolSequenceStorage other) {
-        int extendedLength = length + other.length();
-        ensureCapacity(extendedLength);
-        boolean[] otherValues = other.values;
-
-        for (int i = length, j = 0; i < extendedLength; i++, j++) {
-            values[i] = otherValues[j];
-        }
-
-        length = extendedLength;
+        long[] otherWords = other == this ? Arrays.copyOf(words, wordsFor(length)) : other.words;
+        int otherLength = other.length();
+        ensureCapacity(length + otherLength);
+        ensureUnshared();
+        copyBits(otherWords, 0, length, otherLength);
+        length += otherLength;
     }
 
-    @ExplodeLoop
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
-            boolean temp = values[head];
-            values[head] = values[tail];
-            values[tail] = temp;
+        for (; head < tail; head++, tail--) {
+            boolean temp = getBit(head);
+            setBit(head, getBit(tail));
+            setBit(tail, temp);
         }
     }
 
-    // TODO: Should use Collection for sorting boolean
-    @ExplodeLoop
+    /**
+     * Sorting booleans is counting the falses and filling.
+     */
     @Override
-    public void sort() {
-        boolean[] copy = Arrays.copyOf(values, length);
-        int count = 0;
-        for (boolean b : copy) {
-            if (!b)
-                count++;
+    public void sort(boolean reverse) {
+        ensureUnshared();
+
+        int falseCount = length - countTrue();
+
+        if (reverse) {
+            fill(0, length - falseCount, true);
+            fill(length - falseCount, length, false);
+        } else {
+            fill(0, falseCount, false);
+            fill(falseCount, length, true);
         }
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        long[] source = Arrays.copyOf(words, wordsFor(length));
+
         for (int i = 0; i < length; i++) {
-            if (count != 0) {
-                copy[i] = false;
-                count--;
-            } else
-                copy[i] = true;
+            setBit(i, (source[order[i] >>> ADDRESS_BITS_PER_WORD] & (1L << order[i])) != 0);
         }
-        values = copy;
-        minimizeCapacity();
     }
 
     @Override
@@ -326,19 +611,20 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object getIndicativeValue() {
-        return 0;
+        return false;
     }
 
-    @ExplodeLoop
     @Override
     public boolean equals(SequenceStorage other) {
         if (other.length() != length() || !(other instanceof BoolSequenceStorage)) {
             return false;
         }
 
-        boolean[] otherArray = ((BoolSequenceStorage) other).getInternalBoolArray();
-        for (int i = 0; i < length(); i++) {
-            if (values[i] != otherArray[i]) {
+        long[] otherWords = ((BoolSequenceStorage) other).words;
+        int usedWords = wordsFor(length);
+
+        for (int i = 0; i < usedWords; i++) {
+            if (words[i] != otherWords[i]) {
                 return false;
             }
         }
@@ -24,12 +24,15 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
+import java.io.*;
 import java.util.*;
 
 import org.python.core.*;
 
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class DoubleSequenceStorage extends BasicSequenceStorage {
@@ -40,12 +43,28 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
         values = new double[]{};
     }
 
+    public DoubleSequenceStorage(int capacity) {
+        this.values = new double[capacity];
+        this.capacity = capacity;
+        this.length = 0;
+    }
+
     public DoubleSequenceStorage(double[] elements) {
         this.values = elements;
         length = elements.length;
         capacity = elements.length;
     }
 
+    /**
+     * Shares the first {@code length} elements of {@code elements} until either side is written.
+     */
+    private DoubleSequenceStorage(double[] elements, int length) {
+        this.values = elements;
+        this.length = length;
+        this.capacity = length;
+        this.shared = true;
+    }
+
     @Override
     protected void increaseCapacityExactWithCopy(int newCapacity) {
         values = Arrays.copyOf(values, newCapacity);
@@ -60,7 +79,12 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
-        return new DoubleSequenceStorage(Arrays.copyOf(values, length));
+        return share(length);
+    }
+
+    private DoubleSequenceStorage share(int sharedLength) {
+        shared = true;
+        return new DoubleSequenceStorage(values, sharedLength);
     }
 
     @Override
@@ -92,12 +116,11 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
     }
 
     public double getDoubleItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return values[idx];
     }
 
     @Override
@@ -110,12 +133,12 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setDoubleItemNormalized(int idx, double value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        values[idx] = value;
     }
 
     @Override
@@ -129,6 +152,7 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
 
     public void insertDoubleItem(int idx, double value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -141,6 +165,10 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && start == 0) {
+            return share(sliceLength);
+        }
+
         double[] newArray = new double[sliceLength];
 
         if (step == 1) {
@@ -165,32 +193,68 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setDoubleSliceInBound(int start, int stop, int step, DoubleSequenceStorage sequence) {
+        ensureUnshared();
+
         int otherLength = sequence.length();
+        double[] otherValues = sequence == this ? Arrays.copyOf(values, length) : sequence.values;
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
-            length = otherLength;
-            minimizeCapacity();
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            System.arraycopy(otherValues, 0, values, start, otherLength);
             return;
         }
 
-        ensureCapacity(stop);
+        int limit = stridedCount(start, stop, step, otherLength);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = otherValues[j];
         }
-
-        length = length > stop ? length : stop;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (value instanceof Double) {
+            fillDoubleSliceInBound(start, stop, step, count, (double) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
         }
     }
 
+    public void fillDoubleSliceInBound(int start, int stop, int step, int count, double value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            Arrays.fill(values, start, start + count, value);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = value;
+        }
+    }
+
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        System.arraycopy(values, end, values, start + newLength, tailLength);
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        length = deleteStrided(values, length, start, step, sliceLength);
+    }
+
     @Override
     public void delItemInBound(int idx) {
         popInBound(idx);
@@ -198,6 +262,8 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        ensureUnshared();
+
         double pop = values[idx];
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -209,7 +275,7 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
     }
 
     public double popDouble() {
-        double pop = values[capacity - 1];
+        double pop = values[length - 1];
         length--;
         return pop;
     }
@@ -245,6 +311,7 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
 
     public void appendDouble(double value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
         values[length] = value;
         length++;
     }
@@ -261,6 +328,7 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
     public void extendWithIntStorage(DoubleSequenceStorage other) {
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
+        ensureUnshared();
         double[] otherValues = other.values;
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
@@ -272,28 +340,124 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
+        for (; head < tail; head++, tail--) {
             double temp = values[head];
             values[head] = values[tail];
             values[tail] = temp;
         }
     }
 
+    /**
+     * NaN sorts after every other float, as in sorted() with float keys. Negative and positive
+     * zero compare equal in Python, so they keep their original relative order, which the
+     * primitive sort alone does not preserve.
+     */
+    @Override
+    public void sort(boolean reverse) {
+        ensureUnshared();
+        boolean[] zeroSigns = signsOfMixedZeros();
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(values, 0, length);
+        } else {
+            Arrays.sort(values, 0, length);
+        }
+
+        if (reverse) {
+            reverse();
+        }
+
+        if (zeroSigns != null) {
+            int start = 0;
+
+            while (values[start] != 0.0) {
+                start++;
+            }
+
+            for (int i = 0; i < zeroSigns.length; i++) {
+                values[start + i] = zeroSigns[i] ? -0.0 : 0.0;
+            }
+        }
+    }
+
+    /**
+     * The signs of the zeros in order of appearance, or null unless both signed zeros occur.
+     */
+    private boolean[] signsOfMixedZeros() {
+        int negativeZeros = 0;
+        int zeros = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (values[i] == 0.0) {
+                zeros++;
+
+                if (Double.doubleToRawLongBits(values[i]) != 0L) {
+                    negativeZeros++;
+                }
+            }
+        }
+
+        if (negativeZeros == 0 || negativeZeros == zeros) {
+            return null;
+        }
+
+        boolean[] signs = new boolean[zeros];
+
+        for (int i = 0, j = 0; i < length; i++) {
+            if (values[i] == 0.0) {
+                signs[j++] = Double.doubleToRawLongBits(values[i]) != 0L;
+            }
+        }
+
+        return signs;
+    }
+
     @Override
-    public void sort() {
-        double[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        for (int i = 0; i < length; i++) {
+            if (order[i] == i) {
+                continue;
+            }
+
+            double displaced = values[i];
+            int j = i;
+
+            while (order[j] != i) {
+                int next = order[j];
+                values[j] = values[next];
+                order[j] = j;
+                j = next;
+            }
+
+            values[j] = displaced;
+            order[j] = j;
+        }
     }
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
-        return new ObjectSequenceStorage(getInternalArray());
+        final SequenceStorage generalized;
+
+        // a float value comes from extending with, or assigning a slice of, mixed numbers
+        if (NumericSequenceStorage.canStore(value)) {
+            generalized = new NumericSequenceStorage(this);
+        } else {
+            generalized = new ObjectSequenceStorage(getInternalArray());
+        }
+
+        if (PythonOptions.TraceSequenceStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to " + generalized);
+        }
+
+        return generalized;
     }
 
     @Override
@@ -53,8 +53,16 @@ public final class EmptySequenceStorage extends SequenceStorage {
             generalized = new LongSequenceStorage();
         } else if (value instanceof Double) {
             generalized = new DoubleSequenceStorage();
+        } else if (value instanceof Boolean) {
+            generalized = new BoolSequenceStorage();
         } else if (value instanceof PList) {
-            generalized = new ListSequenceStorage(((PList) value).getStorage());
+            SequenceStorage row = ((PList) value).getStorage();
+
+            if (PythonOptions.FlatMatrixStorage && MatrixSequenceStorage.isRowStorage(row)) {
+                generalized = new MatrixSequenceStorage(row);
+            } else {
+                generalized = new ListSequenceStorage(row);
+            }
         } else if (value instanceof PTuple) {
             generalized = new TupleSequenceStorage();
         } else {
@@ -84,6 +92,11 @@ public final class EmptySequenceStorage extends SequenceStorage {
         throw Py.ValueError(value + " is not in list");
     }
 
+    @Override
+    public int count(Object value) {
+        return 0;
+    }
+
     @Override
     public SequenceStorage copy() {
         return this;
@@ -129,8 +142,15 @@ public final class EmptySequenceStorage extends SequenceStorage {
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        throw new UnsupportedOperationException();
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (count != 0) {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        assert sliceLength == 0;
     }
 
     @Override
@@ -158,7 +178,11 @@ public final class EmptySequenceStorage extends SequenceStorage {
     }
 
     @Override
-    public void sort() {
+    public void sort(boolean reverse) {
+    }
+
+    @Override
+    public void permute(int[] order) {
     }
 
     @Override
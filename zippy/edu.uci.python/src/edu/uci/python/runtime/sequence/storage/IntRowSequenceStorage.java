@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * A row of a int matrix. See {@link RowSequenceStorage}.
+ */
+public final class IntRowSequenceStorage extends RowSequenceStorage {
+
+    public IntRowSequenceStorage(MatrixSequenceStorage matrix, int offset, int length) {
+        super(matrix, offset, length);
+    }
+
+    @Override
+    public IntSequenceStorage materialize() {
+        return new IntSequenceStorage(Arrays.copyOfRange(matrix.ints, offset, offset + length));
+    }
+
+    @Override
+    public Object getItemNormalized(int idx) {
+        return getIntItemNormalized(idx);
+    }
+
+    public int getIntItemNormalized(int idx) {
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
+        }
+
+        return matrix.ints[offset + idx];
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) throws SequenceStoreException {
+        if (value instanceof Integer) {
+            setIntItemNormalized(idx, (int) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void setIntItemNormalized(int idx, int value) {
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
+        }
+
+        matrix.ints[offset + idx] = value;
+    }
+
+    @Override
+    public void reverse() {
+        final int[] values = matrix.ints;
+        int head = offset;
+        int tail = offset + length - 1;
+
+        for (; head < tail; head++, tail--) {
+            int temp = values[head];
+            values[head] = values[tail];
+            values[tail] = temp;
+        }
+    }
+
+    @Override
+    public void sort(boolean reverse) {
+        IntSequenceStorage sorted = materialize();
+        sorted.sort(reverse);
+        System.arraycopy(sorted.getInternalIntArray(), 0, matrix.ints, offset, length);
+    }
+
+    @Override
+    public void permute(int[] order) {
+        IntSequenceStorage permuted = materialize();
+        permuted.permute(order);
+        System.arraycopy(permuted.getInternalIntArray(), 0, matrix.ints, offset, length);
+    }
+
+    @Override
+    public SequenceStorage generalizeFor(Object value) {
+        SequenceStorage own = detach();
+        return value instanceof Integer ? own : own.generalizeFor(value);
+    }
+
+    @Override
+    public Object getIndicativeValue() {
+        return 0;
+    }
+
+}
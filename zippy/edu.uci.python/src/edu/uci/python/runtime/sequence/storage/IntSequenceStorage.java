@@ -33,6 +33,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class IntSequenceStorage extends BasicSequenceStorage {
@@ -43,12 +44,28 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
         values = new int[]{};
     }
 
+    public IntSequenceStorage(int capacity) {
+        this.values = new int[capacity];
+        this.capacity = capacity;
+        this.length = 0;
+    }
+
     public IntSequenceStorage(int[] elements) {
         this.values = elements;
         capacity = values.length;
         length = elements.length;
     }
 
+    /**
+     * Shares the first {@code length} elements of {@code elements} until either side is written.
+     */
+    private IntSequenceStorage(int[] elements, int length) {
+        this.values = elements;
+        this.length = length;
+        this.capacity = length;
+        this.shared = true;
+    }
+
     @Override
     protected void increaseCapacityExactWithCopy(int newCapacity) {
         values = Arrays.copyOf(values, newCapacity);
@@ -63,7 +80,12 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
-        return new IntSequenceStorage(Arrays.copyOf(values, length));
+        return share(length);
+    }
+
+    private IntSequenceStorage share(int sharedLength) {
+        shared = true;
+        return new IntSequenceStorage(values, sharedLength);
     }
 
     @Override
@@ -95,12 +117,11 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     }
 
     public int getIntItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return values[idx];
     }
 
     @Override
@@ -113,12 +134,12 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setIntItemNormalized(int idx, int value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        values[idx] = value;
     }
 
     @Override
@@ -132,6 +153,7 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
 
     public void insertIntItem(int idx, int value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -144,6 +166,10 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && start == 0) {
+            return share(sliceLength);
+        }
+
         int[] newArray = new int[sliceLength];
 
         if (step == 1) {
@@ -168,32 +194,68 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setIntSliceInBound(int start, int stop, int step, IntSequenceStorage sequence) {
+        ensureUnshared();
+
         int otherLength = sequence.length();
+        int[] otherValues = sequence == this ? Arrays.copyOf(values, length) : sequence.values;
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
-            length = otherLength;
-            minimizeCapacity();
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            System.arraycopy(otherValues, 0, values, start, otherLength);
             return;
         }
 
-        ensureCapacity(stop);
+        int limit = stridedCount(start, stop, step, otherLength);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = otherValues[j];
         }
-
-        length = length > stop ? length : stop;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (value instanceof Integer) {
+            fillIntSliceInBound(start, stop, step, count, (int) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
         }
     }
 
+    public void fillIntSliceInBound(int start, int stop, int step, int count, int value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            Arrays.fill(values, start, start + count, value);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = value;
+        }
+    }
+
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        System.arraycopy(values, end, values, start + newLength, tailLength);
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        length = deleteStrided(values, length, start, step, sliceLength);
+    }
+
     @Override
     public void delItemInBound(int idx) {
         if (values.length - 1 == idx) {
@@ -205,6 +267,8 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        ensureUnshared();
+
         int pop = values[idx];
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -216,7 +280,7 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     }
 
     public int popInt() {
-        int pop = values[capacity - 1];
+        int pop = values[length - 1];
         length--;
         return pop;
     }
@@ -253,6 +317,7 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
 
     public void appendInt(int value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
         values[length] = value;
         length++;
     }
@@ -270,6 +335,7 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     public void extendWithIntStorage(IntSequenceStorage other) {
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
+        ensureUnshared();
         int[] otherValues = other.values;
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
@@ -282,11 +348,12 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     @ExplodeLoop
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
+        for (; head < tail; head++, tail--) {
             int temp = values[head];
             values[head] = values[tail];
             values[tail] = temp;
@@ -295,21 +362,68 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
 
     @ExplodeLoop
     @Override
-    public void sort() {
-        int[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+    public void sort(boolean reverse) {
+        ensureUnshared();
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(values, 0, length);
+        } else {
+            Arrays.sort(values, 0, length);
+        }
+
+        if (reverse) {
+            reverse();
+        }
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        for (int i = 0; i < length; i++) {
+            if (order[i] == i) {
+                continue;
+            }
+
+            int displaced = values[i];
+            int j = i;
+
+            while (order[j] != i) {
+                int next = order[j];
+                values[j] = values[next];
+                order[j] = j;
+                j = next;
+            }
+
+            values[j] = displaced;
+            order[j] = j;
+        }
     }
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
+        final SequenceStorage generalized;
+
+        if (value instanceof Long) {
+            final long[] longs = new long[length];
+
+            for (int i = 0; i < length; i++) {
+                longs[i] = values[i];
+            }
+
+            generalized = new LongSequenceStorage(longs);
+        } else if (value instanceof Double) {
+            generalized = new NumericSequenceStorage(this);
+        } else {
+            generalized = new ObjectSequenceStorage(getInternalArray());
+        }
+
         if (PythonOptions.TraceSequenceStorageGeneralization) {
             PrintStream ps = System.out;
-            ps.println("[ZipPy]" + this + " generalizing to ObjectSequenceStorage");
+            ps.println("[ZipPy]" + this + " generalizing to " + generalized);
         }
 
-        return new ObjectSequenceStorage(getInternalArray());
+        return generalized;
     }
 
     @Override
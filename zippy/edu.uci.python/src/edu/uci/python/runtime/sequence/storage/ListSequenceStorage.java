@@ -33,9 +33,10 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
-public final class ListSequenceStorage extends BasicSequenceStorage {
+public class ListSequenceStorage extends BasicSequenceStorage {
 
     private PList[] values;
     private Class<?> kind;
@@ -48,13 +49,13 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
             this.kind = list.getKind();
             this.dim = list.dim + 1;
         } else {
-            this.kind = elementSample.getClass();
+            this.kind = kindOf(elementSample);
             this.dim = 2;
         }
     }
 
     public ListSequenceStorage(PList[] elements) {
-        this(elements, elements[0].getStorage().getClass());
+        this(elements, kindOf(elements[0].getStorage()));
         if (kind == ListSequenceStorage.class)
             this.kind = ((ListSequenceStorage) elements[0].getStorage()).getKind();
     }
@@ -70,6 +71,27 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
             this.dim = 2;
     }
 
+    /**
+     * An empty storage for rows of the given kind.
+     */
+    protected ListSequenceStorage(Class<?> kind) {
+        this.values = new PList[]{};
+        this.kind = kind;
+        this.dim = 2;
+    }
+
+    /**
+     * Shares the first {@code length} elements of {@code source} until either side is written.
+     */
+    private ListSequenceStorage(ListSequenceStorage source, int length) {
+        this.values = source.values;
+        this.kind = source.kind;
+        this.dim = source.dim;
+        this.length = length;
+        this.capacity = length;
+        this.shared = true;
+    }
+
     @Override
     protected void increaseCapacityExactWithCopy(int newCapacity) {
         values = Arrays.copyOf(values, newCapacity);
@@ -84,7 +106,27 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
-        return new ListSequenceStorage(Arrays.copyOf(values, length), this.kind);
+        return share(length);
+    }
+
+    private ListSequenceStorage share(int sharedLength) {
+        shared = true;
+        return new ListSequenceStorage(this, sharedLength);
+    }
+
+    /**
+     * Rows of a {@link MatrixSequenceStorage} count as the kind of storage they were taken from.
+     */
+    protected static Class<?> kindOf(SequenceStorage row) {
+        if (row instanceof IntRowSequenceStorage) {
+            return IntSequenceStorage.class;
+        } else if (row instanceof DoubleRowSequenceStorage) {
+            return DoubleSequenceStorage.class;
+        } else if (row instanceof ListSequenceStorage) {
+            return ListSequenceStorage.class;
+        }
+
+        return row.getClass();
     }
 
     public Class<?> getKind() {
@@ -130,12 +172,11 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
     }
 
     public PList getListItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return values[idx];
     }
 
     @Override
@@ -148,12 +189,12 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setListItemNormalized(int idx, PList value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        values[idx] = value;
     }
 
     @Override
@@ -167,6 +208,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     public void insertListItem(int idx, PList value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -179,6 +221,10 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && start == 0) {
+            return share(sliceLength);
+        }
+
         PList[] newArray = new PList[sliceLength];
 
         if (step == 1) {
@@ -203,30 +249,73 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setListSliceInBound(int start, int stop, int step, ListSequenceStorage sequence) {
+        ensureUnshared();
+
         int otherLength = sequence.length();
+        PList[] otherValues = sequence == this ? Arrays.copyOf(values, length) : sequence.values;
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
-            length = otherLength;
-            minimizeCapacity();
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            System.arraycopy(otherValues, 0, values, start, otherLength);
             return;
         }
 
-        ensureCapacity(stop);
+        int limit = stridedCount(start, stop, step, otherLength);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = otherValues[j];
         }
-
-        length = length > stop ? length : stop;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (value instanceof PList) {
+            fillListSliceInBound(start, stop, step, count, (PList) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void fillListSliceInBound(int start, int stop, int step, int count, PList value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            Arrays.fill(values, start, start + count, value);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = value;
+        }
+    }
+
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        System.arraycopy(values, end, values, start + newLength, tailLength);
+
+        if (newTotal < length) {
+            Arrays.fill(values, newTotal, length, null);
         }
+
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        int newLength = deleteStrided(values, length, start, step, sliceLength);
+        Arrays.fill(values, newLength, length, null);
+        length = newLength;
     }
 
     @Override
@@ -240,6 +329,8 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        ensureUnshared();
+
         PList pop = values[idx];
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -251,7 +342,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
     }
 
     public PList popList() {
-        PList pop = values[capacity - 1];
+        PList pop = values[length - 1];
         length--;
         return pop;
     }
@@ -283,7 +374,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
             SequenceStorage list = ((PList) value).getStorage();
             if (list instanceof ListSequenceStorage && ((ListSequenceStorage) list).getKind() == kind)
                 appendList((PList) value);
-            else if (list.getClass() == kind)
+            else if (kindOf(list) == kind)
                 appendList((PList) value);
             else
                 throw SequenceStoreException.INSTANCE;
@@ -294,6 +385,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     public void appendList(PList value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
         values[length] = value;
         length++;
     }
@@ -311,6 +403,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
     public void extendWithListStorage(ListSequenceStorage other) {
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
+        ensureUnshared();
         PList[] otherValues = other.values;
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
@@ -323,11 +416,12 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
     @ExplodeLoop
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
+        for (; head < tail; head++, tail--) {
             PList temp = values[head];
             values[head] = values[tail];
             values[tail] = temp;
@@ -336,12 +430,33 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     @ExplodeLoop
     @Override
-    public void sort() {
-        // TODO: need to be tested
-        Object[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = (PList[]) copy;
-        minimizeCapacity();
+    public void sort(boolean reverse) {
+        ensureUnshared();
+        Arrays.sort(values, 0, length, reverse ? SortUtil.REVERSED_PYTHON_ORDER : SortUtil.PYTHON_ORDER);
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        for (int i = 0; i < length; i++) {
+            if (order[i] == i) {
+                continue;
+            }
+
+            PList displaced = values[i];
+            int j = i;
+
+            while (order[j] != i) {
+                int next = order[j];
+                values[j] = values[next];
+                order[j] = j;
+                j = next;
+            }
+
+            values[j] = displaced;
+            order[j] = j;
+        }
     }
 
     @Override
@@ -356,7 +471,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object getIndicativeValue() {
-        return 0;
+        return length > 0 ? values[0] : new PList();
     }
 
     @ExplodeLoop
@@ -25,7 +25,6 @@
 package edu.uci.python.runtime.sequence.storage;
 
 import java.io.*;
-import java.math.BigInteger;
 import java.util.*;
 
 import org.python.core.*;
@@ -34,6 +33,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class LongSequenceStorage extends BasicSequenceStorage {
@@ -44,12 +44,28 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
         values = new long[]{};
     }
 
+    public LongSequenceStorage(int capacity) {
+        this.values = new long[capacity];
+        this.capacity = capacity;
+        this.length = 0;
+    }
+
     public LongSequenceStorage(long[] elements) {
         this.values = elements;
         capacity = values.length;
         length = elements.length;
     }
 
+    /**
+     * Shares the first {@code length} elements of {@code elements} until either side is written.
+     */
+    private LongSequenceStorage(long[] elements, int length) {
+        this.values = elements;
+        this.length = length;
+        this.capacity = length;
+        this.shared = true;
+    }
+
     @Override
     protected void increaseCapacityExactWithCopy(int newCapacity) {
         values = Arrays.copyOf(values, newCapacity);
@@ -64,7 +80,12 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
-        return new LongSequenceStorage(Arrays.copyOf(values, length));
+        return share(length);
+    }
+
+    private LongSequenceStorage share(int sharedLength) {
+        shared = true;
+        return new LongSequenceStorage(values, sharedLength);
     }
 
     @Override
@@ -96,40 +117,35 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
     }
 
     public long getLongItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return values[idx];
     }
 
     @Override
     public void setItemNormalized(int idx, Object val) throws SequenceStoreException {
-        Object value = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-        value = (val instanceof BigInteger) ? ((BigInteger) val).longValue() : value;
-        if (value instanceof Long) {
-            setLongItemNormalized(idx, (long) value);
+        if (val instanceof Long || val instanceof Integer) {
+            setLongItemNormalized(idx, ((Number) val).longValue());
         } else {
             throw SequenceStoreException.INSTANCE;
         }
     }
 
     public void setLongItemNormalized(int idx, long value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        values[idx] = value;
     }
 
     @Override
     public void insertItem(int idx, Object val) throws SequenceStoreException {
-        Object value = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-        value = (val instanceof BigInteger) ? ((BigInteger) val).longValue() : value;
-        if (value instanceof Long) {
-            insertLongItem(idx, (long) value);
+        if (val instanceof Long || val instanceof Integer) {
+            insertLongItem(idx, ((Number) val).longValue());
         } else {
             throw SequenceStoreException.INSTANCE;
         }
@@ -137,6 +153,7 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     public void insertLongItem(int idx, long value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -149,6 +166,10 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && start == 0) {
+            return share(sliceLength);
+        }
+
         long[] newArray = new long[sliceLength];
 
         if (step == 1) {
@@ -173,32 +194,68 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setLongSliceInBound(int start, int stop, int step, LongSequenceStorage sequence) {
+        ensureUnshared();
+
         int otherLength = sequence.length();
+        long[] otherValues = sequence == this ? Arrays.copyOf(values, length) : sequence.values;
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
-            length = otherLength;
-            minimizeCapacity();
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            System.arraycopy(otherValues, 0, values, start, otherLength);
             return;
         }
 
-        ensureCapacity(stop);
+        int limit = stridedCount(start, stop, step, otherLength);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = otherValues[j];
         }
-
-        length = length > stop ? length : stop;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (value instanceof Integer || value instanceof Long) {
+            fillLongSliceInBound(start, stop, step, count, ((Number) value).longValue());
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void fillLongSliceInBound(int start, int stop, int step, int count, long value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            Arrays.fill(values, start, start + count, value);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = value;
         }
     }
 
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        System.arraycopy(values, end, values, start + newLength, tailLength);
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        length = deleteStrided(values, length, start, step, sliceLength);
+    }
+
     @Override
     public void delItemInBound(int idx) {
         if (values.length - 1 == idx) {
@@ -210,6 +267,8 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        ensureUnshared();
+
         long pop = values[idx];
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -221,20 +280,17 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
     }
 
     public long popLong() {
-        long pop = values[capacity - 1];
+        long pop = values[length - 1];
         length--;
         return pop;
     }
 
     @Override
     public int index(Object val) {
-        Object value = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-        value = (val instanceof BigInteger) ? ((BigInteger) val).longValue() : value;
-
-        if (value instanceof Long) {
-            return indexOfLong((long) value);
+        if (val instanceof Long || val instanceof Integer) {
+            return indexOfLong(((Number) val).longValue());
         } else {
-            return super.index(value);
+            return super.index(val);
         }
 
     }
@@ -252,11 +308,8 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public void append(Object val) throws SequenceStoreException {
-        Object value = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-        value = (val instanceof BigInteger) ? ((BigInteger) val).longValue() : value;
-
-        if (value instanceof Long) {
-            appendLong((long) value);
+        if (val instanceof Long || val instanceof Integer) {
+            appendLong(((Number) val).longValue());
         } else {
             throw SequenceStoreException.INSTANCE;
         }
@@ -264,6 +317,7 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     public void appendLong(long value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
         values[length] = value;
         length++;
     }
@@ -280,6 +334,7 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
     public void extendWithLongStorage(LongSequenceStorage other) {
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
+        ensureUnshared();
         long[] otherValues = other.values;
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
@@ -292,11 +347,12 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
     @ExplodeLoop
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
+        for (; head < tail; head++, tail--) {
             long temp = values[head];
             values[head] = values[tail];
             values[tail] = temp;
@@ -305,11 +361,42 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     @ExplodeLoop
     @Override
-    public void sort() {
-        long[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+    public void sort(boolean reverse) {
+        ensureUnshared();
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(values, 0, length);
+        } else {
+            Arrays.sort(values, 0, length);
+        }
+
+        if (reverse) {
+            reverse();
+        }
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        for (int i = 0; i < length; i++) {
+            if (order[i] == i) {
+                continue;
+            }
+
+            long displaced = values[i];
+            int j = i;
+
+            while (order[j] != i) {
+                int next = order[j];
+                values[j] = values[next];
+                order[j] = j;
+                j = next;
+            }
+
+            values[j] = displaced;
+            order[j] = j;
+        }
     }
 
     @Override
@@ -324,7 +411,7 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object getIndicativeValue() {
-        return 0;
+        return 0L;
     }
 
     @ExplodeLoop
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * A list of equally long int or float lists, laid out row after row in one flat array.
+ * <p>
+ * The rows stay ordinary {@link PList} objects, so aliasing behaves as usual, but their storages are
+ * {@link IntRowSequenceStorage} or {@link DoubleRowSequenceStorage} views into the flat array. While
+ * the matrix is flat, row {@code i} is the view starting at {@code i * columns} and
+ * {@code a[i][j]} reads the flat array directly. Reordering or removing rows, storing a row that
+ * does not fit, or a row changing its length or element type ends that for good; from then on this
+ * behaves like any other {@link ListSequenceStorage}, and the existing views keep working.
+ */
+public final class MatrixSequenceStorage extends ListSequenceStorage {
+
+    private final int columns;
+
+    int[] ints;
+    double[] doubles;
+
+    private boolean flat = true;
+
+    public MatrixSequenceStorage(SequenceStorage rowSample) {
+        super(rowSample.getClass());
+        this.columns = rowSample.length();
+
+        if (rowSample instanceof IntSequenceStorage) {
+            ints = new int[]{};
+        } else {
+            doubles = new double[]{};
+        }
+    }
+
+    /**
+     * Whether a row with this storage can be moved into a matrix.
+     */
+    public static boolean isRowStorage(SequenceStorage store) {
+        return (store instanceof IntSequenceStorage || store instanceof DoubleSequenceStorage) && store.length() > 0;
+    }
+
+    public static boolean canStoreRows(PList[] rows) {
+        final SequenceStorage first = rows[0].getStorage();
+
+        if (!isRowStorage(first)) {
+            return false;
+        }
+
+        for (PList row : rows) {
+            final SequenceStorage store = row.getStorage();
+
+            if (store.getClass() != first.getClass() || store.length() != first.length()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isFlat() {
+        return flat;
+    }
+
+    public boolean isIntMatrix() {
+        return flat && ints != null;
+    }
+
+    public boolean isDoubleMatrix() {
+        return flat && doubles != null;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Called when a row stops being a view, or when rows no longer line up with the flat array.
+     */
+    void invalidate() {
+        flat = false;
+    }
+
+    private int flatIndex(int row, int column, String message) {
+        if (row < 0 || row >= length || column < 0 || column >= columns) {
+            throw new PException(Py.IndexError, message);
+        }
+
+        return row * columns + column;
+    }
+
+    public int getIntItem(int row, int column) {
+        return ints[flatIndex(row, column, "list index out of range")];
+    }
+
+    public void setIntItem(int row, int column, int value) {
+        ints[flatIndex(row, column, "list assignment index out of range")] = value;
+    }
+
+    public double getDoubleItem(int row, int column) {
+        return doubles[flatIndex(row, column, "list index out of range")];
+    }
+
+    public void setDoubleItem(int row, int column, double value) {
+        doubles[flatIndex(row, column, "list assignment index out of range")] = value;
+    }
+
+    /**
+     * Moves the elements of {@code row} to the end of the flat array and turns its storage into a
+     * view of them.
+     */
+    private boolean absorb(PList row) {
+        final SequenceStorage store = row.getStorage();
+        final int offset = length * columns;
+
+        if (store.length() != columns) {
+            return false;
+        }
+
+        if (ints != null && store instanceof IntSequenceStorage) {
+            if (offset + columns > ints.length) {
+                ints = Arrays.copyOf(ints, capacityFor(offset + columns));
+            }
+
+            System.arraycopy(((IntSequenceStorage) store).getInternalIntArray(), 0, ints, offset, columns);
+            row.setStorage(new IntRowSequenceStorage(this, offset, columns));
+            return true;
+        } else if (doubles != null && store instanceof DoubleSequenceStorage) {
+            if (offset + columns > doubles.length) {
+                doubles = Arrays.copyOf(doubles, capacityFor(offset + columns));
+            }
+
+            System.arraycopy(((DoubleSequenceStorage) store).getInternalDoubleArray(), 0, doubles, offset, columns);
+            row.setStorage(new DoubleRowSequenceStorage(this, offset, columns));
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void appendList(PList value) {
+        if (!flat || !absorb(value)) {
+            flat = false;
+        }
+
+        super.appendList(value);
+    }
+
+    @Override
+    public void setListItemNormalized(int idx, PList value) {
+        flat = false;
+        super.setListItemNormalized(idx, value);
+    }
+
+    @Override
+    public void insertListItem(int idx, PList value) {
+        flat = false;
+        super.insertListItem(idx, value);
+    }
+
+    @Override
+    public void setListSliceInBound(int start, int stop, int step, ListSequenceStorage sequence) {
+        flat = false;
+        super.setListSliceInBound(start, stop, step, sequence);
+    }
+
+    @Override
+    public void fillListSliceInBound(int start, int stop, int step, int count, PList value) {
+        flat = false;
+        super.fillListSliceInBound(start, stop, step, count, value);
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        flat = false;
+        super.delSliceInBound(start, stop, step, sliceLength);
+    }
+
+    @Override
+    public void delItemInBound(int idx) {
+        flat = false;
+        super.delItemInBound(idx);
+    }
+
+    @Override
+    public Object popInBound(int idx) {
+        flat = false;
+        return super.popInBound(idx);
+    }
+
+    @Override
+    public PList popList() {
+        flat = false;
+        return super.popList();
+    }
+
+    @Override
+    public void extendWithListStorage(ListSequenceStorage other) {
+        flat = false;
+        super.extendWithListStorage(other);
+    }
+
+    @Override
+    public void reverse() {
+        flat = false;
+        super.reverse();
+    }
+
+    @Override
+    public void sort(boolean reverse) {
+        flat = false;
+        super.sort(reverse);
+    }
+
+    @Override
+    public void permute(int[] order) {
+        flat = false;
+        super.permute(order);
+    }
+
+}
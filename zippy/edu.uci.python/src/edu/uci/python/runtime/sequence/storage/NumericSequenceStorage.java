@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.io.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * A list of ints and floats. All values are held as doubles, which represent every int exactly, and
+ * a bit per element remembers which of them were ints. Element operations are applied to both
+ * halves in step.
+ */
+public final class NumericSequenceStorage extends SequenceStorage {
+
+    private final DoubleSequenceStorage values;
+    private final BoolSequenceStorage ints;
+
+    public NumericSequenceStorage(IntSequenceStorage source) {
+        final int length = source.length();
+        final int[] intValues = source.getInternalIntArray();
+        final double[] doubles = new double[length];
+        final boolean[] tags = new boolean[length];
+
+        for (int i = 0; i < length; i++) {
+            doubles[i] = intValues[i];
+            tags[i] = true;
+        }
+
+        this.values = new DoubleSequenceStorage(doubles);
+        this.ints = new BoolSequenceStorage(tags);
+    }
+
+    public NumericSequenceStorage(DoubleSequenceStorage source) {
+        this.values = (DoubleSequenceStorage) source.copy();
+        this.ints = new BoolSequenceStorage(new boolean[source.length()]);
+    }
+
+    /**
+     * The values must all be Integer or Double.
+     */
+    public NumericSequenceStorage(Object[] elements) {
+        final double[] doubles = new double[elements.length];
+        final boolean[] tags = new boolean[elements.length];
+
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] instanceof Integer) {
+                doubles[i] = (int) elements[i];
+                tags[i] = true;
+            } else {
+                doubles[i] = (double) elements[i];
+            }
+        }
+
+        this.values = new DoubleSequenceStorage(doubles);
+        this.ints = new BoolSequenceStorage(tags);
+    }
+
+    private NumericSequenceStorage(DoubleSequenceStorage values, BoolSequenceStorage ints) {
+        this.values = values;
+        this.ints = ints;
+    }
+
+    public static boolean canStore(Object value) {
+        return value instanceof Integer || value instanceof Double;
+    }
+
+    /**
+     * The storage in this representation, or null if it holds something other than ints and
+     * floats.
+     */
+    private static NumericSequenceStorage asNumeric(SequenceStorage other) {
+        if (other instanceof NumericSequenceStorage) {
+            return (NumericSequenceStorage) other;
+        } else if (other instanceof IntSequenceStorage) {
+            return new NumericSequenceStorage((IntSequenceStorage) other);
+        } else if (other instanceof DoubleSequenceStorage) {
+            return new NumericSequenceStorage((DoubleSequenceStorage) other);
+        } else if (other instanceof EmptySequenceStorage) {
+            return new NumericSequenceStorage(new DoubleSequenceStorage());
+        }
+
+        return null;
+    }
+
+    private static Object box(double value, boolean isInt) {
+        return isInt ? (Object) (int) value : (Object) value;
+    }
+
+    @Override
+    public int length() {
+        return values.length();
+    }
+
+    @Override
+    public SequenceStorage copy() {
+        return new NumericSequenceStorage((DoubleSequenceStorage) values.copy(), (BoolSequenceStorage) ints.copy());
+    }
+
+    @Override
+    public Object[] getInternalArray() {
+        final int length = length();
+        final double[] doubles = values.getInternalDoubleArray();
+        Object[] boxed = new Object[length];
+
+        for (int i = 0; i < length; i++) {
+            boxed[i] = box(doubles[i], ints.getBoolItemNormalized(i));
+        }
+
+        return boxed;
+    }
+
+    @Override
+    public Object[] getCopyOfInternalArray() {
+        return getInternalArray();
+    }
+
+    /**
+     * The value as a double, whether it was stored as an int or a float.
+     */
+    public double getDoubleValueNormalized(int idx) {
+        return values.getDoubleItemNormalized(idx);
+    }
+
+    public boolean isIntItemNormalized(int idx) {
+        return ints.getBoolItemNormalized(idx);
+    }
+
+    @Override
+    public Object getItemNormalized(int idx) {
+        return box(values.getDoubleItemNormalized(idx), ints.getBoolItemNormalized(idx));
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) throws SequenceStoreException {
+        if (value instanceof Integer) {
+            setIntItemNormalized(idx, (int) value);
+        } else if (value instanceof Double) {
+            setDoubleItemNormalized(idx, (double) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void setIntItemNormalized(int idx, int value) {
+        values.setDoubleItemNormalized(idx, value);
+        ints.setBoolItemNormalized(idx, true);
+    }
+
+    public void setDoubleItemNormalized(int idx, double value) {
+        values.setDoubleItemNormalized(idx, value);
+        ints.setBoolItemNormalized(idx, false);
+    }
+
+    @Override
+    public void insertItem(int idx, Object value) throws SequenceStoreException {
+        if (!canStore(value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        values.insertDoubleItem(idx, ((Number) value).doubleValue());
+        ints.insertBoolItem(idx, value instanceof Integer);
+    }
+
+    @Override
+    public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        return new NumericSequenceStorage((DoubleSequenceStorage) values.getSliceInBound(start, stop, step, sliceLength), (BoolSequenceStorage) ints.getSliceInBound(start, stop, step,
+                        sliceLength));
+    }
+
+    @Override
+    public void setSliceInBound(int start, int stop, int step, SequenceStorage sequence) throws SequenceStoreException {
+        NumericSequenceStorage other = asNumeric(sequence == this ? copy() : sequence);
+
+        if (other == null) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        values.setDoubleSliceInBound(start, stop, step, other.values);
+
+        if (step == 1) {
+            ints.setBoolSliceInBound(start, stop, step, other.ints);
+            return;
+        }
+
+        int limit = BasicSequenceStorage.stridedCount(start, stop, step, other.length());
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            ints.setBoolItemNormalized(i, other.ints.getBoolItemNormalized(j));
+        }
+    }
+
+    @Override
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (!canStore(value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        values.fillDoubleSliceInBound(start, stop, step, count, ((Number) value).doubleValue());
+        ints.fillBoolSliceInBound(start, stop, step, count, value instanceof Integer);
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        values.delSliceInBound(start, stop, step, sliceLength);
+        ints.delSliceInBound(start, stop, step, sliceLength);
+    }
+
+    @Override
+    public void delItemInBound(int idx) {
+        values.delItemInBound(idx);
+        ints.delItemInBound(idx);
+    }
+
+    @Override
+    public Object popInBound(int idx) {
+        final double value = (double) values.popInBound(idx);
+        return box(value, (boolean) ints.popInBound(idx));
+    }
+
+    /**
+     * A Python number as a double, or null if it cannot equal an int or a float held here.
+     */
+    private static Double numericValueOf(Object value) {
+        if (value instanceof Integer || value instanceof Double) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1.0 : 0.0;
+        } else if (value instanceof Long && (long) (double) (long) value == (long) value) {
+            return (double) (long) value;
+        }
+
+        return null;
+    }
+
+    @Override
+    public int index(Object value) {
+        final Double number = numericValueOf(value);
+
+        if (number != null) {
+            return values.indexOfDouble(number);
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int count(Object value) {
+        final Double number = numericValueOf(value);
+        final double[] doubles = values.getInternalDoubleArray();
+        int count = 0;
+
+        if (number != null) {
+            for (int i = 0; i < length(); i++) {
+                if (doubles[i] == number) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void append(Object value) throws SequenceStoreException {
+        if (value instanceof Integer) {
+            appendInt((int) value);
+        } else if (value instanceof Double) {
+            appendDouble((double) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void appendInt(int value) {
+        values.appendDouble(value);
+        ints.appendBool(true);
+    }
+
+    public void appendDouble(double value) {
+        values.appendDouble(value);
+        ints.appendBool(false);
+    }
+
+    @Override
+    public void extend(SequenceStorage other) throws SequenceStoreException {
+        NumericSequenceStorage numeric = asNumeric(other == this ? copy() : other);
+
+        if (numeric == null) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        values.extendWithIntStorage(numeric.values);
+        ints.extendWithBoolStorage(numeric.ints);
+    }
+
+    @Override
+    public void reverse() {
+        values.reverse();
+        ints.reverse();
+    }
+
+    /**
+     * Equal ints and floats keep their relative order, so the sort goes through a permutation
+     * rather than sorting the doubles alone.
+     */
+    @Override
+    public void sort(boolean reverse) {
+        permute(SortUtil.sortedOrder(getInternalArray(), reverse));
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ints.permute(order);
+        values.permute(order);
+    }
+
+    /**
+     * Python's sum: ints add up exactly until the first float, after which everything is added as
+     * a float.
+     */
+    public Object sum() {
+        final double[] doubles = values.getInternalDoubleArray();
+        final int length = length();
+        long intSum = 0;
+        int i = 0;
+
+        for (; i < length && ints.getBoolItemNormalized(i); i++) {
+            intSum += (long) doubles[i];
+        }
+
+        if (i == length) {
+            return intSum == (int) intSum ? (Object) (int) intSum : (Object) intSum;
+        }
+
+        double sum = intSum;
+
+        for (; i < length; i++) {
+            sum += doubles[i];
+        }
+
+        return sum;
+    }
+
+    public Object max() {
+        return extreme(true, "max() arg is an empty sequence");
+    }
+
+    public Object min() {
+        return extreme(false, "min() arg is an empty sequence");
+    }
+
+    /**
+     * The first largest or smallest element, compared the way Python compares ints and floats.
+     */
+    private Object extreme(boolean largest, String emptyMessage) {
+        final double[] doubles = values.getInternalDoubleArray();
+        final int length = length();
+
+        if (length == 0) {
+            throw Py.ValueError(emptyMessage);
+        }
+
+        int best = 0;
+
+        for (int i = 1; i < length; i++) {
+            if (largest ? doubles[i] > doubles[best] : doubles[i] < doubles[best]) {
+                best = i;
+            }
+        }
+
+        return getItemNormalized(best);
+    }
+
+    /**
+     * Whether two storages holding only ints and floats have numerically equal elements.
+     */
+    public static boolean numericEquals(SequenceStorage left, SequenceStorage right) {
+        if (left.length() != right.length()) {
+            return false;
+        }
+
+        NumericSequenceStorage first = asNumeric(left);
+        NumericSequenceStorage second = asNumeric(right);
+        final double[] firstValues = first.values.getInternalDoubleArray();
+        final double[] secondValues = second.values.getInternalDoubleArray();
+
+        for (int i = 0; i < left.length(); i++) {
+            if (firstValues[i] != secondValues[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean isNumericStorage(SequenceStorage store) {
+        return store instanceof NumericSequenceStorage || store instanceof IntSequenceStorage || store instanceof DoubleSequenceStorage;
+    }
+
+    @Override
+    public boolean equals(SequenceStorage other) {
+        if (isNumericStorage(other)) {
+            return numericEquals(this, other);
+        }
+
+        if (other.length() != length()) {
+            return false;
+        }
+
+        for (int i = 0; i < length(); i++) {
+            final Double number = numericValueOf(other.getItemNormalized(i));
+
+            if (number == null || number != values.getDoubleItemNormalized(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public SequenceStorage generalizeFor(Object value) {
+        if (PythonOptions.TraceSequenceStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to ObjectSequenceStorage");
+        }
+
+        return new ObjectSequenceStorage(getInternalArray());
+    }
+
+    @Override
+    public Object getIndicativeValue() {
+        return .0;
+    }
+
+}
@@ -31,6 +31,7 @@ import org.python.core.*;
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class ObjectSequenceStorage extends BasicSequenceStorage {
@@ -41,35 +42,51 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
         values = new Object[]{};
     }
 
+    public ObjectSequenceStorage(int capacity) {
+        this.values = new Object[capacity];
+        this.capacity = capacity;
+        this.length = 0;
+    }
+
     public ObjectSequenceStorage(Object[] elements) {
         this.values = elements;
         length = elements.length;
         capacity = elements.length;
     }
 
+    /**
+     * Shares the first {@code length} elements of {@code elements} until either side is written.
+     */
+    private ObjectSequenceStorage(Object[] elements, int length) {
+        this.values = elements;
+        this.length = length;
+        this.capacity = length;
+        this.shared = true;
+    }
+
     @Override
     public Object getItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return values[idx];
     }
 
     @Override
     public void setItemNormalized(int idx, Object value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        values[idx] = value;
     }
 
     @Override
     public void insertItem(int idx, Object value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -82,6 +99,10 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && start == 0) {
+            return share(sliceLength);
+        }
+
         Object[] newArray = new Object[sliceLength];
 
         if (step == 1) {
@@ -98,32 +119,71 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public void setSliceInBound(int start, int stop, int step, SequenceStorage sequence) {
+        ensureUnshared();
+
         int otherLength = sequence.length();
+        Object[] otherValues = sequence.getInternalArray();
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = sequence.getCopyOfInternalArray();
-            length = otherLength;
-            minimizeCapacity();
+        if (sequence == this) {
+            otherValues = Arrays.copyOf(otherValues, otherLength);
+        }
+
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            System.arraycopy(otherValues, 0, values, start, otherLength);
             return;
         }
 
-        ensureCapacity(stop);
+        int limit = stridedCount(start, stop, step, otherLength);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.getInternalArray()[j];
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = otherValues[j];
         }
-
-        length = length > stop ? length : stop;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            Arrays.fill(values, start, start + count, value);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = value;
         }
     }
 
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        System.arraycopy(values, end, values, start + newLength, tailLength);
+
+        if (newTotal < length) {
+            Arrays.fill(values, newTotal, length, null);
+        }
+
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        int newLength = deleteStrided(values, length, start, step, sliceLength);
+        Arrays.fill(values, newLength, length, null);
+        length = newLength;
+    }
+
     @Override
     public void delItemInBound(int idx) {
         popInBound(idx);
@@ -131,7 +191,12 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
-        return new ObjectSequenceStorage(getCopyOfInternalArray());
+        return share(length);
+    }
+
+    private ObjectSequenceStorage share(int sharedLength) {
+        shared = true;
+        return new ObjectSequenceStorage(values, sharedLength);
     }
 
     @Override
@@ -159,6 +224,7 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
     @Override
     public void append(Object value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
         values[length] = value;
         length++;
     }
@@ -168,6 +234,7 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
     public void extend(SequenceStorage other) {
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
+        ensureUnshared();
         Object[] otherValues = other.getInternalArray();
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
@@ -179,6 +246,8 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        ensureUnshared();
+
         Object pop = values[idx];
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -190,18 +259,19 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
     }
 
     public Object popObject() {
-        Object pop = values[capacity - 1];
+        Object pop = values[length - 1];
         length--;
         return pop;
     }
 
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
+        for (; head < tail; head++, tail--) {
             Object temp = values[head];
             values[head] = values[tail];
             values[tail] = temp;
@@ -209,11 +279,33 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
     }
 
     @Override
-    public void sort() {
-        Object[] copy = getCopyOfInternalArray();
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+    public void sort(boolean reverse) {
+        ensureUnshared();
+        Arrays.sort(values, 0, length, reverse ? SortUtil.REVERSED_PYTHON_ORDER : SortUtil.PYTHON_ORDER);
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        for (int i = 0; i < length; i++) {
+            if (order[i] == i) {
+                continue;
+            }
+
+            Object displaced = values[i];
+            int j = i;
+
+            while (order[j] != i) {
+                int next = order[j];
+                values[j] = values[next];
+                order[j] = j;
+                j = next;
+            }
+
+            values[j] = displaced;
+            order[j] = j;
+        }
     }
 
     @Override
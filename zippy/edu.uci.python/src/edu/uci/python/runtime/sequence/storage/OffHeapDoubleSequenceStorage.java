@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.nio.*;
+
+/**
+ * An {@link OffHeapSequenceStorage} of floats.
+ */
+public final class OffHeapDoubleSequenceStorage extends OffHeapSequenceStorage {
+
+    public OffHeapDoubleSequenceStorage(int capacity) {
+        super(3, capacity);
+    }
+
+    public OffHeapDoubleSequenceStorage(DoubleSequenceStorage source, int capacity) {
+        this(Math.max(capacity, source.length()));
+        load(source);
+        length = source.length();
+    }
+
+    @Override
+    protected OffHeapSequenceStorage create(int newCapacity) {
+        return new OffHeapDoubleSequenceStorage(newCapacity);
+    }
+
+    private DoubleBuffer doubles(int count) {
+        return bytes(0, count).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    @Override
+    public DoubleSequenceStorage materialize() {
+        double[] values = new double[length];
+        doubles(length).get(values);
+        return new DoubleSequenceStorage(values);
+    }
+
+    @Override
+    protected void load(BasicSequenceStorage source) {
+        doubles(source.length()).put(((DoubleSequenceStorage) source).getInternalDoubleArray(), 0, source.length());
+    }
+
+    @Override
+    protected boolean holdsSameKind(SequenceStorage sequence) {
+        return sequence instanceof DoubleSequenceStorage || sequence instanceof OffHeapDoubleSequenceStorage;
+    }
+
+    @Override
+    protected boolean canStore(Object value) {
+        return value instanceof Double;
+    }
+
+    @Override
+    protected void putItem(int idx, Object value) {
+        buffer.putDouble(idx << 3, (double) value);
+    }
+
+    @Override
+    protected void copyItem(SequenceStorage source, int from, int to) {
+        double value;
+
+        if (source instanceof DoubleSequenceStorage) {
+            value = ((DoubleSequenceStorage) source).getDoubleItemNormalized(from);
+        } else {
+            value = ((OffHeapDoubleSequenceStorage) source).getDoubleItemNormalized(from);
+        }
+
+        buffer.putDouble(to << 3, value);
+    }
+
+    @Override
+    protected boolean itemEquals(int idx, Object value) {
+        double item = buffer.getDouble(idx << 3);
+
+        if (value instanceof Integer) {
+            return item == (int) value;
+        } else if (value instanceof Long) {
+            return item == (long) value;
+        } else if (value instanceof Double) {
+            return item == (double) value;
+        } else if (value instanceof Boolean) {
+            return item == ((boolean) value ? 1 : 0);
+        }
+
+        return false;
+    }
+
+    @Override
+    public Object getItemNormalized(int idx) {
+        return getDoubleItemNormalized(idx);
+    }
+
+    public double getDoubleItemNormalized(int idx) {
+        checkIndex(idx, "list index out of range");
+        return buffer.getDouble(idx << 3);
+    }
+
+    public void setDoubleItemNormalized(int idx, double value) {
+        checkIndex(idx, "list assignment index out of range");
+        buffer.putDouble(idx << 3, value);
+    }
+
+    public void appendDouble(double value) {
+        ensureCapacity(length + 1);
+        buffer.putDouble(length << 3, value);
+        length++;
+    }
+
+    @Override
+    public Object getIndicativeValue() {
+        return .0;
+    }
+
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.nio.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * Keeps the elements of a very large int, long or float list in direct memory instead of a Java
+ * array, so that the collector neither copies nor scans them.
+ * <p>
+ * {@link SequenceStorageFactory} moves a storage here once it holds
+ * {@link PythonOptions#OffHeapStorageThreshold} elements. The memory goes away with the buffer once
+ * nothing refers to the storage any more, so iterators over a list that has since moved to another
+ * storage keep reading valid elements, just like they do for storages on the heap.
+ */
+public abstract class OffHeapSequenceStorage extends SequenceStorage {
+
+    // log2 of the element width in bytes
+    private final int shift;
+
+    protected ByteBuffer buffer;
+    protected int length;
+    protected int capacity;
+
+    protected OffHeapSequenceStorage(int shift, int capacity) {
+        if (capacity < 0 || capacity > maxCapacity(shift)) {
+            throw new IllegalArgumentException("off-heap capacity out of range: " + capacity);
+        }
+
+        this.shift = shift;
+        this.buffer = allocate(capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * A direct buffer is indexed by int, so it holds at most this many elements of
+     * {@code 1 << shift} bytes. Longer lists stay on the Java heap.
+     */
+    private static long maxCapacity(int shift) {
+        return Integer.MAX_VALUE >> shift;
+    }
+
+    /**
+     * The most elements an off-heap storage of {@code kind}, or of its heap counterpart, holds.
+     */
+    public static long maxCapacity(Class<? extends SequenceStorage> kind) {
+        return maxCapacity(kind == IntSequenceStorage.class || kind == OffHeapIntSequenceStorage.class ? 2 : 3);
+    }
+
+    /**
+     * Whether the storage can grow to {@code newLength} elements without leaving direct memory.
+     */
+    public final boolean canGrowTo(long newLength) {
+        return newLength <= maxCapacity(shift);
+    }
+
+    private ByteBuffer allocate(int elements) {
+        return ByteBuffer.allocateDirect((int) ((long) elements << shift)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * An empty storage of the same kind with room for {@code newCapacity} elements.
+     */
+    protected abstract OffHeapSequenceStorage create(int newCapacity);
+
+    /**
+     * A copy of the elements in an ordinary storage on the Java heap.
+     */
+    public abstract BasicSequenceStorage materialize();
+
+    /**
+     * Overwrites the first elements with those of {@code source}, which has the same kind.
+     */
+    protected abstract void load(BasicSequenceStorage source);
+
+    /**
+     * Whether {@code sequence} holds the same element kind, on or off the heap.
+     */
+    protected abstract boolean holdsSameKind(SequenceStorage sequence);
+
+    protected abstract boolean canStore(Object value);
+
+    /**
+     * Writes {@code value}, which {@link #canStore(Object)}, without a bounds check.
+     */
+    protected abstract void putItem(int idx, Object value);
+
+    /**
+     * Writes element {@code from} of {@code source}, which {@link #holdsSameKind(SequenceStorage)},
+     * to index {@code to}.
+     */
+    protected abstract void copyItem(SequenceStorage source, int from, int to);
+
+    protected abstract boolean itemEquals(int idx, Object value);
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    /**
+     * {@link edu.uci.python.runtime.sequence.PList} moves a list back to the heap before it grows past {@link #canGrowTo(long)}.
+     */
+    protected final void ensureCapacity(long newLength) {
+        if (newLength <= capacity) {
+            return;
+        }
+
+        long limit = maxCapacity(shift);
+
+        if (newLength > limit) {
+            throw Py.MemoryError("list is too large for off-heap storage");
+        }
+
+        int newCapacity = (int) Math.min(Math.max(16L, newLength * 2L), limit);
+        ByteBuffer grown = allocate(newCapacity);
+        grown.put(bytes(0, length));
+        grown.clear();
+        buffer = grown;
+        capacity = newCapacity;
+    }
+
+    /**
+     * A view of the bytes of elements [start, start + count).
+     */
+    protected final ByteBuffer bytes(int start, int count) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit((start + count) << shift).position(start << shift);
+        return view;
+    }
+
+    /**
+     * Moves {@code count} elements from {@code from} to {@code to}; the ranges may overlap.
+     */
+    private void move(int from, int to, int count) {
+        if (from == to || count == 0) {
+            return;
+        }
+
+        boolean forward = to < from;
+
+        for (int k = 0; k < count; k++) {
+            int i = forward ? k : count - 1 - k;
+            copyRaw(from + i, to + i);
+        }
+    }
+
+    private void copyRaw(int from, int to) {
+        if (shift == 2) {
+            buffer.putInt(to << 2, buffer.getInt(from << 2));
+        } else {
+            buffer.putLong(to << 3, buffer.getLong(from << 3));
+        }
+    }
+
+    private void swapRaw(int i, int j) {
+        if (shift == 2) {
+            int temp = buffer.getInt(i << 2);
+            buffer.putInt(i << 2, buffer.getInt(j << 2));
+            buffer.putInt(j << 2, temp);
+        } else {
+            long temp = buffer.getLong(i << 3);
+            buffer.putLong(i << 3, buffer.getLong(j << 3));
+            buffer.putLong(j << 3, temp);
+        }
+    }
+
+    protected final void checkIndex(int idx, String message) {
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, message);
+        }
+    }
+
+    @Override
+    public SequenceStorage copy() {
+        OffHeapSequenceStorage copy = create(Math.max(length, 1));
+        copy.buffer.put(bytes(0, length));
+        copy.buffer.clear();
+        copy.length = length;
+        return copy;
+    }
+
+    @Override
+    public Object[] getInternalArray() {
+        Object[] boxed = new Object[length];
+
+        for (int i = 0; i < length; i++) {
+            boxed[i] = getItemNormalized(i);
+        }
+
+        return boxed;
+    }
+
+    @Override
+    public Object[] getCopyOfInternalArray() {
+        return getInternalArray();
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) throws SequenceStoreException {
+        if (!canStore(value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        checkIndex(idx, "list assignment index out of range");
+        putItem(idx, value);
+    }
+
+    @Override
+    public void insertItem(int idx, Object value) throws SequenceStoreException {
+        if (!canStore(value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        ensureCapacity(length + 1);
+        move(idx, idx + 1, length - idx);
+        putItem(idx, value);
+        length++;
+    }
+
+    @Override
+    public void append(Object value) throws SequenceStoreException {
+        if (!canStore(value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        ensureCapacity(length + 1);
+        putItem(length, value);
+        length++;
+    }
+
+    /**
+     * Slices below the threshold go back to the heap.
+     */
+    @Override
+    public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        OffHeapSequenceStorage slice = create(Math.max(sliceLength, 1));
+
+        if (step == 1) {
+            slice.buffer.put(bytes(start, sliceLength));
+            slice.buffer.clear();
+        } else {
+            for (int i = start, j = 0; j < sliceLength; i += step, j++) {
+                slice.copyItem(this, i, j);
+            }
+        }
+
+        slice.length = sliceLength;
+
+        if (sliceLength >= PythonOptions.OffHeapStorageThreshold) {
+            return slice;
+        }
+
+        return slice.materialize();
+    }
+
+    @Override
+    public void setSliceInBound(int start, int stop, int step, SequenceStorage sequence) throws SequenceStoreException {
+        if (!holdsSameKind(sequence)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        SequenceStorage source = sequence == this ? copy() : sequence;
+        int count = source.length();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+
+            for (int j = 0; j < count; j++) {
+                copyItem(source, j, start + j);
+            }
+        } else {
+            int limit = BasicSequenceStorage.stridedCount(start, stop, step, count);
+
+            for (int i = start, j = 0; j < limit; i += step, j++) {
+                copyItem(source, j, i);
+            }
+        }
+    }
+
+    @Override
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (!canStore(value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+
+            for (int i = start; i < start + count; i++) {
+                putItem(i, value);
+            }
+
+            return;
+        }
+
+        int limit = BasicSequenceStorage.stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            putItem(i, value);
+        }
+    }
+
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.max(start, Math.min(stop, length));
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity((long) start + newLength + tailLength);
+        move(end, start + newLength, tailLength);
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (sliceLength == 0) {
+            return;
+        }
+
+        int first = step > 0 ? start : start + (sliceLength - 1) * step;
+        int stride = Math.abs(step);
+        int last = first + (sliceLength - 1) * stride;
+        int dest = first;
+
+        for (int i = first; i < length; i++) {
+            if (i <= last && (i - first) % stride == 0) {
+                continue;
+            }
+
+            copyRaw(i, dest++);
+        }
+
+        length = dest;
+    }
+
+    @Override
+    public void delItemInBound(int idx) {
+        move(idx + 1, idx, length - idx - 1);
+        length--;
+    }
+
+    @Override
+    public Object popInBound(int idx) {
+        Object pop = getItemNormalized(idx);
+        delItemInBound(idx);
+        return pop;
+    }
+
+    @Override
+    public int index(Object value) {
+        for (int i = 0; i < length; i++) {
+            if (itemEquals(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int count(Object value) {
+        int count = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (itemEquals(i, value)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void extend(SequenceStorage other) throws SequenceStoreException {
+        if (!holdsSameKind(other)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        SequenceStorage source = other == this ? copy() : other;
+        int count = source.length();
+        ensureCapacity((long) length + count);
+
+        if (source.getClass() == getClass()) {
+            ByteBuffer target = bytes(length, count);
+            target.put(((OffHeapSequenceStorage) source).bytes(0, count));
+        } else {
+            for (int j = 0; j < count; j++) {
+                copyItem(source, j, length + j);
+            }
+        }
+
+        length += count;
+    }
+
+    @Override
+    public void reverse() {
+        for (int head = 0, tail = length - 1; head < tail; head++, tail--) {
+            swapRaw(head, tail);
+        }
+    }
+
+    /**
+     * Sorts a temporary copy on the heap, which keeps the ordering rules and the parallel sort of
+     * the ordinary storages.
+     */
+    @Override
+    public void sort(boolean reverse) {
+        BasicSequenceStorage heap = materialize();
+        heap.sort(reverse);
+        load(heap);
+    }
+
+    @Override
+    public void permute(int[] order) {
+        BasicSequenceStorage heap = materialize();
+        heap.permute(order);
+        load(heap);
+    }
+
+    @Override
+    public boolean equals(SequenceStorage other) {
+        if (other.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (!itemEquals(i, other.getItemNormalized(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The list leaves direct memory for good; a storage of another kind that is still large enough
+     * is moved off the heap again.
+     */
+    @Override
+    public SequenceStorage generalizeFor(Object value) {
+        SequenceStorage generalized = materialize().generalizeFor(value);
+        return SequenceStorageFactory.moveOffHeapIfLarge(generalized);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+/**
+ * A fixed length window onto one row of a {@link MatrixSequenceStorage}.
+ * <p>
+ * Element reads and writes go straight to the matrix. Anything that would change the length or the
+ * element type throws {@link SequenceStoreException}, so that the owning list asks
+ * {@link #generalizeFor(Object)} for a storage of its own and the row leaves the matrix.
+ */
+public abstract class RowSequenceStorage extends SequenceStorage {
+
+    protected final MatrixSequenceStorage matrix;
+    protected final int offset;
+    protected final int length;
+
+    protected RowSequenceStorage(MatrixSequenceStorage matrix, int offset, int length) {
+        this.matrix = matrix;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * A standalone copy of the row.
+     */
+    public abstract BasicSequenceStorage materialize();
+
+    /**
+     * Gives up the view. The matrix can no longer assume its rows line up with the flat array.
+     */
+    public final BasicSequenceStorage detach() {
+        matrix.invalidate();
+        return materialize();
+    }
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    @Override
+    public SequenceStorage copy() {
+        return materialize();
+    }
+
+    @Override
+    public Object[] getInternalArray() {
+        return materialize().getInternalArray();
+    }
+
+    @Override
+    public Object[] getCopyOfInternalArray() {
+        return getInternalArray();
+    }
+
+    @Override
+    public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        return materialize().getSliceInBound(start, stop, step, sliceLength);
+    }
+
+    @Override
+    public void insertItem(int idx, Object value) throws SequenceStoreException {
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    @Override
+    public void setSliceInBound(int start, int stop, int step, SequenceStorage sequence) throws SequenceStoreException {
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    @Override
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        throw new UnsupportedOperationException("Cannot resize a matrix row");
+    }
+
+    @Override
+    public void delItemInBound(int idx) {
+        throw new UnsupportedOperationException("Cannot resize a matrix row");
+    }
+
+    @Override
+    public Object popInBound(int idx) {
+        throw new UnsupportedOperationException("Cannot resize a matrix row");
+    }
+
+    @Override
+    public int index(Object value) {
+        return materialize().index(value);
+    }
+
+    @Override
+    public int count(Object value) {
+        return materialize().count(value);
+    }
+
+    @Override
+    public void append(Object value) throws SequenceStoreException {
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    @Override
+    public void extend(SequenceStorage other) throws SequenceStoreException {
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    @Override
+    public boolean equals(SequenceStorage other) {
+        SequenceStorage own = materialize();
+        return own.equals(other instanceof RowSequenceStorage ? ((RowSequenceStorage) other).materialize() : other);
+    }
+
+}
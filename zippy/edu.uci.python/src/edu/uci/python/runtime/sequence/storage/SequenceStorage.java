@@ -44,7 +44,13 @@ public abstract class SequenceStorage {
 
     public abstract void setSliceInBound(int start, int stop, int step, SequenceStorage sequence) throws SequenceStoreException;
 
-    public abstract void delSlice(int start, int stop);
+    /**
+     * Stores {@code count} copies of {@code value} into the normalized slice. A step of one
+     * replaces [start, stop) and may resize the storage.
+     */
+    public abstract void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException;
+
+    public abstract void delSliceInBound(int start, int stop, int step, int sliceLength);
 
     public abstract void delItemInBound(int idx);
 
@@ -52,13 +58,24 @@ public abstract class SequenceStorage {
 
     public abstract int index(Object value);
 
+    public abstract int count(Object value);
+
     public abstract void append(Object value) throws SequenceStoreException;
 
     public abstract void extend(SequenceStorage other) throws SequenceStoreException;
 
     public abstract void reverse();
 
-    public abstract void sort();
+    public abstract void sort(boolean reverse);
+
+    public final void sort() {
+        sort(false);
+    }
+
+    /**
+     * Moves the element at {@code order[i]} to index {@code i}. The order array is consumed.
+     */
+    public abstract void permute(int[] order);
 
     public abstract boolean equals(SequenceStorage other);
 
@@ -24,8 +24,6 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
-import java.math.BigInteger;
-
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.sequence.*;
 
@@ -49,17 +47,19 @@ public class SequenceStorageFactory {
 
         if (canSpecializeToInt(values)) {
             if (!PythonOptions.forceLongType)
-                return new IntSequenceStorage(specializeToInt(values));
+                return moveOffHeapIfLarge(new IntSequenceStorage(specializeToInt(values)));
             else
-                return new LongSequenceStorage(specializeToLong(values));
+                return moveOffHeapIfLarge(new LongSequenceStorage(specializeToLong(values)));
         } else if (canSpecializeToDouble(values)) {
-            return new DoubleSequenceStorage(specializeToDouble(values));
+            return moveOffHeapIfLarge(new DoubleSequenceStorage(specializeToDouble(values)));
         } else if (canSpecializeToLong(values)) {
-            return new LongSequenceStorage(specializeToLong(values));
+            return moveOffHeapIfLarge(new LongSequenceStorage(specializeToLong(values)));
+        } else if (canSpecializeToNumeric(values)) {
+            return new NumericSequenceStorage(values);
         } else if (canSpecializeToBool(values)) {
             return new BoolSequenceStorage(specializeToBool(values));
         } else if (canSpecializeToList(values)) {
-            return new ListSequenceStorage(specializeToList(values));
+            return createListStorage(specializeToList(values));
         } else if (canSpecializeToTuple(values)) {
             return new TupleSequenceStorage(specializeToTuple(values));
         } else {
@@ -67,6 +67,104 @@ public class SequenceStorageFactory {
         }
     }
 
+    /**
+     * Lays out rows of the same int or float kind and length as a {@link MatrixSequenceStorage}.
+     */
+    public static ListSequenceStorage createListStorage(PList[] elements) {
+        if (!PythonOptions.FlatMatrixStorage || !MatrixSequenceStorage.canStoreRows(elements)) {
+            return new ListSequenceStorage(elements);
+        }
+
+        MatrixSequenceStorage matrix = new MatrixSequenceStorage(elements[0].getStorage());
+
+        for (PList row : elements) {
+            matrix.appendList(row);
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Creates a storage over {@code values} for an array owned by someone else, such as a tuple.
+     * Unboxed storages copy the values anyway; an object storage shares the array and copies it on
+     * its first write.
+     */
+    public static SequenceStorage createSharedStorage(Object[] values) {
+        SequenceStorage storage = createStorage(values);
+
+        if (storage instanceof ObjectSequenceStorage) {
+            ((ObjectSequenceStorage) storage).markShared();
+        }
+
+        return storage;
+    }
+
+    /**
+     * Creates an empty storage of the given kind with room for {@code capacity} elements, so that a
+     * list whose element type and size are known up front can be filled without boxing or regrowing.
+     * Kinds that cannot be presized fall back to {@link EmptySequenceStorage}, which generalizes on
+     * the first append.
+     */
+    public static SequenceStorage createStorage(Class<? extends SequenceStorage> kind, int capacity) {
+        if (capacity <= 0) {
+            return EmptySequenceStorage.INSTANCE;
+        }
+
+        final boolean offHeap = capacity >= PythonOptions.OffHeapStorageThreshold && capacity <= OffHeapSequenceStorage.maxCapacity(kind);
+
+        if (kind == IntSequenceStorage.class || kind == OffHeapIntSequenceStorage.class) {
+            return offHeap ? new OffHeapIntSequenceStorage(capacity) : new IntSequenceStorage(capacity);
+        } else if (kind == LongSequenceStorage.class || kind == OffHeapLongSequenceStorage.class) {
+            return offHeap ? new OffHeapLongSequenceStorage(capacity) : new LongSequenceStorage(capacity);
+        } else if (kind == DoubleSequenceStorage.class || kind == OffHeapDoubleSequenceStorage.class) {
+            return offHeap ? new OffHeapDoubleSequenceStorage(capacity) : new DoubleSequenceStorage(capacity);
+        } else if (kind == BoolSequenceStorage.class) {
+            return new BoolSequenceStorage(capacity);
+        } else if (kind == TupleSequenceStorage.class) {
+            return new TupleSequenceStorage(capacity);
+        } else if (kind == ObjectSequenceStorage.class) {
+            return new ObjectSequenceStorage(capacity);
+        } else {
+            return EmptySequenceStorage.INSTANCE;
+        }
+    }
+
+    /**
+     * Moves an int, long or float storage of at least
+     * {@link PythonOptions#OffHeapStorageThreshold} elements into direct memory. Other storages are
+     * returned as they are.
+     */
+    public static SequenceStorage moveOffHeapIfLarge(SequenceStorage store) {
+        return moveOffHeap(store, store.length());
+    }
+
+    /**
+     * Like {@link #moveOffHeapIfLarge(SequenceStorage)}, for a storage that is about to grow to
+     * {@code expectedLength} elements. A length that one direct buffer cannot hold keeps the
+     * storage on the heap, or moves an off-heap one back.
+     */
+    public static SequenceStorage moveOffHeap(SequenceStorage store, long expectedLength) {
+        if (expectedLength < PythonOptions.OffHeapStorageThreshold) {
+            return store;
+        }
+
+        if (expectedLength > OffHeapSequenceStorage.maxCapacity(store.getClass())) {
+            return store instanceof OffHeapSequenceStorage ? ((OffHeapSequenceStorage) store).materialize() : store;
+        }
+
+        final int capacity = (int) expectedLength;
+
+        if (store instanceof IntSequenceStorage) {
+            return new OffHeapIntSequenceStorage((IntSequenceStorage) store, capacity);
+        } else if (store instanceof LongSequenceStorage) {
+            return new OffHeapLongSequenceStorage((LongSequenceStorage) store, capacity);
+        } else if (store instanceof DoubleSequenceStorage) {
+            return new OffHeapDoubleSequenceStorage((DoubleSequenceStorage) store, capacity);
+        }
+
+        return store;
+    }
+
     public static boolean canSpecializeToInt(Object[] values) {
         if (!(values[0] instanceof Integer)) {
             return false;
@@ -91,17 +189,12 @@ public class SequenceStorageFactory {
         return intVals;
     }
 
+    /**
+     * Ints and longs may be mixed, since ints widen losslessly to longs.
+     */
     public static boolean canSpecializeToLong(Object[] values) {
-        Object val = values[0];
-        val = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-        if (!(values[0] instanceof Long)) {
-            return false;
-        }
-
         for (Object item : values) {
-            val = item;
-            val = (val instanceof Integer) ? BigInteger.valueOf((int) val).longValue() : val;
-            if (!(item instanceof Long)) {
+            if (!(item instanceof Long || item instanceof Integer)) {
                 return false;
             }
         }
@@ -110,13 +203,13 @@ public class SequenceStorageFactory {
     }
 
     public static long[] specializeToLong(Object[] values) {
-        final long[] intVals = new long[values.length];
+        final long[] longs = new long[values.length];
+
         for (int i = 0; i < values.length; i++) {
-            long value = (values[i] instanceof Integer) ? BigInteger.valueOf((int) values[i]).longValue() : (long) values[i];
-            intVals[i] = value;
+            longs[i] = ((Number) values[i]).longValue();
         }
 
-        return intVals;
+        return longs;
     }
 
     public static boolean canSpecializeToDouble(Object[] values) {
@@ -143,6 +236,19 @@ public class SequenceStorageFactory {
         return doubles;
     }
 
+    /**
+     * Ints and floats may be mixed, since every int is exact as a double.
+     */
+    public static boolean canSpecializeToNumeric(Object[] values) {
+        for (Object item : values) {
+            if (!NumericSequenceStorage.canStore(item)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     public static boolean canSpecializeToBool(Object[] values) {
         if (!(values[0] instanceof Boolean)) {
             return false;
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class TupleSequenceStorage extends BasicSequenceStorage {
@@ -43,12 +44,28 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
         values = new PTuple[]{};
     }
 
+    public TupleSequenceStorage(int capacity) {
+        this.values = new PTuple[capacity];
+        this.capacity = capacity;
+        this.length = 0;
+    }
+
     public TupleSequenceStorage(PTuple[] elements) {
         this.values = elements;
         capacity = values.length;
         length = elements.length;
     }
 
+    /**
+     * Shares the first {@code length} elements of {@code elements} until either side is written.
+     */
+    private TupleSequenceStorage(PTuple[] elements, int length) {
+        this.values = elements;
+        this.length = length;
+        this.capacity = length;
+        this.shared = true;
+    }
+
     @Override
     protected void increaseCapacityExactWithCopy(int newCapacity) {
         values = Arrays.copyOf(values, newCapacity);
@@ -63,7 +80,12 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
-        return new TupleSequenceStorage(Arrays.copyOf(values, length));
+        return share(length);
+    }
+
+    private TupleSequenceStorage share(int sharedLength) {
+        shared = true;
+        return new TupleSequenceStorage(values, sharedLength);
     }
 
     @Override
@@ -95,12 +117,11 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
     }
 
     public PTuple getPTupleItemNormalized(int idx) {
-        try {
-            return values[idx];
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list index out of range");
         }
+
+        return values[idx];
     }
 
     @Override
@@ -113,12 +134,12 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setPTupleItemNormalized(int idx, PTuple value) {
-        try {
-            values[idx] = value;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+        if (idx < 0 || idx >= length) {
+            throw new PException(Py.IndexError, "list assignment index out of range");
         }
+
+        ensureUnshared();
+        values[idx] = value;
     }
 
     @Override
@@ -132,6 +153,7 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     public void insertPTupleItem(int idx, PTuple value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
 
         // shifting tail to the right by one slot
         for (int i = values.length - 1; i > idx; i--) {
@@ -144,6 +166,10 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        if (step == 1 && start == 0) {
+            return share(sliceLength);
+        }
+
         PTuple[] newArray = new PTuple[sliceLength];
 
         if (step == 1) {
@@ -168,32 +194,75 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
     }
 
     public void setPTupleSliceInBound(int start, int stop, int step, TupleSequenceStorage sequence) {
+        ensureUnshared();
+
         int otherLength = sequence.length();
+        PTuple[] otherValues = sequence == this ? Arrays.copyOf(values, length) : sequence.values;
 
-        // range is the whole sequence?
-        if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
-            length = otherLength;
-            minimizeCapacity();
+        if (step == 1) {
+            resizeRange(start, stop, otherLength);
+            System.arraycopy(otherValues, 0, values, start, otherLength);
             return;
         }
 
-        ensureCapacity(stop);
+        int limit = stridedCount(start, stop, step, otherLength);
 
-        for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = otherValues[j];
         }
-
-        length = length > stop ? length : stop;
     }
 
     @Override
-    public void delSlice(int start, int stop) {
-        if (stop == SequenceUtil.MISSING_INDEX) {
-            length = start;
+    public void fillSliceInBound(int start, int stop, int step, int count, Object value) throws SequenceStoreException {
+        if (value instanceof PTuple) {
+            fillPTupleSliceInBound(start, stop, step, count, (PTuple) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void fillPTupleSliceInBound(int start, int stop, int step, int count, PTuple value) {
+        ensureUnshared();
+
+        if (step == 1) {
+            resizeRange(start, stop, count);
+            Arrays.fill(values, start, start + count, value);
+            return;
+        }
+
+        int limit = stridedCount(start, stop, step, count);
+
+        for (int i = start, j = 0; j < limit; i += step, j++) {
+            values[i] = value;
         }
     }
 
+    /**
+     * Replaces [start, stop) with room for {@code newLength} elements, moving the tail.
+     */
+    private void resizeRange(int start, int stop, int newLength) {
+        int end = Math.min(stop, length);
+        int tailLength = length - end;
+        int newTotal = start + newLength + tailLength;
+        ensureCapacity(newTotal);
+        System.arraycopy(values, end, values, start + newLength, tailLength);
+
+        if (newTotal < length) {
+            Arrays.fill(values, newTotal, length, null);
+        }
+
+        length = newTotal;
+    }
+
+    @Override
+    public void delSliceInBound(int start, int stop, int step, int sliceLength) {
+        ensureUnshared();
+
+        int newLength = deleteStrided(values, length, start, step, sliceLength);
+        Arrays.fill(values, newLength, length, null);
+        length = newLength;
+    }
+
     @Override
     public void delItemInBound(int idx) {
         if (values.length - 1 == idx) {
@@ -205,6 +274,8 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        ensureUnshared();
+
         PTuple pop = values[idx];
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -216,7 +287,7 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
     }
 
     public PTuple popPTuple() {
-        PTuple pop = values[capacity - 1];
+        PTuple pop = values[length - 1];
         length--;
         return pop;
     }
@@ -253,6 +324,7 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     public void appendPTuple(PTuple value) {
         ensureCapacity(length + 1);
+        ensureUnshared();
         values[length] = value;
         length++;
     }
@@ -270,6 +342,7 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
     public void extendWithPTupleStorage(TupleSequenceStorage other) {
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
+        ensureUnshared();
         PTuple[] otherValues = other.values;
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
@@ -282,11 +355,12 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
     @ExplodeLoop
     @Override
     public void reverse() {
+        ensureUnshared();
+
         int head = 0;
         int tail = length - 1;
-        int middle = (length - 1) / 2;
 
-        for (; head <= middle; head++, tail--) {
+        for (; head < tail; head++, tail--) {
             PTuple temp = values[head];
             values[head] = values[tail];
             values[tail] = temp;
@@ -295,11 +369,33 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     @ExplodeLoop
     @Override
-    public void sort() {
-        PTuple[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+    public void sort(boolean reverse) {
+        ensureUnshared();
+        Arrays.sort(values, 0, length, reverse ? SortUtil.REVERSED_PYTHON_ORDER : SortUtil.PYTHON_ORDER);
+    }
+
+    @Override
+    public void permute(int[] order) {
+        ensureUnshared();
+
+        for (int i = 0; i < length; i++) {
+            if (order[i] == i) {
+                continue;
+            }
+
+            PTuple displaced = values[i];
+            int j = i;
+
+            while (order[j] != i) {
+                int next = order[j];
+                values[j] = values[next];
+                order[j] = j;
+                j = next;
+            }
+
+            values[j] = displaced;
+            order[j] = j;
+        }
     }
 
     @Override
@@ -314,7 +410,7 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public Object getIndicativeValue() {
-        return 0;
+        return new PTuple();
     }
 
     @ExplodeLoop
@@ -57,6 +57,37 @@ public class CommandLineParser {
                 continue;
             }
 
+            if (arg.equals("-cache-ast")) {
+                PythonOptions.CacheModuleAST = true;
+                continue;
+            }
+
+            if (arg.equals("-ast-cache-dir") && index < args.length) {
+                PythonOptions.CacheModuleAST = true;
+                PythonOptions.ModuleASTCacheDirectory = args[index++];
+                continue;
+            }
+
+            if (arg.equals("-import-parallelism") && index < args.length) {
+                PythonOptions.ImportParallelism = Integer.parseInt(args[index++]);
+                continue;
+            }
+
+            if (arg.equals("-parallel-sort-threshold") && index < args.length) {
+                PythonOptions.ParallelSortThreshold = Integer.parseInt(args[index++]);
+                continue;
+            }
+
+            if (arg.equals("-no-flat-matrix")) {
+                PythonOptions.FlatMatrixStorage = false;
+                continue;
+            }
+
+            if (arg.equals("-offheap-threshold") && index < args.length) {
+                PythonOptions.OffHeapStorageThreshold = Integer.parseInt(args[index++]);
+                continue;
+            }
+
             if (arg.equals("-flexible-object-storage")) {
                 PythonOptions.FlexibleObjectStorage = true;
                 continue;
@@ -78,6 +109,11 @@ public class CommandLineParser {
                 continue;
             }
 
+            if (arg.equals("-generator-state-machine")) {
+                PythonOptions.GeneratorStateMachine = true;
+                continue;
+            }
+
             if (arg.equals("-no-generator-peeling")) {
                 PythonOptions.InlineGeneratorCalls = false;
                 PythonOptions.OptimizeGeneratorExpressions = false;
@@ -43,6 +43,7 @@ import edu.uci.python.runtime.PythonContext;
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.PythonParseResult;
 import edu.uci.python.runtime.PythonParser;
+import edu.uci.python.runtime.exception.PException;
 import edu.uci.python.runtime.function.PArguments;
 import edu.uci.python.runtime.object.PythonObjectAllocationInstrumentor;
 import edu.uci.python.runtime.standardtype.PythonModule;
@@ -100,7 +101,12 @@ public class ZipPyConsole extends InteractiveConsole {
             }
         }
 
-        moduleCallTarget.call(PArguments.empty());
+        try {
+            moduleCallTarget.call(PArguments.empty());
+        } catch (PException e) {
+            // report uncaught exceptions the way Jython does
+            throw e.toPyException();
+        }
 
         if (PythonOptions.PrintAST) {
             printBanner("After Specialization");